@@ -1,48 +1,258 @@
 import codegenerator.CodeGenerator;
 import codegenerator.ExecuteCGVisitor;
-import codegenerator.OffsetVisitor;
+import codegenerator.Instrumentation;
+import codegenerator.MemoryAnalyzer;
+import codegenerator.Profile;
+import codegenerator.StackVerifier;
+import codegenerator.x86.X86CodeGenerator;
+import codegenerator.x86.X86ExecuteCGVisitor;
+import codegenerator.x86.X86Toolchain;
+import compiler.CompilerSession;
+import compiler.StreamingCompiler;
 import errorhandler.ErrorHandler;
-import parser.*;
+import errorhandler.ErrorLimitException;
 
-import org.antlr.v4.runtime.*;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 
 import ast.Program;
 import introspector.model.IntrospectorModel;
 import introspector.view.IntrospectorTree;
-import semantic.IdentificationVisitor;
-import semantic.TypeCheckingVisitor;
+import vm.MaplCode;
+import vm.MaplVM;
+import vm.Profiler;
+import vm.VMException;
 
 public class Main {
 	
 	public static void main(String... args) throws Exception {
+		   // * Options start with '-', the rest are the input and output files
+		   String target = "mapl";
+		   boolean memoryReport = false, run = false, profile = false, verbose = false, stream = false, stackDepths = false;
+		   String profileUse = null, instrument = null, lexerOption = "antlr", parserOption = "antlr", semanticOption = "passes";
+		   int jobs = Runtime.getRuntime().availableProcessors(), maxErrors = ErrorHandler.DEFAULT_LIMIT;
+		   java.util.List<String> files = new java.util.ArrayList<>();
+		   for (String arg : args) {
+			   if (arg.startsWith("-target="))
+				   target = arg.substring("-target=".length());
+			   else if (arg.equals("-memory"))
+				   memoryReport = true;
+			   else if (arg.equals("-stack-depths"))
+				   stackDepths = true;
+			   else if (arg.startsWith("-parser="))
+				   parserOption = arg.substring("-parser=".length());
+			   else if (arg.startsWith("-semantic="))
+				   semanticOption = arg.substring("-semantic=".length());
+			   else if (arg.startsWith("-lexer="))
+				   lexerOption = arg.substring("-lexer=".length());
+			   else if (arg.startsWith("-jobs="))
+				   jobs = Integer.parseInt(arg.substring("-jobs=".length()));
+			   else if (arg.startsWith("-max-errors="))
+				   maxErrors = Integer.parseInt(arg.substring("-max-errors=".length()));
+			   else if (arg.equals("-stream"))
+				   stream = true;
+			   else if (arg.equals("-verbose"))
+				   verbose = true;
+			   else if (arg.equals("-run"))
+				   run = true;
+			   else if (arg.equals("-profile"))
+				   profile = true;
+			   else if (arg.startsWith("-profile-use="))
+				   profileUse = arg.substring("-profile-use=".length());
+			   else if (arg.equals("-instrument") || arg.startsWith("-instrument="))
+				   instrument = arg.substring("-instrument".length()).replaceFirst("^=", "");
+			   else
+				   files.add(arg);
+		   }
+		   args = files.toArray(new String[0]);
+
 		   if (args.length<1) {
 		        System.err.println("Please, pass me the input file.");
 		        return;
 		    }
+		   if (!target.equals("mapl") && !target.equals("x86-64")) {
+			   System.err.println("Unknown target " + target + ", use mapl or x86-64.");
+			   return;
+		   }
+		   if (!lexerOption.equals("antlr") && !lexerOption.equals("hand")) {
+			   System.err.println("Unknown lexer " + lexerOption + ", use antlr or hand.");
+			   return;
+		   }
+		   if (!parserOption.equals("antlr") && !parserOption.equals("rd")) {
+			   System.err.println("Unknown parser " + parserOption + ", use antlr or rd.");
+			   return;
+		   }
+		   if (!semanticOption.equals("passes") && !semanticOption.equals("fused")) {
+			   System.err.println("Unknown semantic analysis " + semanticOption + ", use passes or fused.");
+			   return;
+		   }
+		   if (jobs < 1) {
+			   System.err.println("-jobs must be at least 1.");
+			   return;
+		   }
+		   if (maxErrors < 1) {
+			   System.err.println("-max-errors must be at least 1.");
+			   return;
+		   }
+		   if (stream && (!target.equals("mapl") || memoryReport || profileUse != null || instrument != null)) {
+			   System.err.println("-stream only generates MAPL code, without -memory, -profile-use or -instrument.");
+			   return;
+		   }
 		   		 			
-		 // create a lexer that feeds off of input CharStream
-		CharStream input = CharStreams.fromFileName(args[0]);
-		PmmLexer lexer = new PmmLexer(input);
-
-		// create a parser that feeds off the tokens buffer
-		CommonTokenStream tokens = new CommonTokenStream(lexer); 
-		PmmParser parser = new PmmParser(tokens);	
-		Program ast = parser.program().ast;
+		// * Definitions flow from the parser to the code generator, which writes each function once analyzed
+		if (stream) {
+			// * Past this many errors the compilation stops, so garbage is rejected without going through it all
+			ErrorHandler.getInstance().setLimit(maxErrors);
+			try {
+				StreamingCompiler compiler = new StreamingCompiler(args[0], args[1], lexerOption, parserOption);
+				if (compiler.compile()) {
+					verify(args[1], stackDepths);
+					if (run || profile)
+						execute(args[1], compiler.getGlobalOffset(), profile);
+				}
+				else
+					ErrorHandler.getInstance().showErrors(System.err);
+			} catch (ErrorLimitException e) {
+				ErrorHandler.getInstance().showErrors(System.err);
+				System.err.println(e.getMessage());
+			}
+			if (verbose)
+				reportHeap("streaming compilation");
+			return;
+		}
 
-		ast.accept(new IdentificationVisitor(), null);
-		ast.accept(new TypeCheckingVisitor(),null);
+		// * The options, errors and names of the compilation
+		CompilerSession session = new CompilerSession();
+		session.setLexer(lexerOption);
+		session.setParser(parserOption);
+		session.setSemantic(semanticOption);
+		session.setJobs(jobs);
+		session.setMaxErrors(maxErrors);
+		session.setVerbose(verbose);
+		Program ast;
+		try {
+			// * Only the AST survives the front end: characters, tokens and parser are garbage from here on
+			ast = session.parseFile(args[0]);
+			if (verbose)
+				reportHeap("front end");
+			// * Identification also lays out the variables, so there is no pass of its own for the offsets
+			session.analyze(ast);
+		} catch (ErrorLimitException e) {
+			// * The errors found until the limit, of any phase
+			session.getErrorHandler().showErrors(System.err);
+			System.err.println(e.getMessage());
+			return;
+		}
+		ErrorHandler errorHandler = session.getErrorHandler();
+		int bytesForGlobals = session.getGlobalOffset();
 
-		// * Check errors
-		if(ErrorHandler.getInstance().anyError()){
+		// * Check errors; the syntax errors have already been shown, but a program with them gets no code
+		if(errorHandler.anyError() || session.getSyntaxErrors() > 0){
 			// * Show errors
-			ErrorHandler.getInstance().showErrors(System.err);
+			errorHandler.showErrors(System.err);
 		}
 		else{
 			// * The AST is shown
-			ast.accept(new OffsetVisitor(), null);
-			ast.accept(new ExecuteCGVisitor(new CodeGenerator(args[1], args[0])), null);
+			if (target.equals("x86-64")) {
+				// * Native code: <output>.s is assembled and linked into <output>
+				String assembler = args[1] + ".s";
+				ast.accept(new X86ExecuteCGVisitor(new X86CodeGenerator(assembler, args[0])), null);
+				// * The toolchain has already shown why it failed
+				if (!X86Toolchain.link(assembler, args[1]))
+					System.exit(1);
+			}
+			else {
+				// * Profile guided: counts of a previous -profile run of the same program
+				Profile counts = null;
+				if (profileUse != null) {
+					counts = Profile.fromFile(profileUse);
+					counts.attach(ast);
+				}
+				// * Counters in the code itself, printed at halt and described in <output>.counters
+				Instrumentation instrumentation = null;
+				if (instrument != null)
+					instrumentation = new Instrumentation(bytesForGlobals, Instrumentation.parseSites(instrument));
+
+				ast.accept(new ExecuteCGVisitor(new CodeGenerator(args[1], args[0]), counts, instrumentation, jobs), null);
+				if (instrumentation != null)
+					instrumentation.writeMapping(args[1] + ".counters");
+
+				StackVerifier verifier = verify(args[1], stackDepths);
+
+				// * Memory needed by the program: report on the console and in <output>.mem
+				if (memoryReport) {
+					MemoryAnalyzer memoryAnalyzer = new MemoryAnalyzer(bytesForGlobals, verifier.getMaxDepths());
+					memoryAnalyzer.analyze(ast);
+					memoryAnalyzer.printReport(System.out);
+					memoryAnalyzer.writeReport(args[1] + ".mem");
+				}
+
+				if (run || profile)
+					// * The counters are after the globals, where the stack must not reach
+					execute(args[1], bytesForGlobals + (instrumentation == null ? 0 : instrumentation.getBytes()), profile);
+			}
 			// IntrospectorModel model=new IntrospectorModel("Program", ast);
 			// new IntrospectorTree("Introspector", model);
 		}
+		if (verbose)
+			reportHeap("semantic analysis and code generation");
+	}
+
+	/**
+	 * The generated code is verified, and written again annotated with the stack depth of each function
+	 * when -stack-depths is given. Code that does not verify is deleted, and the compiler exits with 1.
+	 */
+	private static StackVerifier verify(String codeFileName, boolean stackDepths) throws IOException {
+		StackVerifier verifier = StackVerifier.fromFile(codeFileName);
+		if (!verifier.verify()) {
+			for (String error : verifier.getErrors())
+				System.err.println("Internal error in the generated code. " + error);
+			new File(codeFileName).delete();
+			System.exit(1);
+		}
+		if (stackDepths)
+			verifier.writeWithMetadata(codeFileName);
+		return verifier;
+	}
+
+	/**
+	 * Shows the peak use of the heap since the previous report (the sum of the peaks of its pools) and
+	 * the memory still live after a collection, and starts measuring the peak again.
+	 */
+	private static void reportHeap(String phase) {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+				pool.resetPeakUsage();
+			}
+		System.gc();
+		long live = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		System.err.println(String.format("Heap in the %s: peak %.1f MB, live after it %.1f MB", phase, peak / 1e6, live / 1e6));
+	}
+
+	/**
+	 * Runs the generated code in the MAPL virtual machine. When profiling, the report is shown on the
+	 * error output, the collapsed stacks are written to <output>.folded and the counts to <output>.profile.
+	 */
+	private static void execute(String codeFileName, int bytesForGlobals, boolean profile) throws Exception {
+		MaplCode code = MaplCode.fromFile(codeFileName);
+		Profiler profiler = profile ? new Profiler(code) : null;
+		try {
+			new MaplVM(code, bytesForGlobals, System.in, System.out, profiler).run();
+		} catch (VMException e) {
+			System.out.flush();
+			System.err.println("Runtime error: " + e.getMessage());
+			return;
+		}
+		if (profile) {
+			System.err.println();
+			profiler.printReport(System.err, 10);
+			profiler.writeCollapsedStacks(codeFileName + ".folded");
+			profiler.writeProfile(codeFileName + ".profile");
+		}
 	}
 }
@@ -20,4 +20,9 @@ public abstract class AbstractAstNode implements AstNode{
         return column;
     }
 
+    @Override
+    public void moveLines(int lines) {
+        line += lines;
+    }
+
 }
\ No newline at end of file
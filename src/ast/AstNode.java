@@ -7,6 +7,12 @@ public interface AstNode {
     int getLine();
     int getColumn();
 
+    /**
+     * Moves the node down (or up, if negative) the given number of lines, when the source before it
+     * gains or loses lines.
+     */
+    void moveLines(int lines);
+
     <TP, TR> TR accept(Visitor<TP, TR> visitor, TP param);
 
 }
@@ -0,0 +1,33 @@
+package ast;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of a list of children that a node keeps. The node creates it once and hands it out as it
+ * is, so getting the children allocates nothing, and indexing them with get and size allocates nothing
+ * either. The children are only added through the methods of the node, and the view shows them as soon
+ * as they are.
+ */
+public final class ChildList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> children;
+
+    /**
+     * @param children list of the node, which must be random access.
+     */
+    public ChildList(List<T> children) {
+        this.children = children;
+    }
+
+    @Override
+    public T get(int index) {
+        return children.get(index);
+    }
+
+    @Override
+    public int size() {
+        return children.size();
+    }
+}
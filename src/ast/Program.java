@@ -9,19 +9,23 @@ import java.util.List;
 public class Program extends AbstractAstNode{
 
     private List<Definition> program;
+    // * What getProgram hands out, without copying the definitions
+    private List<Definition> programView;
 
     public Program(List<Definition> program, int line, int column) {
         super(line, column);
         this.program = program;
+        this.programView = new ChildList<>(program);
     }
 
     public Program(int line, int column) {
         super(line, column);
         this.program = new ArrayList<>();
+        this.programView = new ChildList<>(program);
     }
 
     public List<Definition> getProgram(){
-        return new ArrayList<>(program);
+        return programView;
     }
 
     public void addDefinitionToProgram(Definition definition){
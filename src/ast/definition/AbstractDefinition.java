@@ -2,17 +2,27 @@ package ast.definition;
 
 import ast.AbstractAstNode;
 import ast.type.Type;
+import symboltable.NameTable;
 
 public abstract class AbstractDefinition extends AbstractAstNode implements Definition{
 
     private String name;
+    private int nameId;
     private Type type;
     private int scope;
 
     public AbstractDefinition(String name, Type type, int line, int column) {
+        this(name, NameTable.NONE, type, line, column);
+    }
+
+    /**
+     * @param nameId id of the name in the NameTable of the compilation.
+     */
+    public AbstractDefinition(String name, int nameId, Type type, int line, int column) {
         super(line, column);
         this.type = type;
         this.name = name;
+        this.nameId = nameId;
     }
 
     @Override
@@ -22,6 +32,12 @@ public abstract class AbstractDefinition extends AbstractAstNode implements Defi
 
     public void setName(String name) {
         this.name = name;
+        this.nameId = NameTable.NONE;
+    }
+
+    @Override
+    public int getNameId() {
+        return nameId;
     }
 
     @Override
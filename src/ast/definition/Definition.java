@@ -5,6 +5,7 @@ import ast.type.Type;
 
 public interface Definition extends AstNode {
     String getName();
+    int getNameId();
     Type getType();
     void setScope(int scope);
     int getScope();
@@ -1,5 +1,6 @@
 package ast.definition;
 
+import ast.ChildList;
 import ast.statement.Statement;
 import ast.type.Type;
 import semantic.Visitor;
@@ -11,34 +12,54 @@ public class FunctionDefinition extends AbstractDefinition {
 
     private List<Statement> functionStatements;
     private List<VarDefinition> variableDefinitions;
+    private List<Statement> statementsView;
+    private List<VarDefinition> variablesView;
     private int bytesForLocals;
 
     public FunctionDefinition(String name, Type type, List<Statement> functionStatements, List<VarDefinition> variableDefinitions, int line, int column) {
         super(name, type, line, column);
-        this.functionStatements = functionStatements;
-        this.variableDefinitions = variableDefinitions;
+        setBody(functionStatements, variableDefinitions);
+    }
+
+    public FunctionDefinition(String name, int nameId, Type type, List<Statement> functionStatements, List<VarDefinition> variableDefinitions, int line, int column) {
+        super(name, nameId, type, line, column);
+        setBody(functionStatements, variableDefinitions);
     }
 
     public FunctionDefinition(String name, Type type, int line, int column) {
         super(name, type, line, column);
-        this.functionStatements = new ArrayList<>();
-        this.variableDefinitions = new ArrayList<>();
+        setBody(new ArrayList<>(), new ArrayList<>());
     }
 
     public List<VarDefinition> getFunctionVariables() {
-        return new ArrayList<VarDefinition>(variableDefinitions);
+        return variablesView;
     }
 
     public List<Statement> getFunctionStatements() {
-        return new ArrayList<Statement>(functionStatements);
+        return statementsView;
+    }
+
+    public void addStatement(Statement statement) {
+        this.functionStatements.add(statement);
+    }
+
+    public void addVariableDefinition(VarDefinition variableDefinition) {
+        this.variableDefinitions.add(variableDefinition);
     }
 
-    public void addStatements(List<Statement> statements) {
-        this.functionStatements.addAll(statements);
+    /**
+     * Drops the local variables and statements once the code of the function is generated, so only its
+     * signature, which the invocations of later functions need, stays in memory.
+     */
+    public void releaseBody() {
+        setBody(new ArrayList<>(), new ArrayList<>());
     }
 
-    public void addVariableDefinitions(List<VarDefinition> variableDefinitions) {
-        this.variableDefinitions.addAll(variableDefinitions);
+    private void setBody(List<Statement> functionStatements, List<VarDefinition> variableDefinitions) {
+        this.functionStatements = functionStatements;
+        this.variableDefinitions = variableDefinitions;
+        this.statementsView = new ChildList<>(functionStatements);
+        this.variablesView = new ChildList<>(variableDefinitions);
     }
 
     @Override
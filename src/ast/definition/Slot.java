@@ -0,0 +1,49 @@
+package ast.definition;
+
+/**
+ * Storage of a variable: the global data or the frame of its function, its offset there (from BP in a
+ * frame) and the bytes of its type. Every VarDefinition owns one, laid out when it is identified, and the
+ * Variables identified with the definition share it, so any offset assigned later is the one they read.
+ */
+public class Slot {
+
+    public enum Kind { GLOBAL, LOCAL, PARAM }
+
+    private Kind kind;
+    private int offset;
+    private int size;
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isGlobal() {
+        return kind == Kind.GLOBAL;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * @return the number of bytes of the type of the variable.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public void set(Kind kind, int offset, int size) {
+        this.kind = kind;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + offset + " (" + size + " bytes)";
+    }
+}
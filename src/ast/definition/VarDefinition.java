@@ -5,19 +5,28 @@ import semantic.Visitor;
 
 public class VarDefinition extends AbstractDefinition{
 
-    private int offset;
+    private final Slot slot = new Slot();
 
     public VarDefinition(String name, Type type, int line, int column) {
         super(name, type, line, column);
     }
 
+    public VarDefinition(String name, int nameId, Type type, int line, int column) {
+        super(name, nameId, type, line, column);
+    }
+
     public VarDefinition(int line, int column, String name, Type type) {
         this(name, type, line, column);
     }
 
-    public int getOffset(){return offset;}
+    public int getOffset(){return slot.getOffset();}
+
+    public void setOffset(int offset){slot.setOffset(offset);}
 
-    public void setOffset(int offset){this.offset=offset;}
+    /**
+     * @return where the variable is stored, shared with the Variables identified with it.
+     */
+    public Slot getSlot(){return slot;}
 
     @Override
     public String toString() {
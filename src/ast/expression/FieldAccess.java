@@ -1,11 +1,14 @@
 package ast.expression;
 
+import ast.type.RecordField;
 import semantic.Visitor;
 
 public class FieldAccess extends AbstractExpression{
 
     private Expression expression;
     private String fieldName;
+    // * Field of the record accessed, set by type checking
+    private RecordField field;
 
     public FieldAccess(Expression expression, String fieldName, int line, int column) {
         super(line, column);
@@ -29,6 +32,17 @@ public class FieldAccess extends AbstractExpression{
         this.fieldName = fieldName;
     }
 
+    /**
+     * @return the field accessed, null if the expression is not a record with it or it was not type checked.
+     */
+    public RecordField getField() {
+        return field;
+    }
+
+    public void setField(RecordField field) {
+        this.field = field;
+    }
+
     @Override
     public String toString(){
         return expression.toString() + "." + fieldName;
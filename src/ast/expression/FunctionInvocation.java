@@ -1,6 +1,7 @@
 package ast.expression;
 
 import ast.AbstractAstNode;
+import ast.ChildList;
 import ast.expression.value.Variable;
 import ast.statement.Statement;
 import semantic.Visitor;
@@ -12,17 +13,20 @@ public class FunctionInvocation extends AbstractExpression implements Statement
 
     private Variable variable;
     private List<Expression> parameters;
+    private List<Expression> parametersView;
 
     public FunctionInvocation(Variable variable, List<Expression> parameters, int line, int column) {
         super(line, column);
         this.variable = variable;
         this.parameters = new ArrayList<>(parameters);
+        this.parametersView = new ChildList<>(this.parameters);
     }
 
     public FunctionInvocation(Variable variable, int line, int column) {
         super(line, column);
         this.variable = variable;
         this.parameters = new ArrayList<>();
+        this.parametersView = new ChildList<>(parameters);
     }
 
     public Variable getVariable(){
@@ -33,7 +37,7 @@ public class FunctionInvocation extends AbstractExpression implements Statement
         this.variable = variable;
     }
 
-    public List<Expression> getParameters(){return new ArrayList<Expression>(parameters);}
+    public List<Expression> getParameters(){return parametersView;}
 
     public void addParameter(Expression parameter){
         this.parameters.add(parameter);
@@ -1,16 +1,30 @@
 package ast.expression.value;
 
 import ast.definition.Definition;
+import ast.definition.Slot;
+import ast.definition.VarDefinition;
 import ast.expression.AbstractExpression;
 import semantic.Visitor;
+import symboltable.NameTable;
 
 public class Variable extends AbstractExpression {
 
     private String name;
+    private int nameId;
     private Definition definition;
+    private Slot slot;
 
     public Variable(String name, int line, int column) {
-        super(line, column); this.name = name;
+        this(name, NameTable.NONE, line, column);
+    }
+
+    /**
+     * @param nameId id of the name in the NameTable of the compilation.
+     */
+    public Variable(String name, int nameId, int line, int column) {
+        super(line, column);
+        this.name = name;
+        this.nameId = nameId;
     }
 
     public String getName() {
@@ -19,6 +33,11 @@ public class Variable extends AbstractExpression {
 
     public void setName(String name) {
         this.name = name;
+        this.nameId = NameTable.NONE;
+    }
+
+    public int getNameId() {
+        return nameId;
     }
 
     @Override
@@ -33,8 +52,14 @@ public class Variable extends AbstractExpression {
 
     public void setDefinition(Definition definition){
         this.definition = definition;
+        this.slot = definition instanceof VarDefinition ? ((VarDefinition) definition).getSlot() : null;
     }
 
     public Definition getDefinition(){return this.definition;}
 
+    /**
+     * @return where the variable is stored, or null if it is not identified with a VarDefinition.
+     */
+    public Slot getSlot(){return this.slot;}
+
 }
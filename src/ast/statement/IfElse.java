@@ -1,5 +1,6 @@
 package ast.statement;
 
+import ast.ChildList;
 import ast.expression.Expression;
 import semantic.Visitor;
 
@@ -10,12 +11,16 @@ public class IfElse extends AbstractStatement {
 
     private List<Statement> ifBody;
     private List<Statement> elseBody;
+    private List<Statement> ifBodyView;
+    private List<Statement> elseBodyView;
     private Expression condition;
 
     public IfElse(Expression condition, List<Statement> ifBody, List<Statement> elseBody, int line, int column) {
         super(line, column);
         this.ifBody = ifBody;
         this.elseBody = elseBody;
+        this.ifBodyView = new ChildList<>(ifBody);
+        this.elseBodyView = new ChildList<>(elseBody);
         this.condition = condition;
     }
 
@@ -23,6 +28,8 @@ public class IfElse extends AbstractStatement {
         super(line, column);
         this.ifBody = ifBody;
         this.elseBody = new ArrayList<>();
+        this.ifBodyView = new ChildList<>(ifBody);
+        this.elseBodyView = new ChildList<>(elseBody);
         this.condition = condition;
     }
 
@@ -35,11 +42,11 @@ public class IfElse extends AbstractStatement {
     }
 
     public List<Statement> getIfBody() {
-        return new ArrayList<Statement>(ifBody);
+        return ifBodyView;
     }
 
     public List<Statement> getElseBody() {
-        return new ArrayList<Statement>(elseBody);
+        return elseBodyView;
     }
 
     public void addStatementToIfBody(Statement statement){
@@ -1,20 +1,22 @@
 package ast.statement;
 
+import ast.ChildList;
 import ast.expression.Expression;
 import semantic.Visitor;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class While extends AbstractStatement {
 
     private Expression condition;
     private List<Statement> body;
+    private List<Statement> bodyView;
 
     public While(Expression condition, List<Statement> body, int line, int column) {
         super(line, column);
         this.condition = condition;
         this.body = body;
+        this.bodyView = new ChildList<>(body);
     }
 
     public Expression getCondition() {
@@ -26,7 +28,7 @@ public class While extends AbstractStatement {
     }
 
     public List<Statement> getBody() {
-        return new ArrayList<>(body);
+        return bodyView;
     }
 
     public void addStatementToBody(Statement statement) {
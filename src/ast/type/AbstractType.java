@@ -18,34 +18,37 @@ public abstract class AbstractType extends AbstractAstNode implements Type {
         return false;
     }
 
+    // * An operand that is an ErrorType was already reported, so the operation is not reported again
+
     public Type arithmetic(Type otherType, AstNode node){
-        return new ErrorType("Cannot do arithmetic operation with types "
-                + this.toString() + " and "+  otherType.toString(),
-                node.getLine(),node.getColumn());
+        if (otherType instanceof ErrorType)
+            return otherType;
+        return new ErrorType(node.getLine(),node.getColumn(),
+                "Cannot do arithmetic operation with types %s and %s", this, otherType);
     }
 
     public Type arithmetic(AstNode node){
-        return new ErrorType("Cannot do arithmetic operation with type "
-                + this.toString(),
-                node.getLine(),node.getColumn());
+        return new ErrorType(node.getLine(),node.getColumn(),
+                "Cannot do arithmetic operation with type %s", this);
     }
 
     public Type comparison(Type otherType, AstNode node){
-        return new ErrorType("Cannot compare types "
-                + this.toString() + " and " +  otherType.toString(),
-                node.getLine(),node.getColumn());
+        if (otherType instanceof ErrorType)
+            return otherType;
+        return new ErrorType(node.getLine(),node.getColumn(),
+                "Cannot compare types %s and %s", this, otherType);
     }
 
     public Type logical(Type otherType, AstNode node){
-        return new ErrorType("Cannot do logical operation with types "
-                + this.toString() + " and " +  otherType.toString(),
-                node.getLine(),node.getColumn());
+        if (otherType instanceof ErrorType)
+            return otherType;
+        return new ErrorType(node.getLine(),node.getColumn(),
+                "Cannot do logical operation with types %s and %s", this, otherType);
     }
 
     public Type logical(AstNode node){
-        return new ErrorType("Cannot do logical operation with type "
-                + this.toString(),
-                node.getLine(),node.getColumn());
+        return new ErrorType(node.getLine(),node.getColumn(),
+                "Cannot do logical operation with type %s", this);
     }
 
     public Type dot(String name, AstNode node){
@@ -61,9 +64,10 @@ public abstract class AbstractType extends AbstractAstNode implements Type {
     }
 
     public Type canBeCast(Type otherType, AstNode node){
-        return new ErrorType("Cannot cast type "
-                + this.toString() + " to type " +  otherType.toString(),
-                node.getLine(),node.getColumn());
+        if (otherType instanceof ErrorType)
+            return otherType;
+        return new ErrorType(node.getLine(),node.getColumn(),
+                "Cannot cast type %s to type %s", this, otherType);
     }
 
     public Type parenthesis(List<Type> params, AstNode node){
@@ -71,9 +75,10 @@ public abstract class AbstractType extends AbstractAstNode implements Type {
     }
 
     public Type promotesTo(Type otherType, AstNode node){
-        return new ErrorType("Cannot promote type  "
-                + this.toString() + " to type " +  otherType.toString(),
-                node.getLine(),node.getColumn());
+        if (otherType instanceof ErrorType)
+            return otherType;
+        return new ErrorType(node.getLine(),node.getColumn(),
+                "Cannot promote type  %s to type %s", this, otherType);
     }
 
     public int numberOfBytes(){
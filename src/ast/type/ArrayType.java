@@ -7,6 +7,8 @@ public class ArrayType extends AbstractType {
 
     private int size;
     private Type ofType;
+    // * Computed the first time it is needed, -1 until then
+    private int numberOfBytes = -1;
 
     public ArrayType(int size, Type ofType, int line, int column) {
         super(line, column);
@@ -38,6 +40,7 @@ public class ArrayType extends AbstractType {
 
     public void setSize(int size) {
         this.size = size;
+        this.numberOfBytes = -1;
     }
 
     public Type getOfType() {
@@ -46,11 +49,17 @@ public class ArrayType extends AbstractType {
 
     public void setOfType(Type ofType) {
         this.ofType = ofType;
+        this.numberOfBytes = -1;
     }
 
+    /**
+     * Size of the array, computed once: the size of its elements is not expected to change.
+     */
     @Override
     public int numberOfBytes(){
-        return ofType.numberOfBytes() * size;
+        if (numberOfBytes < 0)
+            numberOfBytes = ofType.numberOfBytes() * size;
+        return numberOfBytes;
     }
 
     @Override
@@ -7,16 +7,13 @@ import semantic.Visitor;
 
 public class BooleanType extends AbstractType{
 
-    private static BooleanType instance;
+    private static final BooleanType instance = new BooleanType();
 
     private BooleanType(){
         super(0,0);
     }
 
     public static BooleanType getInstance(){
-        if(instance == null){
-            instance = new BooleanType();
-        }
         return instance;
     }
 
@@ -7,16 +7,13 @@ import semantic.Visitor;
 
 public class CharType extends AbstractType{
 
-    private static CharType instance;
+    private static final CharType instance = new CharType();
 
     private CharType(){
         super(0,0);
     }
 
     public static CharType getInstance(){
-        if(instance == null){
-            instance = new CharType();
-        }
         return instance;
     }
 
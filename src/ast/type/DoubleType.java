@@ -7,16 +7,13 @@ import semantic.Visitor;
 
 public class DoubleType extends AbstractType {
 
-    private static DoubleType instance;
+    private static final DoubleType instance = new DoubleType();
 
     private DoubleType(){
         super(0,0);
     }
 
     public static DoubleType getInstance(){
-        if(instance == null){
-            instance = new DoubleType();
-        }
         return instance;
     }
 
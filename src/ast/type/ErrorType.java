@@ -8,14 +8,37 @@ import java.util.List;
 
 public class ErrorType extends AbstractType{
 
-    private String message;
+    private static final Object[] NO_ARGUMENTS = {};
+
+    private final String format;
+    private final Object[] arguments;
 
     public ErrorType(String message, int line, int column) {
+        this(line, column, message, NO_ARGUMENTS);
+    }
+
+    /**
+     * Error whose message is only formatted, with String.format, when it is shown. Most errors are never
+     * shown: those past the limit of the ErrorHandler, or the same error found again.
+     */
+    public ErrorType(int line, int column, String format, Object... arguments) {
         super(line, column);
-        this.message = message;
+        this.format = format;
+        this.arguments = arguments;
         ErrorHandler.getInstance().addError(this);
     }
 
+    /**
+     * What the error is, regardless of the arguments of its message.
+     */
+    public String getKind() {
+        return format;
+    }
+
+    public String getMessage() {
+        return arguments.length == 0 ? format : String.format(format, arguments);
+    }
+
     @Override
     public Type arithmetic(AstNode node) {
         return this;
@@ -68,7 +91,7 @@ public class ErrorType extends AbstractType{
 
     @Override
     public String toString(){
-        return message +" line: " + getLine() + ", column: " + getColumn();
+        return getMessage() +" line: " + getLine() + ", column: " + getColumn();
     }
 
     @Override
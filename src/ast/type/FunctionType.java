@@ -1,6 +1,7 @@
 package ast.type;
 
 import ast.AstNode;
+import ast.ChildList;
 import ast.definition.VarDefinition;
 import semantic.Visitor;
 
@@ -10,23 +11,26 @@ import java.util.List;
 public class FunctionType extends AbstractType {
 
     private List<VarDefinition> parameters;
+    private List<VarDefinition> parametersView;
     private Type returnType;
     private int bytesForParams;
 
     public FunctionType(List<VarDefinition> parameters, Type type, int line, int column) {
         super(line, column);
         this.parameters = parameters;
+        this.parametersView = new ChildList<>(parameters);
         this.returnType = type;
     }
 
     public FunctionType(Type type, int line, int column) {
         super(line, column);
         this.parameters = new ArrayList<>();
+        this.parametersView = new ChildList<>(parameters);
         this.returnType = type;
     }
 
     public List<VarDefinition> getParameters() {
-        return new ArrayList<>(parameters);
+        return parametersView;
     }
 
     public void addParameter(VarDefinition parameter) {
@@ -7,16 +7,13 @@ import semantic.Visitor;
 
 public class IntegerType extends AbstractType{
     
-    private static IntegerType instance;
+    private static final IntegerType instance = new IntegerType();
 
     private IntegerType(){
         super(0,0);
     }
 
     public static IntegerType getInstance(){
-        if(instance == null){
-            instance = new IntegerType();
-        }
         return instance;
     }
 
@@ -1,40 +1,67 @@
 package ast.type;
 
 import ast.AstNode;
+import ast.ChildList;
 import semantic.Visitor;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class RecordType extends AbstractType{
 
     private List<RecordField> fields;
+    private List<RecordField> fieldsView;
+    // * Computed the first time it is needed, -1 until then
+    private int numberOfBytes = -1;
+    // * Fields by name, built on the first lookup, once the parser has added them all
+    private volatile Map<String, RecordField> index;
 
     public RecordType(List<RecordField> recordFields, int line, int column) {
         super(line, column);
         this.fields = recordFields;
+        this.fieldsView = new ChildList<>(fields);
     }
 
     public RecordType(int line, int column) {
         super(line, column);
         this.fields = new ArrayList<>();
+        this.fieldsView = new ChildList<>(fields);
     }
 
     public List<RecordField> getFields(){
-        return new ArrayList<>(fields);
+        return fieldsView;
     }
 
     public void addField(RecordField field){
         this.fields.add(field);
+        this.numberOfBytes = -1;
+        this.index = null;
+    }
+
+    /**
+     * @return the field with the name, the first one if there are several, or null if there is none.
+     */
+    public RecordField getField(String fieldName) {
+        Map<String, RecordField> index = this.index;
+        if (index == null) {
+            Map<String, RecordField> fieldsByName = new HashMap<>();
+            for (RecordField field : fields)
+                fieldsByName.putIfAbsent(field.getName(), field);
+            // * Checked concurrently by several threads, which at worst build it more than once
+            this.index = index = Collections.unmodifiableMap(fieldsByName);
+        }
+        return index.get(fieldName);
     }
 
     @Override
     public Type dot(String fieldName, AstNode node) {
-        for (RecordField field : fields) {
-            if (field.getName().equals(fieldName))
-                return field.getType();
-        }
-        return new ErrorType("The field " + fieldName + " does not exist.", node.getLine(),node.getColumn());
+        RecordField field = getField(fieldName);
+        if (field != null)
+            return field.getType();
+        return new ErrorType(node.getLine(),node.getColumn(), "The field %s does not exist.", fieldName);
     }
 
     @Override
@@ -45,11 +72,17 @@ public class RecordType extends AbstractType{
             return super.promotesTo(otherType, node);
     }
 
+    /**
+     * Size of the record, computed once: the sizes of the types of its fields are not expected to change.
+     */
     @Override
     public int numberOfBytes(){
-        int numberOfBytes = 0;
-        for(RecordField field : fields){
-            numberOfBytes += field.getType().numberOfBytes();
+        if (numberOfBytes < 0) {
+            int numberOfBytes = 0;
+            for(RecordField field : fields){
+                numberOfBytes += field.getType().numberOfBytes();
+            }
+            this.numberOfBytes = numberOfBytes;
         }
         return numberOfBytes;
     }
@@ -4,16 +4,13 @@ import semantic.Visitor;
 
 public class VoidType extends AbstractType {
 
-    private static VoidType instance;
+    private static final VoidType instance = new VoidType();
 
     private VoidType() {
         super(0, 0);
     }
 
     public static VoidType getInstance() {
-        if (instance == null) {
-            instance = new VoidType();
-        }
         return instance;
     }
 
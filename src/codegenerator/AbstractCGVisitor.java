@@ -25,6 +25,13 @@ public abstract class AbstractCGVisitor<TP> implements Visitor<TP, Void> {
         this.codeGenerator = codeGenerator;
     }
 
+    /**
+     * For back ends that bring their own emitter instead of the MAPL CodeGenerator.
+     */
+    protected AbstractCGVisitor(){
+        this(null);
+    }
+
     @Override
     public Void visit(Program program, TP param) {
         throw new IllegalStateException("Cannot call " + this.getClass().getName() + " for this class.");
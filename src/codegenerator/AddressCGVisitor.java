@@ -1,13 +1,11 @@
 package codegenerator;
 
-import ast.definition.VarDefinition;
+import ast.definition.Slot;
 import ast.expression.ArrayAccess;
 import ast.expression.FieldAccess;
 import ast.expression.value.Variable;
 import ast.type.ArrayType;
 import ast.type.IntegerType;
-import ast.type.RecordField;
-import ast.type.RecordType;
 
 
 public class AddressCGVisitor extends AbstractCGVisitor<Void>{
@@ -21,22 +19,22 @@ public class AddressCGVisitor extends AbstractCGVisitor<Void>{
 
     /**
      * address[[Variable : expression -> ID]]()=
-     *      if (expression.definition.scope == 0)
-     *          <pusha> expression.definition.offset
+     *      if (expression.slot.kind == GLOBAL)
+     *          <pusha> expression.slot.offset
      *      else {
      *          <push bp>
-     *          <push> expression.definition.offset
+     *          <push> expression.slot.offset
      *          <add>
      *      }
      */
     @Override
     public Void visit(Variable variable, Void param){
-        VarDefinition definition = ((VarDefinition)variable.getDefinition());
-        if (definition.getScope() == 0){
-            codeGenerator.pusha(definition.getOffset());
+        Slot slot = variable.getSlot();
+        if (slot.isGlobal()){
+            codeGenerator.pusha(slot.getOffset());
         } else {
             codeGenerator.pushBP();
-            codeGenerator.push(definition.getOffset());
+            codeGenerator.push(slot.getOffset());
             codeGenerator.add(IntegerType.getInstance());
         }
         return null;
@@ -65,22 +63,15 @@ public class AddressCGVisitor extends AbstractCGVisitor<Void>{
     /**
      * address[[FieldAccess : expression1 -> expression2 "." ID]]()=
      *      address[[expression2]]()
-     *      for (RecordField field : expression2.type.fields)
-     *          if (field.name.equals(ID)){
-     *              <pushi> field.offset
-     *              <addi>
-     *          }
+     *      <pushi> expression1.field.offset
+     *      <addi>
      */
     @Override
     public Void visit(FieldAccess fieldAccess, Void param){
         fieldAccess.getExpression().accept(this,null);
 
-        for (RecordField recordField : ((RecordType)fieldAccess.getExpression().getType()).getFields()){
-            if (recordField.getName().equals(fieldAccess.getFieldName())) {
-                codeGenerator.push(recordField.getOffset());
-                codeGenerator.add(IntegerType.getInstance());
-            }
-        }
+        codeGenerator.push(fieldAccess.getField().getOffset());
+        codeGenerator.add(IntegerType.getInstance());
 
         return null;
     }
@@ -10,12 +10,19 @@ import introspector.test.ast.ASTNode;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
 
 public class CodeGenerator {
 
     private PrintWriter out;
     private int label;
 
+    // * Code rendered apart: its text and, for every reference to a label, where its number goes
+    private StringWriter text;
+    private int[] labelPositions, labelNumbers;
+    private int labelReferences;
+
     public CodeGenerator(String outputFileName, String inputFileName) {
         try {
             this.out = new PrintWriter(outputFileName);
@@ -26,15 +33,67 @@ public class CodeGenerator {
         this.writeSource(inputFileName);
     }
 
+    /**
+     * Writes the code to the given writer, without the source directive, so the code of a program can be
+     * generated in parts.
+     */
+    public CodeGenerator(PrintWriter out) {
+        this.out = out;
+    }
+
+    /**
+     * Renders the code apart, with labels numbered from 0, so it can be generated at the same time as
+     * the code before it, and then written with append.
+     */
+    public CodeGenerator() {
+        this.text = new StringWriter();
+        this.out = new PrintWriter(text);
+        this.labelPositions = new int[16];
+        this.labelNumbers = new int[16];
+    }
+
+    /**
+     * Writes the code rendered apart by the other CodeGenerator, with its labels numbered after those of
+     * this one, so the code is the one this one would have generated.
+     */
+    public void append(CodeGenerator code) {
+        StringBuffer chars = code.text.getBuffer();
+        int start = 0;
+        for (int i = 0; i < code.labelReferences; i++) {
+            out.append(chars, start, code.labelPositions[i]);
+            out.print(label + code.labelNumbers[i]);
+            start = code.labelPositions[i];
+        }
+        out.append(chars, start, chars.length());
+        out.flush();
+        label += code.label;
+    }
+
     public int generateLabel(){
         return label++;
     }
 
     public void writeLabel(int labelNumber){
-        out.println("LABEL_" + labelNumber + ":");
+        out.print("LABEL_");
+        writeLabelNumber(labelNumber);
+        out.println(":");
         out.flush();
     }
 
+    private void writeLabelNumber(int labelNumber){
+        if (text == null) {
+            out.print(labelNumber);
+            return;
+        }
+        // * Numbered once it is known how many labels go before
+        if (labelReferences == labelPositions.length) {
+            labelPositions = Arrays.copyOf(labelPositions, labelReferences * 2);
+            labelNumbers = Arrays.copyOf(labelNumbers, labelReferences * 2);
+        }
+        labelPositions[labelReferences] = text.getBuffer().length();
+        labelNumbers[labelReferences++] = labelNumber;
+    }
+
     public void writeSource(String inputFileName){
         out.println("#source \"" + inputFileName + "\"\n");
         out.flush();
@@ -59,6 +118,12 @@ public class CodeGenerator {
         out.flush();
     }
 
+    public void halt(){
+        out.println("halt");
+        out.println();
+        out.flush();
+    }
+
     public void enter(int number){
         out.println("\tenter\t"+number);
         out.flush();
@@ -224,12 +289,23 @@ public class CodeGenerator {
     }
 
     public void jz(int labelNumber) {
-        out.println("\tjz LABEL_" + labelNumber);
+        out.print("\tjz LABEL_");
+        writeLabelNumber(labelNumber);
+        out.println();
+        out.flush();
+    }
+
+    public void jnz(int labelNumber) {
+        out.print("\tjnz LABEL_");
+        writeLabelNumber(labelNumber);
+        out.println();
         out.flush();
     }
 
     public void jmp(int labelNumber) {
-        out.println("\tjmp LABEL_" + labelNumber);
+        out.print("\tjmp LABEL_");
+        writeLabelNumber(labelNumber);
+        out.println();
         out.flush();
     }
 
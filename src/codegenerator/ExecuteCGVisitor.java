@@ -1,6 +1,8 @@
 package codegenerator;
 
+import ast.AstNode;
 import ast.Program;
+import ast.definition.Definition;
 import ast.definition.FunctionDefinition;
 import ast.definition.VarDefinition;
 import ast.expression.FunctionInvocation;
@@ -9,10 +11,22 @@ import ast.type.FunctionType;
 import ast.type.Type;
 import ast.type.VoidType;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
 public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
 
+    private static final int CHUNKS_PER_THREAD = 4;
+
     private ValueCGVisitor valueCGVisitor;
     private AddressCGVisitor addressCGVisitor;
+    private Profile profile;
+    private Instrumentation instrumentation;
+    private int jobs = 1;
 
     public ExecuteCGVisitor(CodeGenerator codeGenerator){
         super(codeGenerator);
@@ -20,16 +34,46 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
         this.addressCGVisitor = new AddressCGVisitor(codeGenerator, valueCGVisitor);
     }
 
+    /**
+     * Generates code laid out with the execution counts of a previous run.
+     */
+    public ExecuteCGVisitor(CodeGenerator codeGenerator, Profile profile){
+        this(codeGenerator);
+        this.profile = profile;
+    }
+
+    /**
+     * Generates code that counts the executions of the sites chosen in the instrumentation.
+     * The profile may be null.
+     */
+    public ExecuteCGVisitor(CodeGenerator codeGenerator, Profile profile, Instrumentation instrumentation){
+        this(codeGenerator, profile);
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Generates the code of the functions with as many threads as jobs, when they are not instrumented,
+     * since the counters are numbered in the order of the code.
+     */
+    public ExecuteCGVisitor(CodeGenerator codeGenerator, Profile profile, Instrumentation instrumentation, int jobs){
+        this(codeGenerator, profile, instrumentation);
+        this.jobs = jobs;
+    }
+
     /**
      * execute [[Program : program -> definition*]]() =
      *      for (Definition definition : definition*)
      *          if (definition instanceof VarDefinition)
      *              execute[[definition]]()
      *      <call main>
+     *      if instrumented
+     *          <call> counter printer
      *      <halt>
      *      for (Definition definition : definition*)
      *          if (definition instanceof FunctionDefinition)
      *             execute[[definition]]()
+     *      if instrumented
+     *          counter printer
      */
     @Override
     public Void visit (Program program, FunctionDefinition param){
@@ -37,10 +81,24 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
         program.getProgram().stream().filter( definition -> definition instanceof VarDefinition)
                 .forEach( definition -> definition.accept(this,null));
 
-        codeGenerator.mainCall();
+        String printer = instrumentation == null ? null : printerName(program);
+        if (instrumentation == null)
+            codeGenerator.mainCall();
+        else {
+            codeGenerator.callFunction("main");
+            codeGenerator.callFunction(printer);
+            codeGenerator.halt();
+        }
 
-        program.getProgram().stream().filter( definition -> definition instanceof FunctionDefinition)
-                .forEach( definition -> definition.accept(this,null));
+        List<Definition> functions = program.getProgram().stream().filter( definition -> definition instanceof FunctionDefinition)
+                .collect(Collectors.toList());
+        if (jobs <= 1 || instrumentation != null || functions.size() < 2)
+            functions.forEach( definition -> definition.accept(this,null));
+        else
+            generateInParallel(functions);
+
+        if (instrumentation != null)
+            instrumentation.writePrinter(codeGenerator, printer);
 
         return null;
     }
@@ -93,6 +151,7 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
         }
 
         codeGenerator.enter(functionDefinition.getBytesForLocals());
+        count(Instrumentation.Site.FUNCTION, null, functionDefinition, functionDefinition);
 
         for (Statement statement : functionDefinition.getFunctionStatements()){
             statement.accept(this, functionDefinition);
@@ -172,12 +231,16 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
      *          int end = codeGenerator.getLabel()
      *          int condition = codeGenerator.getLabel()
      *          <LABEL_> condition <:>
-     *          value[[expression]]()
-     *          <jz LABEL_> end
-     *          for(Statement statement : statement2*)
-     *              execute[[statement]]()
+     *          for (copy : 1..profile.unrollFactor(statement1))
+     *              value[[expression]]()
+     *              <jz LABEL_> end
+     *              for(Statement statement : statement2*)
+     *                  execute[[statement]]()
      *          <jmp LABEL_> condition
      *          <LABEL_> end <:>
+     *
+     * Without a profile the body is generated once. Hot loops get several copies of the condition and
+     * the body, so the jump back to the condition is run once every few iterations.
      */
     @Override
     public Void visit (While whileStatement, FunctionDefinition param){
@@ -188,14 +251,22 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
         int endLabel, conditionLabel;
         endLabel = codeGenerator.generateLabel();
         conditionLabel = codeGenerator.generateLabel();
+        int copies = profile == null ? 1 : profile.unrollFactor(whileStatement);
 
         codeGenerator.writeLabel(conditionLabel);
-        whileStatement.getCondition().accept(valueCGVisitor, null);
-        codeGenerator.jz(endLabel);
-
-        codeGenerator.writeComment("While body");
-        for (Statement statement : whileStatement.getBody()) {
-            statement.accept(this, param);
+        for (int copy = 0; copy < copies; copy++) {
+            if (copy > 0) {
+                codeGenerator.writeLine(whileStatement);
+                codeGenerator.writeComment("While, unrolled copy " + copy);
+            }
+            whileStatement.getCondition().accept(valueCGVisitor, null);
+            codeGenerator.jz(endLabel);
+
+            codeGenerator.writeComment("While body");
+            for (Statement statement : whileStatement.getBody()) {
+                statement.accept(this, param);
+            }
+            count(Instrumentation.Site.LOOP, null, param, whileStatement);
         }
 
         codeGenerator.jmp(conditionLabel);
@@ -218,6 +289,17 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
      *          for(Statement statement : statement3*)
      *              execute[[statement]]()
      *          <LABEL_> end <:>
+     *
+     * When the profile shows that the else body runs more often, the else body becomes the fall-through:
+     *          value[[expression]]()
+     *          <jnz LABEL_> then
+     *          for(Statement statement : statement3*)
+     *              execute[[statement]]()
+     *          <jmp LABEL_> end
+     *          <LABEL_> then <:>
+     *          for(Statement statement : statement2*)
+     *              execute[[statement]]()
+     *          <LABEL_> end <:>
      */
     @Override
     public Void visit (IfElse ifElse, FunctionDefinition param){
@@ -225,12 +307,16 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
         codeGenerator.writeLine(ifElse);
         codeGenerator.writeComment("If-Else");
 
+        if (profile != null && profile.isElseHotter(ifElse))
+            return elseFirst(ifElse, param);
+
         int endLabel = codeGenerator.generateLabel();
         int elseLabel = codeGenerator.generateLabel();
 
         ifElse.getCondition().accept(valueCGVisitor, null);
         codeGenerator.jz(elseLabel);
 
+        count(Instrumentation.Site.BRANCH, "then", param, ifElse);
         for (Statement statement : ifElse.getIfBody()) {
             codeGenerator.writeComment("If body");
             statement.accept(this, param);
@@ -238,6 +324,7 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
         codeGenerator.jmp(endLabel);
 
         codeGenerator.writeLabel(elseLabel);
+        count(Instrumentation.Site.BRANCH, "else", param, ifElse);
         for (Statement statement : ifElse.getElseBody()) {
             codeGenerator.writeComment("Else body");
             statement.accept(this, param);
@@ -248,6 +335,32 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
         return null;
     }
 
+    private Void elseFirst(IfElse ifElse, FunctionDefinition param){
+        int endLabel = codeGenerator.generateLabel();
+        int thenLabel = codeGenerator.generateLabel();
+
+        ifElse.getCondition().accept(valueCGVisitor, null);
+        codeGenerator.jnz(thenLabel);
+
+        count(Instrumentation.Site.BRANCH, "else", param, ifElse);
+        for (Statement statement : ifElse.getElseBody()) {
+            codeGenerator.writeComment("Else body");
+            statement.accept(this, param);
+        }
+        codeGenerator.jmp(endLabel);
+
+        codeGenerator.writeLabel(thenLabel);
+        count(Instrumentation.Site.BRANCH, "then", param, ifElse);
+        for (Statement statement : ifElse.getIfBody()) {
+            codeGenerator.writeComment("If body");
+            statement.accept(this, param);
+        }
+
+        codeGenerator.writeLabel(endLabel);
+
+        return null;
+    }
+
     /**
      * execute[[FunctionInvocation : statement -> expression1 expression2*]]() =
      *          value[[(Expression)statement]]()
@@ -293,4 +406,50 @@ public class ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
         return null;
     }
 
+    /**
+     * Every task renders the code of a range of consecutive functions apart, with labels of its own, and
+     * the ranges are appended in order, so the code is the one of generating them one after the other.
+     */
+    private void generateInParallel(List<Definition> functions){
+        int size = functions.size(), chunks = Math.min(size, jobs * CHUNKS_PER_THREAD);
+        ForkJoinPool pool = new ForkJoinPool(jobs);
+        try {
+            List<CompletableFuture<CodeGenerator>> codes = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                List<Definition> range = functions.subList(size * chunk / chunks, size * (chunk + 1) / chunks);
+                codes.add(CompletableFuture.supplyAsync(() -> {
+                    CodeGenerator code = new CodeGenerator();
+                    ExecuteCGVisitor visitor = new ExecuteCGVisitor(code, profile);
+                    range.forEach( definition -> definition.accept(visitor,null));
+                    return code;
+                }, pool));
+            }
+            for (CompletableFuture<CodeGenerator> code : codes) {
+                try {
+                    codeGenerator.append(code.join());
+                } catch (CompletionException e) {
+                    // * What the task threw itself, as when generating sequentially
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Name of the function that prints the counters, which must not clash with the ones of the program.
+     */
+    private static String printerName(Program program){
+        String printer = "__counters";
+        while (program.getProgram().stream().map(Definition::getName).collect(Collectors.toSet()).contains(printer))
+            printer += "_";
+        return printer;
+    }
+
+    private void count(Instrumentation.Site site, String arm, FunctionDefinition function, AstNode node){
+        if (instrumentation != null)
+            instrumentation.count(codeGenerator, site, arm, function, node);
+    }
+
 }
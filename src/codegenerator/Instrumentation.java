@@ -0,0 +1,186 @@
+package codegenerator;
+
+import ast.AstNode;
+import ast.definition.FunctionDefinition;
+import ast.type.CharType;
+import ast.type.IntegerType;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Execution counters written into the generated code, so any MAPL VM can profile a program.
+ *
+ * The counters are placed after the global variables. An int would overflow at 32767 and a real stops
+ * counting exactly at 2^24, so each counter is a number in base 10000 of LIMBS ints, the lowest first,
+ * exact up to about 3 * 10^12. Each counted site adds one to the lowest limb and carries when it reaches
+ * 10000, and a function called after main prints every counter as "@id value", in decimal, before
+ * halt. The mapping file tells the kind, function and source line of each counter id.
+ */
+public class Instrumentation {
+
+    public enum Site {
+        FUNCTION, LOOP, BRANCH
+    }
+
+    /** Ints of a counter, and the base of each of them, the largest power of 10 an int holds */
+    static final int LIMBS = 3, LIMB = 10000;
+    private static final int LIMB_SIZE = IntegerType.getInstance().numberOfBytes();
+    private static final int COUNTER_SIZE = LIMBS * LIMB_SIZE;
+
+    private final int baseAddress;
+    private final Set<Site> sites;
+    private List<String> mapping = new ArrayList<>();
+
+    /**
+     * @param bytesForGlobals size of the global variables; the counters start right after them.
+     * @param sites kinds of site that get a counter.
+     */
+    public Instrumentation(int bytesForGlobals, Set<Site> sites) {
+        this.baseAddress = bytesForGlobals;
+        this.sites = EnumSet.copyOf(sites);
+    }
+
+    /**
+     * Parses the value of the -instrument option: a comma separated list of function, loop and branch,
+     * or nothing for all of them.
+     */
+    public static Set<Site> parseSites(String option) {
+        if (option.isEmpty())
+            return EnumSet.allOf(Site.class);
+        Set<Site> sites = EnumSet.noneOf(Site.class);
+        for (String site : option.split(","))
+            sites.add(Site.valueOf(site.trim().toUpperCase()));
+        return sites;
+    }
+
+    /**
+     * Adds one to a new counter for the site, if its kind is counted, carrying to the next limb only when
+     * a limb reaches LIMB:
+     *      for (limb : 0..LIMBS-1)
+     *          <pusha> counter + limb
+     *          <pusha> counter + limb
+     *          <loadi>
+     *          <pushi> 1
+     *          <addi>
+     *          <storei>
+     *          if (limb < LIMBS-1)
+     *              <pusha> counter + limb
+     *              <loadi>
+     *              <pushi> LIMB
+     *              <eqi>
+     *              <jz LABEL_> end
+     *              <pusha> counter + limb
+     *              <pushi> 0
+     *              <storei>
+     *      <LABEL_> end <:>
+     */
+    public void count(CodeGenerator codeGenerator, Site site, String arm, FunctionDefinition function, AstNode node) {
+        if (!sites.contains(site))
+            return;
+        int address = baseAddress + COUNTER_SIZE * mapping.size();
+        mapping.add(mapping.size() + " " + (arm == null ? site.name().toLowerCase() : arm) + " "
+                + function.getName() + " " + node.getLine());
+
+        codeGenerator.writeComment("Counter " + (mapping.size() - 1));
+        int end = codeGenerator.generateLabel();
+        for (int limb = 0; limb < LIMBS; limb++) {
+            int limbAddress = address + LIMB_SIZE * limb;
+            codeGenerator.pusha(limbAddress);
+            codeGenerator.pusha(limbAddress);
+            codeGenerator.load(IntegerType.getInstance());
+            codeGenerator.push(1);
+            codeGenerator.add(IntegerType.getInstance());
+            codeGenerator.store(IntegerType.getInstance());
+            if (limb == LIMBS - 1)
+                break;
+            // * The carry, run once every LIMB counts
+            codeGenerator.pusha(limbAddress);
+            codeGenerator.load(IntegerType.getInstance());
+            codeGenerator.push(LIMB);
+            codeGenerator.eq(IntegerType.getInstance());
+            codeGenerator.jz(end);
+            codeGenerator.pusha(limbAddress);
+            codeGenerator.push(0);
+            codeGenerator.store(IntegerType.getInstance());
+        }
+        codeGenerator.writeLabel(end);
+    }
+
+    /**
+     * Writes the function that prints every counter as a line "@id value". It takes no parameters and
+     * returns nothing, and it is called after main. The value is the highest limb that is not 0, followed
+     * by the lower ones padded with zeros to 4 digits.
+     */
+    public void writePrinter(CodeGenerator codeGenerator, String name) {
+        codeGenerator.generateLabel(name);
+        codeGenerator.writeComment("Counters");
+        codeGenerator.enter(0);
+        for (int id = 0; id < mapping.size(); id++) {
+            for (char c : ("\n@" + id + " ").toCharArray()) {
+                codeGenerator.push(c);
+                codeGenerator.out(CharType.getInstance());
+            }
+            int address = baseAddress + COUNTER_SIZE * id, end = codeGenerator.generateLabel();
+            for (int limb = LIMBS - 1; limb > 0; limb--) {
+                int lower = codeGenerator.generateLabel();
+                codeGenerator.pusha(address + LIMB_SIZE * limb);
+                codeGenerator.load(IntegerType.getInstance());
+                codeGenerator.jz(lower);
+                printLimb(codeGenerator, address + LIMB_SIZE * limb, false);
+                for (int next = limb - 1; next >= 0; next--)
+                    printLimb(codeGenerator, address + LIMB_SIZE * next, true);
+                codeGenerator.jmp(end);
+                codeGenerator.writeLabel(lower);
+            }
+            printLimb(codeGenerator, address, false);
+            codeGenerator.writeLabel(end);
+        }
+        codeGenerator.ret(0, 0, 0);
+    }
+
+    /**
+     * Prints the limb at the address, padded with zeros to the digits of LIMB - 1 if it is not the first.
+     */
+    private static void printLimb(CodeGenerator codeGenerator, int address, boolean padded) {
+        for (int power = LIMB / 10; padded && power > 1; power /= 10) {
+            int digits = codeGenerator.generateLabel();
+            codeGenerator.pusha(address);
+            codeGenerator.load(IntegerType.getInstance());
+            codeGenerator.push(power);
+            codeGenerator.lt(IntegerType.getInstance());
+            codeGenerator.jz(digits);
+            codeGenerator.push('0');
+            codeGenerator.out(CharType.getInstance());
+            codeGenerator.writeLabel(digits);
+        }
+        codeGenerator.pusha(address);
+        codeGenerator.load(IntegerType.getInstance());
+        codeGenerator.out(IntegerType.getInstance());
+    }
+
+    public int getCounters() {
+        return mapping.size();
+    }
+
+    /**
+     * Bytes of the counters, after the global variables.
+     */
+    public int getBytes() {
+        return COUNTER_SIZE * mapping.size();
+    }
+
+    /**
+     * Writes a line "id kind function line" for each counter.
+     */
+    public void writeMapping(String fileName) throws IOException {
+        try (PrintWriter out = new PrintWriter(fileName)) {
+            for (String counter : mapping)
+                out.println(counter);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package codegenerator;
+
+import ast.Program;
+import ast.definition.Definition;
+import ast.definition.FunctionDefinition;
+import ast.expression.FunctionInvocation;
+import semantic.AbstractVisitor;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * Computes how much memory a program needs in the MAPL virtual machine.
+ *
+ * The frame of a function takes the saved bp and return address, its local variables and its maximum
+ * operand stack depth (from the StackVerifier). Its arguments and its return value are not part of it:
+ * they are in the operand stack of the caller, pushed before the call and left by ret. The worst case
+ * stack is the heaviest path of frames in the call graph starting at main, which the program reaches
+ * when every caller on it is at its maximum depth when it calls. Recursive functions are grouped in
+ * strongly connected components: each level of recursion costs, at most, the frames of every function
+ * of the component, and the stack needed is unbounded.
+ */
+public class MemoryAnalyzer extends AbstractVisitor<FunctionDefinition, Void> {
+
+    private static final int SAVED_BP_AND_RETURN_ADDRESS = 4;
+    private static final String MAIN = "main";
+
+    private final int bytesForGlobals;
+    private final Map<String, Integer> maxDepths;
+
+    private Map<String, FunctionDefinition> functions = new LinkedHashMap<>();
+    private Map<String, Set<String>> calls = new LinkedHashMap<>();
+    private Map<String, Integer> frames = new LinkedHashMap<>();
+
+    private List<List<String>> components = new ArrayList<>();
+    private Map<String, Integer> componentOf = new HashMap<>();
+    private List<Integer> recursionCosts = new ArrayList<>();
+
+    private int stackBound;
+    private boolean recursive;
+    private List<String> worstPath = new ArrayList<>();
+
+    /**
+     * @param bytesForGlobals size of the global data, as laid out by the IdentificationVisitor.
+     * @param maxDepths maximum operand stack depth of each function, as computed by the StackVerifier.
+     */
+    public MemoryAnalyzer(int bytesForGlobals, Map<String, Integer> maxDepths) {
+        this.bytesForGlobals = bytesForGlobals;
+        this.maxDepths = maxDepths;
+    }
+
+    public void analyze(Program program) {
+        program.accept(this, null);
+        for (Map.Entry<String, FunctionDefinition> function : functions.entrySet())
+            frames.put(function.getKey(), frame(function.getValue()));
+        findComponents();
+        findWorstPath();
+    }
+
+    // * Call graph
+
+    @Override
+    public Void visit(Program program, FunctionDefinition param) {
+        for (Definition definition : program.getProgram()) {
+            if (definition instanceof FunctionDefinition) {
+                functions.put(definition.getName(), (FunctionDefinition) definition);
+                calls.put(definition.getName(), new LinkedHashSet<>());
+            }
+        }
+        return super.visit(program, param);
+    }
+
+    @Override
+    public Void visit(FunctionDefinition functionDefinition, FunctionDefinition param) {
+        return super.visit(functionDefinition, functionDefinition);
+    }
+
+    @Override
+    public Void visit(FunctionInvocation functionInvocation, FunctionDefinition param) {
+        calls.get(param.getName()).add(functionInvocation.getVariable().getName());
+        return super.visit(functionInvocation, param);
+    }
+
+    private int frame(FunctionDefinition function) {
+        return SAVED_BP_AND_RETURN_ADDRESS + function.getBytesForLocals() + maxDepths.getOrDefault(function.getName(), 0);
+    }
+
+    // * Recursion: strongly connected components (Tarjan)
+
+    private int index;
+    private Map<String, Integer> indexes = new HashMap<>();
+    private Map<String, Integer> lowLinks = new HashMap<>();
+    private Deque<String> stack = new ArrayDeque<>();
+
+    private void findComponents() {
+        for (String function : functions.keySet())
+            if (!indexes.containsKey(function))
+                connect(function);
+    }
+
+    private void connect(String function) {
+        indexes.put(function, index);
+        lowLinks.put(function, index++);
+        stack.push(function);
+
+        for (String callee : calls.get(function)) {
+            if (!indexes.containsKey(callee)) {
+                connect(callee);
+                lowLinks.put(function, Math.min(lowLinks.get(function), lowLinks.get(callee)));
+            } else if (stack.contains(callee)) {
+                lowLinks.put(function, Math.min(lowLinks.get(function), indexes.get(callee)));
+            }
+        }
+
+        if (lowLinks.get(function).equals(indexes.get(function))) {
+            List<String> component = new ArrayList<>();
+            String member;
+            do {
+                member = stack.pop();
+                component.add(member);
+                componentOf.put(member, components.size());
+            } while (!member.equals(function));
+            Collections.reverse(component);
+            components.add(component);
+
+            boolean cycle = component.size() > 1 || calls.get(function).contains(function);
+            recursionCosts.add(cycle ? component.stream().mapToInt(frames::get).sum() : 0);
+        }
+    }
+
+    // * Worst case path
+
+    /**
+     * Heaviest path from main in the graph of components, where a component weighs one level of recursion.
+     * Tarjan numbers the components in reverse topological order, so callees are always solved first.
+     */
+    private void findWorstPath() {
+        if (!functions.containsKey(MAIN))
+            return;
+
+        int[] cost = new int[components.size()];
+        int[] next = new int[components.size()];
+        for (int c = 0; c < components.size(); c++) {
+            next[c] = -1;
+            int best = 0;
+            for (String member : components.get(c))
+                for (String callee : calls.get(member)) {
+                    int target = componentOf.get(callee);
+                    if (target != c && cost[target] > best) {
+                        best = cost[target];
+                        next[c] = target;
+                    }
+                }
+            cost[c] = weight(c) + best;
+        }
+
+        int component = componentOf.get(MAIN);
+        stackBound = cost[component];
+        for (int c = component; c != -1; c = next[c])
+            worstPath.addAll(components.get(c));
+        // * Any recursion reachable from main makes the stack unbounded, even off the heaviest path
+        recursive = reachable(component).stream().anyMatch(c -> recursionCosts.get(c) > 0);
+    }
+
+    private int weight(int component) {
+        if (recursionCosts.get(component) > 0)
+            return recursionCosts.get(component);
+        return frames.get(components.get(component).get(0));
+    }
+
+    private Set<Integer> reachable(int component) {
+        Set<Integer> reached = new HashSet<>();
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(component);
+        while (!pending.isEmpty()) {
+            int c = pending.pop();
+            if (!reached.add(c))
+                continue;
+            for (String member : components.get(c))
+                for (String callee : calls.get(member))
+                    pending.push(componentOf.get(callee));
+        }
+        return reached;
+    }
+
+    // * Results
+
+    public int getBytesForGlobals() {
+        return bytesForGlobals;
+    }
+
+    public Map<String, Integer> getFrames() {
+        return frames;
+    }
+
+    /**
+     * Stack needed in the worst case; with recursion, the stack needed with one level of each recursive component.
+     */
+    public int getStackBound() {
+        return stackBound;
+    }
+
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    /**
+     * Bytes each level of recursion adds, for every recursive group of functions.
+     */
+    public Map<List<String>, Integer> getRecursionCosts() {
+        Map<List<String>, Integer> costs = new LinkedHashMap<>();
+        for (int c = 0; c < components.size(); c++)
+            if (recursionCosts.get(c) > 0)
+                costs.put(components.get(c), recursionCosts.get(c));
+        return costs;
+    }
+
+    public void printReport(PrintStream out) {
+        out.println("Memory footprint");
+        out.println("  Globals: " + bytesForGlobals + " bytes");
+        out.println("  Frames (bp and return address + locals + operand stack, which holds the arguments of its calls):");
+        for (Map.Entry<String, Integer> frame : frames.entrySet()) {
+            FunctionDefinition function = functions.get(frame.getKey());
+            out.println("    " + frame.getKey() + ": " + frame.getValue() + " bytes (" + SAVED_BP_AND_RETURN_ADDRESS
+                    + " + " + function.getBytesForLocals() + " + " + maxDepths.getOrDefault(frame.getKey(), 0) + ")");
+        }
+        if (!functions.containsKey(MAIN)) {
+            out.println("  There is no main function");
+            return;
+        }
+        out.println("  Worst case call path: " + String.join(" -> ", worstPath));
+        if (!recursive) {
+            out.println("  Stack: " + stackBound + " bytes");
+            out.println("  Total: " + (bytesForGlobals + stackBound) + " bytes");
+            return;
+        }
+        out.println("  Stack: unbounded, " + stackBound + " bytes plus, for each level of recursion:");
+        for (Map.Entry<List<String>, Integer> cost : getRecursionCosts().entrySet())
+            out.println("    " + String.join(", ", cost.getKey()) + ": " + cost.getValue() + " bytes");
+    }
+
+    /**
+     * Writes the results as key=value lines.
+     */
+    public void writeReport(String fileName) throws IOException {
+        try (PrintWriter out = new PrintWriter(fileName)) {
+            out.println("globals=" + bytesForGlobals);
+            for (Map.Entry<String, Integer> frame : frames.entrySet())
+                out.println("frame." + frame.getKey() + "=" + frame.getValue());
+            out.println("stack=" + stackBound);
+            out.println("bounded=" + !recursive);
+            if (!recursive)
+                out.println("total=" + (bytesForGlobals + stackBound));
+            for (Map.Entry<List<String>, Integer> cost : getRecursionCosts().entrySet())
+                out.println("recursion." + String.join(",", cost.getKey()) + "=" + cost.getValue());
+            out.println("path=" + String.join(",", worstPath));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package codegenerator;
+
+import ast.AstNode;
+import ast.Program;
+import ast.statement.IfElse;
+import ast.statement.Statement;
+import ast.statement.While;
+import semantic.AbstractVisitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Execution counts of a previous run of the program (the .profile file written by the vm.Profiler),
+ * used to steer the code generation.
+ *
+ * The profile identifies each conditional jump by its source line and its ordinal in that line. Every
+ * IfElse and While generates exactly one conditional jump, in pre-order, so the same numbering over the
+ * AST finds the counts of each of them.
+ */
+public class Profile {
+
+    /** Minimum number of iterations for a loop to be unrolled */
+    static final long HOT_LOOP = 1000;
+    /** Maximum number of copies of the body of an unrolled loop */
+    static final int MAX_UNROLL = 4;
+    /** Maximum number of statements, nested ones included, of the body of an unrolled loop */
+    static final int MAX_UNROLLED_STATEMENTS = 8;
+
+    private Map<String, long[]> branches = new HashMap<>();
+    private Map<AstNode, long[]> counts = new IdentityHashMap<>();
+
+    public static Profile fromFile(String fileName) throws IOException {
+        Profile profile = new Profile();
+        for (String line : Files.readAllLines(Paths.get(fileName))) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields[0].equals("branch") && fields.length == 5)
+                profile.branches.put(fields[1] + ":" + fields[2],
+                        new long[]{Long.parseLong(fields[3]), Long.parseLong(fields[4])});
+        }
+        return profile;
+    }
+
+    /**
+     * Finds the counts of the IfElse and While statements of the program.
+     */
+    public void attach(Program program) {
+        program.accept(new AbstractVisitor<Void, Void>() {
+            private Map<Integer, Integer> ordinals = new HashMap<>();
+
+            @Override
+            public Void visit(IfElse ifElse, Void param) {
+                find(ifElse);
+                return super.visit(ifElse, param);
+            }
+
+            @Override
+            public Void visit(While whileStatement, Void param) {
+                find(whileStatement);
+                return super.visit(whileStatement, param);
+            }
+
+            private void find(Statement statement) {
+                int ordinal = ordinals.merge(statement.getLine(), 1, Integer::sum) - 1;
+                long[] branch = branches.get(statement.getLine() + ":" + ordinal);
+                if (branch != null)
+                    counts.put(statement, branch);
+            }
+        }, null);
+    }
+
+    /**
+     * The jz of an IfElse is taken when the else body runs, so the else body is hotter when the jump is
+     * taken more times than not.
+     */
+    public boolean isElseHotter(IfElse ifElse) {
+        long[] branch = counts.get(ifElse);
+        return branch != null && !ifElse.getElseBody().isEmpty() && branch[0] > branch[1];
+    }
+
+    /**
+     * The jz of a While is taken when the loop ends and not taken once per iteration, so the mean trip
+     * count tells how many copies of the body are run, on average, without leaving the loop. Only
+     * innermost loops are unrolled: the copies of nested loops would multiply, so no body is copied more
+     * than MAX_UNROLL times.
+     * @return number of copies of the body; 1 means not to unroll the loop.
+     */
+    public int unrollFactor(While whileStatement) {
+        long[] branch = counts.get(whileStatement);
+        if (branch == null || branch[1] < HOT_LOOP || size(whileStatement.getBody()) > MAX_UNROLLED_STATEMENTS
+                || containsLoop(whileStatement.getBody()))
+            return 1;
+        long meanTrips = branch[1] / Math.max(1, branch[0]);
+        return (int) Math.max(1, Math.min(MAX_UNROLL, meanTrips));
+    }
+
+    private static boolean containsLoop(List<Statement> statements) {
+        for (Statement statement : statements) {
+            if (statement instanceof While)
+                return true;
+            if (statement instanceof IfElse && (containsLoop(((IfElse) statement).getIfBody())
+                    || containsLoop(((IfElse) statement).getElseBody())))
+                return true;
+        }
+        return false;
+    }
+
+    private static int size(List<Statement> statements) {
+        int size = 0;
+        for (Statement statement : statements) {
+            size++;
+            if (statement instanceof While)
+                size += size(((While) statement).getBody());
+            else if (statement instanceof IfElse)
+                size += size(((IfElse) statement).getIfBody()) + size(((IfElse) statement).getElseBody());
+        }
+        return size;
+    }
+}
@@ -0,0 +1,464 @@
+package codegenerator;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the MAPL code written by the CodeGenerator before it reaches a virtual machine.
+ *
+ * Every function is simulated with an abstract operand stack of types (i, f and b). The verifier
+ * checks that each instruction finds the operands it expects, that all the paths reaching a label
+ * agree on the stack contents and that ret leaves exactly the return value. The arguments of a call
+ * are checked one by one against the parameters the callee declares in the comments after its label,
+ * as the CodeGenerator writes them; for a callee without them, only their bytes are checked. It also
+ * records the maximum operand stack depth of each function, in bytes, so a VM can preallocate it.
+ */
+public class StackVerifier {
+
+    private static final String ENTRY = "<entry>";
+    private static final Pattern PARAMETER = Pattern.compile("' \\* (\\w+) .+ \\(offset (\\d+)\\)");
+
+    private List<String> lines;
+    private List<String> errors = new ArrayList<>();
+    private Map<String, Integer> maxDepths = new LinkedHashMap<>();
+
+    private List<Instruction> instructions = new ArrayList<>();
+    private Map<String, Integer> labels = new HashMap<>();
+    private Map<String, Integer> returnSizes = new HashMap<>();
+    private Map<String, Integer> paramSizes = new HashMap<>();
+    // * Types of the parameters of each function that declares them, from the top of the stack down
+    private Map<String, List<Character>> paramTypes = new HashMap<>();
+
+    public StackVerifier(List<String> lines) {
+        this.lines = lines;
+    }
+
+    public static StackVerifier fromFile(String fileName) throws IOException {
+        return new StackVerifier(Files.readAllLines(Paths.get(fileName), StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Verifies every function of the code.
+     * @return true if no error has been found.
+     */
+    public boolean verify() {
+        decode();
+        for (Function function : functions())
+            simulate(function);
+        return errors.isEmpty();
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Maximum operand stack depth in bytes of each function, in order of appearance.
+     */
+    public Map<String, Integer> getMaxDepths() {
+        return maxDepths;
+    }
+
+    /**
+     * Writes the code again with a comment after each function label holding its maximum stack depth.
+     */
+    public void writeWithMetadata(String fileName) throws IOException {
+        try (PrintWriter out = new PrintWriter(fileName, StandardCharsets.ISO_8859_1.name())) {
+            writeWithMetadata(out);
+        }
+    }
+
+    /**
+     * As writeWithMetadata(fileName), to a writer that is flushed but not closed.
+     */
+    public void writeWithMetadata(PrintWriter out) {
+        for (String line : lines) {
+            out.println(line);
+            String trimmed = line.trim();
+            if (trimmed.endsWith(":") && maxDepths.containsKey(label(trimmed)))
+                out.println("\t' * Max stack depth: " + maxDepths.get(label(trimmed)) + " bytes");
+        }
+        out.flush();
+    }
+
+    // * Decoding
+
+    private static class Instruction {
+        final String opcode;
+        final String[] operands;
+        final int mapl;
+        final int source;
+
+        Instruction(String opcode, String[] operands, int mapl, int source) {
+            this.opcode = opcode;
+            this.operands = operands;
+            this.mapl = mapl;
+            this.source = source;
+        }
+
+        @Override
+        public String toString() {
+            return opcode + (operands.length > 0 ? " " + String.join(", ", operands) : "");
+        }
+    }
+
+    private static class Function {
+        final String name;
+        final int start;
+        final int end;
+
+        Function(String name, int start, int end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private void decode() {
+        int source = 0;
+        String label = null;
+        SortedMap<Integer, Character> parameters = null;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.startsWith("'")) {
+                parameters = parameter(line, label, parameters);
+                continue;
+            }
+            if (line.isEmpty())
+                continue;
+            if (line.startsWith("#line")) {
+                source = Integer.parseInt(line.substring("#line".length()).trim());
+                continue;
+            }
+            if (line.startsWith("#"))
+                continue;
+            if (line.endsWith(":")) {
+                labels.put(label(line), instructions.size());
+                label = label(line);
+                continue;
+            }
+            label = null;
+            parameters = null;
+            String[] words = line.split("[\\s,]+");
+            instructions.add(new Instruction(words[0], Arrays.copyOfRange(words, 1, words.length), i + 1, source));
+        }
+
+        // * Call effects come from the ret instructions of the callee
+        for (Function function : functions())
+            for (int pc = function.start; pc < function.end; pc++) {
+                Instruction instruction = instructions.get(pc);
+                if (!instruction.opcode.equals("ret") || instruction.operands.length != 3)
+                    continue;
+                int returnSize = Integer.parseInt(instruction.operands[0]);
+                int params = Integer.parseInt(instruction.operands[2]);
+                Integer previous = returnSizes.putIfAbsent(function.name, returnSize);
+                if (previous != null && previous != returnSize)
+                    error(function.name, instruction, "ret returns " + returnSize + " bytes, but other ret of the function returns " + previous);
+                previous = paramSizes.putIfAbsent(function.name, params);
+                if (previous != null && previous != params)
+                    error(function.name, instruction, "ret frees " + params + " bytes of parameters, but other ret of the function frees " + previous);
+            }
+    }
+
+    /**
+     * Reads the comment after the label of a function: "Parameters" starts the declarations of its
+     * parameters, one per comment with its type and offset, and any other comment ends them.
+     * @return the parameters being declared, by offset, or null.
+     */
+    private SortedMap<Integer, Character> parameter(String comment, String function, SortedMap<Integer, Character> parameters) {
+        if (function != null && comment.equals("' * Parameters")) {
+            parameters = new TreeMap<>();
+            paramTypes.put(function, new ArrayList<>());
+            return parameters;
+        }
+        Matcher declaration = PARAMETER.matcher(comment);
+        if (parameters == null || !declaration.matches())
+            return null;
+        String type = declaration.group(1);
+        char suffix = type.equals("Integer") ? 'i' : type.equals("Double") ? 'f' : type.equals("Char") ? 'b' : '?';
+        if (suffix == '?') {
+            // * Not a built-in type, so the arguments of the function are checked by their bytes
+            paramTypes.remove(function);
+            return null;
+        }
+        parameters.put(Integer.parseInt(declaration.group(2)), suffix);
+        // * The last argument pushed, on the top of the stack, is the parameter with the lowest offset
+        paramTypes.put(function, new ArrayList<>(parameters.values()));
+        return parameters;
+    }
+
+    /**
+     * A function starts at a label whose first instruction is enter, and the code before the first function
+     * is the entry point of the program.
+     */
+    private List<Function> functions() {
+        List<Integer> starts = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        starts.add(0);
+        names.add(ENTRY);
+        labels.entrySet().stream()
+                .filter(label -> label.getValue() < instructions.size() && instructions.get(label.getValue()).opcode.equals("enter"))
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(label -> {
+                    starts.add(label.getValue());
+                    names.add(label.getKey());
+                });
+
+        List<Function> functions = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            int end = i + 1 < starts.size() ? starts.get(i + 1) : instructions.size();
+            if (end > starts.get(i) || !names.get(i).equals(ENTRY))
+                functions.add(new Function(names.get(i), starts.get(i), end));
+        }
+        return functions;
+    }
+
+    // * Simulation
+
+    private void simulate(Function function) {
+        List<List<Character>> states = new ArrayList<>(Collections.nCopies(function.end - function.start, null));
+        Deque<Integer> pending = new ArrayDeque<>();
+        states.set(0, Collections.emptyList());
+        pending.push(function.start);
+        int maxDepth = 0;
+
+        while (!pending.isEmpty()) {
+            int pc = pending.pop();
+            Deque<Character> stack = new ArrayDeque<>(states.get(pc - function.start));
+            Instruction instruction = instructions.get(pc);
+            List<Integer> successors = new ArrayList<>(2);
+
+            try {
+                execute(function, instruction, stack, pc, successors);
+            } catch (VerifyException e) {
+                error(function.name, instruction, e.getMessage());
+                continue;
+            }
+            maxDepth = Math.max(maxDepth, bytes(stack));
+
+            List<Character> state = new ArrayList<>(stack);
+            for (int successor : successors) {
+                if (successor == function.end) {
+                    if (!function.name.equals(ENTRY))
+                        error(function.name, instruction, "the end of the function is reached without ret");
+                    continue;
+                }
+                if (successor < function.start || successor > function.end) {
+                    error(function.name, instruction, "jump out of the function");
+                    continue;
+                }
+                List<Character> previous = states.get(successor - function.start);
+                if (previous == null) {
+                    states.set(successor - function.start, state);
+                    pending.push(successor);
+                } else if (!previous.equals(state)) {
+                    error(function.name, instruction, "inconsistent stack at " + instructions.get(successor)
+                            + ": " + shape(previous) + " and " + shape(state));
+                }
+            }
+        }
+        maxDepths.put(function.name, maxDepth);
+    }
+
+    private void execute(Function function, Instruction instruction, Deque<Character> stack, int pc, List<Integer> successors) {
+        String opcode = instruction.opcode;
+        char suffix = opcode.charAt(opcode.length() - 1);
+        successors.add(pc + 1);
+
+        switch (opcode) {
+            case "pushi": case "pushf": case "pushb":
+                stack.push(suffix);
+                return;
+            case "pusha":
+                stack.push('i');
+                return;
+            case "push":
+                if (instruction.operands.length != 1 || !instruction.operands[0].equals("bp"))
+                    throw new VerifyException("unknown push " + instruction);
+                stack.push('i');
+                return;
+            case "loadi": case "loadf": case "loadb":
+                pop(stack, 'i');
+                stack.push(suffix);
+                return;
+            case "storei": case "storef": case "storeb":
+                pop(stack, suffix);
+                pop(stack, 'i');
+                return;
+            case "ini": case "inf": case "inb":
+                stack.push(suffix);
+                return;
+            case "outi": case "outf": case "outb":
+            case "popi": case "popf": case "popb":
+                pop(stack, suffix);
+                return;
+            case "addi": case "addf": case "subi": case "subf": case "muli": case "mulf":
+            case "divi": case "divf": case "modi": case "modf":
+                pop(stack, suffix);
+                pop(stack, suffix);
+                stack.push(suffix);
+                return;
+            case "gti": case "gtf": case "gtb": case "lti": case "ltf": case "ltb":
+            case "gei": case "gef": case "geb": case "lei": case "lef": case "leb":
+            case "eqi": case "eqf": case "eqb": case "nei": case "nef": case "neb":
+                pop(stack, suffix);
+                pop(stack, suffix);
+                stack.push('i');
+                return;
+            case "and": case "or":
+                pop(stack, 'i');
+                pop(stack, 'i');
+                stack.push('i');
+                return;
+            case "not":
+                pop(stack, 'i');
+                stack.push('i');
+                return;
+            case "i2f": case "i2b": case "f2i": case "b2i":
+                pop(stack, opcode.charAt(0));
+                stack.push(opcode.charAt(2));
+                return;
+            case "enter":
+                if (pc != function.start)
+                    throw new VerifyException("enter in the middle of the function");
+                return;
+            case "jz": case "jnz":
+                pop(stack, 'i');
+                successors.add(target(instruction));
+                return;
+            case "jmp":
+                successors.clear();
+                successors.add(target(instruction));
+                return;
+            case "call":
+                call(instruction, stack);
+                return;
+            case "ret":
+                successors.clear();
+                ret(instruction, stack);
+                return;
+            case "halt":
+                successors.clear();
+                return;
+            default:
+                throw new VerifyException("unknown instruction " + instruction);
+        }
+    }
+
+    private void call(Instruction instruction, Deque<Character> stack) {
+        String callee = instruction.operands.length == 1 ? instruction.operands[0] : null;
+        if (callee == null || !labels.containsKey(callee))
+            throw new VerifyException("call to an unknown function " + instruction);
+        if (!returnSizes.containsKey(callee))
+            throw new VerifyException("function " + callee + " has no ret");
+
+        List<Character> types = paramTypes.get(callee);
+        if (types != null) {
+            for (char type : types) {
+                if (stack.isEmpty())
+                    throw new VerifyException("missing arguments for " + callee);
+                char found = stack.pop();
+                if (found != type)
+                    throw new VerifyException("argument " + found + " of " + callee + " for a parameter " + type);
+            }
+            if (bytes(types) != paramSizes.get(callee))
+                throw new VerifyException("the parameters of " + callee + " take " + bytes(types) + " bytes, but its ret frees " + paramSizes.get(callee));
+        } else
+            checkArgumentBytes(callee, stack);
+
+        int returnSize = returnSizes.get(callee);
+        if (returnSize > 0)
+            stack.push(type(returnSize));
+    }
+
+    private void checkArgumentBytes(String callee, Deque<Character> stack) {
+        int params = paramSizes.get(callee);
+        while (params > 0) {
+            if (stack.isEmpty())
+                throw new VerifyException("missing arguments for " + callee);
+            params -= size(stack.pop());
+        }
+        if (params < 0)
+            throw new VerifyException("the arguments of " + callee + " do not match its " + paramSizes.get(callee) + " bytes of parameters");
+    }
+
+    private void ret(Instruction instruction, Deque<Character> stack) {
+        if (instruction.operands.length != 3)
+            throw new VerifyException("ret needs three operands");
+        int returnSize = Integer.parseInt(instruction.operands[0]);
+        if (returnSize > 0)
+            pop(stack, type(returnSize));
+        if (!stack.isEmpty())
+            throw new VerifyException("the function returns with " + shape(new ArrayList<>(stack)) + " left on the stack");
+    }
+
+    private int target(Instruction instruction) {
+        if (instruction.operands.length != 1 || !labels.containsKey(instruction.operands[0]))
+            throw new VerifyException("jump to an unknown label " + instruction);
+        return labels.get(instruction.operands[0]);
+    }
+
+    private static void pop(Deque<Character> stack, char expected) {
+        if (stack.isEmpty())
+            throw new VerifyException("stack underflow, expected " + expected);
+        char found = stack.pop();
+        if (found != expected)
+            throw new VerifyException("expected " + expected + " on the stack, found " + found);
+    }
+
+    // * Helpers
+
+    private static class VerifyException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        VerifyException(String message) {
+            super(message);
+        }
+    }
+
+    private void error(String function, Instruction instruction, String message) {
+        errors.add("Function " + function + ", line " + instruction.mapl + " (source line " + instruction.source
+                + "), " + instruction + ": " + message);
+    }
+
+    private static String label(String line) {
+        return line.substring(0, line.length() - 1);
+    }
+
+    private static int size(char type) {
+        switch (type) {
+            case 'f': return 4;
+            case 'b': return 1;
+            default: return 2;
+        }
+    }
+
+    private static char type(int size) {
+        switch (size) {
+            case 4: return 'f';
+            case 1: return 'b';
+            case 2: return 'i';
+            default: throw new VerifyException("no type takes " + size + " bytes");
+        }
+    }
+
+    private static int bytes(Collection<Character> stack) {
+        int bytes = 0;
+        for (char type : stack)
+            bytes += size(type);
+        return bytes;
+    }
+
+    private static String shape(List<Character> stack) {
+        StringBuilder shape = new StringBuilder("[");
+        for (int i = stack.size() - 1; i >= 0; i--)
+            shape.append(stack.get(i));
+        return shape.append("]").toString();
+    }
+}
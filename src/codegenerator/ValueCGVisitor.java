@@ -15,9 +15,7 @@ import ast.expression.unary.UnaryMinus;
 import ast.expression.value.*;
 import ast.type.*;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
 
 public class ValueCGVisitor extends AbstractCGVisitor<Void>{
 
@@ -222,7 +220,7 @@ public class ValueCGVisitor extends AbstractCGVisitor<Void>{
     @Override
     public Void visit(Variable variable, Void param){
         variable.accept(this.addressCGVisitor, null);
-        codeGenerator.load(variable.getDefinition().getType());
+        codeGenerator.load(variable.getType());
         return null;
     }
 
@@ -290,18 +288,13 @@ public class ValueCGVisitor extends AbstractCGVisitor<Void>{
     /**
      * value[[FieldAccess : expression1 -> expression2 ID ]]() =
      *      address[[expression1]]()
-     *
-     *      for (RecordField field : expression2.type.fields)
-     *          if (field.name.equals(ID))
-     *              <load>field.type.suffix()
+     *      <load>expression1.field.type.suffix()
      */
     @Override
     public Void visit(FieldAccess fieldAccess, Void param){
         fieldAccess.accept(this.addressCGVisitor, null);
 
-        for (RecordField recordField : ((RecordType)fieldAccess.getExpression().getType()).getFields())
-            if (recordField.getName().equals(fieldAccess.getFieldName()))
-                codeGenerator.load(recordField.getType());
+        codeGenerator.load(fieldAccess.getField().getType());
 
         return null;
     }
@@ -315,9 +308,7 @@ public class ValueCGVisitor extends AbstractCGVisitor<Void>{
     @Override
     public Void visit(FunctionInvocation functionInvocation, Void param){
 
-        List<Expression> params = new ArrayList<>(functionInvocation.getParameters());
-
-        for (Expression expression : params){
+        for (Expression expression : functionInvocation.getParameters()){
             expression.accept(this, null);
         }
         codeGenerator.callFunction(functionInvocation.getVariable().getName());
@@ -0,0 +1,199 @@
+package codegenerator.x86;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps the operand stack of the stack-machine code generation scheme onto registers.
+ * Every entry of the stack lives either in a register or in the spill slot reserved
+ * for its stack position. When a register class runs out, the oldest entry of that class
+ * is spilled; spilled entries are reloaded lazily when they are used.
+ *
+ * Integers, chars, booleans and addresses use the callee-saved general purpose registers,
+ * so they survive calls. Reals use xmm8-xmm15, which are caller-saved and therefore spilled
+ * before every call.
+ */
+class RegisterAllocator {
+
+    private static final String[][] GP_REGISTERS = {
+            {"%rbx", "%ebx", "%bx", "%bl"},
+            {"%r12", "%r12d", "%r12w", "%r12b"},
+            {"%r13", "%r13d", "%r13w", "%r13b"},
+            {"%r14", "%r14d", "%r14w", "%r14b"},
+            {"%r15", "%r15d", "%r15w", "%r15b"},
+    };
+
+    private static final String[] XMM_REGISTERS = {
+            "%xmm8", "%xmm9", "%xmm10", "%xmm11", "%xmm12", "%xmm13", "%xmm14", "%xmm15"
+    };
+
+    static final int CALLEE_SAVED = GP_REGISTERS.length;
+
+    /**
+     * An entry of the operand stack.
+     */
+    static class Operand {
+
+        private final boolean real;
+        private final int position;
+        private int register = -1;
+
+        private Operand(boolean real, int position) {
+            this.real = real;
+            this.position = position;
+        }
+
+        boolean isReal() {
+            return real;
+        }
+
+        /** 64-bit name, for addresses. */
+        String q() {
+            return GP_REGISTERS[register][0];
+        }
+
+        /** 32-bit name, for integers, chars and booleans. */
+        String l() {
+            return GP_REGISTERS[register][1];
+        }
+
+        /** 16-bit name, for stores of integers and booleans. */
+        String w() {
+            return GP_REGISTERS[register][2];
+        }
+
+        /** 8-bit name, for stores of chars. */
+        String b() {
+            return GP_REGISTERS[register][3];
+        }
+
+        /** Name of the xmm register holding a real. */
+        String x() {
+            return XMM_REGISTERS[register];
+        }
+    }
+
+    private final X86CodeGenerator codeGenerator;
+    private final List<Operand> stack = new ArrayList<>();
+    private final Operand[] gpOwners = new Operand[GP_REGISTERS.length];
+    private final Operand[] xmmOwners = new Operand[XMM_REGISTERS.length];
+    private final boolean[] gpUsed = new boolean[GP_REGISTERS.length];
+    private int spillBase;
+    private int maxDepth;
+
+    RegisterAllocator(X86CodeGenerator codeGenerator) {
+        this.codeGenerator = codeGenerator;
+    }
+
+    /**
+     * Starts a new function whose spill slots lie below spillBase bytes from %rbp.
+     */
+    void reset(int spillBase) {
+        if (!stack.isEmpty())
+            throw new IllegalStateException("Operand stack not empty at the end of a function");
+        this.spillBase = spillBase;
+        this.maxDepth = 0;
+        Arrays.fill(gpUsed, false);
+    }
+
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    boolean isUsed(int calleeSaved) {
+        return gpUsed[calleeSaved];
+    }
+
+    static String calleeSavedName(int calleeSaved) {
+        return GP_REGISTERS[calleeSaved][0];
+    }
+
+    int size() {
+        return stack.size();
+    }
+
+    Operand push(boolean real) {
+        Operand operand = new Operand(real, stack.size());
+        stack.add(operand);
+        maxDepth = Math.max(maxDepth, stack.size());
+        assign(operand);
+        return operand;
+    }
+
+    /**
+     * Returns the entry depth positions below the top, making sure it is in a register.
+     */
+    Operand peek(int depth) {
+        Operand operand = stack.get(stack.size() - 1 - depth);
+        if (operand.register < 0) {
+            assign(operand);
+            codeGenerator.instruction((operand.real ? "movss\t" : "movq\t") + slot(operand)
+                    + ", " + (operand.real ? operand.x() : operand.q()));
+        }
+        return operand;
+    }
+
+    /**
+     * Location of the entry depth positions below the top without reloading it:
+     * its register (32-bit or xmm name) or its spill slot.
+     */
+    String source(int depth) {
+        Operand operand = stack.get(stack.size() - 1 - depth);
+        if (operand.register < 0)
+            return slot(operand);
+        return operand.real ? operand.x() : operand.l();
+    }
+
+    void pop() {
+        Operand operand = stack.remove(stack.size() - 1);
+        if (operand.register >= 0)
+            owners(operand.real)[operand.register] = null;
+    }
+
+    /**
+     * Spills every real below the given number of top entries, since calls clobber all xmm registers.
+     */
+    void spillReals(int keep) {
+        for (int i = 0; i < stack.size() - keep; i++) {
+            Operand operand = stack.get(i);
+            if (operand.real && operand.register >= 0)
+                spill(operand);
+        }
+    }
+
+    private void assign(Operand operand) {
+        Operand[] owners = owners(operand.real);
+        int free = -1;
+        for (int i = 0; i < owners.length && free < 0; i++)
+            if (owners[i] == null)
+                free = i;
+        if (free < 0) {
+            for (Operand candidate : stack)
+                if (candidate.real == operand.real && candidate.register >= 0) {
+                    free = candidate.register;
+                    spill(candidate);
+                    break;
+                }
+        }
+        owners[free] = operand;
+        operand.register = free;
+        if (!operand.real)
+            gpUsed[free] = true;
+    }
+
+    private void spill(Operand operand) {
+        codeGenerator.instruction((operand.real ? "movss\t" + operand.x() : "movq\t" + operand.q())
+                + ", " + slot(operand));
+        owners(operand.real)[operand.register] = null;
+        operand.register = -1;
+    }
+
+    private String slot(Operand operand) {
+        return -(spillBase + 8 * (operand.position + 1)) + "(%rbp)";
+    }
+
+    private Operand[] owners(boolean real) {
+        return real ? xmmOwners : gpOwners;
+    }
+}
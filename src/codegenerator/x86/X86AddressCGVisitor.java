@@ -0,0 +1,58 @@
+package codegenerator.x86;
+
+import ast.definition.Slot;
+import ast.expression.ArrayAccess;
+import ast.expression.FieldAccess;
+import ast.expression.value.Variable;
+import ast.type.ArrayType;
+import codegenerator.AbstractCGVisitor;
+
+public class X86AddressCGVisitor extends AbstractCGVisitor<Void> {
+
+    private X86CodeGenerator x86;
+    private X86ValueCGVisitor valueCGVisitor;
+
+    public X86AddressCGVisitor(X86CodeGenerator x86, X86ValueCGVisitor valueCGVisitor) {
+        this.x86 = x86;
+        this.valueCGVisitor = valueCGVisitor;
+    }
+
+    /**
+     * address[[Variable : expression -> ID]]()=
+     *      <lea> expression.definition
+     */
+    @Override
+    public Void visit(Variable variable, Void param){
+        x86.pushAddress(variable.getSlot());
+        return null;
+    }
+
+    /**
+     * address[[ArrayAccess : expression1 -> expression2 "[" expression3 "]"]]()=
+     *      address[[expression2]]()
+     *      value[[expression3]]()
+     *      <index> expression1.type.numberOfBytes
+     */
+    @Override
+    public Void visit(ArrayAccess arrayAccess, Void param){
+        arrayAccess.getLeftExpression().accept(this, null);
+        arrayAccess.getRightExpression().accept(this.valueCGVisitor, null);
+        x86.index(((ArrayType) arrayAccess.getLeftExpression().getType()).getOfType().numberOfBytes());
+        return null;
+    }
+
+    /**
+     * address[[FieldAccess : expression1 -> expression2 "." ID]]()=
+     *      address[[expression2]]()
+     *      <add> field.offset
+     */
+    @Override
+    public Void visit(FieldAccess fieldAccess, Void param){
+        fieldAccess.getExpression().accept(this, null);
+
+        x86.addOffset(fieldAccess.getField().getOffset());
+
+        return null;
+    }
+
+}
@@ -0,0 +1,543 @@
+package codegenerator.x86;
+
+import ast.AstNode;
+import ast.definition.FunctionDefinition;
+import ast.definition.Slot;
+import ast.definition.VarDefinition;
+import ast.type.FunctionType;
+import ast.type.Type;
+import ast.type.VoidType;
+import codegenerator.x86.RegisterAllocator.Operand;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Emits x86-64 GNU assembler for Linux and the System V calling convention.
+ *
+ * It offers the same stack-machine interface as the MAPL CodeGenerator (push, load, store, add...),
+ * but the operand stack is kept in registers by a RegisterAllocator. The memory layout is the one
+ * laid out by the IdentificationVisitor, so int and boolean take 2 bytes, char 1 and real is single precision.
+ * Function bodies are buffered so that the frame size is known when the prologue is written.
+ */
+public class X86CodeGenerator {
+
+    private static final String GLOBALS = "pmmrt_globals";
+    private static final String FUNCTION_PREFIX = "pmm_";
+    private static final int SAVE_AREA = 8 * RegisterAllocator.CALLEE_SAVED;
+
+    private static final String[][] INTEGER_ARGUMENTS = {
+            {"%edi", "%di", "%dil"}, {"%esi", "%si", "%sil"}, {"%edx", "%dx", "%dl"},
+            {"%ecx", "%cx", "%cl"}, {"%r8d", "%r8w", "%r8b"}, {"%r9d", "%r9w", "%r9b"}
+    };
+    private static final int REAL_ARGUMENTS = 8;
+
+    private PrintWriter out;
+    private StringBuilder body = new StringBuilder();
+    private RegisterAllocator registers = new RegisterAllocator(this);
+    private int label;
+
+    private FunctionDefinition function;
+    private int returnLabel;
+    private int spillBase;
+
+    public X86CodeGenerator(String outputFileName, String inputFileName) {
+        try {
+            this.out = new PrintWriter(outputFileName);
+        } catch(IOException e){
+            System.err.println("Error opening the file"+outputFileName);
+            System.exit(-1);
+        }
+        this.writeSource(inputFileName);
+    }
+
+    public void writeSource(String inputFileName){
+        out.println("\t.file\t\"" + inputFileName + "\"");
+        out.println("\t.text");
+    }
+
+    public int generateLabel(){
+        return label++;
+    }
+
+    public void writeLabel(int labelNumber){
+        body.append(".L").append(labelNumber).append(":\n");
+    }
+
+    public void writeComment(String comment) {
+        if (function == null)
+            out.println("\t# * " + comment);
+        else
+            body.append("\t# * ").append(comment).append('\n');
+    }
+
+    public void writeLine(AstNode astNode) {
+        body.append("\n# line ").append(astNode.getLine()).append('\n');
+    }
+
+    void instruction(String instruction) {
+        body.append('\t').append(instruction).append('\n');
+    }
+
+    // * Functions
+
+    /**
+     * Starts buffering the body of a function and stores the incoming arguments in their frame slots.
+     */
+    public void beginFunction(FunctionDefinition functionDefinition) {
+        FunctionType type = (FunctionType) functionDefinition.getType();
+        this.function = functionDefinition;
+        this.spillBase = align(SAVE_AREA + functionDefinition.getBytesForLocals() + type.getBytesForParams(), 8);
+        this.returnLabel = generateLabel();
+        registers.reset(spillBase);
+
+        int integers = 0, reals = 0, stacked = 0;
+        for (VarDefinition parameter : type.getParameters()) {
+            String home = memory(parameter.getSlot());
+            char suffix = parameter.getType().suffix();
+            if (suffix == 'f' && reals < REAL_ARGUMENTS) {
+                instruction("movss\t%xmm" + reals++ + ", " + home);
+            } else if (suffix != 'f' && integers < INTEGER_ARGUMENTS.length) {
+                String[] names = INTEGER_ARGUMENTS[integers++];
+                instruction((suffix == 'b' ? "movb\t" + names[2] : "movw\t" + names[1]) + ", " + home);
+            } else {
+                instruction("movl\t" + (16 + 8 * stacked++) + "(%rbp), %eax");
+                instruction((suffix == 'f' ? "movl\t%eax" : suffix == 'b' ? "movb\t%al" : "movw\t%ax") + ", " + home);
+            }
+        }
+    }
+
+    /**
+     * Writes the prologue, the buffered body and the epilogue of the current function.
+     */
+    public void endFunction() {
+        writeLabel(returnLabel);
+        int frameSize = align(spillBase + 8 * registers.getMaxDepth(), 16);
+        String name = FUNCTION_PREFIX + function.getName();
+
+        out.println();
+        out.println("\t.type\t" + name + ", @function");
+        out.println(name + ":");
+        out.println("\tpushq\t%rbp");
+        out.println("\tmovq\t%rsp, %rbp");
+        out.println("\tsubq\t$" + frameSize + ", %rsp");
+        for (int i = 0; i < RegisterAllocator.CALLEE_SAVED; i++)
+            if (registers.isUsed(i))
+                out.println("\tmovq\t" + RegisterAllocator.calleeSavedName(i) + ", " + -8 * (i + 1) + "(%rbp)");
+        out.print(body);
+        for (int i = 0; i < RegisterAllocator.CALLEE_SAVED; i++)
+            if (registers.isUsed(i))
+                out.println("\tmovq\t" + -8 * (i + 1) + "(%rbp), " + RegisterAllocator.calleeSavedName(i));
+        out.println("\tleave");
+        out.println("\tret");
+        out.println("\t.size\t" + name + ", .-" + name);
+        out.flush();
+
+        body.setLength(0);
+        function = null;
+    }
+
+    /**
+     * Moves the value on top of the stack to the return register and jumps to the epilogue.
+     */
+    public void ret(Type returnType) {
+        Operand value = registers.peek(0);
+        if (returnType.suffix() == 'f')
+            instruction("movaps\t" + value.x() + ", %xmm0");
+        else
+            instruction("movl\t" + value.l() + ", %eax");
+        registers.pop();
+        jmp(returnLabel);
+    }
+
+    public void call(String functionName, FunctionType functionType) {
+        List<VarDefinition> parameters = functionType.getParameters();
+        int count = parameters.size();
+        registers.spillReals(count);
+
+        List<String> stacked = new ArrayList<>();
+        int integers = 0, reals = 0;
+        for (int i = 0; i < count; i++) {
+            String source = registers.source(count - 1 - i);
+            if (parameters.get(i).getType().suffix() == 'f') {
+                if (reals < REAL_ARGUMENTS)
+                    instruction("movss\t" + source + ", %xmm" + reals++);
+                else
+                    stacked.add(source.startsWith("%") ? "movd\t" + source + ", %eax" : "movl\t" + source + ", %eax");
+            } else if (integers < INTEGER_ARGUMENTS.length) {
+                instruction("movl\t" + source + ", " + INTEGER_ARGUMENTS[integers++][0]);
+            } else {
+                stacked.add("movl\t" + source + ", %eax");
+            }
+        }
+        int stackBytes = 8 * (stacked.size() + stacked.size() % 2);
+        if (stacked.size() % 2 != 0)
+            instruction("subq\t$8, %rsp");
+        for (int i = stacked.size() - 1; i >= 0; i--) {
+            instruction(stacked.get(i));
+            instruction("pushq\t%rax");
+        }
+        for (int i = 0; i < count; i++)
+            registers.pop();
+
+        instruction("call\t" + FUNCTION_PREFIX + functionName);
+        if (stackBytes > 0)
+            instruction("addq\t$" + stackBytes + ", %rsp");
+
+        Type returnType = functionType.getReturnType();
+        if (returnType instanceof VoidType)
+            return;
+        if (returnType.suffix() == 'f')
+            instruction("movaps\t%xmm0, " + registers.push(true).x());
+        else
+            instruction("movl\t%eax, " + registers.push(false).l());
+    }
+
+    // * Memory
+
+    public void pushAddress(Slot slot) {
+        instruction("leaq\t" + memory(slot) + ", " + registers.push(false).q());
+    }
+
+    public void addOffset(int offset) {
+        if (offset != 0)
+            instruction("addq\t$" + offset + ", " + registers.peek(0).q());
+    }
+
+    /**
+     * Adds the index on top of the stack, scaled by the element size, to the address below it.
+     */
+    public void index(int elementSize) {
+        Operand index = registers.peek(0);
+        Operand address = registers.peek(1);
+        instruction("movslq\t" + index.l() + ", " + index.q());
+        instruction("imulq\t$" + elementSize + ", " + index.q());
+        instruction("addq\t" + index.q() + ", " + address.q());
+        registers.pop();
+    }
+
+    public void load(Type type) {
+        Operand address = registers.peek(0);
+        if (type.suffix() == 'f') {
+            String from = "(" + address.q() + ")";
+            registers.pop();
+            instruction("movss\t" + from + ", " + registers.push(true).x());
+        } else {
+            instruction(widen(type) + "\t(" + address.q() + "), " + address.l());
+        }
+    }
+
+    public void loadVariable(Slot slot, Type type) {
+        if (type.suffix() == 'f')
+            instruction("movss\t" + memory(slot) + ", " + registers.push(true).x());
+        else
+            instruction(widen(type) + "\t" + memory(slot) + ", " + registers.push(false).l());
+    }
+
+    public void store(Type type) {
+        Operand value = registers.peek(0);
+        Operand address = registers.peek(1);
+        instruction(move(type, value) + ", (" + address.q() + ")");
+        registers.pop();
+        registers.pop();
+    }
+
+    public void storeVariable(Slot slot, Type type) {
+        instruction(move(type, registers.peek(0)) + ", " + memory(slot));
+        registers.pop();
+    }
+
+    public void pop(Type type) {
+        registers.pop();
+    }
+
+    // * Constants
+
+    public void push(int value) {
+        instruction("movl\t$" + value + ", " + registers.push(false).l());
+    }
+
+    public void push(double value) {
+        instruction("movl\t$" + Float.floatToRawIntBits((float) value) + ", %eax");
+        instruction("movd\t%eax, " + registers.push(true).x());
+    }
+
+    public void push(char value) {
+        push((int) value);
+    }
+
+    // * Arithmetic
+
+    public void add(Type type) {
+        arithmetic(type, "addl", "addss");
+    }
+
+    public void sub(Type type) {
+        arithmetic(type, "subl", "subss");
+    }
+
+    public void mul(Type type) {
+        arithmetic(type, "imull", "mulss");
+    }
+
+    public void div(Type type) {
+        if (type.suffix() == 'f')
+            arithmetic(type, null, "divss");
+        else
+            division("%eax");
+    }
+
+    public void mod(Type type) {
+        if (type.suffix() != 'f') {
+            division("%edx");
+            return;
+        }
+        registers.spillReals(2);
+        instruction("movaps\t" + registers.peek(1).x() + ", %xmm0");
+        instruction("movaps\t" + registers.peek(0).x() + ", %xmm1");
+        registers.pop();
+        registers.pop();
+        instruction("call\tfmodf@PLT");
+        instruction("movaps\t%xmm0, " + registers.push(true).x());
+    }
+
+    public void neg(Type type) {
+        Operand operand = registers.peek(0);
+        if (type.suffix() == 'f') {
+            instruction("movl\t$0x80000000, %eax");
+            instruction("movd\t%eax, %xmm0");
+            instruction("xorps\t%xmm0, " + operand.x());
+        } else {
+            instruction("negl\t" + operand.l());
+            instruction("movswl\t" + operand.w() + ", " + operand.l());
+        }
+    }
+
+    private void arithmetic(Type type, String integerInstruction, String realInstruction) {
+        Operand right = registers.peek(0);
+        Operand left = registers.peek(1);
+        if (type.suffix() == 'f') {
+            instruction(realInstruction + "\t" + right.x() + ", " + left.x());
+        } else {
+            instruction(integerInstruction + "\t" + right.l() + ", " + left.l());
+            instruction("movswl\t" + left.w() + ", " + left.l());
+        }
+        registers.pop();
+    }
+
+    private void division(String result) {
+        Operand right = registers.peek(0);
+        Operand left = registers.peek(1);
+        instruction("movl\t" + left.l() + ", %eax");
+        instruction("cltd");
+        instruction("idivl\t" + right.l());
+        instruction("movswl\t" + result.replace("%e", "%") + ", " + left.l());
+        registers.pop();
+    }
+
+    // * Comparison and logical
+
+    public void gt(Type type) {
+        compare(type, "setg", "seta", false);
+    }
+
+    public void lt(Type type) {
+        compare(type, "setl", "seta", true);
+    }
+
+    public void ge(Type type) {
+        compare(type, "setge", "setae", false);
+    }
+
+    public void le(Type type) {
+        compare(type, "setle", "setae", true);
+    }
+
+    public void eq(Type type) {
+        compare(type, "sete", "sete", false);
+    }
+
+    public void ne(Type type) {
+        compare(type, "setne", "setne", false);
+    }
+
+    private void compare(Type type, String integerSet, String realSet, boolean swapReals) {
+        Operand right = registers.peek(0);
+        Operand left = registers.peek(1);
+        if (type.suffix() == 'f') {
+            instruction("ucomiss\t" + (swapReals ? left.x() + ", " + right.x() : right.x() + ", " + left.x()));
+            instruction(realSet + "\t%al");
+            if (realSet.equals("sete")) {
+                instruction("setnp\t%cl");
+                instruction("andb\t%cl, %al");
+            } else if (realSet.equals("setne")) {
+                instruction("setp\t%cl");
+                instruction("orb\t%cl, %al");
+            }
+        } else {
+            instruction("cmpl\t" + right.l() + ", " + left.l());
+            instruction(integerSet + "\t%al");
+        }
+        registers.pop();
+        registers.pop();
+        instruction("movzbl\t%al, " + registers.push(false).l());
+    }
+
+    public void and() {
+        logical("andb");
+    }
+
+    public void or() {
+        logical("orb");
+    }
+
+    public void not() {
+        Operand operand = registers.peek(0);
+        instruction("testl\t" + operand.l() + ", " + operand.l());
+        instruction("sete\t%al");
+        instruction("movzbl\t%al, " + operand.l());
+    }
+
+    private void logical(String instruction) {
+        Operand right = registers.peek(0);
+        Operand left = registers.peek(1);
+        instruction("testl\t" + left.l() + ", " + left.l());
+        instruction("setne\t%al");
+        instruction("testl\t" + right.l() + ", " + right.l());
+        instruction("setne\t%cl");
+        instruction(instruction + "\t%cl, %al");
+        instruction("movzbl\t%al, " + left.l());
+        registers.pop();
+    }
+
+    // * Conversions
+
+    /**
+     * Converts the value on top of the stack from one built-in type to another.
+     */
+    public void promote(Type from, Type to) {
+        char source = from.suffix(), target = to.suffix();
+        if (source == target)
+            return;
+        if (target == 'f') {
+            String integer = registers.peek(0).l();
+            registers.pop();
+            instruction("cvtsi2ssl\t" + integer + ", " + registers.push(true).x());
+        } else if (source == 'f') {
+            String real = registers.peek(0).x();
+            registers.pop();
+            Operand integer = registers.push(false);
+            instruction("cvttss2sil\t" + real + ", " + integer.l());
+            instruction((target == 'b' ? "movzbl\t" + integer.b() : "movswl\t" + integer.w()) + ", " + integer.l());
+        } else if (target == 'b') {
+            Operand integer = registers.peek(0);
+            instruction("movzbl\t" + integer.b() + ", " + integer.l());
+        }
+    }
+
+    // * Jumps
+
+    public void jz(int labelNumber) {
+        test();
+        instruction("je\t.L" + labelNumber);
+    }
+
+    public void jnz(int labelNumber) {
+        test();
+        instruction("jne\t.L" + labelNumber);
+    }
+
+    public void jmp(int labelNumber) {
+        instruction("jmp\t.L" + labelNumber);
+    }
+
+    private void test() {
+        Operand condition = registers.peek(0);
+        instruction("testl\t" + condition.l() + ", " + condition.l());
+        registers.pop();
+    }
+
+    // * Input and output
+
+    public void in(Type type) {
+        registers.spillReals(1);
+        Operand address = registers.peek(0);
+        switch (type.suffix()) {
+            case 'f':
+                instruction("call\tpmmrt_read_real");
+                instruction("movss\t%xmm0, (" + address.q() + ")");
+                break;
+            case 'b':
+                instruction("call\tpmmrt_read_char");
+                instruction("movb\t%al, (" + address.q() + ")");
+                break;
+            default:
+                instruction("call\tpmmrt_read_int");
+                instruction("movw\t%ax, (" + address.q() + ")");
+        }
+        registers.pop();
+    }
+
+    public void out(Type type) {
+        registers.spillReals(1);
+        Operand value = registers.peek(0);
+        switch (type.suffix()) {
+            case 'f':
+                instruction("movaps\t" + value.x() + ", %xmm0");
+                instruction("call\tpmmrt_write_real");
+                break;
+            case 'b':
+                instruction("movl\t" + value.l() + ", %edi");
+                instruction("call\tpmmrt_write_char");
+                break;
+            default:
+                instruction("movl\t" + value.l() + ", %edi");
+                instruction("call\tpmmrt_write_int");
+        }
+        registers.pop();
+    }
+
+    // * Program
+
+    /**
+     * Writes the global data area, the runtime and the C entry point, and closes the output.
+     */
+    public void close(int bytesForGlobals) {
+        out.println();
+        out.println("\t.local\t" + GLOBALS);
+        out.println("\t.comm\t" + GLOBALS + ", " + Math.max(bytesForGlobals, 1) + ", 16");
+        out.print(X86Runtime.SOURCE);
+        out.close();
+    }
+
+    private String memory(Slot slot) {
+        int offset = slot.getOffset();
+        if (slot.isGlobal())
+            return GLOBALS + "+" + offset + "(%rip)";
+        if (slot.getKind() == Slot.Kind.LOCAL)
+            return (offset - SAVE_AREA) + "(%rbp)";
+        FunctionType type = (FunctionType) function.getType();
+        return (offset - 4 - SAVE_AREA - function.getBytesForLocals() - type.getBytesForParams()) + "(%rbp)";
+    }
+
+    private static String widen(Type type) {
+        return type.suffix() == 'b' ? "movzbl" : "movswl";
+    }
+
+    private static String move(Type type, Operand value) {
+        switch (type.suffix()) {
+            case 'f':
+                return "movss\t" + value.x();
+            case 'b':
+                return "movb\t" + value.b();
+            default:
+                return "movw\t" + value.w();
+        }
+    }
+
+    private static int align(int value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+}
@@ -0,0 +1,242 @@
+package codegenerator.x86;
+
+import ast.Program;
+import ast.definition.Definition;
+import ast.definition.FunctionDefinition;
+import ast.definition.VarDefinition;
+import ast.expression.FunctionInvocation;
+import ast.expression.value.Variable;
+import ast.statement.*;
+import ast.type.FunctionType;
+import ast.type.Type;
+import ast.type.VoidType;
+import codegenerator.AbstractCGVisitor;
+
+/**
+ * Lowers each function definition to x86-64 assembler. The templates are the ones of the
+ * MAPL ExecuteCGVisitor; the X86CodeGenerator maps the operand stack onto registers.
+ */
+public class X86ExecuteCGVisitor extends AbstractCGVisitor<FunctionDefinition> {
+
+    private X86CodeGenerator x86;
+    private X86ValueCGVisitor valueCGVisitor;
+    private X86AddressCGVisitor addressCGVisitor;
+
+    public X86ExecuteCGVisitor(X86CodeGenerator x86){
+        this.x86 = x86;
+        this.valueCGVisitor = new X86ValueCGVisitor(x86);
+        this.addressCGVisitor = new X86AddressCGVisitor(x86, valueCGVisitor);
+    }
+
+    /**
+     * execute [[Program : program -> definition*]]() =
+     *      for (Definition definition : definition*)
+     *          execute[[definition]]()
+     *      <globals> bytes of the global variables
+     */
+    @Override
+    public Void visit(Program program, FunctionDefinition param){
+        int bytesForGlobals = 0;
+        for (Definition definition : program.getProgram()) {
+            definition.accept(this, null);
+            if (definition instanceof VarDefinition) {
+                VarDefinition global = (VarDefinition) definition;
+                bytesForGlobals = Math.max(bytesForGlobals, global.getOffset() + global.getType().numberOfBytes());
+            }
+        }
+        x86.close(bytesForGlobals);
+        return null;
+    }
+
+    @Override
+    public Void visit(VarDefinition varDefinition, FunctionDefinition param){
+        x86.writeComment(varDefinition.getType().toString() + " " + varDefinition.getName()
+                + " (offset " + varDefinition.getOffset() + ")");
+        return null;
+    }
+
+    /**
+     * execute [[FunctionDefinition : functionDefinition -> ID functionType VarDefinition* Statement*]]() =
+     *      <prologue, arguments stored in their frame slots>
+     *      for (Statement statement : Statement*)
+     *          execute[[statement]](functionDefinition)
+     *      <epilogue>
+     */
+    @Override
+    public Void visit(FunctionDefinition functionDefinition, FunctionDefinition param){
+        x86.beginFunction(functionDefinition);
+        x86.writeLine(functionDefinition);
+
+        for (Statement statement : functionDefinition.getFunctionStatements()){
+            statement.accept(this, functionDefinition);
+        }
+
+        x86.endFunction();
+        return null;
+    }
+
+    /**
+     * execute[[Assignment : statement -> expression1 expression2]]() =
+     *      address[[expression1]]()
+     *      value[[expression2]]()
+     *      <promote> expression2.type expression1.type
+     *      <store> expression1.type
+     */
+    @Override
+    public Void visit(Assignment assignment, FunctionDefinition param){
+        x86.writeLine(assignment);
+
+        if (assignment.getLeftSideExpression() instanceof Variable) {
+            assignment.getRightSideExpression().accept(this.valueCGVisitor, null);
+            x86.promote(assignment.getRightSideExpression().getType(), assignment.getLeftSideExpression().getType());
+            Variable variable = (Variable) assignment.getLeftSideExpression();
+            x86.storeVariable(variable.getSlot(), variable.getType());
+            return null;
+        }
+
+        assignment.getLeftSideExpression().accept(this.addressCGVisitor, null);
+        assignment.getRightSideExpression().accept(this.valueCGVisitor, null);
+        x86.promote(assignment.getRightSideExpression().getType(), assignment.getLeftSideExpression().getType());
+        x86.store(assignment.getLeftSideExpression().getType());
+
+        return null;
+    }
+
+    /**
+     * execute[[Input : statement -> expression]]() =
+     *      address[[expression]]()
+     *      <in> expression.type
+     */
+    @Override
+    public Void visit(Input input, FunctionDefinition param){
+        x86.writeLine(input);
+
+        input.getExpression().accept(this.addressCGVisitor, null);
+        x86.in(input.getExpression().getType());
+
+        return null;
+    }
+
+    /**
+     * execute[[Print : statement -> expression]]() =
+     *      value[[expression]]()
+     *      <out> expression.type
+     */
+    @Override
+    public Void visit(Print print, FunctionDefinition param){
+        x86.writeLine(print);
+
+        print.getExpression().accept(this.valueCGVisitor, null);
+        x86.out(print.getExpression().getType());
+
+        return null;
+    }
+
+    /**
+     * The condition is tested at the bottom, so each iteration takes a single jump.
+     *
+     * execute[[While : statement1 -> expression statement2*]]() =
+     *      <jmp> condition
+     *      body:
+     *      for(Statement statement : statement2*)
+     *          execute[[statement]]()
+     *      condition:
+     *      value[[expression]]()
+     *      <jnz> body
+     */
+    @Override
+    public Void visit(While whileStatement, FunctionDefinition param){
+        x86.writeLine(whileStatement);
+
+        int bodyLabel = x86.generateLabel();
+        int conditionLabel = x86.generateLabel();
+
+        x86.jmp(conditionLabel);
+        x86.writeLabel(bodyLabel);
+        for (Statement statement : whileStatement.getBody()) {
+            statement.accept(this, param);
+        }
+
+        x86.writeLabel(conditionLabel);
+        whileStatement.getCondition().accept(valueCGVisitor, null);
+        x86.jnz(bodyLabel);
+
+        return null;
+    }
+
+    /**
+     * execute[[IfElse : statement1 -> expression statement2* statement3*]]() =
+     *      value[[expression]]()
+     *      <jz> else
+     *      for(Statement statement : statement2*)
+     *          execute[[statement]]()
+     *      <jmp> end
+     *      else:
+     *      for(Statement statement : statement3*)
+     *          execute[[statement]]()
+     *      end:
+     */
+    @Override
+    public Void visit(IfElse ifElse, FunctionDefinition param){
+        x86.writeLine(ifElse);
+
+        int endLabel = x86.generateLabel();
+        int elseLabel = x86.generateLabel();
+
+        ifElse.getCondition().accept(valueCGVisitor, null);
+        x86.jz(elseLabel);
+
+        for (Statement statement : ifElse.getIfBody()) {
+            statement.accept(this, param);
+        }
+        x86.jmp(endLabel);
+
+        x86.writeLabel(elseLabel);
+        for (Statement statement : ifElse.getElseBody()) {
+            statement.accept(this, param);
+        }
+
+        x86.writeLabel(endLabel);
+
+        return null;
+    }
+
+    /**
+     * execute[[FunctionInvocation : statement -> expression1 expression2*]]() =
+     *      value[[(Expression)statement]]()
+     *      if the function returns a value
+     *          <pop> return type
+     */
+    @Override
+    public Void visit(FunctionInvocation functionInvocation, FunctionDefinition param){
+        x86.writeLine(functionInvocation);
+
+        functionInvocation.accept(this.valueCGVisitor, null);
+
+        Type functionReturnType = ((FunctionType)functionInvocation.getVariable().getDefinition().getType()).getReturnType();
+        if(!functionReturnType.equals(VoidType.getInstance())){
+            x86.pop(functionReturnType);
+        }
+
+        return null;
+    }
+
+    /**
+     * execute[[Return : statement -> expression]](functionDefinition) =
+     *      value[[expression]]()
+     *      <promote> expression.type functionDefinition.type.returnType
+     *      <ret> functionDefinition.type.returnType
+     */
+    @Override
+    public Void visit(Return returnStatement, FunctionDefinition param){
+        x86.writeLine(returnStatement);
+
+        Type returnType = ((FunctionType) param.getType()).getReturnType();
+        returnStatement.getExpression().accept(this.valueCGVisitor, null);
+        x86.promote(returnStatement.getExpression().getType(), returnType);
+        x86.ret(returnType);
+
+        return null;
+    }
+
+}
@@ -0,0 +1,102 @@
+package codegenerator.x86;
+
+/**
+ * Runtime linked into every native Pmm program: input and output on top of the C library
+ * and the C entry point, which calls the Pmm main function. Reals are written with %.7g, as the
+ * MaplVM writes them.
+ */
+final class X86Runtime {
+
+    static final String SOURCE = String.join("\n",
+            "",
+            "\t.section\t.rodata",
+            ".Lfmt_int:\t.string \"%d\"",
+            ".Lfmt_real:\t.string \"%.7g\"",
+            ".Lfmt_read_int:\t.string \"%d\"",
+            ".Lfmt_read_real:\t.string \"%f\"",
+            ".Lfmt_read_char:\t.string \" %c\"",
+            "",
+            "\t.text",
+            "pmmrt_write_int:",
+            "\tpushq\t%rbp",
+            "\tmovq\t%rsp, %rbp",
+            "\tmovl\t%edi, %esi",
+            "\tleaq\t.Lfmt_int(%rip), %rdi",
+            "\txorl\t%eax, %eax",
+            "\tcall\tprintf@PLT",
+            "\tpopq\t%rbp",
+            "\tret",
+            "",
+            "pmmrt_write_real:",
+            "\tpushq\t%rbp",
+            "\tmovq\t%rsp, %rbp",
+            "\tcvtss2sd\t%xmm0, %xmm0",
+            "\tleaq\t.Lfmt_real(%rip), %rdi",
+            "\tmovl\t$1, %eax",
+            "\tcall\tprintf@PLT",
+            "\tpopq\t%rbp",
+            "\tret",
+            "",
+            "pmmrt_write_char:",
+            "\tpushq\t%rbp",
+            "\tmovq\t%rsp, %rbp",
+            "\tmovzbl\t%dil, %edi",
+            "\tcall\tputchar@PLT",
+            "\tpopq\t%rbp",
+            "\tret",
+            "",
+            "pmmrt_read_int:",
+            "\tpushq\t%rbp",
+            "\tmovq\t%rsp, %rbp",
+            "\tsubq\t$16, %rsp",
+            "\tmovl\t$0, -4(%rbp)",
+            "\tleaq\t-4(%rbp), %rsi",
+            "\tleaq\t.Lfmt_read_int(%rip), %rdi",
+            "\txorl\t%eax, %eax",
+            "\tcall\tscanf@PLT",
+            "\tmovswl\t-4(%rbp), %eax",
+            "\tleave",
+            "\tret",
+            "",
+            "pmmrt_read_real:",
+            "\tpushq\t%rbp",
+            "\tmovq\t%rsp, %rbp",
+            "\tsubq\t$16, %rsp",
+            "\tmovl\t$0, -4(%rbp)",
+            "\tleaq\t-4(%rbp), %rsi",
+            "\tleaq\t.Lfmt_read_real(%rip), %rdi",
+            "\txorl\t%eax, %eax",
+            "\tcall\tscanf@PLT",
+            "\tmovss\t-4(%rbp), %xmm0",
+            "\tleave",
+            "\tret",
+            "",
+            "pmmrt_read_char:",
+            "\tpushq\t%rbp",
+            "\tmovq\t%rsp, %rbp",
+            "\tsubq\t$16, %rsp",
+            "\tmovb\t$0, -1(%rbp)",
+            "\tleaq\t-1(%rbp), %rsi",
+            "\tleaq\t.Lfmt_read_char(%rip), %rdi",
+            "\txorl\t%eax, %eax",
+            "\tcall\tscanf@PLT",
+            "\tmovzbl\t-1(%rbp), %eax",
+            "\tleave",
+            "\tret",
+            "",
+            "\t.globl\tmain",
+            "\t.type\tmain, @function",
+            "main:",
+            "\tpushq\t%rbp",
+            "\tmovq\t%rsp, %rbp",
+            "\tcall\tpmm_main",
+            "\txorl\t%eax, %eax",
+            "\tpopq\t%rbp",
+            "\tret",
+            "",
+            "\t.section\t.note.GNU-stack,\"\",@progbits",
+            "");
+
+    private X86Runtime() {
+    }
+}
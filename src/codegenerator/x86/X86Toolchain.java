@@ -0,0 +1,31 @@
+package codegenerator.x86;
+
+import java.io.IOException;
+
+/**
+ * Assembles and links the generated assembler with the local gcc driver.
+ */
+public class X86Toolchain {
+
+    /**
+     * @return whether the executable was written; otherwise the reason is shown on the error output.
+     */
+    public static boolean link(String assemblerFileName, String executableFileName) {
+        ProcessBuilder builder = new ProcessBuilder("gcc", "-o", executableFileName, assemblerFileName, "-lm");
+        builder.inheritIO();
+        try {
+            int exitCode = builder.start().waitFor();
+            if (exitCode != 0) {
+                System.err.println("Error linking " + assemblerFileName + ": gcc exited with code " + exitCode);
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error running gcc: " + e.getMessage());
+        } catch (InterruptedException e) {
+            System.err.println("Interrupted while linking " + assemblerFileName);
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,248 @@
+package codegenerator.x86;
+
+import ast.definition.VarDefinition;
+import ast.expression.ArrayAccess;
+import ast.expression.Expression;
+import ast.expression.FieldAccess;
+import ast.expression.FunctionInvocation;
+import ast.expression.binary.Arithmetic;
+import ast.expression.binary.Comparison;
+import ast.expression.binary.Logical;
+import ast.expression.unary.Cast;
+import ast.expression.unary.Negation;
+import ast.expression.unary.UnaryMinus;
+import ast.expression.value.*;
+import ast.type.*;
+import codegenerator.AbstractCGVisitor;
+
+import java.util.List;
+
+public class X86ValueCGVisitor extends AbstractCGVisitor<Void> {
+
+    private X86CodeGenerator x86;
+    private X86AddressCGVisitor addressCGVisitor;
+
+    public X86ValueCGVisitor(X86CodeGenerator x86) {
+        this.x86 = x86;
+        this.addressCGVisitor = new X86AddressCGVisitor(x86, this);
+    }
+
+    /**
+     * value[[Arithmetic : expression1 -> expression2 operator expression3 ]]() =
+     *      value[[expression2]]()
+     *      <promote> expression2.type expression1.type
+     *      value[[expression3]]()
+     *      <promote> expression3.type expression1.type
+     *      <add|sub|mul|div|mod> expression1.type
+     */
+    @Override
+    public Void visit(Arithmetic arithmetic, Void param){
+        arithmetic.getLeftExpression().accept(this, null);
+        x86.promote(arithmetic.getLeftExpression().getType(), arithmetic.getType());
+        arithmetic.getRightExpression().accept(this, null);
+        x86.promote(arithmetic.getRightExpression().getType(), arithmetic.getType());
+
+        switch (arithmetic.getOperator()){
+            case "+":
+                x86.add(arithmetic.getType());
+                break;
+            case "-":
+                x86.sub(arithmetic.getType());
+                break;
+            case "*":
+                x86.mul(arithmetic.getType());
+                break;
+            case "/":
+                x86.div(arithmetic.getType());
+                break;
+            case "%":
+                x86.mod(arithmetic.getType());
+                break;
+        }
+
+        return null;
+    }
+
+    /**
+     * value[[Logical : expression1 -> expression2 operator=('&&'|'||') expression3 ]]() =
+     *      value[[expression2]]()
+     *      value[[expression3]]()
+     *      <and|or>
+     */
+    @Override
+    public Void visit(Logical logical, Void param){
+        logical.getLeftExpression().accept(this, null);
+        logical.getRightExpression().accept(this, null);
+
+        if (logical.getOperator().equals("&&"))
+            x86.and();
+        else
+            x86.or();
+
+        return null;
+    }
+
+    /**
+     * value[[Comparison : expression1 -> expression2 operator expression3 ]]() =
+     *      comparisonType = expression2.type (Integer for chars)
+     *      value[[expression2]]()
+     *      <promote> expression2.type comparisonType
+     *      value[[expression3]]()
+     *      <promote> expression3.type comparisonType
+     *      <gt|lt|ge|le|eq|ne> comparisonType
+     */
+    @Override
+    public Void visit(Comparison comparison, Void param){
+        Type comparisonType = comparison.getLeftExpression().getType();
+
+        if(comparisonType.equals(CharType.getInstance())){
+            comparisonType = IntegerType.getInstance();
+        }
+
+        comparison.getLeftExpression().accept(this, null);
+        x86.promote(comparison.getLeftExpression().getType(), comparisonType);
+
+        comparison.getRightExpression().accept(this, null);
+        x86.promote(comparison.getRightExpression().getType(), comparisonType);
+
+        switch (comparison.getOperator()){
+            case ">":
+                x86.gt(comparisonType);
+                break;
+            case "<":
+                x86.lt(comparisonType);
+                break;
+            case ">=":
+                x86.ge(comparisonType);
+                break;
+            case "<=":
+                x86.le(comparisonType);
+                break;
+            case "==":
+                x86.eq(comparisonType);
+                break;
+            case "!=":
+                x86.ne(comparisonType);
+                break;
+        }
+
+        return null;
+    }
+
+    /**
+     *  value[[Cast : expression1 -> type expression2 ]]() =
+     *       value[[expression2]]()
+     *       <promote> expression2.type type
+     */
+    @Override
+    public Void visit(Cast cast, Void param){
+        cast.getExpression().accept(this, null);
+        x86.promote(cast.getExpression().getType(), cast.getCastType());
+        return null;
+    }
+
+    /**
+     * value[[Negation : expression1 -> expression2]]() =
+     *      value[[expression2]]()
+     *      <not>
+     */
+    @Override
+    public Void visit(Negation negation, Void param){
+        negation.getExpression().accept(this, null);
+        x86.not();
+        return null;
+    }
+
+    /**
+     * value[[UnaryMinus : expression1 -> expression2]]() =
+     *      value[[expression2]]()
+     *      <neg> expression1.type
+     */
+    @Override
+    public Void visit(UnaryMinus unaryMinus, Void param){
+        unaryMinus.getExpression().accept(this, null);
+        x86.promote(unaryMinus.getExpression().getType(), unaryMinus.getType());
+        x86.neg(unaryMinus.getType());
+        return null;
+    }
+
+    /**
+     * value[[Variable : expression1 -> ID]]() =
+     *      <load> expression1.definition
+     */
+    @Override
+    public Void visit(Variable variable, Void param){
+        x86.loadVariable(variable.getSlot(), variable.getType());
+        return null;
+    }
+
+    @Override
+    public Void visit(IntLiteral intLiteral, Void param){
+        x86.push(intLiteral.getValue());
+        return null;
+    }
+
+    @Override
+    public Void visit(BoolLiteral boolLiteral, Void param){
+        x86.push(boolLiteral.getValue() ? 1 : 0);
+        return null;
+    }
+
+    @Override
+    public Void visit(DoubleLiteral doubleLiteral, Void param){
+        x86.push(doubleLiteral.getValue());
+        return null;
+    }
+
+    @Override
+    public Void visit(CharLiteral charLiteral, Void param){
+        x86.push(charLiteral.getValue());
+        return null;
+    }
+
+    /**
+     * value[[ArrayAccess : expression1 -> expression2 expression3 ]]() =
+     *      address[[expression1]]()
+     *      <load> expression1.type
+     */
+    @Override
+    public Void visit(ArrayAccess arrayAccess, Void param){
+        arrayAccess.accept(this.addressCGVisitor, null);
+        x86.load(((ArrayType) arrayAccess.getLeftExpression().getType()).getOfType());
+        return null;
+    }
+
+    /**
+     * value[[FieldAccess : expression1 -> expression2 ID ]]() =
+     *      address[[expression1]]()
+     *      <load> expression1.type
+     */
+    @Override
+    public Void visit(FieldAccess fieldAccess, Void param){
+        fieldAccess.accept(this.addressCGVisitor, null);
+        x86.load(fieldAccess.getType());
+        return null;
+    }
+
+    /**
+     * value[[FunctionInvocation : expression1 -> expression2 expression3*]]() =
+     *      for(Expression expression : expression3*)
+     *          value[[expression]]()
+     *          <promote> expression.type parameter.type
+     *      <call> expression2.name
+     */
+    @Override
+    public Void visit(FunctionInvocation functionInvocation, Void param){
+        FunctionType functionType = (FunctionType) functionInvocation.getVariable().getDefinition().getType();
+        List<Expression> arguments = functionInvocation.getParameters();
+        List<VarDefinition> parameters = functionType.getParameters();
+
+        for (int i = 0; i < arguments.size(); i++) {
+            arguments.get(i).accept(this, null);
+            x86.promote(arguments.get(i).getType(), parameters.get(i).getType());
+        }
+        x86.call(functionInvocation.getVariable().getName(), functionType);
+        return null;
+    }
+
+}
@@ -0,0 +1,38 @@
+package compiler;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of the compilation of a program by a CompilerSession: its MAPL code, unless the program has
+ * errors, and the messages that Main would show on the error output, in the same order.
+ */
+public class CompilationResult {
+
+    private final String code;
+    private final List<String> errors;
+
+    public CompilationResult(String code, List<String> errors) {
+        this.code = code;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return whether the program had no errors, so there is code. Code with internal errors, found
+     * verifying it, is not kept either.
+     */
+    public boolean isCompiled() {
+        return code != null;
+    }
+
+    /**
+     * @return the MAPL code, or null.
+     */
+    public String getCode() {
+        return code;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,300 @@
+package compiler;
+
+import ast.Program;
+import ast.type.ErrorType;
+import codegenerator.CodeGenerator;
+import codegenerator.ExecuteCGVisitor;
+import codegenerator.StackVerifier;
+import errorhandler.ErrorHandler;
+import errorhandler.ErrorLimitException;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import parser.ByteCharStream;
+import parser.LimitedErrorListener;
+import parser.PmmLexer;
+import parser.PmmParser;
+import parser.PmmScanner;
+import parser.RecursiveDescentParser;
+import semantic.FusedSemanticVisitor;
+import semantic.IdentificationVisitor;
+import semantic.ParallelTypeChecker;
+import symboltable.NameTable;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles Pmm programs to MAPL with state of its own, so a process can run many compilations, one after
+ * the other or at the same time, e.g., a service that compiles without starting a JVM for every program.
+ *
+ * A session owns its options, the ErrorHandler of the errors of the program, which is the current one of
+ * the threads while they compile, and the NameTable whose ids index the symbol table. The labels are
+ * numbered by the CodeGenerator of every compilation. A session compiles a program at a time, and every
+ * compilation starts with no errors and no names; to compile at the same time, there is a session per
+ * thread.
+ */
+public class CompilerSession {
+
+    private String lexerOption = "antlr", parserOption = "antlr", semanticOption = "passes";
+    private int jobs = 1, maxErrors = ErrorHandler.DEFAULT_LIMIT;
+    private boolean verbose, stackDepths;
+
+    // * Of the program compiled last
+    private ErrorHandler errorHandler = new ErrorHandler();
+    private NameTable names = new NameTable();
+    private int globalOffset;
+    private int syntaxErrors;
+
+    /**
+     * @param lexerOption antlr or hand.
+     */
+    public void setLexer(String lexerOption) {
+        this.lexerOption = lexerOption;
+    }
+
+    /**
+     * @param parserOption antlr, which parses with SLL prediction and then with LL if it fails, or rd.
+     */
+    public void setParser(String parserOption) {
+        this.parserOption = parserOption;
+    }
+
+    /**
+     * @param semanticOption passes, identification and then type checking with as many threads as jobs,
+     *                       or fused.
+     */
+    public void setSemantic(String semanticOption) {
+        this.semanticOption = semanticOption;
+    }
+
+    /**
+     * @param jobs threads that type check and generate the code of the functions, 1 by default.
+     */
+    public void setJobs(int jobs) {
+        this.jobs = jobs;
+    }
+
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Shows on the error output whether the PmmParser needed LL prediction.
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Annotates the code with the maximum stack depth of every function, as Main with -stack-depths.
+     */
+    public void setStackDepths(boolean stackDepths) {
+        this.stackDepths = stackDepths;
+    }
+
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    public NameTable getNameTable() {
+        return names;
+    }
+
+    /**
+     * Syntax errors of ANTLR of the program parsed last, which are shown but not in the ErrorHandler.
+     */
+    public int getSyntaxErrors() {
+        return syntaxErrors;
+    }
+
+    /**
+     * Bytes taken by the global variables once the program has been analyzed.
+     */
+    public int getGlobalOffset() {
+        return globalOffset;
+    }
+
+    /**
+     * Compiles the source as Main compiles a file, with the code and the errors in the result instead of
+     * written. The errors of the program, even too many of them, do not throw; exceptions are only thrown
+     * for failures of the compiler. As in Main, a program with syntax errors is analyzed too, so their
+     * errors are reported, but it gets no code.
+     */
+    public synchronized CompilationResult compile(String source, String sourceName) {
+        ByteArrayOutputStream syntaxMessages = new ByteArrayOutputStream();
+        LimitedErrorListener listener = new LimitedErrorListener(new PrintStream(syntaxMessages, true));
+        TokenSource lexer = lexerOption.equals("hand") ? new PmmScanner(source.toCharArray(), sourceName)
+                : new PmmLexer(CharStreams.fromString(source, sourceName));
+        List<String> errors = new ArrayList<>();
+        String code = null;
+        try {
+            Program program = start(() -> frontEnd(lexer, listener));
+            syntaxErrors = listener.getErrors();
+            analyze(program);
+            if (syntaxErrors == 0 && !errorHandler.anyError())
+                code = generate(program, sourceName, errors);
+        } catch (ErrorLimitException e) {
+            errors.add(e.getMessage());
+        }
+        List<String> messages = lines(syntaxMessages.toString());
+        for (ErrorType error : errorHandler.getErrors())
+            messages.add(error.toString());
+        messages.addAll(errors);
+        return new CompilationResult(code, messages);
+    }
+
+    /**
+     * Parses the file, whose syntax errors are shown on the error output. Only the AST survives: the
+     * characters, the tokens and the parser are garbage once it returns.
+     * @throws ErrorLimitException when there are as many errors as the limit.
+     */
+    public synchronized Program parseFile(String fileName) throws IOException {
+        // * The bytes of the file, for ASCII sources, or the hand-written lexer, which scans the characters directly
+        TokenSource lexer = lexerOption.equals("hand") ? PmmScanner.fromFileName(fileName)
+                : new PmmLexer(ByteCharStream.fromFileName(fileName));
+        LimitedErrorListener listener = new LimitedErrorListener();
+        Program program = start(() -> frontEnd(lexer, listener));
+        syntaxErrors = listener.getErrors();
+        return program;
+    }
+
+    /**
+     * Identifies and type checks the program parsed last, laying out its variables.
+     * @throws ErrorLimitException when there are as many errors as the limit.
+     */
+    public synchronized void analyze(Program program) {
+        inSession(() -> {
+            if (semanticOption.equals("fused")) {
+                // * Identification and type checking in one traversal, on this thread
+                FusedSemanticVisitor analyzer = new FusedSemanticVisitor(names);
+                program.accept(analyzer, null);
+                globalOffset = analyzer.getGlobalOffset();
+            } else {
+                IdentificationVisitor identification = new IdentificationVisitor(names);
+                program.accept(identification, null);
+                // * The bodies of the functions are checked by as many threads as jobs
+                new ParallelTypeChecker(jobs).check(program);
+                globalOffset = identification.getGlobalOffset();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Starts the compilation of another program, parsing it.
+     */
+    private Program start(Supplier<Program> frontEnd) {
+        errorHandler = new ErrorHandler();
+        errorHandler.setLimit(maxErrors);
+        names = new NameTable();
+        globalOffset = 0;
+        syntaxErrors = 0;
+        return inSession(frontEnd);
+    }
+
+    /**
+     * Runs the phase with the ErrorHandler of the session as the current one of the thread.
+     */
+    private <T> T inSession(Supplier<T> phase) {
+        ErrorHandler previous = ErrorHandler.setCurrent(errorHandler);
+        try {
+            return phase.get();
+        } finally {
+            ErrorHandler.setCurrent(previous);
+        }
+    }
+
+    /**
+     * @param syntaxErrors listener of the syntax errors of the lexer and the PmmParser, which count for the
+     *                     limit of errors.
+     */
+    private Program frontEnd(TokenSource lexer, LimitedErrorListener syntaxErrors) {
+        if (lexer instanceof PmmScanner) {
+            PmmScanner scanner = (PmmScanner) lexer;
+            scanner.setNameTable(names);
+            scanner.removeErrorListeners();
+            scanner.addErrorListener(syntaxErrors);
+        } else {
+            PmmLexer antlrLexer = (PmmLexer) lexer;
+            antlrLexer.setNameTable(names);
+            antlrLexer.removeErrorListeners();
+            antlrLexer.addErrorListener(syntaxErrors);
+        }
+        // * The recursive descent parser builds the same AST, reporting syntax errors as ErrorTypes
+        return parserOption.equals("rd") ? new RecursiveDescentParser(lexer).program() : parse(lexer, syntaxErrors);
+    }
+
+    /**
+     * Parses first with SLL prediction, which is faster and enough for almost every program, bailing
+     * out at the first syntax error. Only then the tokens are parsed again with full LL and the usual
+     * error reporting, so real syntax errors are reported as always.
+     */
+    private Program parse(TokenSource lexer, ANTLRErrorListener syntaxErrors) {
+        PmmParser parser = new PmmParser(new CommonTokenStream(lexer));
+        // * The grammar actions build the AST, so the parse tree would only take memory
+        parser.setBuildParseTree(false);
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+
+        // * The grammar actions report semantic errors, which the second parse would report again
+        int errors = errorHandler.mark();
+        try {
+            Program ast = parser.program().ast;
+            if (verbose)
+                System.err.println("Parsed with SLL prediction");
+            return ast;
+        } catch (ParseCancellationException e) {
+            errorHandler.rollback(errors);
+        }
+
+        parser.reset();
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        parser.addErrorListener(syntaxErrors);
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        Program ast = parser.program().ast;
+        if (verbose)
+            System.err.println("Parsed with LL prediction, SLL failed");
+        return ast;
+    }
+
+    /**
+     * @return the code of the program as Main writes it, verified, and annotated with the stack depth of
+     * every function with stackDepths, or null if it does not verify, whose errors are added to the errors.
+     */
+    private String generate(Program program, String sourceName, List<String> errors) {
+        StringWriter code = new StringWriter();
+        CodeGenerator codeGenerator = new CodeGenerator(new PrintWriter(code));
+        codeGenerator.writeSource(sourceName);
+        program.accept(new ExecuteCGVisitor(codeGenerator, null, null, jobs), null);
+
+        StackVerifier verifier = new StackVerifier(lines(code.toString()));
+        if (!verifier.verify()) {
+            for (String error : verifier.getErrors())
+                errors.add("Internal error in the generated code. " + error);
+            return null;
+        }
+        if (!stackDepths)
+            return code.toString();
+        StringWriter annotated = new StringWriter();
+        verifier.writeWithMetadata(new PrintWriter(annotated));
+        return annotated.toString();
+    }
+
+    /**
+     * @return the lines of the text, as Files.readAllLines.
+     */
+    private static List<String> lines(String text) {
+        return new BufferedReader(new StringReader(text)).lines().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,233 @@
+package compiler;
+
+import ast.definition.Definition;
+import ast.definition.FunctionDefinition;
+import ast.definition.VarDefinition;
+import ast.type.VoidType;
+import codegenerator.CodeGenerator;
+import codegenerator.ExecuteCGVisitor;
+import errorhandler.ErrorHandler;
+import errorhandler.ErrorLimitException;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.UnbufferedTokenStream;
+import parser.ByteCharStream;
+import parser.LimitedErrorListener;
+import parser.PmmLexer;
+import parser.PmmParser;
+import parser.PmmScanner;
+import parser.RecursiveDescentParser;
+import semantic.IdentificationVisitor;
+import semantic.TypeCheckingVisitor;
+
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Compiles a program to MAPL definition by definition, instead of building the AST of the whole program
+ * before analyzing it.
+ *
+ * The parser runs in a thread of its own and hands every top-level definition to a bounded queue. A second
+ * thread identifies, type checks and assigns the offsets of the definitions in the order they are parsed,
+ * so global variables get their offsets as they appear, and the calling thread generates the code of each
+ * function as soon as it is analyzed and then drops its body. The code is the one of the batch compiler:
+ * the comments of the global variables and the invocation to main, which go before the functions, are
+ * kept in memory, and the functions are written to a temporary file appended to them at the end. The
+ * errors are reported in the order of the batch compiler too, and no output file is written when there
+ * is any. Once there are as many errors as the limit of the ErrorHandler, compile throws an
+ * ErrorLimitException as the batch compiler does, but the errors found until then may not be the first
+ * ones of the batch compiler, since the stages find theirs at the same time.
+ */
+public class StreamingCompiler {
+
+    /** Definitions that a stage can get ahead of the next one */
+    public static final int QUEUE_CAPACITY = 64;
+
+    // * Phases of the errors, in the order they are reported
+    private static final int PARSING = 0, IDENTIFICATION = 1, TYPE_CHECKING = 2;
+
+    // * Marks the end of the definitions in a queue
+    private static final Definition END = new VarDefinition("", VoidType.getInstance(), 0, 0);
+
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private final String inputFileName, outputFileName, lexerOption, parserOption;
+    private final BlockingQueue<Definition> parsed = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final BlockingQueue<Definition> analyzed = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private volatile Throwable failure;
+    // * The PmmParser could not recover from a syntax error, so there is no program to generate code for
+    private volatile boolean incomplete;
+    private volatile int globalOffset;
+
+    /**
+     * @param lexerOption antlr or hand.
+     * @param parserOption antlr, which always parses with LL prediction, or rd.
+     */
+    public StreamingCompiler(String inputFileName, String outputFileName, String lexerOption, String parserOption) {
+        this.inputFileName = inputFileName;
+        this.outputFileName = outputFileName;
+        this.lexerOption = lexerOption;
+        this.parserOption = parserOption;
+    }
+
+    /**
+     * Bytes taken by the global variables once the program has been compiled.
+     */
+    public int getGlobalOffset() {
+        return globalOffset;
+    }
+
+    /**
+     * @return whether the program has no errors and its code was written. Otherwise, the errors are in
+     * the ErrorHandler.
+     */
+    public boolean compile() throws Exception {
+        Path output = Paths.get(outputFileName).toAbsolutePath();
+        Path functions = Files.createTempFile(output.getParent(), output.getFileName() + ".", ".functions");
+        try {
+            StringWriter globals = new StringWriter();
+            try (PrintWriter functionsWriter = new PrintWriter(functions.toFile())) {
+                start("parser", this::parse, parsed);
+                start("analyzer", this::analyze, analyzed);
+                generate(new CodeGenerator(new PrintWriter(globals)), new CodeGenerator(functionsWriter));
+            }
+            if (failure instanceof Error)
+                throw (Error) failure;
+            if (failure != null)
+                throw (Exception) failure;
+            if (incomplete || ErrorHandler.getInstance().anyError())
+                return false;
+
+            try (OutputStream out = new FileOutputStream(outputFileName)) {
+                PrintWriter writer = new PrintWriter(out);
+                CodeGenerator header = new CodeGenerator(writer);
+                header.writeSource(inputFileName);
+                writer.print(globals);
+                header.mainCall();
+                Files.copy(functions, out);
+            }
+            return true;
+        } finally {
+            Files.delete(functions);
+        }
+    }
+
+    /**
+     * Runs the stage in a thread of its own, with the ErrorHandler of the calling thread, which puts the
+     * end mark in the output queue of the stage once it ends, after any failure is recorded.
+     */
+    private void start(String name, Stage stage, BlockingQueue<Definition> output) {
+        ErrorHandler errorHandler = ErrorHandler.getInstance();
+        Thread thread = new Thread(() -> {
+            ErrorHandler.setCurrent(errorHandler);
+            try {
+                stage.run();
+            } catch (Throwable e) {
+                failure = e;
+            }
+            try {
+                output.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void parse() throws Exception {
+        ErrorHandler.getInstance().setPhase(PARSING);
+        LimitedErrorListener syntaxErrors = new LimitedErrorListener();
+        TokenSource lexer;
+        if (lexerOption.equals("hand")) {
+            PmmScanner scanner = PmmScanner.fromFileName(inputFileName);
+            scanner.removeErrorListeners();
+            scanner.addErrorListener(syntaxErrors);
+            lexer = scanner;
+        } else {
+            PmmLexer antlrLexer = new PmmLexer(ByteCharStream.fromFileName(inputFileName));
+            antlrLexer.removeErrorListeners();
+            antlrLexer.addErrorListener(syntaxErrors);
+            lexer = antlrLexer;
+        }
+        if (parserOption.equals("rd")) {
+            RecursiveDescentParser parser = new RecursiveDescentParser(lexer);
+            parser.setDefinitionSink(this::deliver);
+            parser.program();
+        } else {
+            // * A definition cannot be taken back once delivered, so there is no SLL parse to repeat, and
+            // * the tokens of the definitions already parsed are not kept either
+            PmmParser parser = new PmmParser(new UnbufferedTokenStream<>(lexer));
+            parser.setBuildParseTree(false);
+            parser.removeErrorListeners();
+            parser.addErrorListener(syntaxErrors);
+            parser.setDefinitionSink(this::deliver);
+            incomplete = parser.program().ast == null;
+        }
+    }
+
+    private void deliver(Definition definition) {
+        // * The analyzer reached the limit of errors, so there is no point in parsing the rest
+        if (failure instanceof ErrorLimitException)
+            throw (ErrorLimitException) failure;
+        try {
+            parsed.put(definition);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parser interrupted", e);
+        }
+    }
+
+    /**
+     * Once any stage fails, the definitions are still taken from the queue so the previous one can end.
+     */
+    private void analyze() throws InterruptedException {
+        ErrorHandler errorHandler = ErrorHandler.getInstance();
+        // * With names of its own: the parser is still interning those of the lexer
+        IdentificationVisitor identification = new IdentificationVisitor();
+        TypeCheckingVisitor typeChecking = new TypeCheckingVisitor();
+        for (Definition definition = parsed.take(); definition != END; definition = parsed.take()) {
+            if (failure != null)
+                continue;
+            try {
+                errorHandler.setPhase(IDENTIFICATION);
+                definition.accept(identification, null);
+                errorHandler.setPhase(TYPE_CHECKING);
+                definition.accept(typeChecking, null);
+                analyzed.put(definition);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        globalOffset = identification.getGlobalOffset();
+    }
+
+    /**
+     * Generates the code of every definition as it is analyzed, until there is any error, since then the
+     * code is not written.
+     */
+    private void generate(CodeGenerator globals, CodeGenerator functions) throws InterruptedException {
+        ExecuteCGVisitor globalsVisitor = new ExecuteCGVisitor(globals), functionsVisitor = new ExecuteCGVisitor(functions);
+        for (Definition definition = analyzed.take(); definition != END; definition = analyzed.take()) {
+            if (failure != null || incomplete || ErrorHandler.getInstance().anyError())
+                continue;
+            try {
+                if (definition instanceof FunctionDefinition) {
+                    definition.accept(functionsVisitor, null);
+                    ((FunctionDefinition) definition).releaseBody();
+                } else
+                    definition.accept(globalsVisitor, null);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+    }
+}
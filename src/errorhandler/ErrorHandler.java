@@ -4,36 +4,197 @@ import ast.type.ErrorType;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Collects the errors of every phase of the compilation. The same error, i.e., of the same kind at the
+ * same line and column, is only kept once. Once there are as many errors as the limit, adding one more
+ * throws an ErrorLimitException, which aborts the compilation: the input is rejected with the errors
+ * found so far.
+ *
+ * Every compilation that runs in the same process at the same time, e.g., those of the CompilerSessions,
+ * has an ErrorHandler of its own, which it sets as the current one of every thread it runs on. The
+ * ErrorTypes add themselves to the current ErrorHandler, so their errors do not get mixed. The threads
+ * without one, like those of Main, share the ErrorHandler of the process.
+ */
 public class ErrorHandler {
 
-    private static ErrorHandler instance;
+    /** Phase of the threads that do not set one, whose errors go after those of any other phase */
+    public static final int LAST_PHASE = Integer.MAX_VALUE;
+
+    /** Errors shown at most unless setLimit says otherwise, as javac does */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Errors of a thread kept apart, and what they are so they are not repeated.
+     */
+    private static class Buffer {
+        final List<ErrorType> errors = new ArrayList<>();
+        final Set<List<Object>> keys = new HashSet<>();
+    }
+
+    private static final ErrorHandler instance = new ErrorHandler();
+    private static final ThreadLocal<ErrorHandler> current = new ThreadLocal<>();
+
     private List<ErrorType> errors;
+    private List<Integer> phases;
+    private final Set<List<Object>> keys = new HashSet<>();
+    private int limit = DEFAULT_LIMIT;
+    private final ThreadLocal<Integer> phase = ThreadLocal.withInitial(() -> LAST_PHASE);
+    private final ThreadLocal<Buffer> buffer = new ThreadLocal<>();
 
-    private ErrorHandler(){
+    public ErrorHandler(){
         errors = new ArrayList<>();
+        phases = new ArrayList<>();
     }
 
+    /**
+     * @return the current ErrorHandler of the thread, or that of the process when it has none.
+     */
     public static ErrorHandler getInstance(){
-        if(instance == null){
-            instance = new ErrorHandler();
-        }
-        return instance;
+        ErrorHandler handler = current.get();
+        return handler != null ? handler : instance;
+    }
+
+    /**
+     * Makes the handler the current one of the thread, or that of the process when it is null.
+     * @return the one before, to set it back.
+     */
+    public static ErrorHandler setCurrent(ErrorHandler handler){
+        ErrorHandler previous = current.get();
+        if (handler == null)
+            current.remove();
+        else
+            current.set(handler);
+        return previous;
     }
 
-    public boolean anyError(){
+    /**
+     * Sets the phase of the compilation run by the current thread. When phases run at the same time, the
+     * errors are kept in the order of their phases, as if the phases had run one after the other, and a
+     * phase only shows its own errors and those of the previous phases.
+     */
+    public void setPhase(int phase){
+        this.phase.set(phase);
+    }
+
+    /**
+     * @param limit number of errors after which the compilation is aborted, at least 1.
+     */
+    public synchronized void setLimit(int limit){
+        this.limit = limit;
+    }
+
+    public synchronized int getLimit(){
+        return limit;
+    }
+
+    public synchronized boolean anyError(){
         return !errors.isEmpty();
     }
 
-    public void showErrors(PrintStream printStream){
-        for (ErrorType e: errors) {
+    public synchronized void showErrors(PrintStream printStream){
+        for (ErrorType e : getErrors())
             printStream.println(e);
+    }
+
+    /**
+     * @return the errors that showErrors shows, in the same order.
+     */
+    public synchronized List<ErrorType> getErrors(){
+        int phase = this.phase.get();
+        List<ErrorType> shown = new ArrayList<>();
+        for (int i = 0; i < errors.size(); i++) {
+            if (phases.get(i) <= phase)
+                shown.add(errors.get(i));
         }
+        return shown;
     }
 
+    /**
+     * Adds the error, unless it was already added.
+     * @throws ErrorLimitException when there are already as many errors as the limit, once added.
+     */
     public void addError(ErrorType e){
-        errors.add(e);
+        Buffer buffer = this.buffer.get();
+        if (buffer == null) {
+            insert(e);
+            return;
+        }
+        if (!buffer.keys.add(key(e)))
+            return;
+        buffer.errors.add(e);
+        // * The errors added before go before those of the buffer, so the limit is reached with them
+        if (mark() + buffer.errors.size() >= limit)
+            throw new ErrorLimitException(limit);
+    }
+
+    private synchronized void insert(ErrorType e){
+        checkLimit();
+        if (!keys.add(key(e)))
+            return;
+        int phase = this.phase.get();
+        int position = errors.size();
+        while (position > 0 && phases.get(position - 1) > phase)
+            position--;
+        errors.add(position, e);
+        phases.add(position, phase);
+        checkLimit();
+    }
+
+    private void checkLimit(){
+        if (errors.size() >= limit)
+            throw new ErrorLimitException(limit);
+    }
+
+    private static List<Object> key(ErrorType e){
+        return Arrays.asList(e.getLine(), e.getColumn(), e.getKind());
+    }
+
+    /**
+     * Keeps the errors of the current thread apart from here on, so the tasks of a phase that run in
+     * parallel can add theirs in the order they would have been found running one after the other.
+     */
+    public void startBuffer(){
+        buffer.set(new Buffer());
+    }
+
+    /**
+     * @return the errors of the current thread since startBuffer, which are no longer kept apart.
+     */
+    public List<ErrorType> endBuffer(){
+        List<ErrorType> errors = buffer.get().errors;
+        buffer.remove();
+        return errors;
+    }
+
+    /**
+     * Adds the errors, e.g., of a buffer, in their order, as addError.
+     */
+    public synchronized void addErrors(List<ErrorType> errors){
+        for (ErrorType e : errors)
+            insert(e);
+    }
+
+    /**
+     * Number of errors found so far, to undo the ones found after it with rollback.
+     */
+    public synchronized int mark(){
+        return errors.size();
+    }
+
+    /**
+     * Discards the errors added after the mark, e.g., by a parse that is going to be repeated.
+     */
+    public synchronized void rollback(int mark){
+        List<ErrorType> discarded = errors.subList(mark, errors.size());
+        for (ErrorType e : discarded)
+            keys.remove(key(e));
+        discarded.clear();
+        phases.subList(mark, phases.size()).clear();
     }
 
 }
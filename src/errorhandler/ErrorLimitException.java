@@ -0,0 +1,14 @@
+package errorhandler;
+
+/**
+ * Thrown when the ErrorHandler has as many errors as its limit, to stop compiling an input that is
+ * going to be rejected anyway. The errors found so far are in the ErrorHandler.
+ */
+public class ErrorLimitException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ErrorLimitException(int limit) {
+        super("Too many errors, only the first " + limit + " are shown.");
+    }
+}
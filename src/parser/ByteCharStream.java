@@ -0,0 +1,144 @@
+package parser;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CharStream over the bytes of a 7-bit ASCII source, where every byte is a character.
+ *
+ * CharStreams.fromFileName decodes the whole file into a new array of code points before lexing. Pmm
+ * sources are ASCII, so the bytes of the file can be the characters: small files are read into a byte
+ * array and large ones are memory-mapped, so they are neither copied nor decoded. Files with any other
+ * byte are decoded as UTF-8 by CharStreams.
+ */
+public class ByteCharStream implements CharStream {
+
+    /** Files of at least this size are memory-mapped instead of read */
+    public static final long MAP_THRESHOLD = 1 << 20;
+
+    private final ByteBuffer bytes;
+    private final int size;
+    private final String sourceName;
+    private int index;
+
+    public ByteCharStream(ByteBuffer bytes, String sourceName) {
+        this.bytes = bytes;
+        this.size = bytes.limit();
+        this.sourceName = sourceName;
+    }
+
+    public static CharStream fromFileName(String fileName) throws IOException {
+        return fromFileName(fileName, MAP_THRESHOLD);
+    }
+
+    /**
+     * @param mapThreshold size from which the file is memory-mapped.
+     */
+    public static CharStream fromFileName(String fileName, long mapThreshold) throws IOException {
+        Path path = Paths.get(fileName);
+        ByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException(fileName + " is too large: " + size + " bytes");
+            if (size >= mapThreshold)
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            else {
+                bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining() && channel.read(bytes) >= 0)
+                    ;
+                bytes.flip();
+            }
+        }
+        if (!isAscii(bytes))
+            return CharStreams.fromPath(path, StandardCharsets.UTF_8);
+        return new ByteCharStream(bytes, fileName);
+    }
+
+    /**
+     * Checks eight bytes at a time that no byte has its high bit set.
+     */
+    static boolean isAscii(ByteBuffer bytes) {
+        int i = 0, size = bytes.limit();
+        for (; i + 8 <= size; i += 8)
+            if ((bytes.getLong(i) & 0x8080808080808080L) != 0)
+                return false;
+        for (; i < size; i++)
+            if (bytes.get(i) < 0)
+                return false;
+        return true;
+    }
+
+    @Override
+    public int LA(int i) {
+        if (i == 0)
+            return 0;
+        int position = i > 0 ? index + i - 1 : index + i;
+        if (position < 0 || position >= size)
+            return IntStream.EOF;
+        return bytes.get(position);
+    }
+
+    @Override
+    public void consume() {
+        if (index >= size)
+            throw new IllegalStateException("cannot consume EOF");
+        index++;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int start = Math.max(0, interval.a), stop = Math.min(interval.b, size - 1);
+        if (stop < start)
+            return "";
+        byte[] text = new byte[stop - start + 1];
+        ByteBuffer view = bytes.duplicate();
+        view.position(start);
+        view.get(text);
+        return new String(text, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public int mark() {
+        return -1;
+    }
+
+    @Override
+    public void release(int marker) {
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public void seek(int index) {
+        this.index = Math.min(index, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getSourceName() {
+        return sourceName == null || sourceName.isEmpty() ? UNKNOWN_SOURCE_NAME : sourceName;
+    }
+
+    @Override
+    public String toString() {
+        return getText(Interval.of(0, size - 1));
+    }
+}
@@ -0,0 +1,303 @@
+package parser;
+
+import ast.Program;
+import ast.definition.Definition;
+import errorhandler.ErrorHandler;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import symboltable.NameTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Front end of the edit-compile loop: after an edit of the source, it only parses again the top-level
+ * definition that contains it.
+ *
+ * The source is divided in regions, one per top-level definition, from its first token to the first
+ * token of the next one (to the end of the source for main), so the blanks and comments after a
+ * definition are part of its region. An edit inside a region, whose last character is a new line, is
+ * scanned and parsed from the line and column of the region; the definitions parsed replace those of the
+ * region in the Program, and the regions after it, with their definitions, are moved. An edit that is not
+ * inside a region, or whose region is no longer one definition without errors, parses the whole source
+ * again, reporting its errors as the compiler does. All the parses intern the names in the same NameTable,
+ * so the ids of the names of the definitions kept stay valid.
+ */
+public class IncrementalParser {
+
+    /**
+     * Replacement of the characters in [offset, offset + length) of the source with text.
+     */
+    public static class Edit {
+
+        private final int offset, length;
+        private final String text;
+
+        public Edit(int offset, int length, String text) {
+            this.offset = offset;
+            this.length = length;
+            this.text = text;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    /**
+     * Program after an edit, and the definitions parsed for it: all of them when the whole source was
+     * parsed again.
+     */
+    public static class Update {
+
+        private final Program program;
+        private final List<Definition> changedDefinitions;
+        private final boolean incremental;
+
+        private Update(Program program, List<Definition> changedDefinitions, boolean incremental) {
+            this.program = program;
+            this.changedDefinitions = changedDefinitions;
+            this.incremental = incremental;
+        }
+
+        public Program getProgram() {
+            return program;
+        }
+
+        public List<Definition> getChangedDefinitions() {
+            return changedDefinitions;
+        }
+
+        /**
+         * @return whether only the region of the edit was parsed.
+         */
+        public boolean isIncremental() {
+            return incremental;
+        }
+    }
+
+    private static class Region {
+        // * Characters [start, end) of the source, and the position of start
+        int start, end, line, column;
+        List<Definition> definitions = new ArrayList<>();
+        boolean main;
+        // * Its parse reported errors, which only a parse of the whole source reports again
+        boolean errors;
+    }
+
+    private char[] source;
+    private int length;
+    private final String sourceName;
+    private final List<ANTLRErrorListener> listeners = new ArrayList<>();
+    private final NameTable names = new NameTable();
+
+    // * null when the last parse of the whole source had syntax errors or failed
+    private List<Region> regions;
+    private Program program;
+
+    public IncrementalParser(String source, String sourceName) {
+        this.source = source.toCharArray();
+        this.length = this.source.length;
+        this.sourceName = sourceName;
+        listeners.add(ConsoleErrorListener.INSTANCE);
+    }
+
+    public void addErrorListener(ANTLRErrorListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeErrorListeners() {
+        listeners.clear();
+    }
+
+    public String getSource() {
+        return new String(source, 0, length);
+    }
+
+    public Program getProgram() {
+        return program;
+    }
+
+    public NameTable getNameTable() {
+        return names;
+    }
+
+    /**
+     * Parses the whole source.
+     */
+    public Program parse() {
+        this.regions = null;
+        PmmScanner scanner = new PmmScanner(source, length, sourceName);
+        scanner.setNameTable(names);
+        PmmParser parser = new PmmParser(new CommonTokenStream(scanner));
+        scanner.removeErrorListeners();
+        parser.removeErrorListeners();
+        int[] lexicalErrors = {0};
+        scanner.addErrorListener(new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int column, String message, RecognitionException e) {
+                lexicalErrors[0]++;
+            }
+        });
+        for (ANTLRErrorListener listener : listeners) {
+            scanner.addErrorListener(listener);
+            parser.addErrorListener(listener);
+        }
+        parser.setBuildParseTree(false);
+
+        // * Every definition closes its region at the token after it, where the next region starts
+        List<Region> regions = new ArrayList<>();
+        Token[] start = {parser.getCurrentToken()};
+        ErrorHandler errorHandler = ErrorHandler.getInstance();
+        int[] errors = {errorHandler.mark()};
+        parser.setDefinitionSink(definition -> {
+            Token next = parser.getCurrentToken();
+            if (next != start[0]) {
+                Region region = new Region();
+                region.start = start[0].getStartIndex();
+                region.line = start[0].getLine();
+                region.column = start[0].getCharPositionInLine();
+                region.end = next.getStartIndex();
+                regions.add(region);
+                start[0] = next;
+            }
+            Region region = regions.get(regions.size() - 1);
+            region.definitions.add(definition);
+            region.errors |= errorHandler.mark() > errors[0];
+            errors[0] = errorHandler.mark();
+        });
+        parser.program();
+
+        if (parser.getNumberOfSyntaxErrors() == 0 && lexicalErrors[0] == 0 && !regions.isEmpty()) {
+            regions.get(regions.size() - 1).main = true;
+            this.regions = regions;
+        }
+        List<Definition> definitions = new ArrayList<>();
+        for (Region region : regions)
+            definitions.addAll(region.definitions);
+        return program = new Program(definitions, 0, 0);
+    }
+
+    /**
+     * Applies the edit to the source and parses it again, only the region of the edit if possible.
+     */
+    public Update apply(Edit edit) {
+        if (edit.offset < 0 || edit.length < 0 || edit.offset + edit.length > length)
+            throw new IllegalArgumentException("Edit [" + edit.offset + ", " + (edit.offset + edit.length)
+                    + ") out of the " + length + " characters of the source");
+        int delta = edit.text.length() - edit.length;
+        int lines = count(edit.text.toCharArray(), 0, edit.text.length()) - count(source, edit.offset, edit.offset + edit.length);
+        int index = regionOf(edit);
+
+        char[] edited = new char[length + delta];
+        System.arraycopy(source, 0, edited, 0, edit.offset);
+        edit.text.getChars(0, edit.text.length(), edited, edit.offset);
+        System.arraycopy(source, edit.offset + edit.length, edited, edit.offset + edit.text.length(), length - edit.offset - edit.length);
+        source = edited;
+        length = edited.length;
+
+        List<Definition> parsed = index < 0 ? null : parseRegion(regions.get(index), regions.get(index).end + delta);
+        if (parsed == null)
+            return new Update(parse(), program.getProgram(), false);
+
+        Region region = regions.get(index);
+        region.end += delta;
+        region.definitions = parsed;
+        LineMover mover = new LineMover();
+        List<Definition> definitions = new ArrayList<>();
+        for (int i = 0; i < regions.size(); i++) {
+            Region next = regions.get(i);
+            if (i > index) {
+                next.start += delta;
+                next.end += delta;
+                next.line += lines;
+                if (lines != 0)
+                    next.definitions.forEach(definition -> definition.accept(mover, lines));
+            }
+            definitions.addAll(next.definitions);
+        }
+        program = new Program(definitions, 0, 0);
+        return new Update(program, Collections.unmodifiableList(parsed), true);
+    }
+
+    /**
+     * @return the index of the region that can be parsed again for the edit, or -1.
+     */
+    private int regionOf(Edit edit) {
+        if (regions == null)
+            return -1;
+        int low = 0, high = regions.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (regions.get(middle).start <= edit.offset)
+                low = middle;
+            else
+                high = middle - 1;
+        }
+        Region region = regions.get(low);
+        int end = edit.offset + edit.length;
+        if (region.errors || edit.offset < region.start)
+            return -1;
+        // * Text inserted before the region could join the end of the previous one
+        if (edit.offset == region.start && region.start > 0 && source[region.start - 1] != '\n')
+            return -1;
+        // * The new line ending the region ends any token or comment in it, as it did in the whole source
+        if (!region.main && (end >= region.end || source[region.end - 1] != '\n'))
+            return -1;
+        return low;
+    }
+
+    /**
+     * @return the definitions of the region, or null if it is not one definition without errors.
+     */
+    private List<Definition> parseRegion(Region region, int end) {
+        PmmScanner scanner = new PmmScanner(source, region.start, end, region.line, region.column, sourceName);
+        scanner.setNameTable(names);
+        scanner.removeErrorListeners();
+        scanner.addErrorListener(new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int column, String message, RecognitionException e) {
+                throw new ParseCancellationException(message);
+            }
+        });
+        PmmParser parser = new PmmParser(new CommonTokenStream(scanner));
+        parser.removeErrorListeners();
+        parser.setBuildParseTree(false);
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+
+        ErrorHandler errorHandler = ErrorHandler.getInstance();
+        int errors = errorHandler.mark();
+        try {
+            List<Definition> definitions = new ArrayList<>();
+            if (region.main)
+                definitions.add(parser.main_definition().ast);
+            else
+                definitions.addAll(parser.definition().ast);
+            if (parser.getCurrentToken().getType() == Token.EOF && errorHandler.mark() == errors)
+                return definitions;
+        } catch (ParseCancellationException e) {
+            // * Parsed again with the whole source
+        }
+        errorHandler.rollback(errors);
+        return null;
+    }
+
+    private static int count(char[] chars, int start, int end) {
+        int lines = 0;
+        for (int i = start; i < end; i++)
+            if (chars[i] == '\n')
+                lines++;
+        return lines;
+    }
+}
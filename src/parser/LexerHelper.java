@@ -1,6 +1,21 @@
 package parser;
 
+import org.antlr.v4.runtime.Token;
+import symboltable.NameTable;
+
 public class LexerHelper {
+
+	/**
+	 * @return the id of the name of an ID, as interned by the PmmScanner or the PmmLexer, or NameTable.NONE
+	 * for tokens of other sources.
+	 */
+	public static int nameId(Token token) {
+		if (token instanceof PmmToken)
+			return ((PmmToken) token).getNameId();
+		if (token instanceof NameToken)
+			return ((NameToken) token).getNameId();
+		return NameTable.NONE;
+	}
 	
 	public static int lexemeToInt(String str) {
 		try {
@@ -48,5 +63,36 @@ public class LexerHelper {
 		}
 		return -1;
 	}
+
+	// * The values of the tokens of the PmmScanner are decoded from the source, without their text
+	// * (the token is null when the parser could not match it)
+
+	private static String text(Token token) {
+		return token == null ? null : token.getText();
+	}
+
+	public static int lexemeToInt(Token token) {
+		if (token instanceof PmmToken)
+			return ((PmmToken) token).intValue();
+		return lexemeToInt(text(token));
+	}
+
+	public static boolean lexemeToBoolean(Token token) {
+		if (token instanceof PmmToken)
+			return ((PmmToken) token).booleanValue();
+		return lexemeToBoolean(text(token));
+	}
+
+	public static char lexemeToChar(Token token) {
+		if (token instanceof PmmToken)
+			return ((PmmToken) token).charValue();
+		return lexemeToChar(text(token));
+	}
+
+	public static double lexemeToReal(Token token) {
+		if (token instanceof PmmToken)
+			return ((PmmToken) token).realValue();
+		return lexemeToReal(text(token));
+	}
 	
 }
@@ -0,0 +1,47 @@
+package parser;
+
+import errorhandler.ErrorHandler;
+import errorhandler.ErrorLimitException;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+
+import java.io.PrintStream;
+
+/**
+ * Prints the syntax errors of a lexer and its parser as ConsoleErrorListener, and counts them together
+ * with the errors of the ErrorHandler, so a parse of garbage is aborted with an ErrorLimitException once
+ * there are as many errors as the limit of the ErrorHandler. One listener is created for every parse.
+ */
+public class LimitedErrorListener extends BaseErrorListener {
+
+    private final PrintStream out;
+    private int errors;
+
+    /**
+     * Prints the errors on the error output, as ConsoleErrorListener.
+     */
+    public LimitedErrorListener() {
+        this(System.err);
+    }
+
+    public LimitedErrorListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
+                            String msg, RecognitionException e) {
+        out.println("line " + line + ":" + charPositionInLine + " " + msg);
+        ErrorHandler errorHandler = ErrorHandler.getInstance();
+        if (++errors + errorHandler.mark() >= errorHandler.getLimit())
+            throw new ErrorLimitException(errorHandler.getLimit());
+    }
+
+    /**
+     * @return the syntax errors printed so far.
+     */
+    public int getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,212 @@
+package parser;
+
+import ast.AstNode;
+import ast.Program;
+import ast.definition.FunctionDefinition;
+import ast.definition.VarDefinition;
+import ast.expression.ArrayAccess;
+import ast.expression.FieldAccess;
+import ast.expression.FunctionInvocation;
+import ast.expression.binary.Arithmetic;
+import ast.expression.binary.Comparison;
+import ast.expression.binary.Logical;
+import ast.expression.unary.Cast;
+import ast.expression.unary.Negation;
+import ast.expression.unary.UnaryMinus;
+import ast.expression.value.*;
+import ast.statement.*;
+import ast.type.*;
+import semantic.AbstractVisitor;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Moves every node of the definitions visited the given number of lines. The built-in types are shared by
+ * all the program, so they are not moved, and the type of several variables defined together is moved
+ * once.
+ */
+class LineMover extends AbstractVisitor<Integer, Void> {
+
+    // * Only types are shared between nodes
+    private final Set<Type> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private static void move(AstNode node, int lines) {
+        node.moveLines(lines);
+    }
+
+    @Override
+    public Void visit(Program program, Integer lines) {
+        move(program, lines);
+        return super.visit(program, lines);
+    }
+
+    @Override
+    public Void visit(FunctionDefinition functionDefinition, Integer lines) {
+        move(functionDefinition, lines);
+        return super.visit(functionDefinition, lines);
+    }
+
+    @Override
+    public Void visit(VarDefinition varDefinition, Integer lines) {
+        move(varDefinition, lines);
+        return super.visit(varDefinition, lines);
+    }
+
+    @Override
+    public Void visit(Print print, Integer lines) {
+        move(print, lines);
+        return super.visit(print, lines);
+    }
+
+    @Override
+    public Void visit(Input input, Integer lines) {
+        move(input, lines);
+        return super.visit(input, lines);
+    }
+
+    @Override
+    public Void visit(Return returnSt, Integer lines) {
+        move(returnSt, lines);
+        return super.visit(returnSt, lines);
+    }
+
+    @Override
+    public Void visit(While whileSt, Integer lines) {
+        move(whileSt, lines);
+        return super.visit(whileSt, lines);
+    }
+
+    @Override
+    public Void visit(IfElse ifElse, Integer lines) {
+        move(ifElse, lines);
+        return super.visit(ifElse, lines);
+    }
+
+    @Override
+    public Void visit(Assignment assignment, Integer lines) {
+        move(assignment, lines);
+        return super.visit(assignment, lines);
+    }
+
+    @Override
+    public Void visit(UnaryMinus unaryMinus, Integer lines) {
+        move(unaryMinus, lines);
+        return super.visit(unaryMinus, lines);
+    }
+
+    @Override
+    public Void visit(Negation negation, Integer lines) {
+        move(negation, lines);
+        return super.visit(negation, lines);
+    }
+
+    @Override
+    public Void visit(Cast cast, Integer lines) {
+        move(cast, lines);
+        return super.visit(cast, lines);
+    }
+
+    @Override
+    public Void visit(Arithmetic arithmetic, Integer lines) {
+        move(arithmetic, lines);
+        return super.visit(arithmetic, lines);
+    }
+
+    @Override
+    public Void visit(Logical logical, Integer lines) {
+        move(logical, lines);
+        return super.visit(logical, lines);
+    }
+
+    @Override
+    public Void visit(Comparison comparison, Integer lines) {
+        move(comparison, lines);
+        return super.visit(comparison, lines);
+    }
+
+    @Override
+    public Void visit(Variable variable, Integer lines) {
+        move(variable, lines);
+        return null;
+    }
+
+    @Override
+    public Void visit(IntLiteral intLiteral, Integer lines) {
+        move(intLiteral, lines);
+        return null;
+    }
+
+    @Override
+    public Void visit(DoubleLiteral doubleLiteral, Integer lines) {
+        move(doubleLiteral, lines);
+        return null;
+    }
+
+    @Override
+    public Void visit(CharLiteral charLiteral, Integer lines) {
+        move(charLiteral, lines);
+        return null;
+    }
+
+    @Override
+    public Void visit(BoolLiteral boolLiteral, Integer lines) {
+        move(boolLiteral, lines);
+        return null;
+    }
+
+    @Override
+    public Void visit(FieldAccess fieldAccess, Integer lines) {
+        move(fieldAccess, lines);
+        return super.visit(fieldAccess, lines);
+    }
+
+    @Override
+    public Void visit(ArrayAccess arrayAccess, Integer lines) {
+        move(arrayAccess, lines);
+        return super.visit(arrayAccess, lines);
+    }
+
+    @Override
+    public Void visit(FunctionInvocation functionInvocation, Integer lines) {
+        move(functionInvocation, lines);
+        // * The name of the function is not visited by AbstractVisitor
+        move(functionInvocation.getVariable(), lines);
+        return super.visit(functionInvocation, lines);
+    }
+
+    @Override
+    public Void visit(FunctionType functionType, Integer lines) {
+        move(functionType, lines);
+        return super.visit(functionType, lines);
+    }
+
+    @Override
+    public Void visit(RecordType recordType, Integer lines) {
+        if (!moved.add(recordType))
+            return null;
+        move(recordType, lines);
+        return super.visit(recordType, lines);
+    }
+
+    @Override
+    public Void visit(ArrayType arrayType, Integer lines) {
+        if (!moved.add(arrayType))
+            return null;
+        move(arrayType, lines);
+        return super.visit(arrayType, lines);
+    }
+
+    @Override
+    public Void visit(RecordField recordField, Integer lines) {
+        move(recordField, lines);
+        return super.visit(recordField, lines);
+    }
+
+    @Override
+    public Void visit(ErrorType errorType, Integer lines) {
+        move(errorType, lines);
+        return null;
+    }
+}
@@ -0,0 +1,29 @@
+package parser;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.misc.Pair;
+
+/**
+ * ID of the PmmLexer: its text is the name interned in the NameTable of the lexer, and it has the id of
+ * the name.
+ */
+public class NameToken extends CommonToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int nameId;
+
+    NameToken(Pair<TokenSource, CharStream> source, int start, int stop, int line, int charPositionInLine, String name, int nameId) {
+        super(source, PmmLexer.ID, DEFAULT_CHANNEL, start, stop);
+        setLine(line);
+        setCharPositionInLine(charPositionInLine);
+        setText(name);
+        this.nameId = nameId;
+    }
+
+    public int getNameId() {
+        return nameId;
+    }
+}
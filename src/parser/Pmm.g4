@@ -13,136 +13,213 @@ import errorhandler.*;
 import parser.*;
 }
 
+@parser::members {
+    private java.util.function.Consumer<Definition> definitionSink;
+
+    /**
+     * Hands every top-level definition to the sink as soon as it is parsed, instead of keeping it in the
+     * Program, whose list of definitions is then empty.
+     */
+    public void setDefinitionSink(java.util.function.Consumer<Definition> definitionSink) {
+        this.definitionSink = definitionSink;
+    }
+
+    private void deliver(List<Definition> definitions, List<? extends Definition> parsed) {
+        for (Definition definition : parsed)
+            if (definition == null)
+                continue;
+            else if (definitionSink == null)
+                definitions.add(definition);
+            else
+                definitionSink.accept(definition);
+    }
+
+    /**
+     * After a syntax error the parser recovers and leaves the ast of the rule it was in null. The nodes
+     * over it are left out of the AST, so the rest of the program is still analyzed without missing nodes.
+     */
+    private static boolean complete(Object... nodes) {
+        for (Object node : nodes)
+            if (node == null)
+                return false;
+        return true;
+    }
+}
+
+@lexer::members {
+    private symboltable.NameTable names = new symboltable.NameTable();
+
+    public symboltable.NameTable getNameTable() {
+        return names;
+    }
+
+    /**
+     * Interns the names in the table, shared with other lexers of the same compilation, instead of one
+     * of its own.
+     */
+    public void setNameTable(symboltable.NameTable names) {
+        this.names = names;
+    }
+
+    /**
+     * Every ID is a NameToken, whose name is interned as it is scanned. The rest of the tokens are built
+     * by the token factory.
+     */
+    @Override
+    public Token emit() {
+        if (_type != ID)
+            return super.emit();
+        int stop = getCharIndex() - 1;
+        int id = names.intern(_input.getText(Interval.of(_tokenStartCharIndex, stop)));
+        Token token = new NameToken(_tokenFactorySourcePair, _tokenStartCharIndex, stop, _tokenStartLine, _tokenStartCharPositionInLine,
+                names.getName(id), id);
+        emit(token);
+        return token;
+    }
+}
+
+// * The Program is built before its definitions, as the other nodes, so a syntax error that makes the
+// * parser leave the rule keeps the definitions parsed until then instead of leaving no Program
 program returns [ Program ast ] locals [ List<Definition> definitions = new ArrayList<>() ]:
-    (definition { $definitions.addAll($definition.ast); } )* main_definition { $definitions.add($main_definition.ast); } EOF
     {
         $ast = new Program($definitions, 0, 0);
     }
+    (definition { deliver($definitions, $definition.ast); } )* main_definition { deliver($definitions, java.util.Collections.singletonList($main_definition.ast)); } EOF
     ;
 
-main_definition returns [ FunctionDefinition ast ] :
+main_definition returns [ FunctionDefinition ast ] locals [ List<VarDefinition> variables = new ArrayList<>(), List<Statement> statements = new ArrayList<>() ] :
     'def' idFunction='main' '(' ')'
     ':'
     {
         FunctionType funcType = new FunctionType(VoidType.getInstance(), $idFunction.getLine(), $idFunction.getCharPositionInLine()+1);
-        $ast = new FunctionDefinition($idFunction.text, funcType, $idFunction.getLine(), $idFunction.getCharPositionInLine()+1);
+        $ast = new FunctionDefinition($idFunction.text, LexerHelper.nameId($idFunction), funcType, $statements, $variables, $idFunction.getLine(), $idFunction.getCharPositionInLine()+1);
     }
-    '{' (variable_definition {$ast.addVariableDefinitions($variable_definition.ast);} )* (statement {$ast.addStatements($statement.ast);} )* '}'
+    '{' variable_definition[$variables]* statement[$statements]* '}'
 ;
 
 definition returns [ List<Definition> ast = new ArrayList<>() ] :
-       variable_definition
-       {
-        $ast.addAll($variable_definition.ast);
-       }
+       variable_definition[$ast]
      | function_definition
      {
         $ast.add($function_definition.ast);
      }
     ;
 
-variable_definition returns [ List<VarDefinition> ast = new ArrayList<>() ] locals [List<String> names = new ArrayList<>()] :
+// * Appends the definitions to the list of the node that owns them. The set of names is only created
+// * for a second one
+variable_definition [ List<? super VarDefinition> definitions ] locals [ List<Token> ids = new ArrayList<>(2), java.util.Set<String> distinct ] :
     id1=ID
     {
-        if($names.contains($id1.text))
-            new ErrorType("There cannot be two variables with the same name", $id1.getLine(), $id1.getCharPositionInLine()+1);
-        $names.add($id1.text);
+        $ids.add($id1);
     }
     (',' id2=ID
     {
-        if($names.contains($id2.text))
+        if ($distinct == null) {
+            $distinct = new java.util.HashSet<>();
+            $distinct.add($id1.text);
+        }
+        if (!$distinct.add($id2.text))
                 new ErrorType("There cannot be two variables with the same name", $id2.getLine(), $id2.getCharPositionInLine()+1);
-        $names.add($id2.text);
+        $ids.add($id2);
     })*
     ':' type ';'
     {
-        $names.forEach( name-> $ast.add(new VarDefinition(name, $type.ast, $id1.getLine(), $id1.getCharPositionInLine()+1)));
+        if (complete($type.ast))
+            for (Token id : $ids)
+                $definitions.add(new VarDefinition(id.getText(), LexerHelper.nameId(id), $type.ast, $id1.getLine(), $id1.getCharPositionInLine()+1));
     }
 ;
 
-function_definition returns [ FunctionDefinition ast ] locals [ List<VarDefinition> paramDefinitions = new ArrayList<>(), Type returnType = VoidType.getInstance() ]:
+function_definition returns [ FunctionDefinition ast ] locals [ List<VarDefinition> paramDefinitions = new ArrayList<>(), Type returnType = VoidType.getInstance(),
+        List<VarDefinition> variables = new ArrayList<>(), List<Statement> statements = new ArrayList<>() ]:
     'def' idFunction=ID
-    '(' (id1=ID ':' t1=built_in_type { $paramDefinitions.add(new VarDefinition($id1.text, $t1.ast, $id1.getLine(), $id1.getCharPositionInLine()+1)); }
-    (',' id2=ID ':' t2=built_in_type { $paramDefinitions.add(new VarDefinition($id2.text, $t2.ast, $id2.getLine(), $id2.getCharPositionInLine()+1)); })*)? ')'
-    ':' (type { $returnType = $type.ast; } )?
+    '(' (id1=ID ':' t1=built_in_type { if (complete($t1.ast)) $paramDefinitions.add(new VarDefinition($id1.text, LexerHelper.nameId($id1), $t1.ast, $id1.getLine(), $id1.getCharPositionInLine()+1)); }
+    (',' id2=ID ':' t2=built_in_type { if (complete($t2.ast)) $paramDefinitions.add(new VarDefinition($id2.text, LexerHelper.nameId($id2), $t2.ast, $id2.getLine(), $id2.getCharPositionInLine()+1)); })*)? ')'
+    ':' (type { if (complete($type.ast)) $returnType = $type.ast; } )?
     {
         FunctionType funcType = new FunctionType($returnType, $idFunction.getLine(), $idFunction.getCharPositionInLine()+1);
-        $ast = new FunctionDefinition($idFunction.text, funcType, $idFunction.getLine(), $idFunction.getCharPositionInLine()+1);
+        $ast = new FunctionDefinition($idFunction.text, LexerHelper.nameId($idFunction), funcType, $statements, $variables, $idFunction.getLine(), $idFunction.getCharPositionInLine()+1);
     }
-    '{' (variable_definition {$ast.addVariableDefinitions($variable_definition.ast);} )* (statement {$ast.addStatements($statement.ast);} )* '}'
+    '{' variable_definition[$variables]* statement[$statements]* '}'
     {
         $paramDefinitions.forEach(varDef->funcType.addParameter(varDef));
     }
 ;
 
-statement returns [ List<Statement> ast = new ArrayList<>() ] locals[List<Statement> elseBody = new ArrayList<>()]:
-           'print' ex1=expression { $ast.add(new Print($ex1.ast, $ex1.ast.getLine(), $ex1.ast.getColumn())); }
-                (',' ex2=expression { $ast.add(new Print($ex2.ast, $ex2.ast.getLine(), $ex2.ast.getColumn())); })* ';'
+// * Appends the statements, several for a print of more than one expression, to the body that owns them
+statement [ List<Statement> ast ] :
+           'print' ex1=expression { if (complete($ex1.ast)) $ast.add(new Print($ex1.ast, $ex1.ast.getLine(), $ex1.ast.getColumn())); }
+                (',' ex2=expression { if (complete($ex2.ast)) $ast.add(new Print($ex2.ast, $ex2.ast.getLine(), $ex2.ast.getColumn())); })* ';'
          | 'input' expression ';'
          {
-            $ast.add(new Input($expression.ast, $expression.ast.getLine(), $expression.ast.getColumn()));
+            if (complete($expression.ast))
+                $ast.add(new Input($expression.ast, $expression.ast.getLine(), $expression.ast.getColumn()));
          }
          | ex1=expression '=' ex2=expression ';'
          {
-            $ast.add(new Assignment($ex1.ast, $ex2.ast, $ex1.ast.getLine(), $ex1.ast.getColumn()));
+            if (complete($ex1.ast, $ex2.ast))
+                $ast.add(new Assignment($ex1.ast, $ex2.ast, $ex1.ast.getLine(), $ex1.ast.getColumn()));
          }
-         | 'if' expression ':' b1=body ('else' b2=body {$elseBody=$b2.ast;})?
+         | 'if' expression ':' { List<Statement> ifBody = new ArrayList<>(), elseBody = new ArrayList<>(0); } body[ifBody] ('else' { elseBody = new ArrayList<>(); } body[elseBody])?
          {
-            IfElse ifElse = new IfElse($expression.ast, $b1.ast, $elseBody, $expression.ast.getLine(), $expression.ast.getColumn());
-            $ast.add(ifElse);
+            if (complete($expression.ast))
+                $ast.add(new IfElse($expression.ast, ifBody, elseBody, $expression.ast.getLine(), $expression.ast.getColumn()));
          }
-         | 'while' expression ':' body
+         | 'while' expression ':' { List<Statement> whileBody = new ArrayList<>(); } body[whileBody]
          {
-            $ast.add(new While($expression.ast, $body.ast, $expression.ast.getLine(), $expression.ast.getColumn()));
+            if (complete($expression.ast))
+                $ast.add(new While($expression.ast, whileBody, $expression.ast.getLine(), $expression.ast.getColumn()));
          }
          | 'return' expression ';'
          {
-            $ast.add(new Return($expression.ast, $expression.ast.getLine(), $expression.ast.getColumn()));
+            if (complete($expression.ast))
+                $ast.add(new Return($expression.ast, $expression.ast.getLine(), $expression.ast.getColumn()));
          }
          | /* Function invocation**/ ID {
                                     int line, column;
                                     line = $ID.getLine();
                                     column = $ID.getCharPositionInLine()+1;
                                     FunctionInvocation functionInvocation = new FunctionInvocation(
-                                                                                new Variable($ID.text, line, column),
+                                                                                new Variable($ID.text, LexerHelper.nameId($ID), line, column),
                                                                                 line, column);
                                }
             '(' (ex1=expression { functionInvocation.addParameter($ex1.ast); }
                 (','ex2=expression { functionInvocation.addParameter($ex2.ast); } )*)? ')'';'
             {
-                $ast.add(functionInvocation);
+                if (complete(functionInvocation.getParameters().toArray()))
+                    $ast.add(functionInvocation);
             }
          ;
 
-body returns [ List<Statement> ast = new ArrayList<>() ] :
-    '{' (statement { $ast.addAll($statement.ast); } )* '}'
-    | statement { $ast.addAll($statement.ast); }
+body [ List<Statement> statements ] :
+    '{' statement[$statements]* '}'
+    | statement[$statements]
     ;
 
 expression returns [ Expression ast ]:
             INT_CONSTANT
             {
-                $ast = new IntLiteral(LexerHelper.lexemeToInt($INT_CONSTANT.text),
+                $ast = new IntLiteral(LexerHelper.lexemeToInt($INT_CONSTANT),
                     $INT_CONSTANT.getLine(), $INT_CONSTANT.getCharPositionInLine()+1);
             }
           | CHAR_CONSTANT
             {
-                $ast = new CharLiteral(LexerHelper.lexemeToChar($CHAR_CONSTANT.text),
+                $ast = new CharLiteral(LexerHelper.lexemeToChar($CHAR_CONSTANT),
                     $CHAR_CONSTANT.getLine(), $CHAR_CONSTANT.getCharPositionInLine()+1);
             }
           | REAL_CONSTANT
             {
-                $ast = new DoubleLiteral(LexerHelper.lexemeToReal($REAL_CONSTANT.text),
+                $ast = new DoubleLiteral(LexerHelper.lexemeToReal($REAL_CONSTANT),
                     $REAL_CONSTANT.getLine(), $REAL_CONSTANT.getCharPositionInLine()+1);
             }
           | BOOL_CONSTANT
             {
-                $ast = new BoolLiteral(LexerHelper.lexemeToBoolean($BOOL_CONSTANT.text),
+                $ast = new BoolLiteral(LexerHelper.lexemeToBoolean($BOOL_CONSTANT),
                     $BOOL_CONSTANT.getLine(), $BOOL_CONSTANT.getCharPositionInLine()+1);
             }
           | ID
             {
-                $ast = new Variable($ID.text,
+                $ast = new Variable($ID.text, LexerHelper.nameId($ID),
                    $ID.getLine(), $ID.getCharPositionInLine()+1);
             }
           | /* Function invocation**/ ID {
@@ -150,13 +227,14 @@ expression returns [ Expression ast ]:
                                     line = $ID.getLine();
                                     column = $ID.getCharPositionInLine()+1;
                                     FunctionInvocation functionInvocation = new FunctionInvocation(
-                                                                                new Variable($ID.text, line, column),
+                                                                                new Variable($ID.text, LexerHelper.nameId($ID), line, column),
                                                                                 line, column);
                                }
             '(' (ex1=expression { functionInvocation.addParameter($ex1.ast); }
                 (','ex2=expression { functionInvocation.addParameter($ex2.ast); } )*)? ')'
             {
-                $ast = functionInvocation;
+                if (complete(functionInvocation.getParameters().toArray()))
+                    $ast = functionInvocation;
             }
           | '(' expression ')'
             {
@@ -164,48 +242,57 @@ expression returns [ Expression ast ]:
             }
           | ex1=expression '[' ex2=expression ']'
             {
-                $ast = new ArrayAccess($ex1.ast, $ex2.ast,
-                    $ex1.ast.getLine(), $ex1.ast.getColumn());
+                if (complete($ex1.ast, $ex2.ast))
+                    $ast = new ArrayAccess($ex1.ast, $ex2.ast,
+                        $ex1.ast.getLine(), $ex1.ast.getColumn());
             }
           | ex=expression '.' ID
             {
-                $ast = new FieldAccess($ex.ast, $ID.text,
-                    $ex.ast.getLine(), $ex.ast.getColumn());
+                if (complete($ex.ast))
+                    $ast = new FieldAccess($ex.ast, $ID.text,
+                        $ex.ast.getLine(), $ex.ast.getColumn());
             }
           | '(' built_in_type ')' expression
             {
-                $ast = new Cast($built_in_type.ast, $expression.ast,
-                    $expression.ast.getLine(), $expression.ast.getColumn());
+                if (complete($built_in_type.ast, $expression.ast))
+                    $ast = new Cast($built_in_type.ast, $expression.ast,
+                        $expression.ast.getLine(), $expression.ast.getColumn());
             }
           | '-' expression
             {
-                $ast = new UnaryMinus($expression.ast,
-                    $expression.ast.getLine(), $expression.ast.getColumn());
+                if (complete($expression.ast))
+                    $ast = new UnaryMinus($expression.ast,
+                        $expression.ast.getLine(), $expression.ast.getColumn());
             }
           | '!' expression
             {
-                $ast = new Negation($expression.ast,
-                    $expression.ast.getLine(), $expression.ast.getColumn());
+                if (complete($expression.ast))
+                    $ast = new Negation($expression.ast,
+                        $expression.ast.getLine(), $expression.ast.getColumn());
             }
           | ex1=expression OP=('*' | '/' | '%') ex2=expression
             {
-                $ast = new Arithmetic($ex1.ast, $OP.text, $ex2.ast,
-                    $ex1.ast.getLine(), $ex1.ast.getColumn());
+                if (complete($ex1.ast, $ex2.ast))
+                    $ast = new Arithmetic($ex1.ast, $OP.text, $ex2.ast,
+                        $ex1.ast.getLine(), $ex1.ast.getColumn());
             }
           | ex1=expression OP=('+' | '-') ex2=expression
             {
-                $ast = new Arithmetic($ex1.ast, $OP.text, $ex2.ast,
-                    $ex1.ast.getLine(), $ex1.ast.getColumn());
+                if (complete($ex1.ast, $ex2.ast))
+                    $ast = new Arithmetic($ex1.ast, $OP.text, $ex2.ast,
+                        $ex1.ast.getLine(), $ex1.ast.getColumn());
             }
           | ex1=expression OP=('>='| '>' | '<=' | '<' | '!=' | '==') ex2=expression
             {
-                $ast = new Comparison($ex1.ast, $OP.text, $ex2.ast,
-                    $ex1.ast.getLine(), $ex1.ast.getColumn());
+                if (complete($ex1.ast, $ex2.ast))
+                    $ast = new Comparison($ex1.ast, $OP.text, $ex2.ast,
+                        $ex1.ast.getLine(), $ex1.ast.getColumn());
             }
           | ex1=expression OP=('&&' | '||') ex2=expression
             {
-                $ast = new Logical($ex1.ast, $OP.text, $ex2.ast,
-                    $ex1.ast.getLine(), $ex1.ast.getColumn());
+                if (complete($ex1.ast, $ex2.ast))
+                    $ast = new Logical($ex1.ast, $OP.text, $ex2.ast,
+                        $ex1.ast.getLine(), $ex1.ast.getColumn());
             }
           ;
 
@@ -228,40 +315,46 @@ built_in_type returns [ Type ast ]:
                 }
               ;
 
-type returns [ Type ast ] locals [List<Token> fieldIds = new ArrayList<>(), List<String> fieldNames = new ArrayList()]:
+type returns [ Type ast ] locals [ List<Token> fieldIds, java.util.Set<String> fieldNames ]:
     built_in_type
     {
         $ast = $built_in_type.ast;
     }
     | lineMarker='[' INT_CONSTANT ']' type
     {
-        $ast = new ArrayType(LexerHelper.lexemeToInt($INT_CONSTANT.text), $type.ast,
-            $lineMarker.getLine(), $lineMarker.getCharPositionInLine()+1);
+        if (complete($type.ast))
+            $ast = new ArrayType(LexerHelper.lexemeToInt($INT_CONSTANT), $type.ast,
+                $lineMarker.getLine(), $lineMarker.getCharPositionInLine()+1);
     }
-    | struct_keyword='struct' { RecordType record = new RecordType($struct_keyword.getLine(), $struct_keyword.getCharPositionInLine()+1); }
+    | struct_keyword='struct'
+        {
+            RecordType record = new RecordType($struct_keyword.getLine(), $struct_keyword.getCharPositionInLine()+1);
+            $fieldIds = new ArrayList<>();
+            $fieldNames = new java.util.HashSet<>();
+        }
         '{'
         (id1=ID
         {
-            if($fieldNames.contains($id1.text)){
+            if(!$fieldNames.add($id1.text)){
                 new ErrorType("There cannot be two fields with the same name", $id1.getLine(), $id1.getCharPositionInLine()+1);
                 ErrorHandler.getInstance().showErrors(System.out);
             }
             $fieldIds.add($id1);
-            $fieldNames.add($id1.text);
         }
         (',' id2=ID
         {
-            if($fieldNames.contains($id2.text)){
+            if(!$fieldNames.add($id2.text)){
                 new ErrorType("There cannot be two fields with the same name", $id2.getLine(), $id2.getCharPositionInLine()+1);
                 ErrorHandler.getInstance().showErrors(System.out);
             }
             $fieldIds.add($id2);
-            $fieldNames.add($id2.text);
         })*
         ':' type';'
         {
-            $fieldIds.forEach(id -> record.addField(new RecordField($type.ast, id.getText(), id.getLine(), id.getCharPositionInLine()+1)));
-            $fieldIds = new ArrayList<>();
+            for (Token id : $fieldIds)
+                if (complete($type.ast))
+                    record.addField(new RecordField($type.ast, id.getText(), id.getLine(), id.getCharPositionInLine()+1));
+            $fieldIds.clear();
         }
         )* '}'
         {
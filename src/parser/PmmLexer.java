@@ -1,4 +1,4 @@
-// Generated from C:/Users/Elas Llera/IdeaProjects/DLP-compiler/src/parser\Pmm.g4 by ANTLR 4.9.2
+// Generated from Pmm.g4 by ANTLR 4.9.3
 package parser;
 
 import ast.*;
@@ -23,7 +23,7 @@ import org.antlr.v4.runtime.misc.*;
 
 @SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
 public class PmmLexer extends Lexer {
-	static { RuntimeMetaData.checkVersion("4.9.2", RuntimeMetaData.VERSION); }
+	static { RuntimeMetaData.checkVersion("4.9.3", RuntimeMetaData.VERSION); }
 
 	protected static final DFA[] _decisionToDFA;
 	protected static final PredictionContextCache _sharedContextCache =
@@ -112,6 +112,37 @@ public class PmmLexer extends Lexer {
 	}
 
 
+	    private symboltable.NameTable names = new symboltable.NameTable();
+
+	    public symboltable.NameTable getNameTable() {
+	        return names;
+	    }
+
+	    /**
+	     * Interns the names in the table, shared with other lexers of the same compilation, instead of one
+	     * of its own.
+	     */
+	    public void setNameTable(symboltable.NameTable names) {
+	        this.names = names;
+	    }
+
+	    /**
+	     * Every ID is a NameToken, whose name is interned as it is scanned. The rest of the tokens are built
+	     * by the token factory.
+	     */
+	    @Override
+	    public Token emit() {
+	        if (_type != ID)
+	            return super.emit();
+	        int stop = getCharIndex() - 1;
+	        int id = names.intern(_input.getText(Interval.of(_tokenStartCharIndex, stop)));
+	        Token token = new NameToken(_tokenFactorySourcePair, _tokenStartCharIndex, stop, _tokenStartLine, _tokenStartCharPositionInLine,
+	                names.getName(id), id);
+	        emit(token);
+	        return token;
+	    }
+
+
 	public PmmLexer(CharStream input) {
 		super(input);
 		_interp = new LexerATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
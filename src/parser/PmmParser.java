@@ -1,4 +1,4 @@
-// Generated from C:/Users/Elas Llera/IdeaProjects/DLP-compiler/src/parser\Pmm.g4 by ANTLR 4.9.2
+// Generated from Pmm.g4 by ANTLR 4.9.3
 package parser;
 
 import ast.*;
@@ -23,7 +23,7 @@ import java.util.ArrayList;
 
 @SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
 public class PmmParser extends Parser {
-	static { RuntimeMetaData.checkVersion("4.9.2", RuntimeMetaData.VERSION); }
+	static { RuntimeMetaData.checkVersion("4.9.3", RuntimeMetaData.VERSION); }
 
 	protected static final DFA[] _decisionToDFA;
 	protected static final PredictionContextCache _sharedContextCache =
@@ -113,6 +113,38 @@ public class PmmParser extends Parser {
 	@Override
 	public ATN getATN() { return _ATN; }
 
+
+	    private java.util.function.Consumer<Definition> definitionSink;
+
+	    /**
+	     * Hands every top-level definition to the sink as soon as it is parsed, instead of keeping it in the
+	     * Program, whose list of definitions is then empty.
+	     */
+	    public void setDefinitionSink(java.util.function.Consumer<Definition> definitionSink) {
+	        this.definitionSink = definitionSink;
+	    }
+
+	    private void deliver(List<Definition> definitions, List<? extends Definition> parsed) {
+	        for (Definition definition : parsed)
+	            if (definition == null)
+	                continue;
+	            else if (definitionSink == null)
+	                definitions.add(definition);
+	            else
+	                definitionSink.accept(definition);
+	    }
+
+	    /**
+	     * After a syntax error the parser recovers and leaves the ast of the rule it was in null. The nodes
+	     * over it are left out of the AST, so the rest of the program is still analyzed without missing nodes.
+	     */
+	    private static boolean complete(Object... nodes) {
+	        for (Object node : nodes)
+	            if (node == null)
+	                return false;
+	        return true;
+	    }
+
 	public PmmParser(TokenStream input) {
 		super(input);
 		_interp = new ParserATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
@@ -151,31 +183,31 @@ public class PmmParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(25);
+
+			        ((ProgramContext)_localctx).ast =  new Program(_localctx.definitions, 0, 0);
+			    
+			setState(26);
 			_errHandler.sync(this);
 			_alt = getInterpreter().adaptivePredict(_input,0,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					{
 					{
-					setState(20);
+					setState(21);
 					((ProgramContext)_localctx).definition = definition();
-					 _localctx.definitions.addAll(((ProgramContext)_localctx).definition.ast); 
+					 deliver(_localctx.definitions, ((ProgramContext)_localctx).definition.ast); 
 					}
 					} 
 				}
-				setState(27);
+				setState(28);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,0,_ctx);
 			}
-			setState(28);
+			setState(29);
 			((ProgramContext)_localctx).main_definition = main_definition();
-			 _localctx.definitions.add(((ProgramContext)_localctx).main_definition.ast); 
-			setState(30);
+			 deliver(_localctx.definitions, java.util.Collections.singletonList(((ProgramContext)_localctx).main_definition.ast)); 
+			setState(31);
 			match(EOF);
-
-			        ((ProgramContext)_localctx).ast =  new Program(_localctx.definitions, 0, 0);
-			    
 			}
 		}
 		catch (RecognitionException re) {
@@ -191,9 +223,9 @@ public class PmmParser extends Parser {
 
 	public static class Main_definitionContext extends ParserRuleContext {
 		public FunctionDefinition ast;
+		public List<VarDefinition> variables = new ArrayList<>();
+		public List<Statement> statements = new ArrayList<>();
 		public Token idFunction;
-		public Variable_definitionContext variable_definition;
-		public StatementContext statement;
 		public List<Variable_definitionContext> variable_definition() {
 			return getRuleContexts(Variable_definitionContext.class);
 		}
@@ -237,11 +269,11 @@ public class PmmParser extends Parser {
 			match(T__4);
 
 			        FunctionType funcType = new FunctionType(VoidType.getInstance(), ((Main_definitionContext)_localctx).idFunction.getLine(), ((Main_definitionContext)_localctx).idFunction.getCharPositionInLine()+1);
-			        ((Main_definitionContext)_localctx).ast =  new FunctionDefinition((((Main_definitionContext)_localctx).idFunction!=null?((Main_definitionContext)_localctx).idFunction.getText():null), funcType, ((Main_definitionContext)_localctx).idFunction.getLine(), ((Main_definitionContext)_localctx).idFunction.getCharPositionInLine()+1);
+			        ((Main_definitionContext)_localctx).ast =  new FunctionDefinition((((Main_definitionContext)_localctx).idFunction!=null?((Main_definitionContext)_localctx).idFunction.getText():null), LexerHelper.nameId(((Main_definitionContext)_localctx).idFunction), funcType, _localctx.statements, _localctx.variables, ((Main_definitionContext)_localctx).idFunction.getLine(), ((Main_definitionContext)_localctx).idFunction.getCharPositionInLine()+1);
 			    
 			setState(39);
 			match(T__5);
-			setState(45);
+			setState(43);
 			_errHandler.sync(this);
 			_alt = getInterpreter().adaptivePredict(_input,1,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
@@ -249,31 +281,29 @@ public class PmmParser extends Parser {
 					{
 					{
 					setState(40);
-					((Main_definitionContext)_localctx).variable_definition = variable_definition();
-					_localctx.ast.addVariableDefinitions(((Main_definitionContext)_localctx).variable_definition.ast);
+					variable_definition(_localctx.variables);
 					}
 					} 
 				}
-				setState(47);
+				setState(45);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,1,_ctx);
 			}
-			setState(53);
+			setState(49);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__2) | (1L << T__9) | (1L << T__10) | (1L << T__12) | (1L << T__14) | (1L << T__15) | (1L << T__19) | (1L << T__20) | (1L << INT_CONSTANT) | (1L << BOOL_CONSTANT) | (1L << REAL_CONSTANT) | (1L << CHAR_CONSTANT) | (1L << ID))) != 0)) {
 				{
 				{
-				setState(48);
-				((Main_definitionContext)_localctx).statement = statement();
-				_localctx.ast.addStatements(((Main_definitionContext)_localctx).statement.ast);
+				setState(46);
+				statement(_localctx.statements);
 				}
 				}
-				setState(55);
+				setState(51);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(56);
+			setState(52);
 			match(T__6);
 			}
 		}
@@ -290,7 +320,6 @@ public class PmmParser extends Parser {
 
 	public static class DefinitionContext extends ParserRuleContext {
 		public List<Definition> ast = new ArrayList<>();
-		public Variable_definitionContext variable_definition;
 		public Function_definitionContext function_definition;
 		public Variable_definitionContext variable_definition() {
 			return getRuleContext(Variable_definitionContext.class,0);
@@ -313,23 +342,20 @@ public class PmmParser extends Parser {
 		DefinitionContext _localctx = new DefinitionContext(_ctx, getState());
 		enterRule(_localctx, 4, RULE_definition);
 		try {
-			setState(64);
+			setState(58);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case ID:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(58);
-				((DefinitionContext)_localctx).variable_definition = variable_definition();
-
-				        _localctx.ast.addAll(((DefinitionContext)_localctx).variable_definition.ast);
-				       
+				setState(54);
+				variable_definition(_localctx.ast);
 				}
 				break;
 			case T__0:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(61);
+				setState(55);
 				((DefinitionContext)_localctx).function_definition = function_definition();
 
 				        _localctx.ast.add(((DefinitionContext)_localctx).function_definition.ast);
@@ -352,8 +378,9 @@ public class PmmParser extends Parser {
 	}
 
 	public static class Variable_definitionContext extends ParserRuleContext {
-		public List<VarDefinition> ast = new ArrayList<>();
-		public List<String> names = new ArrayList<>();
+		public List<? super VarDefinition> definitions;
+		public List<Token> ids = new ArrayList<>(2);
+		public java.util.Set<String> distinct;
 		public Token id1;
 		public Token id2;
 		public TypeContext type;
@@ -364,8 +391,10 @@ public class PmmParser extends Parser {
 		public TerminalNode ID(int i) {
 			return getToken(PmmParser.ID, i);
 		}
-		public Variable_definitionContext(ParserRuleContext parent, int invokingState) {
+		public Variable_definitionContext(ParserRuleContext parent, int invokingState) { super(parent, invokingState); }
+		public Variable_definitionContext(ParserRuleContext parent, int invokingState, List<? super VarDefinition> definitions) {
 			super(parent, invokingState);
+			this.definitions = definitions;
 		}
 		@Override public int getRuleIndex() { return RULE_variable_definition; }
 		@Override
@@ -375,49 +404,53 @@ public class PmmParser extends Parser {
 		}
 	}
 
-	public final Variable_definitionContext variable_definition() throws RecognitionException {
-		Variable_definitionContext _localctx = new Variable_definitionContext(_ctx, getState());
+	public final Variable_definitionContext variable_definition(List<? super VarDefinition> definitions) throws RecognitionException {
+		Variable_definitionContext _localctx = new Variable_definitionContext(_ctx, getState(), definitions);
 		enterRule(_localctx, 6, RULE_variable_definition);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(66);
+			setState(60);
 			((Variable_definitionContext)_localctx).id1 = match(ID);
 
-			        if(_localctx.names.contains((((Variable_definitionContext)_localctx).id1!=null?((Variable_definitionContext)_localctx).id1.getText():null)))
-			            new ErrorType("There cannot be two variables with the same name", ((Variable_definitionContext)_localctx).id1.getLine(), ((Variable_definitionContext)_localctx).id1.getCharPositionInLine()+1);
-			        _localctx.names.add((((Variable_definitionContext)_localctx).id1!=null?((Variable_definitionContext)_localctx).id1.getText():null));
+			        _localctx.ids.add(((Variable_definitionContext)_localctx).id1);
 			    
-			setState(73);
+			setState(67);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__7) {
 				{
 				{
-				setState(68);
+				setState(62);
 				match(T__7);
-				setState(69);
+				setState(63);
 				((Variable_definitionContext)_localctx).id2 = match(ID);
 
-				        if(_localctx.names.contains((((Variable_definitionContext)_localctx).id2!=null?((Variable_definitionContext)_localctx).id2.getText():null)))
+				        if (_localctx.distinct == null) {
+				            ((Variable_definitionContext)_localctx).distinct =  new java.util.HashSet<>();
+				            _localctx.distinct.add((((Variable_definitionContext)_localctx).id1!=null?((Variable_definitionContext)_localctx).id1.getText():null));
+				        }
+				        if (!_localctx.distinct.add((((Variable_definitionContext)_localctx).id2!=null?((Variable_definitionContext)_localctx).id2.getText():null)))
 				                new ErrorType("There cannot be two variables with the same name", ((Variable_definitionContext)_localctx).id2.getLine(), ((Variable_definitionContext)_localctx).id2.getCharPositionInLine()+1);
-				        _localctx.names.add((((Variable_definitionContext)_localctx).id2!=null?((Variable_definitionContext)_localctx).id2.getText():null));
+				        _localctx.ids.add(((Variable_definitionContext)_localctx).id2);
 				    
 				}
 				}
-				setState(75);
+				setState(69);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(76);
+			setState(70);
 			match(T__4);
-			setState(77);
+			setState(71);
 			((Variable_definitionContext)_localctx).type = type();
-			setState(78);
+			setState(72);
 			match(T__8);
 
-			        _localctx.names.forEach( name-> _localctx.ast.add(new VarDefinition(name, ((Variable_definitionContext)_localctx).type.ast, ((Variable_definitionContext)_localctx).id1.getLine(), ((Variable_definitionContext)_localctx).id1.getCharPositionInLine()+1)));
+			        if (complete(((Variable_definitionContext)_localctx).type.ast))
+			            for (Token id : _localctx.ids)
+			                _localctx.definitions.add(new VarDefinition(id.getText(), LexerHelper.nameId(id), ((Variable_definitionContext)_localctx).type.ast, ((Variable_definitionContext)_localctx).id1.getLine(), ((Variable_definitionContext)_localctx).id1.getCharPositionInLine()+1));
 			    
 			}
 		}
@@ -436,14 +469,14 @@ public class PmmParser extends Parser {
 		public FunctionDefinition ast;
 		public List<VarDefinition> paramDefinitions = new ArrayList<>();
 		public Type returnType = VoidType.getInstance();
+		public List<VarDefinition> variables = new ArrayList<>();
+		public List<Statement> statements = new ArrayList<>();
 		public Token idFunction;
 		public Token id1;
 		public Built_in_typeContext t1;
 		public Token id2;
 		public Built_in_typeContext t2;
 		public TypeContext type;
-		public Variable_definitionContext variable_definition;
-		public StatementContext statement;
 		public List<TerminalNode> ID() { return getTokens(PmmParser.ID); }
 		public TerminalNode ID(int i) {
 			return getToken(PmmParser.ID, i);
@@ -488,102 +521,100 @@ public class PmmParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(81);
+			setState(75);
 			match(T__0);
-			setState(82);
+			setState(76);
 			((Function_definitionContext)_localctx).idFunction = match(ID);
-			setState(83);
+			setState(77);
 			match(T__2);
-			setState(99);
+			setState(93);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==ID) {
 				{
-				setState(84);
+				setState(78);
 				((Function_definitionContext)_localctx).id1 = match(ID);
-				setState(85);
+				setState(79);
 				match(T__4);
-				setState(86);
+				setState(80);
 				((Function_definitionContext)_localctx).t1 = built_in_type();
-				 _localctx.paramDefinitions.add(new VarDefinition((((Function_definitionContext)_localctx).id1!=null?((Function_definitionContext)_localctx).id1.getText():null), ((Function_definitionContext)_localctx).t1.ast, ((Function_definitionContext)_localctx).id1.getLine(), ((Function_definitionContext)_localctx).id1.getCharPositionInLine()+1)); 
-				setState(96);
+				 if (complete(((Function_definitionContext)_localctx).t1.ast)) _localctx.paramDefinitions.add(new VarDefinition((((Function_definitionContext)_localctx).id1!=null?((Function_definitionContext)_localctx).id1.getText():null), LexerHelper.nameId(((Function_definitionContext)_localctx).id1), ((Function_definitionContext)_localctx).t1.ast, ((Function_definitionContext)_localctx).id1.getLine(), ((Function_definitionContext)_localctx).id1.getCharPositionInLine()+1)); 
+				setState(90);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while (_la==T__7) {
 					{
 					{
-					setState(88);
+					setState(82);
 					match(T__7);
-					setState(89);
+					setState(83);
 					((Function_definitionContext)_localctx).id2 = match(ID);
-					setState(90);
+					setState(84);
 					match(T__4);
-					setState(91);
+					setState(85);
 					((Function_definitionContext)_localctx).t2 = built_in_type();
-					 _localctx.paramDefinitions.add(new VarDefinition((((Function_definitionContext)_localctx).id2!=null?((Function_definitionContext)_localctx).id2.getText():null), ((Function_definitionContext)_localctx).t2.ast, ((Function_definitionContext)_localctx).id2.getLine(), ((Function_definitionContext)_localctx).id2.getCharPositionInLine()+1)); 
+					 if (complete(((Function_definitionContext)_localctx).t2.ast)) _localctx.paramDefinitions.add(new VarDefinition((((Function_definitionContext)_localctx).id2!=null?((Function_definitionContext)_localctx).id2.getText():null), LexerHelper.nameId(((Function_definitionContext)_localctx).id2), ((Function_definitionContext)_localctx).t2.ast, ((Function_definitionContext)_localctx).id2.getLine(), ((Function_definitionContext)_localctx).id2.getCharPositionInLine()+1)); 
 					}
 					}
-					setState(98);
+					setState(92);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
 				}
 			}
 
-			setState(101);
+			setState(95);
 			match(T__3);
-			setState(102);
+			setState(96);
 			match(T__4);
-			setState(106);
+			setState(100);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__16) | (1L << T__33) | (1L << T__34) | (1L << T__35) | (1L << T__36) | (1L << T__37))) != 0)) {
 				{
-				setState(103);
+				setState(97);
 				((Function_definitionContext)_localctx).type = type();
-				 ((Function_definitionContext)_localctx).returnType =  ((Function_definitionContext)_localctx).type.ast; 
+				 if (complete(((Function_definitionContext)_localctx).type.ast)) ((Function_definitionContext)_localctx).returnType =  ((Function_definitionContext)_localctx).type.ast; 
 				}
 			}
 
 
 			        FunctionType funcType = new FunctionType(_localctx.returnType, ((Function_definitionContext)_localctx).idFunction.getLine(), ((Function_definitionContext)_localctx).idFunction.getCharPositionInLine()+1);
-			        ((Function_definitionContext)_localctx).ast =  new FunctionDefinition((((Function_definitionContext)_localctx).idFunction!=null?((Function_definitionContext)_localctx).idFunction.getText():null), funcType, ((Function_definitionContext)_localctx).idFunction.getLine(), ((Function_definitionContext)_localctx).idFunction.getCharPositionInLine()+1);
+			        ((Function_definitionContext)_localctx).ast =  new FunctionDefinition((((Function_definitionContext)_localctx).idFunction!=null?((Function_definitionContext)_localctx).idFunction.getText():null), LexerHelper.nameId(((Function_definitionContext)_localctx).idFunction), funcType, _localctx.statements, _localctx.variables, ((Function_definitionContext)_localctx).idFunction.getLine(), ((Function_definitionContext)_localctx).idFunction.getCharPositionInLine()+1);
 			    
-			setState(109);
+			setState(103);
 			match(T__5);
-			setState(115);
+			setState(107);
 			_errHandler.sync(this);
 			_alt = getInterpreter().adaptivePredict(_input,8,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					{
 					{
-					setState(110);
-					((Function_definitionContext)_localctx).variable_definition = variable_definition();
-					_localctx.ast.addVariableDefinitions(((Function_definitionContext)_localctx).variable_definition.ast);
+					setState(104);
+					variable_definition(_localctx.variables);
 					}
 					} 
 				}
-				setState(117);
+				setState(109);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,8,_ctx);
 			}
-			setState(123);
+			setState(113);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__2) | (1L << T__9) | (1L << T__10) | (1L << T__12) | (1L << T__14) | (1L << T__15) | (1L << T__19) | (1L << T__20) | (1L << INT_CONSTANT) | (1L << BOOL_CONSTANT) | (1L << REAL_CONSTANT) | (1L << CHAR_CONSTANT) | (1L << ID))) != 0)) {
 				{
 				{
-				setState(118);
-				((Function_definitionContext)_localctx).statement = statement();
-				_localctx.ast.addStatements(((Function_definitionContext)_localctx).statement.ast);
+				setState(110);
+				statement(_localctx.statements);
 				}
 				}
-				setState(125);
+				setState(115);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(126);
+			setState(116);
 			match(T__6);
 
 			        _localctx.paramDefinitions.forEach(varDef->funcType.addParameter(varDef));
@@ -602,14 +633,10 @@ public class PmmParser extends Parser {
 	}
 
 	public static class StatementContext extends ParserRuleContext {
-		public List<Statement> ast = new ArrayList<>();
-		public List<Statement> elseBody = new ArrayList<>();
+		public List<Statement> ast;
 		public ExpressionContext ex1;
 		public ExpressionContext ex2;
 		public ExpressionContext expression;
-		public BodyContext b1;
-		public BodyContext b2;
-		public BodyContext body;
 		public Token ID;
 		public List<ExpressionContext> expression() {
 			return getRuleContexts(ExpressionContext.class);
@@ -624,8 +651,10 @@ public class PmmParser extends Parser {
 			return getRuleContext(BodyContext.class,i);
 		}
 		public TerminalNode ID() { return getToken(PmmParser.ID, 0); }
-		public StatementContext(ParserRuleContext parent, int invokingState) {
+		public StatementContext(ParserRuleContext parent, int invokingState) { super(parent, invokingState); }
+		public StatementContext(ParserRuleContext parent, int invokingState, List<Statement> ast) {
 			super(parent, invokingState);
+			this.ast = ast;
 		}
 		@Override public int getRuleIndex() { return RULE_statement; }
 		@Override
@@ -635,182 +664,189 @@ public class PmmParser extends Parser {
 		}
 	}
 
-	public final StatementContext statement() throws RecognitionException {
-		StatementContext _localctx = new StatementContext(_ctx, getState());
+	public final StatementContext statement(List<Statement> ast) throws RecognitionException {
+		StatementContext _localctx = new StatementContext(_ctx, getState(), ast);
 		enterRule(_localctx, 10, RULE_statement);
 		int _la;
 		try {
-			setState(196);
+			setState(187);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,14,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(129);
+				setState(119);
 				match(T__9);
-				setState(130);
+				setState(120);
 				((StatementContext)_localctx).ex1 = expression(0);
-				 _localctx.ast.add(new Print(((StatementContext)_localctx).ex1.ast, ((StatementContext)_localctx).ex1.ast.getLine(), ((StatementContext)_localctx).ex1.ast.getColumn())); 
-				setState(138);
+				 if (complete(((StatementContext)_localctx).ex1.ast)) _localctx.ast.add(new Print(((StatementContext)_localctx).ex1.ast, ((StatementContext)_localctx).ex1.ast.getLine(), ((StatementContext)_localctx).ex1.ast.getColumn())); 
+				setState(128);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while (_la==T__7) {
 					{
 					{
-					setState(132);
+					setState(122);
 					match(T__7);
-					setState(133);
+					setState(123);
 					((StatementContext)_localctx).ex2 = expression(0);
-					 _localctx.ast.add(new Print(((StatementContext)_localctx).ex2.ast, ((StatementContext)_localctx).ex2.ast.getLine(), ((StatementContext)_localctx).ex2.ast.getColumn())); 
+					 if (complete(((StatementContext)_localctx).ex2.ast)) _localctx.ast.add(new Print(((StatementContext)_localctx).ex2.ast, ((StatementContext)_localctx).ex2.ast.getLine(), ((StatementContext)_localctx).ex2.ast.getColumn())); 
 					}
 					}
-					setState(140);
+					setState(130);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
-				setState(141);
+				setState(131);
 				match(T__8);
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(143);
+				setState(133);
 				match(T__10);
-				setState(144);
+				setState(134);
 				((StatementContext)_localctx).expression = expression(0);
-				setState(145);
+				setState(135);
 				match(T__8);
 
-				            _localctx.ast.add(new Input(((StatementContext)_localctx).expression.ast, ((StatementContext)_localctx).expression.ast.getLine(), ((StatementContext)_localctx).expression.ast.getColumn()));
+				            if (complete(((StatementContext)_localctx).expression.ast))
+				                _localctx.ast.add(new Input(((StatementContext)_localctx).expression.ast, ((StatementContext)_localctx).expression.ast.getLine(), ((StatementContext)_localctx).expression.ast.getColumn()));
 				         
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(148);
+				setState(138);
 				((StatementContext)_localctx).ex1 = expression(0);
-				setState(149);
+				setState(139);
 				match(T__11);
-				setState(150);
+				setState(140);
 				((StatementContext)_localctx).ex2 = expression(0);
-				setState(151);
+				setState(141);
 				match(T__8);
 
-				            _localctx.ast.add(new Assignment(((StatementContext)_localctx).ex1.ast, ((StatementContext)_localctx).ex2.ast, ((StatementContext)_localctx).ex1.ast.getLine(), ((StatementContext)_localctx).ex1.ast.getColumn()));
+				            if (complete(((StatementContext)_localctx).ex1.ast, ((StatementContext)_localctx).ex2.ast))
+				                _localctx.ast.add(new Assignment(((StatementContext)_localctx).ex1.ast, ((StatementContext)_localctx).ex2.ast, ((StatementContext)_localctx).ex1.ast.getLine(), ((StatementContext)_localctx).ex1.ast.getColumn()));
 				         
 				}
 				break;
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(154);
+				setState(144);
 				match(T__12);
-				setState(155);
+				setState(145);
 				((StatementContext)_localctx).expression = expression(0);
-				setState(156);
+				setState(146);
 				match(T__4);
-				setState(157);
-				((StatementContext)_localctx).b1 = body();
-				setState(162);
+				 List<Statement> ifBody = new ArrayList<>(), elseBody = new ArrayList<>(0); 
+				setState(148);
+				body(ifBody);
+				setState(152);
 				_errHandler.sync(this);
 				switch ( getInterpreter().adaptivePredict(_input,11,_ctx) ) {
 				case 1:
 					{
-					setState(158);
+					setState(149);
 					match(T__13);
-					setState(159);
-					((StatementContext)_localctx).b2 = body();
-					((StatementContext)_localctx).elseBody = ((StatementContext)_localctx).b2.ast;
+					 elseBody = new ArrayList<>(); 
+					setState(151);
+					body(elseBody);
 					}
 					break;
 				}
 
-				            IfElse ifElse = new IfElse(((StatementContext)_localctx).expression.ast, ((StatementContext)_localctx).b1.ast, _localctx.elseBody, ((StatementContext)_localctx).expression.ast.getLine(), ((StatementContext)_localctx).expression.ast.getColumn());
-				            _localctx.ast.add(ifElse);
+				            if (complete(((StatementContext)_localctx).expression.ast))
+				                _localctx.ast.add(new IfElse(((StatementContext)_localctx).expression.ast, ifBody, elseBody, ((StatementContext)_localctx).expression.ast.getLine(), ((StatementContext)_localctx).expression.ast.getColumn()));
 				         
 				}
 				break;
 			case 5:
 				enterOuterAlt(_localctx, 5);
 				{
-				setState(166);
+				setState(156);
 				match(T__14);
-				setState(167);
+				setState(157);
 				((StatementContext)_localctx).expression = expression(0);
-				setState(168);
+				setState(158);
 				match(T__4);
-				setState(169);
-				((StatementContext)_localctx).body = body();
+				 List<Statement> whileBody = new ArrayList<>(); 
+				setState(160);
+				body(whileBody);
 
-				            _localctx.ast.add(new While(((StatementContext)_localctx).expression.ast, ((StatementContext)_localctx).body.ast, ((StatementContext)_localctx).expression.ast.getLine(), ((StatementContext)_localctx).expression.ast.getColumn()));
+				            if (complete(((StatementContext)_localctx).expression.ast))
+				                _localctx.ast.add(new While(((StatementContext)_localctx).expression.ast, whileBody, ((StatementContext)_localctx).expression.ast.getLine(), ((StatementContext)_localctx).expression.ast.getColumn()));
 				         
 				}
 				break;
 			case 6:
 				enterOuterAlt(_localctx, 6);
 				{
-				setState(172);
+				setState(163);
 				match(T__15);
-				setState(173);
+				setState(164);
 				((StatementContext)_localctx).expression = expression(0);
-				setState(174);
+				setState(165);
 				match(T__8);
 
-				            _localctx.ast.add(new Return(((StatementContext)_localctx).expression.ast, ((StatementContext)_localctx).expression.ast.getLine(), ((StatementContext)_localctx).expression.ast.getColumn()));
+				            if (complete(((StatementContext)_localctx).expression.ast))
+				                _localctx.ast.add(new Return(((StatementContext)_localctx).expression.ast, ((StatementContext)_localctx).expression.ast.getLine(), ((StatementContext)_localctx).expression.ast.getColumn()));
 				         
 				}
 				break;
 			case 7:
 				enterOuterAlt(_localctx, 7);
 				{
-				setState(177);
+				setState(168);
 				((StatementContext)_localctx).ID = match(ID);
 
 				                                    int line, column;
 				                                    line = ((StatementContext)_localctx).ID.getLine();
 				                                    column = ((StatementContext)_localctx).ID.getCharPositionInLine()+1;
 				                                    FunctionInvocation functionInvocation = new FunctionInvocation(
-				                                                                                new Variable((((StatementContext)_localctx).ID!=null?((StatementContext)_localctx).ID.getText():null), line, column),
+				                                                                                new Variable((((StatementContext)_localctx).ID!=null?((StatementContext)_localctx).ID.getText():null), LexerHelper.nameId(((StatementContext)_localctx).ID), line, column),
 				                                                                                line, column);
 				                               
-				setState(179);
+				setState(170);
 				match(T__2);
-				setState(191);
+				setState(182);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__2) | (1L << T__19) | (1L << T__20) | (1L << INT_CONSTANT) | (1L << BOOL_CONSTANT) | (1L << REAL_CONSTANT) | (1L << CHAR_CONSTANT) | (1L << ID))) != 0)) {
 					{
-					setState(180);
+					setState(171);
 					((StatementContext)_localctx).ex1 = expression(0);
 					 functionInvocation.addParameter(((StatementContext)_localctx).ex1.ast); 
-					setState(188);
+					setState(179);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==T__7) {
 						{
 						{
-						setState(182);
+						setState(173);
 						match(T__7);
-						setState(183);
+						setState(174);
 						((StatementContext)_localctx).ex2 = expression(0);
 						 functionInvocation.addParameter(((StatementContext)_localctx).ex2.ast); 
 						}
 						}
-						setState(190);
+						setState(181);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
 					}
 				}
 
-				setState(193);
+				setState(184);
 				match(T__3);
-				setState(194);
+				setState(185);
 				match(T__8);
 
-				                _localctx.ast.add(functionInvocation);
+				                if (complete(functionInvocation.getParameters().toArray()))
+				                    _localctx.ast.add(functionInvocation);
 				            
 				}
 				break;
@@ -828,16 +864,17 @@ public class PmmParser extends Parser {
 	}
 
 	public static class BodyContext extends ParserRuleContext {
-		public List<Statement> ast = new ArrayList<>();
-		public StatementContext statement;
+		public List<Statement> statements;
 		public List<StatementContext> statement() {
 			return getRuleContexts(StatementContext.class);
 		}
 		public StatementContext statement(int i) {
 			return getRuleContext(StatementContext.class,i);
 		}
-		public BodyContext(ParserRuleContext parent, int invokingState) {
+		public BodyContext(ParserRuleContext parent, int invokingState) { super(parent, invokingState); }
+		public BodyContext(ParserRuleContext parent, int invokingState, List<Statement> statements) {
 			super(parent, invokingState);
+			this.statements = statements;
 		}
 		@Override public int getRuleIndex() { return RULE_body; }
 		@Override
@@ -847,35 +884,34 @@ public class PmmParser extends Parser {
 		}
 	}
 
-	public final BodyContext body() throws RecognitionException {
-		BodyContext _localctx = new BodyContext(_ctx, getState());
+	public final BodyContext body(List<Statement> statements) throws RecognitionException {
+		BodyContext _localctx = new BodyContext(_ctx, getState(), statements);
 		enterRule(_localctx, 12, RULE_body);
 		int _la;
 		try {
-			setState(211);
+			setState(198);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case T__5:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(198);
+				setState(189);
 				match(T__5);
-				setState(204);
+				setState(193);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__2) | (1L << T__9) | (1L << T__10) | (1L << T__12) | (1L << T__14) | (1L << T__15) | (1L << T__19) | (1L << T__20) | (1L << INT_CONSTANT) | (1L << BOOL_CONSTANT) | (1L << REAL_CONSTANT) | (1L << CHAR_CONSTANT) | (1L << ID))) != 0)) {
 					{
 					{
-					setState(199);
-					((BodyContext)_localctx).statement = statement();
-					 _localctx.ast.addAll(((BodyContext)_localctx).statement.ast); 
+					setState(190);
+					statement(_localctx.statements);
 					}
 					}
-					setState(206);
+					setState(195);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
-				setState(207);
+				setState(196);
 				match(T__6);
 				}
 				break;
@@ -894,9 +930,8 @@ public class PmmParser extends Parser {
 			case ID:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(208);
-				((BodyContext)_localctx).statement = statement();
-				 _localctx.ast.addAll(((BodyContext)_localctx).statement.ast); 
+				setState(197);
+				statement(_localctx.statements);
 				}
 				break;
 			default:
@@ -968,115 +1003,116 @@ public class PmmParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(261);
+			setState(248);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,19,_ctx) ) {
 			case 1:
 				{
-				setState(214);
+				setState(201);
 				((ExpressionContext)_localctx).INT_CONSTANT = match(INT_CONSTANT);
 
-				                ((ExpressionContext)_localctx).ast =  new IntLiteral(LexerHelper.lexemeToInt((((ExpressionContext)_localctx).INT_CONSTANT!=null?((ExpressionContext)_localctx).INT_CONSTANT.getText():null)),
+				                ((ExpressionContext)_localctx).ast =  new IntLiteral(LexerHelper.lexemeToInt(((ExpressionContext)_localctx).INT_CONSTANT),
 				                    ((ExpressionContext)_localctx).INT_CONSTANT.getLine(), ((ExpressionContext)_localctx).INT_CONSTANT.getCharPositionInLine()+1);
 				            
 				}
 				break;
 			case 2:
 				{
-				setState(216);
+				setState(203);
 				((ExpressionContext)_localctx).CHAR_CONSTANT = match(CHAR_CONSTANT);
 
-				                ((ExpressionContext)_localctx).ast =  new CharLiteral(LexerHelper.lexemeToChar((((ExpressionContext)_localctx).CHAR_CONSTANT!=null?((ExpressionContext)_localctx).CHAR_CONSTANT.getText():null)),
+				                ((ExpressionContext)_localctx).ast =  new CharLiteral(LexerHelper.lexemeToChar(((ExpressionContext)_localctx).CHAR_CONSTANT),
 				                    ((ExpressionContext)_localctx).CHAR_CONSTANT.getLine(), ((ExpressionContext)_localctx).CHAR_CONSTANT.getCharPositionInLine()+1);
 				            
 				}
 				break;
 			case 3:
 				{
-				setState(218);
+				setState(205);
 				((ExpressionContext)_localctx).REAL_CONSTANT = match(REAL_CONSTANT);
 
-				                ((ExpressionContext)_localctx).ast =  new DoubleLiteral(LexerHelper.lexemeToReal((((ExpressionContext)_localctx).REAL_CONSTANT!=null?((ExpressionContext)_localctx).REAL_CONSTANT.getText():null)),
+				                ((ExpressionContext)_localctx).ast =  new DoubleLiteral(LexerHelper.lexemeToReal(((ExpressionContext)_localctx).REAL_CONSTANT),
 				                    ((ExpressionContext)_localctx).REAL_CONSTANT.getLine(), ((ExpressionContext)_localctx).REAL_CONSTANT.getCharPositionInLine()+1);
 				            
 				}
 				break;
 			case 4:
 				{
-				setState(220);
+				setState(207);
 				((ExpressionContext)_localctx).BOOL_CONSTANT = match(BOOL_CONSTANT);
 
-				                ((ExpressionContext)_localctx).ast =  new BoolLiteral(LexerHelper.lexemeToBoolean((((ExpressionContext)_localctx).BOOL_CONSTANT!=null?((ExpressionContext)_localctx).BOOL_CONSTANT.getText():null)),
+				                ((ExpressionContext)_localctx).ast =  new BoolLiteral(LexerHelper.lexemeToBoolean(((ExpressionContext)_localctx).BOOL_CONSTANT),
 				                    ((ExpressionContext)_localctx).BOOL_CONSTANT.getLine(), ((ExpressionContext)_localctx).BOOL_CONSTANT.getCharPositionInLine()+1);
 				            
 				}
 				break;
 			case 5:
 				{
-				setState(222);
+				setState(209);
 				((ExpressionContext)_localctx).ID = match(ID);
 
-				                ((ExpressionContext)_localctx).ast =  new Variable((((ExpressionContext)_localctx).ID!=null?((ExpressionContext)_localctx).ID.getText():null),
+				                ((ExpressionContext)_localctx).ast =  new Variable((((ExpressionContext)_localctx).ID!=null?((ExpressionContext)_localctx).ID.getText():null), LexerHelper.nameId(((ExpressionContext)_localctx).ID),
 				                   ((ExpressionContext)_localctx).ID.getLine(), ((ExpressionContext)_localctx).ID.getCharPositionInLine()+1);
 				            
 				}
 				break;
 			case 6:
 				{
-				setState(224);
+				setState(211);
 				((ExpressionContext)_localctx).ID = match(ID);
 
 				                                    int line, column;
 				                                    line = ((ExpressionContext)_localctx).ID.getLine();
 				                                    column = ((ExpressionContext)_localctx).ID.getCharPositionInLine()+1;
 				                                    FunctionInvocation functionInvocation = new FunctionInvocation(
-				                                                                                new Variable((((ExpressionContext)_localctx).ID!=null?((ExpressionContext)_localctx).ID.getText():null), line, column),
+				                                                                                new Variable((((ExpressionContext)_localctx).ID!=null?((ExpressionContext)_localctx).ID.getText():null), LexerHelper.nameId(((ExpressionContext)_localctx).ID), line, column),
 				                                                                                line, column);
 				                               
-				setState(226);
+				setState(213);
 				match(T__2);
-				setState(238);
+				setState(225);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__2) | (1L << T__19) | (1L << T__20) | (1L << INT_CONSTANT) | (1L << BOOL_CONSTANT) | (1L << REAL_CONSTANT) | (1L << CHAR_CONSTANT) | (1L << ID))) != 0)) {
 					{
-					setState(227);
+					setState(214);
 					((ExpressionContext)_localctx).ex1 = ((ExpressionContext)_localctx).expression = expression(0);
 					 functionInvocation.addParameter(((ExpressionContext)_localctx).ex1.ast); 
-					setState(235);
+					setState(222);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==T__7) {
 						{
 						{
-						setState(229);
+						setState(216);
 						match(T__7);
-						setState(230);
+						setState(217);
 						((ExpressionContext)_localctx).ex2 = ((ExpressionContext)_localctx).expression = expression(0);
 						 functionInvocation.addParameter(((ExpressionContext)_localctx).ex2.ast); 
 						}
 						}
-						setState(237);
+						setState(224);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
 					}
 				}
 
-				setState(240);
+				setState(227);
 				match(T__3);
 
-				                ((ExpressionContext)_localctx).ast =  functionInvocation;
+				                if (complete(functionInvocation.getParameters().toArray()))
+				                    ((ExpressionContext)_localctx).ast =  functionInvocation;
 				            
 				}
 				break;
 			case 7:
 				{
-				setState(242);
+				setState(229);
 				match(T__2);
-				setState(243);
+				setState(230);
 				((ExpressionContext)_localctx).expression = expression(0);
-				setState(244);
+				setState(231);
 				match(T__3);
 
 				                ((ExpressionContext)_localctx).ast =  ((ExpressionContext)_localctx).expression.ast;
@@ -1085,47 +1121,50 @@ public class PmmParser extends Parser {
 				break;
 			case 8:
 				{
-				setState(247);
+				setState(234);
 				match(T__2);
-				setState(248);
+				setState(235);
 				((ExpressionContext)_localctx).built_in_type = built_in_type();
-				setState(249);
+				setState(236);
 				match(T__3);
-				setState(250);
+				setState(237);
 				((ExpressionContext)_localctx).expression = expression(7);
 
-				                ((ExpressionContext)_localctx).ast =  new Cast(((ExpressionContext)_localctx).built_in_type.ast, ((ExpressionContext)_localctx).expression.ast,
-				                    ((ExpressionContext)_localctx).expression.ast.getLine(), ((ExpressionContext)_localctx).expression.ast.getColumn());
+				                if (complete(((ExpressionContext)_localctx).built_in_type.ast, ((ExpressionContext)_localctx).expression.ast))
+				                    ((ExpressionContext)_localctx).ast =  new Cast(((ExpressionContext)_localctx).built_in_type.ast, ((ExpressionContext)_localctx).expression.ast,
+				                        ((ExpressionContext)_localctx).expression.ast.getLine(), ((ExpressionContext)_localctx).expression.ast.getColumn());
 				            
 				}
 				break;
 			case 9:
 				{
-				setState(253);
+				setState(240);
 				match(T__19);
-				setState(254);
+				setState(241);
 				((ExpressionContext)_localctx).expression = expression(6);
 
-				                ((ExpressionContext)_localctx).ast =  new UnaryMinus(((ExpressionContext)_localctx).expression.ast,
-				                    ((ExpressionContext)_localctx).expression.ast.getLine(), ((ExpressionContext)_localctx).expression.ast.getColumn());
+				                if (complete(((ExpressionContext)_localctx).expression.ast))
+				                    ((ExpressionContext)_localctx).ast =  new UnaryMinus(((ExpressionContext)_localctx).expression.ast,
+				                        ((ExpressionContext)_localctx).expression.ast.getLine(), ((ExpressionContext)_localctx).expression.ast.getColumn());
 				            
 				}
 				break;
 			case 10:
 				{
-				setState(257);
+				setState(244);
 				match(T__20);
-				setState(258);
+				setState(245);
 				((ExpressionContext)_localctx).expression = expression(5);
 
-				                ((ExpressionContext)_localctx).ast =  new Negation(((ExpressionContext)_localctx).expression.ast,
-				                    ((ExpressionContext)_localctx).expression.ast.getLine(), ((ExpressionContext)_localctx).expression.ast.getColumn());
+				                if (complete(((ExpressionContext)_localctx).expression.ast))
+				                    ((ExpressionContext)_localctx).ast =  new Negation(((ExpressionContext)_localctx).expression.ast,
+				                        ((ExpressionContext)_localctx).expression.ast.getLine(), ((ExpressionContext)_localctx).expression.ast.getColumn());
 				            
 				}
 				break;
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(295);
+			setState(282);
 			_errHandler.sync(this);
 			_alt = getInterpreter().adaptivePredict(_input,21,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
@@ -1133,7 +1172,7 @@ public class PmmParser extends Parser {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
 					_prevctx = _localctx;
 					{
-					setState(293);
+					setState(280);
 					_errHandler.sync(this);
 					switch ( getInterpreter().adaptivePredict(_input,20,_ctx) ) {
 					case 1:
@@ -1142,9 +1181,9 @@ public class PmmParser extends Parser {
 						_localctx.ex1 = _prevctx;
 						_localctx.ex1 = _prevctx;
 						pushNewRecursionContext(_localctx, _startState, RULE_expression);
-						setState(263);
+						setState(250);
 						if (!(precpred(_ctx, 4))) throw new FailedPredicateException(this, "precpred(_ctx, 4)");
-						setState(264);
+						setState(251);
 						((ExpressionContext)_localctx).OP = _input.LT(1);
 						_la = _input.LA(1);
 						if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__21) | (1L << T__22) | (1L << T__23))) != 0)) ) {
@@ -1155,11 +1194,12 @@ public class PmmParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(265);
+						setState(252);
 						((ExpressionContext)_localctx).ex2 = ((ExpressionContext)_localctx).expression = expression(5);
 
-						                          ((ExpressionContext)_localctx).ast =  new Arithmetic(((ExpressionContext)_localctx).ex1.ast, (((ExpressionContext)_localctx).OP!=null?((ExpressionContext)_localctx).OP.getText():null), ((ExpressionContext)_localctx).ex2.ast,
-						                              ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
+						                          if (complete(((ExpressionContext)_localctx).ex1.ast, ((ExpressionContext)_localctx).ex2.ast))
+						                              ((ExpressionContext)_localctx).ast =  new Arithmetic(((ExpressionContext)_localctx).ex1.ast, (((ExpressionContext)_localctx).OP!=null?((ExpressionContext)_localctx).OP.getText():null), ((ExpressionContext)_localctx).ex2.ast,
+						                                  ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
 						                      
 						}
 						break;
@@ -1169,9 +1209,9 @@ public class PmmParser extends Parser {
 						_localctx.ex1 = _prevctx;
 						_localctx.ex1 = _prevctx;
 						pushNewRecursionContext(_localctx, _startState, RULE_expression);
-						setState(268);
+						setState(255);
 						if (!(precpred(_ctx, 3))) throw new FailedPredicateException(this, "precpred(_ctx, 3)");
-						setState(269);
+						setState(256);
 						((ExpressionContext)_localctx).OP = _input.LT(1);
 						_la = _input.LA(1);
 						if ( !(_la==T__19 || _la==T__24) ) {
@@ -1182,11 +1222,12 @@ public class PmmParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(270);
+						setState(257);
 						((ExpressionContext)_localctx).ex2 = ((ExpressionContext)_localctx).expression = expression(4);
 
-						                          ((ExpressionContext)_localctx).ast =  new Arithmetic(((ExpressionContext)_localctx).ex1.ast, (((ExpressionContext)_localctx).OP!=null?((ExpressionContext)_localctx).OP.getText():null), ((ExpressionContext)_localctx).ex2.ast,
-						                              ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
+						                          if (complete(((ExpressionContext)_localctx).ex1.ast, ((ExpressionContext)_localctx).ex2.ast))
+						                              ((ExpressionContext)_localctx).ast =  new Arithmetic(((ExpressionContext)_localctx).ex1.ast, (((ExpressionContext)_localctx).OP!=null?((ExpressionContext)_localctx).OP.getText():null), ((ExpressionContext)_localctx).ex2.ast,
+						                                  ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
 						                      
 						}
 						break;
@@ -1196,9 +1237,9 @@ public class PmmParser extends Parser {
 						_localctx.ex1 = _prevctx;
 						_localctx.ex1 = _prevctx;
 						pushNewRecursionContext(_localctx, _startState, RULE_expression);
-						setState(273);
+						setState(260);
 						if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
-						setState(274);
+						setState(261);
 						((ExpressionContext)_localctx).OP = _input.LT(1);
 						_la = _input.LA(1);
 						if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__25) | (1L << T__26) | (1L << T__27) | (1L << T__28) | (1L << T__29) | (1L << T__30))) != 0)) ) {
@@ -1209,11 +1250,12 @@ public class PmmParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(275);
+						setState(262);
 						((ExpressionContext)_localctx).ex2 = ((ExpressionContext)_localctx).expression = expression(3);
 
-						                          ((ExpressionContext)_localctx).ast =  new Comparison(((ExpressionContext)_localctx).ex1.ast, (((ExpressionContext)_localctx).OP!=null?((ExpressionContext)_localctx).OP.getText():null), ((ExpressionContext)_localctx).ex2.ast,
-						                              ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
+						                          if (complete(((ExpressionContext)_localctx).ex1.ast, ((ExpressionContext)_localctx).ex2.ast))
+						                              ((ExpressionContext)_localctx).ast =  new Comparison(((ExpressionContext)_localctx).ex1.ast, (((ExpressionContext)_localctx).OP!=null?((ExpressionContext)_localctx).OP.getText():null), ((ExpressionContext)_localctx).ex2.ast,
+						                                  ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
 						                      
 						}
 						break;
@@ -1223,9 +1265,9 @@ public class PmmParser extends Parser {
 						_localctx.ex1 = _prevctx;
 						_localctx.ex1 = _prevctx;
 						pushNewRecursionContext(_localctx, _startState, RULE_expression);
-						setState(278);
+						setState(265);
 						if (!(precpred(_ctx, 1))) throw new FailedPredicateException(this, "precpred(_ctx, 1)");
-						setState(279);
+						setState(266);
 						((ExpressionContext)_localctx).OP = _input.LT(1);
 						_la = _input.LA(1);
 						if ( !(_la==T__31 || _la==T__32) ) {
@@ -1236,11 +1278,12 @@ public class PmmParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(280);
+						setState(267);
 						((ExpressionContext)_localctx).ex2 = ((ExpressionContext)_localctx).expression = expression(2);
 
-						                          ((ExpressionContext)_localctx).ast =  new Logical(((ExpressionContext)_localctx).ex1.ast, (((ExpressionContext)_localctx).OP!=null?((ExpressionContext)_localctx).OP.getText():null), ((ExpressionContext)_localctx).ex2.ast,
-						                              ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
+						                          if (complete(((ExpressionContext)_localctx).ex1.ast, ((ExpressionContext)_localctx).ex2.ast))
+						                              ((ExpressionContext)_localctx).ast =  new Logical(((ExpressionContext)_localctx).ex1.ast, (((ExpressionContext)_localctx).OP!=null?((ExpressionContext)_localctx).OP.getText():null), ((ExpressionContext)_localctx).ex2.ast,
+						                                  ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
 						                      
 						}
 						break;
@@ -1250,17 +1293,18 @@ public class PmmParser extends Parser {
 						_localctx.ex1 = _prevctx;
 						_localctx.ex1 = _prevctx;
 						pushNewRecursionContext(_localctx, _startState, RULE_expression);
-						setState(283);
+						setState(270);
 						if (!(precpred(_ctx, 9))) throw new FailedPredicateException(this, "precpred(_ctx, 9)");
-						setState(284);
+						setState(271);
 						match(T__16);
-						setState(285);
+						setState(272);
 						((ExpressionContext)_localctx).ex2 = ((ExpressionContext)_localctx).expression = expression(0);
-						setState(286);
+						setState(273);
 						match(T__17);
 
-						                          ((ExpressionContext)_localctx).ast =  new ArrayAccess(((ExpressionContext)_localctx).ex1.ast, ((ExpressionContext)_localctx).ex2.ast,
-						                              ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
+						                          if (complete(((ExpressionContext)_localctx).ex1.ast, ((ExpressionContext)_localctx).ex2.ast))
+						                              ((ExpressionContext)_localctx).ast =  new ArrayAccess(((ExpressionContext)_localctx).ex1.ast, ((ExpressionContext)_localctx).ex2.ast,
+						                                  ((ExpressionContext)_localctx).ex1.ast.getLine(), ((ExpressionContext)_localctx).ex1.ast.getColumn());
 						                      
 						}
 						break;
@@ -1270,22 +1314,23 @@ public class PmmParser extends Parser {
 						_localctx.ex = _prevctx;
 						_localctx.ex = _prevctx;
 						pushNewRecursionContext(_localctx, _startState, RULE_expression);
-						setState(289);
+						setState(276);
 						if (!(precpred(_ctx, 8))) throw new FailedPredicateException(this, "precpred(_ctx, 8)");
-						setState(290);
+						setState(277);
 						match(T__18);
-						setState(291);
+						setState(278);
 						((ExpressionContext)_localctx).ID = match(ID);
 
-						                          ((ExpressionContext)_localctx).ast =  new FieldAccess(((ExpressionContext)_localctx).ex.ast, (((ExpressionContext)_localctx).ID!=null?((ExpressionContext)_localctx).ID.getText():null),
-						                              ((ExpressionContext)_localctx).ex.ast.getLine(), ((ExpressionContext)_localctx).ex.ast.getColumn());
+						                          if (complete(((ExpressionContext)_localctx).ex.ast))
+						                              ((ExpressionContext)_localctx).ast =  new FieldAccess(((ExpressionContext)_localctx).ex.ast, (((ExpressionContext)_localctx).ID!=null?((ExpressionContext)_localctx).ID.getText():null),
+						                                  ((ExpressionContext)_localctx).ex.ast.getLine(), ((ExpressionContext)_localctx).ex.ast.getColumn());
 						                      
 						}
 						break;
 					}
 					} 
 				}
-				setState(297);
+				setState(284);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,21,_ctx);
 			}
@@ -1319,13 +1364,13 @@ public class PmmParser extends Parser {
 		Built_in_typeContext _localctx = new Built_in_typeContext(_ctx, getState());
 		enterRule(_localctx, 16, RULE_built_in_type);
 		try {
-			setState(306);
+			setState(293);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case T__33:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(298);
+				setState(285);
 				match(T__33);
 
 				                    ((Built_in_typeContext)_localctx).ast =  CharType.getInstance();
@@ -1335,7 +1380,7 @@ public class PmmParser extends Parser {
 			case T__34:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(300);
+				setState(287);
 				match(T__34);
 
 				                    ((Built_in_typeContext)_localctx).ast =  IntegerType.getInstance();
@@ -1345,7 +1390,7 @@ public class PmmParser extends Parser {
 			case T__35:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(302);
+				setState(289);
 				match(T__35);
 
 				                    ((Built_in_typeContext)_localctx).ast =  DoubleType.getInstance();
@@ -1355,7 +1400,7 @@ public class PmmParser extends Parser {
 			case T__36:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(304);
+				setState(291);
 				match(T__36);
 
 				                    ((Built_in_typeContext)_localctx).ast =  BooleanType.getInstance();
@@ -1379,8 +1424,8 @@ public class PmmParser extends Parser {
 
 	public static class TypeContext extends ParserRuleContext {
 		public Type ast;
-		public List<Token> fieldIds = new ArrayList<>();
-		public List<String> fieldNames = new ArrayList();
+		public List<Token> fieldIds;
+		public java.util.Set<String> fieldNames;
 		public Built_in_typeContext built_in_type;
 		public Token lineMarker;
 		public Token INT_CONSTANT;
@@ -1418,7 +1463,7 @@ public class PmmParser extends Parser {
 		enterRule(_localctx, 18, RULE_type);
 		int _la;
 		try {
-			setState(342);
+			setState(329);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case T__33:
@@ -1427,7 +1472,7 @@ public class PmmParser extends Parser {
 			case T__36:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(308);
+				setState(295);
 				((TypeContext)_localctx).built_in_type = built_in_type();
 
 				        ((TypeContext)_localctx).ast =  ((TypeContext)_localctx).built_in_type.ast;
@@ -1437,85 +1482,90 @@ public class PmmParser extends Parser {
 			case T__16:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(311);
+				setState(298);
 				((TypeContext)_localctx).lineMarker = match(T__16);
-				setState(312);
+				setState(299);
 				((TypeContext)_localctx).INT_CONSTANT = match(INT_CONSTANT);
-				setState(313);
+				setState(300);
 				match(T__17);
-				setState(314);
+				setState(301);
 				((TypeContext)_localctx).type = type();
 
-				        ((TypeContext)_localctx).ast =  new ArrayType(LexerHelper.lexemeToInt((((TypeContext)_localctx).INT_CONSTANT!=null?((TypeContext)_localctx).INT_CONSTANT.getText():null)), ((TypeContext)_localctx).type.ast,
-				            ((TypeContext)_localctx).lineMarker.getLine(), ((TypeContext)_localctx).lineMarker.getCharPositionInLine()+1);
+				        if (complete(((TypeContext)_localctx).type.ast))
+				            ((TypeContext)_localctx).ast =  new ArrayType(LexerHelper.lexemeToInt(((TypeContext)_localctx).INT_CONSTANT), ((TypeContext)_localctx).type.ast,
+				                ((TypeContext)_localctx).lineMarker.getLine(), ((TypeContext)_localctx).lineMarker.getCharPositionInLine()+1);
 				    
 				}
 				break;
 			case T__37:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(317);
+				setState(304);
 				((TypeContext)_localctx).struct_keyword = match(T__37);
-				 RecordType record = new RecordType(((TypeContext)_localctx).struct_keyword.getLine(), ((TypeContext)_localctx).struct_keyword.getCharPositionInLine()+1); 
-				setState(319);
+
+				            RecordType record = new RecordType(((TypeContext)_localctx).struct_keyword.getLine(), ((TypeContext)_localctx).struct_keyword.getCharPositionInLine()+1);
+				            ((TypeContext)_localctx).fieldIds =  new ArrayList<>();
+				            ((TypeContext)_localctx).fieldNames =  new java.util.HashSet<>();
+				        
+				setState(306);
 				match(T__5);
-				setState(337);
+				setState(324);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while (_la==ID) {
 					{
 					{
-					setState(320);
+					setState(307);
 					((TypeContext)_localctx).id1 = match(ID);
 
-					            if(_localctx.fieldNames.contains((((TypeContext)_localctx).id1!=null?((TypeContext)_localctx).id1.getText():null))){
+					            if(!_localctx.fieldNames.add((((TypeContext)_localctx).id1!=null?((TypeContext)_localctx).id1.getText():null))){
 					                new ErrorType("There cannot be two fields with the same name", ((TypeContext)_localctx).id1.getLine(), ((TypeContext)_localctx).id1.getCharPositionInLine()+1);
 					                ErrorHandler.getInstance().showErrors(System.out);
 					            }
 					            _localctx.fieldIds.add(((TypeContext)_localctx).id1);
-					            _localctx.fieldNames.add((((TypeContext)_localctx).id1!=null?((TypeContext)_localctx).id1.getText():null));
 					        
-					setState(327);
+					setState(314);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==T__7) {
 						{
 						{
-						setState(322);
+						setState(309);
 						match(T__7);
-						setState(323);
+						setState(310);
 						((TypeContext)_localctx).id2 = match(ID);
 
-						            if(_localctx.fieldNames.contains((((TypeContext)_localctx).id2!=null?((TypeContext)_localctx).id2.getText():null))){
+						            if(!_localctx.fieldNames.add((((TypeContext)_localctx).id2!=null?((TypeContext)_localctx).id2.getText():null))){
 						                new ErrorType("There cannot be two fields with the same name", ((TypeContext)_localctx).id2.getLine(), ((TypeContext)_localctx).id2.getCharPositionInLine()+1);
 						                ErrorHandler.getInstance().showErrors(System.out);
 						            }
 						            _localctx.fieldIds.add(((TypeContext)_localctx).id2);
-						            _localctx.fieldNames.add((((TypeContext)_localctx).id2!=null?((TypeContext)_localctx).id2.getText():null));
 						        
 						}
 						}
-						setState(329);
+						setState(316);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
-					setState(330);
+					setState(317);
 					match(T__4);
-					setState(331);
+					setState(318);
 					((TypeContext)_localctx).type = type();
-					setState(332);
+					setState(319);
 					match(T__8);
 
-					            _localctx.fieldIds.forEach(id -> record.addField(new RecordField(((TypeContext)_localctx).type.ast, id.getText(), id.getLine(), id.getCharPositionInLine()+1)));
-					            ((TypeContext)_localctx).fieldIds =  new ArrayList<>();
+					            for (Token id : _localctx.fieldIds)
+					                if (complete(((TypeContext)_localctx).type.ast))
+					                    record.addField(new RecordField(((TypeContext)_localctx).type.ast, id.getText(), id.getLine(), id.getCharPositionInLine()+1));
+					            _localctx.fieldIds.clear();
 					        
 					}
 					}
-					setState(339);
+					setState(326);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
-				setState(340);
+				setState(327);
 				match(T__6);
 
 				            ((TypeContext)_localctx).ast =  record;
@@ -1563,125 +1613,121 @@ public class PmmParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3.\u015b\4\2\t\2\4"+
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3.\u014e\4\2\t\2\4"+
 		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
-		"\13\3\2\3\2\3\2\7\2\32\n\2\f\2\16\2\35\13\2\3\2\3\2\3\2\3\2\3\2\3\3\3"+
-		"\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\7\3.\n\3\f\3\16\3\61\13\3\3\3\3\3\3"+
-		"\3\7\3\66\n\3\f\3\16\39\13\3\3\3\3\3\3\4\3\4\3\4\3\4\3\4\3\4\5\4C\n\4"+
-		"\3\5\3\5\3\5\3\5\3\5\7\5J\n\5\f\5\16\5M\13\5\3\5\3\5\3\5\3\5\3\5\3\6\3"+
-		"\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\7\6a\n\6\f\6\16\6d\13\6"+
-		"\5\6f\n\6\3\6\3\6\3\6\3\6\3\6\5\6m\n\6\3\6\3\6\3\6\3\6\3\6\7\6t\n\6\f"+
-		"\6\16\6w\13\6\3\6\3\6\3\6\7\6|\n\6\f\6\16\6\177\13\6\3\6\3\6\3\6\3\7\3"+
-		"\7\3\7\3\7\3\7\3\7\3\7\7\7\u008b\n\7\f\7\16\7\u008e\13\7\3\7\3\7\3\7\3"+
-		"\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7"+
-		"\5\7\u00a5\n\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7"+
-		"\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\7\7\u00bd\n\7\f\7\16\7\u00c0\13\7\5\7"+
-		"\u00c2\n\7\3\7\3\7\3\7\5\7\u00c7\n\7\3\b\3\b\3\b\3\b\7\b\u00cd\n\b\f\b"+
-		"\16\b\u00d0\13\b\3\b\3\b\3\b\3\b\5\b\u00d6\n\b\3\t\3\t\3\t\3\t\3\t\3\t"+
-		"\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\7\t\u00ec\n\t"+
-		"\f\t\16\t\u00ef\13\t\5\t\u00f1\n\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t"+
-		"\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\5\t\u0108\n\t\3\t\3\t"+
-		"\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3"+
-		"\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\7\t\u0128\n\t\f\t\16\t\u012b"+
-		"\13\t\3\n\3\n\3\n\3\n\3\n\3\n\3\n\3\n\5\n\u0135\n\n\3\13\3\13\3\13\3\13"+
-		"\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\7\13"+
-		"\u0148\n\13\f\13\16\13\u014b\13\13\3\13\3\13\3\13\3\13\3\13\7\13\u0152"+
-		"\n\13\f\13\16\13\u0155\13\13\3\13\3\13\5\13\u0159\n\13\3\13\2\3\20\f\2"+
-		"\4\6\b\n\f\16\20\22\24\2\6\3\2\30\32\4\2\26\26\33\33\3\2\34!\3\2\"#\2"+
-		"\u017e\2\33\3\2\2\2\4#\3\2\2\2\6B\3\2\2\2\bD\3\2\2\2\nS\3\2\2\2\f\u00c6"+
-		"\3\2\2\2\16\u00d5\3\2\2\2\20\u0107\3\2\2\2\22\u0134\3\2\2\2\24\u0158\3"+
-		"\2\2\2\26\27\5\6\4\2\27\30\b\2\1\2\30\32\3\2\2\2\31\26\3\2\2\2\32\35\3"+
-		"\2\2\2\33\31\3\2\2\2\33\34\3\2\2\2\34\36\3\2\2\2\35\33\3\2\2\2\36\37\5"+
-		"\4\3\2\37 \b\2\1\2 !\7\2\2\3!\"\b\2\1\2\"\3\3\2\2\2#$\7\3\2\2$%\7\4\2"+
-		"\2%&\7\5\2\2&\'\7\6\2\2\'(\7\7\2\2()\b\3\1\2)/\7\b\2\2*+\5\b\5\2+,\b\3"+
-		"\1\2,.\3\2\2\2-*\3\2\2\2.\61\3\2\2\2/-\3\2\2\2/\60\3\2\2\2\60\67\3\2\2"+
-		"\2\61/\3\2\2\2\62\63\5\f\7\2\63\64\b\3\1\2\64\66\3\2\2\2\65\62\3\2\2\2"+
-		"\669\3\2\2\2\67\65\3\2\2\2\678\3\2\2\28:\3\2\2\29\67\3\2\2\2:;\7\t\2\2"+
-		";\5\3\2\2\2<=\5\b\5\2=>\b\4\1\2>C\3\2\2\2?@\5\n\6\2@A\b\4\1\2AC\3\2\2"+
-		"\2B<\3\2\2\2B?\3\2\2\2C\7\3\2\2\2DE\7-\2\2EK\b\5\1\2FG\7\n\2\2GH\7-\2"+
-		"\2HJ\b\5\1\2IF\3\2\2\2JM\3\2\2\2KI\3\2\2\2KL\3\2\2\2LN\3\2\2\2MK\3\2\2"+
-		"\2NO\7\7\2\2OP\5\24\13\2PQ\7\13\2\2QR\b\5\1\2R\t\3\2\2\2ST\7\3\2\2TU\7"+
-		"-\2\2Ue\7\5\2\2VW\7-\2\2WX\7\7\2\2XY\5\22\n\2Yb\b\6\1\2Z[\7\n\2\2[\\\7"+
-		"-\2\2\\]\7\7\2\2]^\5\22\n\2^_\b\6\1\2_a\3\2\2\2`Z\3\2\2\2ad\3\2\2\2b`"+
-		"\3\2\2\2bc\3\2\2\2cf\3\2\2\2db\3\2\2\2eV\3\2\2\2ef\3\2\2\2fg\3\2\2\2g"+
-		"h\7\6\2\2hl\7\7\2\2ij\5\24\13\2jk\b\6\1\2km\3\2\2\2li\3\2\2\2lm\3\2\2"+
-		"\2mn\3\2\2\2no\b\6\1\2ou\7\b\2\2pq\5\b\5\2qr\b\6\1\2rt\3\2\2\2sp\3\2\2"+
-		"\2tw\3\2\2\2us\3\2\2\2uv\3\2\2\2v}\3\2\2\2wu\3\2\2\2xy\5\f\7\2yz\b\6\1"+
-		"\2z|\3\2\2\2{x\3\2\2\2|\177\3\2\2\2}{\3\2\2\2}~\3\2\2\2~\u0080\3\2\2\2"+
-		"\177}\3\2\2\2\u0080\u0081\7\t\2\2\u0081\u0082\b\6\1\2\u0082\13\3\2\2\2"+
-		"\u0083\u0084\7\f\2\2\u0084\u0085\5\20\t\2\u0085\u008c\b\7\1\2\u0086\u0087"+
-		"\7\n\2\2\u0087\u0088\5\20\t\2\u0088\u0089\b\7\1\2\u0089\u008b\3\2\2\2"+
-		"\u008a\u0086\3\2\2\2\u008b\u008e\3\2\2\2\u008c\u008a\3\2\2\2\u008c\u008d"+
-		"\3\2\2\2\u008d\u008f\3\2\2\2\u008e\u008c\3\2\2\2\u008f\u0090\7\13\2\2"+
-		"\u0090\u00c7\3\2\2\2\u0091\u0092\7\r\2\2\u0092\u0093\5\20\t\2\u0093\u0094"+
-		"\7\13\2\2\u0094\u0095\b\7\1\2\u0095\u00c7\3\2\2\2\u0096\u0097\5\20\t\2"+
-		"\u0097\u0098\7\16\2\2\u0098\u0099\5\20\t\2\u0099\u009a\7\13\2\2\u009a"+
-		"\u009b\b\7\1\2\u009b\u00c7\3\2\2\2\u009c\u009d\7\17\2\2\u009d\u009e\5"+
-		"\20\t\2\u009e\u009f\7\7\2\2\u009f\u00a4\5\16\b\2\u00a0\u00a1\7\20\2\2"+
-		"\u00a1\u00a2\5\16\b\2\u00a2\u00a3\b\7\1\2\u00a3\u00a5\3\2\2\2\u00a4\u00a0"+
-		"\3\2\2\2\u00a4\u00a5\3\2\2\2\u00a5\u00a6\3\2\2\2\u00a6\u00a7\b\7\1\2\u00a7"+
-		"\u00c7\3\2\2\2\u00a8\u00a9\7\21\2\2\u00a9\u00aa\5\20\t\2\u00aa\u00ab\7"+
-		"\7\2\2\u00ab\u00ac\5\16\b\2\u00ac\u00ad\b\7\1\2\u00ad\u00c7\3\2\2\2\u00ae"+
-		"\u00af\7\22\2\2\u00af\u00b0\5\20\t\2\u00b0\u00b1\7\13\2\2\u00b1\u00b2"+
-		"\b\7\1\2\u00b2\u00c7\3\2\2\2\u00b3\u00b4\7-\2\2\u00b4\u00b5\b\7\1\2\u00b5"+
-		"\u00c1\7\5\2\2\u00b6\u00b7\5\20\t\2\u00b7\u00be\b\7\1\2\u00b8\u00b9\7"+
-		"\n\2\2\u00b9\u00ba\5\20\t\2\u00ba\u00bb\b\7\1\2\u00bb\u00bd\3\2\2\2\u00bc"+
-		"\u00b8\3\2\2\2\u00bd\u00c0\3\2\2\2\u00be\u00bc\3\2\2\2\u00be\u00bf\3\2"+
-		"\2\2\u00bf\u00c2\3\2\2\2\u00c0\u00be\3\2\2\2\u00c1\u00b6\3\2\2\2\u00c1"+
-		"\u00c2\3\2\2\2\u00c2\u00c3\3\2\2\2\u00c3\u00c4\7\6\2\2\u00c4\u00c5\7\13"+
-		"\2\2\u00c5\u00c7\b\7\1\2\u00c6\u0083\3\2\2\2\u00c6\u0091\3\2\2\2\u00c6"+
-		"\u0096\3\2\2\2\u00c6\u009c\3\2\2\2\u00c6\u00a8\3\2\2\2\u00c6\u00ae\3\2"+
-		"\2\2\u00c6\u00b3\3\2\2\2\u00c7\r\3\2\2\2\u00c8\u00ce\7\b\2\2\u00c9\u00ca"+
-		"\5\f\7\2\u00ca\u00cb\b\b\1\2\u00cb\u00cd\3\2\2\2\u00cc\u00c9\3\2\2\2\u00cd"+
-		"\u00d0\3\2\2\2\u00ce\u00cc\3\2\2\2\u00ce\u00cf\3\2\2\2\u00cf\u00d1\3\2"+
-		"\2\2\u00d0\u00ce\3\2\2\2\u00d1\u00d6\7\t\2\2\u00d2\u00d3\5\f\7\2\u00d3"+
-		"\u00d4\b\b\1\2\u00d4\u00d6\3\2\2\2\u00d5\u00c8\3\2\2\2\u00d5\u00d2\3\2"+
-		"\2\2\u00d6\17\3\2\2\2\u00d7\u00d8\b\t\1\2\u00d8\u00d9\7)\2\2\u00d9\u0108"+
-		"\b\t\1\2\u00da\u00db\7,\2\2\u00db\u0108\b\t\1\2\u00dc\u00dd\7+\2\2\u00dd"+
-		"\u0108\b\t\1\2\u00de\u00df\7*\2\2\u00df\u0108\b\t\1\2\u00e0\u00e1\7-\2"+
-		"\2\u00e1\u0108\b\t\1\2\u00e2\u00e3\7-\2\2\u00e3\u00e4\b\t\1\2\u00e4\u00f0"+
-		"\7\5\2\2\u00e5\u00e6\5\20\t\2\u00e6\u00ed\b\t\1\2\u00e7\u00e8\7\n\2\2"+
-		"\u00e8\u00e9\5\20\t\2\u00e9\u00ea\b\t\1\2\u00ea\u00ec\3\2\2\2\u00eb\u00e7"+
-		"\3\2\2\2\u00ec\u00ef\3\2\2\2\u00ed\u00eb\3\2\2\2\u00ed\u00ee\3\2\2\2\u00ee"+
-		"\u00f1\3\2\2\2\u00ef\u00ed\3\2\2\2\u00f0\u00e5\3\2\2\2\u00f0\u00f1\3\2"+
-		"\2\2\u00f1\u00f2\3\2\2\2\u00f2\u00f3\7\6\2\2\u00f3\u0108\b\t\1\2\u00f4"+
-		"\u00f5\7\5\2\2\u00f5\u00f6\5\20\t\2\u00f6\u00f7\7\6\2\2\u00f7\u00f8\b"+
-		"\t\1\2\u00f8\u0108\3\2\2\2\u00f9\u00fa\7\5\2\2\u00fa\u00fb\5\22\n\2\u00fb"+
-		"\u00fc\7\6\2\2\u00fc\u00fd\5\20\t\t\u00fd\u00fe\b\t\1\2\u00fe\u0108\3"+
-		"\2\2\2\u00ff\u0100\7\26\2\2\u0100\u0101\5\20\t\b\u0101\u0102\b\t\1\2\u0102"+
-		"\u0108\3\2\2\2\u0103\u0104\7\27\2\2\u0104\u0105\5\20\t\7\u0105\u0106\b"+
-		"\t\1\2\u0106\u0108\3\2\2\2\u0107\u00d7\3\2\2\2\u0107\u00da\3\2\2\2\u0107"+
-		"\u00dc\3\2\2\2\u0107\u00de\3\2\2\2\u0107\u00e0\3\2\2\2\u0107\u00e2\3\2"+
-		"\2\2\u0107\u00f4\3\2\2\2\u0107\u00f9\3\2\2\2\u0107\u00ff\3\2\2\2\u0107"+
-		"\u0103\3\2\2\2\u0108\u0129\3\2\2\2\u0109\u010a\f\6\2\2\u010a\u010b\t\2"+
-		"\2\2\u010b\u010c\5\20\t\7\u010c\u010d\b\t\1\2\u010d\u0128\3\2\2\2\u010e"+
-		"\u010f\f\5\2\2\u010f\u0110\t\3\2\2\u0110\u0111\5\20\t\6\u0111\u0112\b"+
-		"\t\1\2\u0112\u0128\3\2\2\2\u0113\u0114\f\4\2\2\u0114\u0115\t\4\2\2\u0115"+
-		"\u0116\5\20\t\5\u0116\u0117\b\t\1\2\u0117\u0128\3\2\2\2\u0118\u0119\f"+
-		"\3\2\2\u0119\u011a\t\5\2\2\u011a\u011b\5\20\t\4\u011b\u011c\b\t\1\2\u011c"+
-		"\u0128\3\2\2\2\u011d\u011e\f\13\2\2\u011e\u011f\7\23\2\2\u011f\u0120\5"+
-		"\20\t\2\u0120\u0121\7\24\2\2\u0121\u0122\b\t\1\2\u0122\u0128\3\2\2\2\u0123"+
-		"\u0124\f\n\2\2\u0124\u0125\7\25\2\2\u0125\u0126\7-\2\2\u0126\u0128\b\t"+
-		"\1\2\u0127\u0109\3\2\2\2\u0127\u010e\3\2\2\2\u0127\u0113\3\2\2\2\u0127"+
-		"\u0118\3\2\2\2\u0127\u011d\3\2\2\2\u0127\u0123\3\2\2\2\u0128\u012b\3\2"+
-		"\2\2\u0129\u0127\3\2\2\2\u0129\u012a\3\2\2\2\u012a\21\3\2\2\2\u012b\u0129"+
-		"\3\2\2\2\u012c\u012d\7$\2\2\u012d\u0135\b\n\1\2\u012e\u012f\7%\2\2\u012f"+
-		"\u0135\b\n\1\2\u0130\u0131\7&\2\2\u0131\u0135\b\n\1\2\u0132\u0133\7\'"+
-		"\2\2\u0133\u0135\b\n\1\2\u0134\u012c\3\2\2\2\u0134\u012e\3\2\2\2\u0134"+
-		"\u0130\3\2\2\2\u0134\u0132\3\2\2\2\u0135\23\3\2\2\2\u0136\u0137\5\22\n"+
-		"\2\u0137\u0138\b\13\1\2\u0138\u0159\3\2\2\2\u0139\u013a\7\23\2\2\u013a"+
-		"\u013b\7)\2\2\u013b\u013c\7\24\2\2\u013c\u013d\5\24\13\2\u013d\u013e\b"+
-		"\13\1\2\u013e\u0159\3\2\2\2\u013f\u0140\7(\2\2\u0140\u0141\b\13\1\2\u0141"+
-		"\u0153\7\b\2\2\u0142\u0143\7-\2\2\u0143\u0149\b\13\1\2\u0144\u0145\7\n"+
-		"\2\2\u0145\u0146\7-\2\2\u0146\u0148\b\13\1\2\u0147\u0144\3\2\2\2\u0148"+
-		"\u014b\3\2\2\2\u0149\u0147\3\2\2\2\u0149\u014a\3\2\2\2\u014a\u014c\3\2"+
-		"\2\2\u014b\u0149\3\2\2\2\u014c\u014d\7\7\2\2\u014d\u014e\5\24\13\2\u014e"+
-		"\u014f\7\13\2\2\u014f\u0150\b\13\1\2\u0150\u0152\3\2\2\2\u0151\u0142\3"+
-		"\2\2\2\u0152\u0155\3\2\2\2\u0153\u0151\3\2\2\2\u0153\u0154\3\2\2\2\u0154"+
-		"\u0156\3\2\2\2\u0155\u0153\3\2\2\2\u0156\u0157\7\t\2\2\u0157\u0159\b\13"+
-		"\1\2\u0158\u0136\3\2\2\2\u0158\u0139\3\2\2\2\u0158\u013f\3\2\2\2\u0159"+
-		"\25\3\2\2\2\34\33/\67BKbelu}\u008c\u00a4\u00be\u00c1\u00c6\u00ce\u00d5"+
-		"\u00ed\u00f0\u0107\u0127\u0129\u0134\u0149\u0153\u0158";
+		"\13\3\2\3\2\3\2\3\2\7\2\33\n\2\f\2\16\2\36\13\2\3\2\3\2\3\2\3\2\3\3\3"+
+		"\3\3\3\3\3\3\3\3\3\3\3\3\3\7\3,\n\3\f\3\16\3/\13\3\3\3\7\3\62\n\3\f\3"+
+		"\16\3\65\13\3\3\3\3\3\3\4\3\4\3\4\3\4\5\4=\n\4\3\5\3\5\3\5\3\5\3\5\7\5"+
+		"D\n\5\f\5\16\5G\13\5\3\5\3\5\3\5\3\5\3\5\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3"+
+		"\6\3\6\3\6\3\6\3\6\3\6\7\6[\n\6\f\6\16\6^\13\6\5\6`\n\6\3\6\3\6\3\6\3"+
+		"\6\3\6\5\6g\n\6\3\6\3\6\3\6\7\6l\n\6\f\6\16\6o\13\6\3\6\7\6r\n\6\f\6\16"+
+		"\6u\13\6\3\6\3\6\3\6\3\7\3\7\3\7\3\7\3\7\3\7\3\7\7\7\u0081\n\7\f\7\16"+
+		"\7\u0084\13\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7"+
+		"\3\7\3\7\3\7\3\7\3\7\3\7\3\7\5\7\u009b\n\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7"+
+		"\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\7\7\u00b4"+
+		"\n\7\f\7\16\7\u00b7\13\7\5\7\u00b9\n\7\3\7\3\7\3\7\5\7\u00be\n\7\3\b\3"+
+		"\b\7\b\u00c2\n\b\f\b\16\b\u00c5\13\b\3\b\3\b\5\b\u00c9\n\b\3\t\3\t\3\t"+
+		"\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\7"+
+		"\t\u00df\n\t\f\t\16\t\u00e2\13\t\5\t\u00e4\n\t\3\t\3\t\3\t\3\t\3\t\3\t"+
+		"\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\5\t\u00fb"+
+		"\n\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3"+
+		"\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\7\t\u011b\n\t\f"+
+		"\t\16\t\u011e\13\t\3\n\3\n\3\n\3\n\3\n\3\n\3\n\3\n\5\n\u0128\n\n\3\13"+
+		"\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13"+
+		"\3\13\3\13\7\13\u013b\n\13\f\13\16\13\u013e\13\13\3\13\3\13\3\13\3\13"+
+		"\3\13\7\13\u0145\n\13\f\13\16\13\u0148\13\13\3\13\3\13\5\13\u014c\n\13"+
+		"\3\13\2\3\20\f\2\4\6\b\n\f\16\20\22\24\2\6\3\2\30\32\4\2\26\26\33\33\3"+
+		"\2\34!\3\2\"#\2\u0171\2\26\3\2\2\2\4#\3\2\2\2\6<\3\2\2\2\b>\3\2\2\2\n"+
+		"M\3\2\2\2\f\u00bd\3\2\2\2\16\u00c8\3\2\2\2\20\u00fa\3\2\2\2\22\u0127\3"+
+		"\2\2\2\24\u014b\3\2\2\2\26\34\b\2\1\2\27\30\5\6\4\2\30\31\b\2\1\2\31\33"+
+		"\3\2\2\2\32\27\3\2\2\2\33\36\3\2\2\2\34\32\3\2\2\2\34\35\3\2\2\2\35\37"+
+		"\3\2\2\2\36\34\3\2\2\2\37 \5\4\3\2 !\b\2\1\2!\"\7\2\2\3\"\3\3\2\2\2#$"+
+		"\7\3\2\2$%\7\4\2\2%&\7\5\2\2&\'\7\6\2\2\'(\7\7\2\2()\b\3\1\2)-\7\b\2\2"+
+		"*,\5\b\5\2+*\3\2\2\2,/\3\2\2\2-+\3\2\2\2-.\3\2\2\2.\63\3\2\2\2/-\3\2\2"+
+		"\2\60\62\5\f\7\2\61\60\3\2\2\2\62\65\3\2\2\2\63\61\3\2\2\2\63\64\3\2\2"+
+		"\2\64\66\3\2\2\2\65\63\3\2\2\2\66\67\7\t\2\2\67\5\3\2\2\28=\5\b\5\29:"+
+		"\5\n\6\2:;\b\4\1\2;=\3\2\2\2<8\3\2\2\2<9\3\2\2\2=\7\3\2\2\2>?\7-\2\2?"+
+		"E\b\5\1\2@A\7\n\2\2AB\7-\2\2BD\b\5\1\2C@\3\2\2\2DG\3\2\2\2EC\3\2\2\2E"+
+		"F\3\2\2\2FH\3\2\2\2GE\3\2\2\2HI\7\7\2\2IJ\5\24\13\2JK\7\13\2\2KL\b\5\1"+
+		"\2L\t\3\2\2\2MN\7\3\2\2NO\7-\2\2O_\7\5\2\2PQ\7-\2\2QR\7\7\2\2RS\5\22\n"+
+		"\2S\\\b\6\1\2TU\7\n\2\2UV\7-\2\2VW\7\7\2\2WX\5\22\n\2XY\b\6\1\2Y[\3\2"+
+		"\2\2ZT\3\2\2\2[^\3\2\2\2\\Z\3\2\2\2\\]\3\2\2\2]`\3\2\2\2^\\\3\2\2\2_P"+
+		"\3\2\2\2_`\3\2\2\2`a\3\2\2\2ab\7\6\2\2bf\7\7\2\2cd\5\24\13\2de\b\6\1\2"+
+		"eg\3\2\2\2fc\3\2\2\2fg\3\2\2\2gh\3\2\2\2hi\b\6\1\2im\7\b\2\2jl\5\b\5\2"+
+		"kj\3\2\2\2lo\3\2\2\2mk\3\2\2\2mn\3\2\2\2ns\3\2\2\2om\3\2\2\2pr\5\f\7\2"+
+		"qp\3\2\2\2ru\3\2\2\2sq\3\2\2\2st\3\2\2\2tv\3\2\2\2us\3\2\2\2vw\7\t\2\2"+
+		"wx\b\6\1\2x\13\3\2\2\2yz\7\f\2\2z{\5\20\t\2{\u0082\b\7\1\2|}\7\n\2\2}"+
+		"~\5\20\t\2~\177\b\7\1\2\177\u0081\3\2\2\2\u0080|\3\2\2\2\u0081\u0084\3"+
+		"\2\2\2\u0082\u0080\3\2\2\2\u0082\u0083\3\2\2\2\u0083\u0085\3\2\2\2\u0084"+
+		"\u0082\3\2\2\2\u0085\u0086\7\13\2\2\u0086\u00be\3\2\2\2\u0087\u0088\7"+
+		"\r\2\2\u0088\u0089\5\20\t\2\u0089\u008a\7\13\2\2\u008a\u008b\b\7\1\2\u008b"+
+		"\u00be\3\2\2\2\u008c\u008d\5\20\t\2\u008d\u008e\7\16\2\2\u008e\u008f\5"+
+		"\20\t\2\u008f\u0090\7\13\2\2\u0090\u0091\b\7\1\2\u0091\u00be\3\2\2\2\u0092"+
+		"\u0093\7\17\2\2\u0093\u0094\5\20\t\2\u0094\u0095\7\7\2\2\u0095\u0096\b"+
+		"\7\1\2\u0096\u009a\5\16\b\2\u0097\u0098\7\20\2\2\u0098\u0099\b\7\1\2\u0099"+
+		"\u009b\5\16\b\2\u009a\u0097\3\2\2\2\u009a\u009b\3\2\2\2\u009b\u009c\3"+
+		"\2\2\2\u009c\u009d\b\7\1\2\u009d\u00be\3\2\2\2\u009e\u009f\7\21\2\2\u009f"+
+		"\u00a0\5\20\t\2\u00a0\u00a1\7\7\2\2\u00a1\u00a2\b\7\1\2\u00a2\u00a3\5"+
+		"\16\b\2\u00a3\u00a4\b\7\1\2\u00a4\u00be\3\2\2\2\u00a5\u00a6\7\22\2\2\u00a6"+
+		"\u00a7\5\20\t\2\u00a7\u00a8\7\13\2\2\u00a8\u00a9\b\7\1\2\u00a9\u00be\3"+
+		"\2\2\2\u00aa\u00ab\7-\2\2\u00ab\u00ac\b\7\1\2\u00ac\u00b8\7\5\2\2\u00ad"+
+		"\u00ae\5\20\t\2\u00ae\u00b5\b\7\1\2\u00af\u00b0\7\n\2\2\u00b0\u00b1\5"+
+		"\20\t\2\u00b1\u00b2\b\7\1\2\u00b2\u00b4\3\2\2\2\u00b3\u00af\3\2\2\2\u00b4"+
+		"\u00b7\3\2\2\2\u00b5\u00b3\3\2\2\2\u00b5\u00b6\3\2\2\2\u00b6\u00b9\3\2"+
+		"\2\2\u00b7\u00b5\3\2\2\2\u00b8\u00ad\3\2\2\2\u00b8\u00b9\3\2\2\2\u00b9"+
+		"\u00ba\3\2\2\2\u00ba\u00bb\7\6\2\2\u00bb\u00bc\7\13\2\2\u00bc\u00be\b"+
+		"\7\1\2\u00bdy\3\2\2\2\u00bd\u0087\3\2\2\2\u00bd\u008c\3\2\2\2\u00bd\u0092"+
+		"\3\2\2\2\u00bd\u009e\3\2\2\2\u00bd\u00a5\3\2\2\2\u00bd\u00aa\3\2\2\2\u00be"+
+		"\r\3\2\2\2\u00bf\u00c3\7\b\2\2\u00c0\u00c2\5\f\7\2\u00c1\u00c0\3\2\2\2"+
+		"\u00c2\u00c5\3\2\2\2\u00c3\u00c1\3\2\2\2\u00c3\u00c4\3\2\2\2\u00c4\u00c6"+
+		"\3\2\2\2\u00c5\u00c3\3\2\2\2\u00c6\u00c9\7\t\2\2\u00c7\u00c9\5\f\7\2\u00c8"+
+		"\u00bf\3\2\2\2\u00c8\u00c7\3\2\2\2\u00c9\17\3\2\2\2\u00ca\u00cb\b\t\1"+
+		"\2\u00cb\u00cc\7)\2\2\u00cc\u00fb\b\t\1\2\u00cd\u00ce\7,\2\2\u00ce\u00fb"+
+		"\b\t\1\2\u00cf\u00d0\7+\2\2\u00d0\u00fb\b\t\1\2\u00d1\u00d2\7*\2\2\u00d2"+
+		"\u00fb\b\t\1\2\u00d3\u00d4\7-\2\2\u00d4\u00fb\b\t\1\2\u00d5\u00d6\7-\2"+
+		"\2\u00d6\u00d7\b\t\1\2\u00d7\u00e3\7\5\2\2\u00d8\u00d9\5\20\t\2\u00d9"+
+		"\u00e0\b\t\1\2\u00da\u00db\7\n\2\2\u00db\u00dc\5\20\t\2\u00dc\u00dd\b"+
+		"\t\1\2\u00dd\u00df\3\2\2\2\u00de\u00da\3\2\2\2\u00df\u00e2\3\2\2\2\u00e0"+
+		"\u00de\3\2\2\2\u00e0\u00e1\3\2\2\2\u00e1\u00e4\3\2\2\2\u00e2\u00e0\3\2"+
+		"\2\2\u00e3\u00d8\3\2\2\2\u00e3\u00e4\3\2\2\2\u00e4\u00e5\3\2\2\2\u00e5"+
+		"\u00e6\7\6\2\2\u00e6\u00fb\b\t\1\2\u00e7\u00e8\7\5\2\2\u00e8\u00e9\5\20"+
+		"\t\2\u00e9\u00ea\7\6\2\2\u00ea\u00eb\b\t\1\2\u00eb\u00fb\3\2\2\2\u00ec"+
+		"\u00ed\7\5\2\2\u00ed\u00ee\5\22\n\2\u00ee\u00ef\7\6\2\2\u00ef\u00f0\5"+
+		"\20\t\t\u00f0\u00f1\b\t\1\2\u00f1\u00fb\3\2\2\2\u00f2\u00f3\7\26\2\2\u00f3"+
+		"\u00f4\5\20\t\b\u00f4\u00f5\b\t\1\2\u00f5\u00fb\3\2\2\2\u00f6\u00f7\7"+
+		"\27\2\2\u00f7\u00f8\5\20\t\7\u00f8\u00f9\b\t\1\2\u00f9\u00fb\3\2\2\2\u00fa"+
+		"\u00ca\3\2\2\2\u00fa\u00cd\3\2\2\2\u00fa\u00cf\3\2\2\2\u00fa\u00d1\3\2"+
+		"\2\2\u00fa\u00d3\3\2\2\2\u00fa\u00d5\3\2\2\2\u00fa\u00e7\3\2\2\2\u00fa"+
+		"\u00ec\3\2\2\2\u00fa\u00f2\3\2\2\2\u00fa\u00f6\3\2\2\2\u00fb\u011c\3\2"+
+		"\2\2\u00fc\u00fd\f\6\2\2\u00fd\u00fe\t\2\2\2\u00fe\u00ff\5\20\t\7\u00ff"+
+		"\u0100\b\t\1\2\u0100\u011b\3\2\2\2\u0101\u0102\f\5\2\2\u0102\u0103\t\3"+
+		"\2\2\u0103\u0104\5\20\t\6\u0104\u0105\b\t\1\2\u0105\u011b\3\2\2\2\u0106"+
+		"\u0107\f\4\2\2\u0107\u0108\t\4\2\2\u0108\u0109\5\20\t\5\u0109\u010a\b"+
+		"\t\1\2\u010a\u011b\3\2\2\2\u010b\u010c\f\3\2\2\u010c\u010d\t\5\2\2\u010d"+
+		"\u010e\5\20\t\4\u010e\u010f\b\t\1\2\u010f\u011b\3\2\2\2\u0110\u0111\f"+
+		"\13\2\2\u0111\u0112\7\23\2\2\u0112\u0113\5\20\t\2\u0113\u0114\7\24\2\2"+
+		"\u0114\u0115\b\t\1\2\u0115\u011b\3\2\2\2\u0116\u0117\f\n\2\2\u0117\u0118"+
+		"\7\25\2\2\u0118\u0119\7-\2\2\u0119\u011b\b\t\1\2\u011a\u00fc\3\2\2\2\u011a"+
+		"\u0101\3\2\2\2\u011a\u0106\3\2\2\2\u011a\u010b\3\2\2\2\u011a\u0110\3\2"+
+		"\2\2\u011a\u0116\3\2\2\2\u011b\u011e\3\2\2\2\u011c\u011a\3\2\2\2\u011c"+
+		"\u011d\3\2\2\2\u011d\21\3\2\2\2\u011e\u011c\3\2\2\2\u011f\u0120\7$\2\2"+
+		"\u0120\u0128\b\n\1\2\u0121\u0122\7%\2\2\u0122\u0128\b\n\1\2\u0123\u0124"+
+		"\7&\2\2\u0124\u0128\b\n\1\2\u0125\u0126\7\'\2\2\u0126\u0128\b\n\1\2\u0127"+
+		"\u011f\3\2\2\2\u0127\u0121\3\2\2\2\u0127\u0123\3\2\2\2\u0127\u0125\3\2"+
+		"\2\2\u0128\23\3\2\2\2\u0129\u012a\5\22\n\2\u012a\u012b\b\13\1\2\u012b"+
+		"\u014c\3\2\2\2\u012c\u012d\7\23\2\2\u012d\u012e\7)\2\2\u012e\u012f\7\24"+
+		"\2\2\u012f\u0130\5\24\13\2\u0130\u0131\b\13\1\2\u0131\u014c\3\2\2\2\u0132"+
+		"\u0133\7(\2\2\u0133\u0134\b\13\1\2\u0134\u0146\7\b\2\2\u0135\u0136\7-"+
+		"\2\2\u0136\u013c\b\13\1\2\u0137\u0138\7\n\2\2\u0138\u0139\7-\2\2\u0139"+
+		"\u013b\b\13\1\2\u013a\u0137\3\2\2\2\u013b\u013e\3\2\2\2\u013c\u013a\3"+
+		"\2\2\2\u013c\u013d\3\2\2\2\u013d\u013f\3\2\2\2\u013e\u013c\3\2\2\2\u013f"+
+		"\u0140\7\7\2\2\u0140\u0141\5\24\13\2\u0141\u0142\7\13\2\2\u0142\u0143"+
+		"\b\13\1\2\u0143\u0145\3\2\2\2\u0144\u0135\3\2\2\2\u0145\u0148\3\2\2\2"+
+		"\u0146\u0144\3\2\2\2\u0146\u0147\3\2\2\2\u0147\u0149\3\2\2\2\u0148\u0146"+
+		"\3\2\2\2\u0149\u014a\7\t\2\2\u014a\u014c\b\13\1\2\u014b\u0129\3\2\2\2"+
+		"\u014b\u012c\3\2\2\2\u014b\u0132\3\2\2\2\u014c\25\3\2\2\2\34\34-\63<E"+
+		"\\_fms\u0082\u009a\u00b5\u00b8\u00bd\u00c3\u00c8\u00e0\u00e3\u00fa\u011a"+
+		"\u011c\u0127\u013c\u0146\u014b";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -0,0 +1,424 @@
+package parser;
+
+import org.antlr.v4.runtime.*;
+import symboltable.NameTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written lexer of Pmm, a drop-in replacement of the generated PmmLexer for the PmmParser.
+ *
+ * It scans the characters of the source with a switch on the first character of each token, instead of
+ * simulating the ATN of the lexer, and its tokens (PmmToken) only keep the offsets of their lexemes. It
+ * recognizes the same tokens as PmmLexer: the longest match wins, falling back to the last position
+ * where a token ended (so "1.50" is "1.5" and "0"), literals win over BOOL_CONSTANT and it over ID, and
+ * unrecognized characters are reported as "token recognition error" and skipped as ANTLR does.
+ * The names of the IDs are interned in its NameTable as they are scanned.
+ */
+public class PmmScanner implements TokenSource {
+
+    private static final char[][] KEYWORDS = new char[PmmLexer.T__37 + 1][];
+
+    static {
+        for (int type = PmmLexer.T__0; type <= PmmLexer.T__37; type++) {
+            String literal = PmmLexer.VOCABULARY.getLiteralName(type);
+            if (Character.isLetter(literal.charAt(1)))
+                KEYWORDS[type] = literal.substring(1, literal.length() - 1).toCharArray();
+        }
+    }
+
+    private final char[] chars;
+    private final int length;
+    private final String sourceName;
+
+    private int index;
+    private int line = 1;
+    private int lineStart;
+
+    private NameTable names = new NameTable();
+    private TokenFactory<?> tokenFactory = CommonTokenFactory.DEFAULT;
+    private final List<ANTLRErrorListener> listeners = new ArrayList<>();
+
+    public PmmScanner(char[] chars, String sourceName) {
+        this(chars, chars.length, sourceName);
+    }
+
+    /**
+     * @param length number of characters of the source at the beginning of chars.
+     */
+    public PmmScanner(char[] chars, int length, String sourceName) {
+        this.chars = chars;
+        this.length = length;
+        this.sourceName = sourceName;
+        listeners.add(ConsoleErrorListener.INSTANCE);
+    }
+
+    /**
+     * Scans only the characters in [start, end), which begin at the given line and column, as part of a
+     * larger source: the offsets of the tokens are those in chars.
+     */
+    public PmmScanner(char[] chars, int start, int end, int line, int column, String sourceName) {
+        this(chars, end, sourceName);
+        this.index = start;
+        this.line = line;
+        this.lineStart = start - column;
+    }
+
+    /**
+     * Reads the file as UTF-8, as CharStreams.fromFileName does, decoding the bytes straight into the
+     * characters scanned.
+     */
+    public static PmmScanner fromFileName(String fileName) throws IOException {
+        CharBuffer chars = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(Files.readAllBytes(Paths.get(fileName))));
+        return new PmmScanner(chars.array(), chars.limit(), fileName);
+    }
+
+    char[] chars() {
+        return chars;
+    }
+
+    public NameTable getNameTable() {
+        return names;
+    }
+
+    /**
+     * Interns the names in the table, shared with other scanners of the same compilation, instead of
+     * one of its own.
+     */
+    public void setNameTable(NameTable names) {
+        this.names = names;
+    }
+
+    @Override
+    public Token nextToken() {
+        while (true) {
+            if (index >= length)
+                return new PmmToken(this, Token.EOF, index, index - 1, line, index - lineStart);
+            int start = index;
+            char c = chars[index];
+            switch (c) {
+                case ' ': case '\t': case '\r':
+                    index++;
+                    continue;
+                case '\n':
+                    newLine(++index);
+                    continue;
+                case '#':
+                    skipComment();
+                    continue;
+                case '"':
+                    skipMultiLineComment();
+                    continue;
+                case '(': return simple(PmmLexer.T__2, start);
+                case ')': return simple(PmmLexer.T__3, start);
+                case ':': return simple(PmmLexer.T__4, start);
+                case '{': return simple(PmmLexer.T__5, start);
+                case '}': return simple(PmmLexer.T__6, start);
+                case ',': return simple(PmmLexer.T__7, start);
+                case ';': return simple(PmmLexer.T__8, start);
+                case '[': return simple(PmmLexer.T__16, start);
+                case ']': return simple(PmmLexer.T__17, start);
+                case '-': return simple(PmmLexer.T__19, start);
+                case '*': return simple(PmmLexer.T__21, start);
+                case '/': return simple(PmmLexer.T__22, start);
+                case '%': return simple(PmmLexer.T__23, start);
+                case '+': return simple(PmmLexer.T__24, start);
+                case '=': return operator(PmmLexer.T__11, '=', PmmLexer.T__30, start);
+                case '!': return operator(PmmLexer.T__20, '=', PmmLexer.T__29, start);
+                case '>': return operator(PmmLexer.T__26, '=', PmmLexer.T__25, start);
+                case '<': return operator(PmmLexer.T__28, '=', PmmLexer.T__27, start);
+                case '&':
+                    if (at(start + 1) == '&')
+                        return token(PmmLexer.T__31, start, start + 2);
+                    error(start, start + 1);
+                    continue;
+                case '|':
+                    if (at(start + 1) == '|')
+                        return token(PmmLexer.T__32, start, start + 2);
+                    error(start, start + 1);
+                    continue;
+                case '\'':
+                    Token character = charConstant(start);
+                    if (character != null)
+                        return character;
+                    continue;
+                case '.':
+                case '0': case '1': case '2': case '3': case '4':
+                case '5': case '6': case '7': case '8': case '9':
+                    return number(start);
+                default:
+                    if (isLetter(c) || c == '_')
+                        return word(start);
+                    error(start, start);
+            }
+        }
+    }
+
+    // * Tokens
+
+    private Token simple(int type, int start) {
+        return token(type, start, start + 1);
+    }
+
+    private Token operator(int type, char second, int longType, int start) {
+        return at(start + 1) == second ? token(longType, start, start + 2) : token(type, start, start + 1);
+    }
+
+    private Token token(int type, int start, int end) {
+        index = end;
+        return new PmmToken(this, type, start, end - 1, line, start - lineStart);
+    }
+
+    /**
+     * Keywords, BOOL_CONSTANT and ID.
+     */
+    private Token word(int start) {
+        int end = start + 1;
+        while (end < length && (isLetter(chars[end]) || isDigit(chars[end]) || chars[end] == '_'))
+            end++;
+        for (int type = PmmLexer.T__0; type < KEYWORDS.length; type++)
+            if (KEYWORDS[type] != null && matches(KEYWORDS[type], start, end))
+                return token(type, start, end);
+        if (matches(TRUE, start, end) || matches(FALSE, start, end))
+            return token(PmmLexer.BOOL_CONSTANT, start, end);
+        int id = names.intern(chars, start, end);
+        index = end;
+        return new PmmToken(this, PmmLexer.ID, start, end - 1, line, start - lineStart, names.getName(id), id);
+    }
+
+    private static final char[] TRUE = "true".toCharArray(), FALSE = "false".toCharArray();
+
+    private boolean matches(char[] word, int start, int end) {
+        if (word.length != end - start)
+            return false;
+        for (int i = 0; i < word.length; i++)
+            if (chars[start + i] != word[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * INT_CONSTANT, REAL_CONSTANT and '.'. Every candidate mantissa (INT, INT '.', INT '.' DECIMAL_PART and
+     * '.' DECIMAL_PART) is tried with and without exponent, and the longest one is taken.
+     */
+    private Token number(int start) {
+        int integerEnd = start;
+        if (chars[start] == '0')
+            integerEnd = start + 1;
+        else if (chars[start] != '.')
+            integerEnd = digits(start);
+
+        int longest = integerEnd, type = PmmLexer.INT_CONSTANT;
+        if (integerEnd > start) {
+            int exponent = exponent(integerEnd);
+            if (exponent > longest) {
+                longest = exponent;
+                type = PmmLexer.REAL_CONSTANT;
+            }
+        }
+        if (at(integerEnd) == '.') {
+            int decimals = integerEnd + 1, decimalsEnd = digits(decimals);
+            if (integerEnd > start)
+                longest = realCandidate(decimals, longest);
+            for (int end = decimals + 1; end <= decimalsEnd; end++)
+                if (chars[end - 1] != '0' || end == decimals + 1 && chars[decimals] == '0')
+                    longest = realCandidate(end, longest);
+            if (longest > integerEnd)
+                type = PmmLexer.REAL_CONSTANT;
+            else if (integerEnd == start)
+                return token(PmmLexer.T__18, start, start + 1);
+        }
+        return token(type, start, longest);
+    }
+
+    private int realCandidate(int mantissaEnd, int longest) {
+        return Math.max(longest, Math.max(mantissaEnd, exponent(mantissaEnd)));
+    }
+
+    /**
+     * @return the end of [Ee][+-]?INT_CONSTANT starting at the position, or -1 if there is none.
+     */
+    private int exponent(int position) {
+        char e = at(position);
+        if (e != 'e' && e != 'E')
+            return -1;
+        int integer = position + 1;
+        if (at(integer) == '+' || at(integer) == '-')
+            integer++;
+        char first = at(integer);
+        if (first == '0')
+            return integer + 1;
+        return isDigit(first) ? digits(integer) : -1;
+    }
+
+    private int digits(int position) {
+        while (position < length && isDigit(chars[position]))
+            position++;
+        return position;
+    }
+
+    /**
+     * 'c', '\n', '\t', '\ddd'. Returns null after reporting a malformed one.
+     */
+    private Token charConstant(int start) {
+        int position = start + 1;
+        if (position >= length) {
+            error(start, position);
+            return null;
+        }
+        if (at(position + 1) == '\'') {
+            Token token = token(PmmLexer.CHAR_CONSTANT, start, position + 2);
+            if (chars[position] == '\n')
+                newLine(position + 1);
+            return token;
+        }
+        if (chars[position] == '\\') {
+            char escape = at(position + 1);
+            if (escape == 'n' || escape == 't') {
+                if (at(position + 2) == '\'')
+                    return token(PmmLexer.CHAR_CONSTANT, start, position + 3);
+                error(start, position + 2);
+                return null;
+            }
+            if (isDigit(escape)) {
+                for (int i = position + 2; i < position + 4; i++)
+                    if (!isDigit(at(i))) {
+                        error(start, i);
+                        return null;
+                    }
+                if (at(position + 4) == '\'')
+                    return token(PmmLexer.CHAR_CONSTANT, start, position + 5);
+                error(start, position + 4);
+                return null;
+            }
+        }
+        error(start, position + 1);
+        return null;
+    }
+
+    // * Skipped input
+
+    private void skipComment() {
+        while (index < length && chars[index] != '\n')
+            index++;
+        if (index < length)
+            newLine(++index);
+    }
+
+    /**
+     * Skips a """ comment, or reports the error.
+     */
+    private void skipMultiLineComment() {
+        int start = index;
+        if (at(start + 1) != '"') {
+            error(start, start + 1);
+            return;
+        }
+        if (at(start + 2) != '"') {
+            error(start, start + 2);
+            return;
+        }
+        for (int i = start + 3; i + 2 < length; i++)
+            if (chars[i] == '"' && chars[i + 1] == '"' && chars[i + 2] == '"') {
+                advance(start, i + 3);
+                return;
+            }
+        error(start, length);
+    }
+
+    /**
+     * Moves to the end position, keeping track of the lines skipped.
+     */
+    private void advance(int from, int end) {
+        for (int i = from; i < end; i++)
+            if (chars[i] == '\n')
+                newLine(i + 1);
+        index = end;
+    }
+
+    private void newLine(int start) {
+        line++;
+        lineStart = start;
+    }
+
+    // * Errors
+
+    /**
+     * Reports the text from the start of the token to the first character that cannot be part of it, and
+     * skips both, as the recovery of the ANTLR lexers does (nothing is skipped past the end of the input).
+     */
+    private void error(int start, int failed) {
+        int stop = Math.min(failed, length - 1);
+        String text = new String(chars, start, stop - start + 1);
+        String message = "token recognition error at: '" + escape(text) + "'";
+        int column = start - lineStart, errorLine = line;
+        for (ANTLRErrorListener listener : listeners)
+            listener.syntaxError(null, null, errorLine, column, message, null);
+        advance(start, stop + 1);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\n", "\\n").replace("\t", "\\t").replace("\r", "\\r");
+    }
+
+    public void addErrorListener(ANTLRErrorListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeErrorListeners() {
+        listeners.clear();
+    }
+
+    // * Characters
+
+    private char at(int position) {
+        return position < length ? chars[position] : (char) -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    // * TokenSource
+
+    @Override
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public int getCharPositionInLine() {
+        return index - lineStart;
+    }
+
+    @Override
+    public CharStream getInputStream() {
+        return null;
+    }
+
+    @Override
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    @Override
+    public void setTokenFactory(TokenFactory<?> factory) {
+        this.tokenFactory = factory;
+    }
+
+    @Override
+    public TokenFactory<?> getTokenFactory() {
+        return tokenFactory;
+    }
+}
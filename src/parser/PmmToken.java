@@ -0,0 +1,222 @@
+package parser;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.WritableToken;
+import symboltable.NameTable;
+
+/**
+ * Token of the PmmScanner. It keeps the offsets of the lexeme in the source instead of its text,
+ * which is only built when getText is called, and it decodes the values of the literals straight
+ * from the source characters. An ID has the id of its name and the interned name as its text.
+ */
+public class PmmToken implements WritableToken {
+
+    private final PmmScanner source;
+    private int type;
+    private int line;
+    private int charPositionInLine;
+    private int channel = DEFAULT_CHANNEL;
+    private int tokenIndex = -1;
+    private final int start;
+    private final int stop;
+    private String text;
+    private final int nameId;
+
+    PmmToken(PmmScanner source, int type, int start, int stop, int line, int charPositionInLine) {
+        this(source, type, start, stop, line, charPositionInLine, null, NameTable.NONE);
+    }
+
+    PmmToken(PmmScanner source, int type, int start, int stop, int line, int charPositionInLine, String name, int nameId) {
+        this.source = source;
+        this.type = type;
+        this.start = start;
+        this.stop = stop;
+        this.line = line;
+        this.charPositionInLine = charPositionInLine;
+        this.text = name;
+        this.nameId = nameId;
+    }
+
+    @Override
+    public String getText() {
+        if (text == null)
+            text = type == EOF ? "<EOF>" : new String(source.chars(), start, stop - start + 1);
+        return text;
+    }
+
+    /**
+     * @return the id of the name of an ID in the NameTable of the PmmScanner, NameTable.NONE for the rest.
+     */
+    public int getNameId() {
+        return nameId;
+    }
+
+    /**
+     * Value of an INT_CONSTANT, as LexerHelper.lexemeToInt would return it.
+     */
+    public int intValue() {
+        char[] chars = source.chars();
+        long value = 0;
+        for (int i = start; i <= stop; i++) {
+            value = value * 10 + (chars[i] - '0');
+            if (value > Integer.MAX_VALUE)
+                return LexerHelper.lexemeToInt(getText());
+        }
+        return (int) value;
+    }
+
+    /**
+     * Value of a BOOL_CONSTANT: "true" is the only one of 4 characters.
+     */
+    public boolean booleanValue() {
+        return stop - start + 1 == 4;
+    }
+
+    /**
+     * Value of a CHAR_CONSTANT, as LexerHelper.lexemeToChar would return it.
+     */
+    public char charValue() {
+        char[] chars = source.chars();
+        switch (stop - start + 1) {
+            case 3:
+                return chars[start + 1];
+            case 4:
+                return chars[start + 2] == 'n' ? '\n' : chars[start + 2] == 't' ? '\t' : (char) -1;
+            case 6:
+                return (char) ((chars[start + 2] - '0') * 100 + (chars[start + 3] - '0') * 10 + (chars[start + 4] - '0'));
+            default:
+                return (char) -1;
+        }
+    }
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Value of a REAL_CONSTANT, as LexerHelper.lexemeToReal would return it. When the digits fit in the
+     * 53 bits of a double and the power of ten is exact, a single multiplication or division gives the
+     * correctly rounded value, as Double.parseDouble does; otherwise the text is parsed.
+     */
+    public double realValue() {
+        char[] chars = source.chars();
+        long mantissa = 0;
+        int digits = 0, exponent = 0, i = start;
+        for (; i <= stop && chars[i] != 'e' && chars[i] != 'E'; i++) {
+            if (chars[i] == '.') {
+                exponent = -countDigits(chars, i + 1);
+                continue;
+            }
+            if (mantissa != 0 || chars[i] != '0')
+                digits++;
+            mantissa = mantissa * 10 + (chars[i] - '0');
+            if (digits > 15)
+                return LexerHelper.lexemeToReal(getText());
+        }
+        if (i <= stop) {
+            boolean negative = chars[++i] == '-';
+            if (chars[i] == '+' || chars[i] == '-')
+                i++;
+            int value = 0;
+            for (; i <= stop; i++) {
+                value = value * 10 + (chars[i] - '0');
+                if (value > 1000)
+                    return LexerHelper.lexemeToReal(getText());
+            }
+            exponent += negative ? -value : value;
+        }
+        if (exponent < -22 || exponent > 22)
+            return LexerHelper.lexemeToReal(getText());
+        return exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+    }
+
+    private int countDigits(char[] chars, int from) {
+        int count = 0;
+        while (from + count <= stop && chars[from + count] >= '0' && chars[from + count] <= '9')
+            count++;
+        return count;
+    }
+
+    @Override
+    public int getType() {
+        return type;
+    }
+
+    @Override
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public int getCharPositionInLine() {
+        return charPositionInLine;
+    }
+
+    @Override
+    public int getChannel() {
+        return channel;
+    }
+
+    @Override
+    public int getTokenIndex() {
+        return tokenIndex;
+    }
+
+    @Override
+    public int getStartIndex() {
+        return start;
+    }
+
+    @Override
+    public int getStopIndex() {
+        return stop;
+    }
+
+    @Override
+    public TokenSource getTokenSource() {
+        return source;
+    }
+
+    @Override
+    public CharStream getInputStream() {
+        return source.getInputStream();
+    }
+
+    @Override
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public void setType(int type) {
+        this.type = type;
+    }
+
+    @Override
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    @Override
+    public void setCharPositionInLine(int pos) {
+        this.charPositionInLine = pos;
+    }
+
+    @Override
+    public void setChannel(int channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void setTokenIndex(int index) {
+        this.tokenIndex = index;
+    }
+
+    @Override
+    public String toString() {
+        String shown = getText().replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t");
+        return "[@" + tokenIndex + "," + start + ":" + stop + "='" + shown + "',<" + type + ">," + line + ":" + charPositionInLine + "]";
+    }
+}
@@ -0,0 +1,587 @@
+package parser;
+
+import ast.Program;
+import ast.definition.Definition;
+import ast.definition.FunctionDefinition;
+import ast.definition.VarDefinition;
+import ast.expression.ArrayAccess;
+import ast.expression.Expression;
+import ast.expression.FieldAccess;
+import ast.expression.FunctionInvocation;
+import ast.expression.binary.Arithmetic;
+import ast.expression.binary.Comparison;
+import ast.expression.binary.Logical;
+import ast.expression.unary.Cast;
+import ast.expression.unary.Negation;
+import ast.expression.unary.UnaryMinus;
+import ast.expression.value.*;
+import ast.statement.*;
+import ast.type.*;
+import errorhandler.ErrorHandler;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static parser.PmmLexer.*;
+
+/**
+ * Hand-written parser of Pmm that builds the same AST as the actions of Pmm.g4, without a parse tree.
+ *
+ * Definitions and statements are parsed by recursive descent, with two tokens of lookahead, and the
+ * expressions by precedence climbing: postfix [] and . bind tighter than the prefix cast, - and !, and
+ * these tighter than the left associative binary operators, from * / % down to && ||, as the order of the
+ * alternatives of the expression rule defines.
+ *
+ * Syntax errors are reported with ErrorType, with the message of the ANTLR parser ("mismatched input
+ * 'x' expecting ..."). The parser then skips to the end of the statement or definition and goes on.
+ */
+public class RecursiveDescentParser {
+
+    /** Tokens that can start an expression, for the error messages */
+    private static final int[] EXPRESSION_START = {T__2, T__19, T__20, INT_CONSTANT, BOOL_CONSTANT, REAL_CONSTANT, CHAR_CONSTANT, ID};
+    /** Tokens that can follow an expression and continue it */
+    private static final int[] OPERATORS = {T__16, T__18, T__19, T__21, T__22, T__23, T__24, T__25, T__26, T__27, T__28, T__29, T__30, T__31, T__32};
+
+    private static final int LOGICAL = 1, COMPARISON = 2, ADDITIVE = 3, MULTIPLICATIVE = 4;
+
+    /**
+     * Thrown after reporting a syntax error, to recover at the enclosing statement or definition.
+     */
+    private static class SyntaxError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        SyntaxError() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final TokenSource source;
+    private Token current, next;
+    private int consumed;
+    private Consumer<Definition> definitionSink;
+
+    public RecursiveDescentParser(TokenSource source) {
+        this.source = source;
+        this.current = source.nextToken();
+        this.next = source.nextToken();
+    }
+
+    /**
+     * Hands every top-level definition to the sink as soon as it is parsed, instead of keeping it in the
+     * Program, whose list of definitions is then empty.
+     */
+    public void setDefinitionSink(Consumer<Definition> definitionSink) {
+        this.definitionSink = definitionSink;
+    }
+
+    /**
+     * program: definition* main_definition EOF
+     */
+    public Program program() {
+        List<Definition> definitions = new ArrayList<>();
+        while (current.getType() != EOF && !(current.getType() == T__0 && next.getType() == T__1)) {
+            int start = consumed;
+            try {
+                if (current.getType() == T__0)
+                    deliver(definitions, Collections.singletonList(functionDefinition()));
+                else if (current.getType() == ID) {
+                    List<Definition> variables = new ArrayList<>();
+                    variableDefinition(variables);
+                    deliver(definitions, variables);
+                }
+                else
+                    throw error(T__0, ID);
+            } catch (SyntaxError e) {
+                synchronize(start, T__0);
+            }
+        }
+        try {
+            deliver(definitions, Collections.singletonList(mainDefinition()));
+            match(EOF);
+        } catch (SyntaxError e) {
+            // * Nothing left to recover
+        }
+        return new Program(definitions, 0, 0);
+    }
+
+    private void deliver(List<Definition> definitions, List<? extends Definition> parsed) {
+        if (definitionSink == null)
+            definitions.addAll(parsed);
+        else
+            parsed.forEach(definitionSink);
+    }
+
+    // * Definitions
+
+    /**
+     * main_definition: 'def' 'main' '(' ')' ':' '{' variable_definition* statement* '}'
+     */
+    private FunctionDefinition mainDefinition() {
+        match(T__0);
+        Token idFunction = match(T__1);
+        match(T__2);
+        match(T__3);
+        match(T__4);
+        FunctionType funcType = new FunctionType(VoidType.getInstance(), idFunction.getLine(), idFunction.getCharPositionInLine() + 1);
+        List<VarDefinition> variables = new ArrayList<>();
+        List<Statement> statements = new ArrayList<>();
+        FunctionDefinition function = new FunctionDefinition(idFunction.getText(), LexerHelper.nameId(idFunction), funcType, statements, variables, idFunction.getLine(), idFunction.getCharPositionInLine() + 1);
+        functionBody(variables, statements);
+        return function;
+    }
+
+    /**
+     * function_definition: 'def' ID '(' (ID ':' built_in_type (',' ID ':' built_in_type)*)? ')' ':' type? '{' ... '}'
+     */
+    private FunctionDefinition functionDefinition() {
+        match(T__0);
+        Token idFunction = match(ID);
+        match(T__2);
+        List<VarDefinition> paramDefinitions = new ArrayList<>();
+        if (current.getType() != T__3) {
+            paramDefinitions.add(parameter());
+            while (current.getType() == T__7) {
+                consume();
+                paramDefinitions.add(parameter());
+            }
+        }
+        match(T__3);
+        match(T__4);
+        Type returnType = current.getType() == T__5 ? VoidType.getInstance() : type();
+        FunctionType funcType = new FunctionType(returnType, idFunction.getLine(), idFunction.getCharPositionInLine() + 1);
+        List<VarDefinition> variables = new ArrayList<>();
+        List<Statement> statements = new ArrayList<>();
+        FunctionDefinition function = new FunctionDefinition(idFunction.getText(), LexerHelper.nameId(idFunction), funcType, statements, variables, idFunction.getLine(), idFunction.getCharPositionInLine() + 1);
+        functionBody(variables, statements);
+        paramDefinitions.forEach(funcType::addParameter);
+        return function;
+    }
+
+    private VarDefinition parameter() {
+        Token id = match(ID);
+        match(T__4);
+        return new VarDefinition(id.getText(), LexerHelper.nameId(id), builtInType(), id.getLine(), id.getCharPositionInLine() + 1);
+    }
+
+    /**
+     * '{' variable_definition* statement* '}', appended to the lists of the function.
+     */
+    private void functionBody(List<VarDefinition> variables, List<Statement> statements) {
+        match(T__5);
+        while (current.getType() == ID && (next.getType() == T__7 || next.getType() == T__4)) {
+            int start = consumed;
+            try {
+                variableDefinition(variables);
+            } catch (SyntaxError e) {
+                synchronize(start);
+            }
+        }
+        while (current.getType() != T__6 && current.getType() != EOF && current.getType() != T__0)
+            safeStatement(statements);
+        match(T__6);
+    }
+
+    /**
+     * variable_definition: ID (',' ID)* ':' type ';'
+     * The definitions are only appended once the whole of it is parsed.
+     */
+    private void variableDefinition(List<? super VarDefinition> definitions) {
+        List<Token> ids = new ArrayList<>(2);
+        Set<String> distinct = null;
+        Token id1 = match(ID);
+        ids.add(id1);
+        while (current.getType() == T__7) {
+            consume();
+            Token id2 = match(ID);
+            if (distinct == null) {
+                distinct = new HashSet<>();
+                distinct.add(id1.getText());
+            }
+            if (!distinct.add(id2.getText()))
+                new ErrorType("There cannot be two variables with the same name", id2.getLine(), id2.getCharPositionInLine() + 1);
+            ids.add(id2);
+        }
+        match(T__4);
+        Type type = type();
+        match(T__8);
+        for (Token id : ids)
+            definitions.add(new VarDefinition(id.getText(), LexerHelper.nameId(id), type, id1.getLine(), id1.getCharPositionInLine() + 1));
+    }
+
+    // * Types
+
+    private Type builtInType() {
+        switch (current.getType()) {
+            case T__33:
+                consume();
+                return CharType.getInstance();
+            case T__34:
+                consume();
+                return IntegerType.getInstance();
+            case T__35:
+                consume();
+                return DoubleType.getInstance();
+            case T__36:
+                consume();
+                return BooleanType.getInstance();
+            default:
+                throw error(T__33, T__34, T__35, T__36);
+        }
+    }
+
+    /**
+     * type: built_in_type | '[' INT_CONSTANT ']' type | 'struct' '{' (ID (',' ID)* ':' type ';')* '}'
+     */
+    private Type type() {
+        if (current.getType() == T__16) {
+            Token lineMarker = consume();
+            Token size = match(INT_CONSTANT);
+            match(T__17);
+            return new ArrayType(LexerHelper.lexemeToInt(size), type(), lineMarker.getLine(), lineMarker.getCharPositionInLine() + 1);
+        }
+        if (current.getType() != T__37)
+            return builtInType();
+
+        Token structKeyword = consume();
+        RecordType record = new RecordType(structKeyword.getLine(), structKeyword.getCharPositionInLine() + 1);
+        Set<String> fieldNames = new HashSet<>();
+        List<Token> fieldIds = new ArrayList<>();
+        match(T__5);
+        while (current.getType() == ID) {
+            fieldIds.clear();
+            fieldIds.add(field(fieldNames));
+            while (current.getType() == T__7) {
+                consume();
+                fieldIds.add(field(fieldNames));
+            }
+            match(T__4);
+            Type type = type();
+            match(T__8);
+            for (Token id : fieldIds)
+                record.addField(new RecordField(type, id.getText(), id.getLine(), id.getCharPositionInLine() + 1));
+        }
+        match(T__6);
+        return record;
+    }
+
+    private Token field(Set<String> fieldNames) {
+        Token id = match(ID);
+        if (!fieldNames.add(id.getText())) {
+            new ErrorType("There cannot be two fields with the same name", id.getLine(), id.getCharPositionInLine() + 1);
+            ErrorHandler.getInstance().showErrors(System.out);
+        }
+        return id;
+    }
+
+    // * Statements
+
+    private void safeStatement(List<Statement> statements) {
+        int start = consumed, size = statements.size();
+        try {
+            statement(statements);
+        } catch (SyntaxError e) {
+            // * The prints of the expressions before the error were appended already
+            statements.subList(size, statements.size()).clear();
+            synchronize(start);
+        }
+    }
+
+    /**
+     * Appends the statement to the list, several ones for a print of more than one expression.
+     */
+    private void statement(List<Statement> statements) {
+        Expression expression;
+        switch (current.getType()) {
+            case T__9: // print
+                consume();
+                expression = expression();
+                statements.add(new Print(expression, expression.getLine(), expression.getColumn()));
+                while (current.getType() == T__7) {
+                    consume();
+                    expression = expression();
+                    statements.add(new Print(expression, expression.getLine(), expression.getColumn()));
+                }
+                matchAfterExpression(T__8, T__7);
+                return;
+            case T__10: // input
+                consume();
+                expression = expression();
+                statements.add(new Input(expression, expression.getLine(), expression.getColumn()));
+                matchAfterExpression(T__8);
+                return;
+            case T__12: // if
+                consume();
+                expression = expression();
+                matchAfterExpression(T__4);
+                List<Statement> ifBody = new ArrayList<>(), elseBody = new ArrayList<>(0);
+                body(ifBody);
+                if (current.getType() == T__13) {
+                    consume();
+                    elseBody = new ArrayList<>();
+                    body(elseBody);
+                }
+                statements.add(new IfElse(expression, ifBody, elseBody, expression.getLine(), expression.getColumn()));
+                return;
+            case T__14: // while
+                consume();
+                expression = expression();
+                matchAfterExpression(T__4);
+                List<Statement> whileBody = new ArrayList<>();
+                body(whileBody);
+                statements.add(new While(expression, whileBody, expression.getLine(), expression.getColumn()));
+                return;
+            case T__15: // return
+                consume();
+                expression = expression();
+                matchAfterExpression(T__8);
+                statements.add(new Return(expression, expression.getLine(), expression.getColumn()));
+                return;
+            default:
+                // * ID '(' is an invocation, unless the expression goes on and it is the left side of an assignment
+                if (current.getType() == ID && next.getType() == T__2) {
+                    FunctionInvocation invocation = invocation(consume());
+                    if (current.getType() == T__8) {
+                        consume();
+                        statements.add(invocation);
+                        return;
+                    }
+                    expression = binary(postfix(invocation), LOGICAL);
+                } else
+                    expression = expression();
+                matchAfterExpression(T__11);
+                Expression right = expression();
+                matchAfterExpression(T__8);
+                statements.add(new Assignment(expression, right, expression.getLine(), expression.getColumn()));
+                return;
+        }
+    }
+
+    /**
+     * body: '{' statement* '}' | statement
+     */
+    private void body(List<Statement> statements) {
+        if (current.getType() != T__5) {
+            statement(statements);
+            return;
+        }
+        consume();
+        while (current.getType() != T__6 && current.getType() != EOF && current.getType() != T__0)
+            safeStatement(statements);
+        match(T__6);
+    }
+
+    // * Expressions
+
+    public Expression expression() {
+        return binary(unary(), LOGICAL);
+    }
+
+    /**
+     * Precedence climbing: takes the operators of at least the given precedence, parsing the right operand
+     * of each one with the operators of higher precedence only, so all of them are left associative.
+     */
+    private Expression binary(Expression left, int minPrecedence) {
+        int precedence;
+        while ((precedence = precedence(current.getType())) >= minPrecedence) {
+            Token operator = consume();
+            Expression right = binary(unary(), precedence + 1);
+            switch (precedence) {
+                case LOGICAL:
+                    left = new Logical(left, operator.getText(), right, left.getLine(), left.getColumn());
+                    break;
+                case COMPARISON:
+                    left = new Comparison(left, operator.getText(), right, left.getLine(), left.getColumn());
+                    break;
+                default:
+                    left = new Arithmetic(left, operator.getText(), right, left.getLine(), left.getColumn());
+            }
+        }
+        return left;
+    }
+
+    private static int precedence(int type) {
+        switch (type) {
+            case T__31: case T__32:
+                return LOGICAL;
+            case T__25: case T__26: case T__27: case T__28: case T__29: case T__30:
+                return COMPARISON;
+            case T__19: case T__24:
+                return ADDITIVE;
+            case T__21: case T__22: case T__23:
+                return MULTIPLICATIVE;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Prefix operators: '(' built_in_type ')' expression | '-' expression | '!' expression
+     */
+    private Expression unary() {
+        Expression expression;
+        switch (current.getType()) {
+            case T__2:
+                if (!isBuiltInType(next.getType()))
+                    return postfix(primary());
+                consume();
+                Type type = builtInType();
+                match(T__3);
+                expression = unary();
+                return new Cast(type, expression, expression.getLine(), expression.getColumn());
+            case T__19:
+                consume();
+                expression = unary();
+                return new UnaryMinus(expression, expression.getLine(), expression.getColumn());
+            case T__20:
+                consume();
+                expression = unary();
+                return new Negation(expression, expression.getLine(), expression.getColumn());
+            default:
+                return postfix(primary());
+        }
+    }
+
+    private static boolean isBuiltInType(int type) {
+        return type >= T__33 && type <= T__36;
+    }
+
+    /**
+     * Postfix operators: expression '[' expression ']' | expression '.' ID
+     */
+    private Expression postfix(Expression expression) {
+        while (true) {
+            if (current.getType() == T__16) {
+                consume();
+                Expression index = expression();
+                matchAfterExpression(T__17);
+                expression = new ArrayAccess(expression, index, expression.getLine(), expression.getColumn());
+            } else if (current.getType() == T__18) {
+                consume();
+                Token id = match(ID);
+                expression = new FieldAccess(expression, id.getText(), expression.getLine(), expression.getColumn());
+            } else
+                return expression;
+        }
+    }
+
+    private Expression primary() {
+        Token token = current;
+        int line = token.getLine(), column = token.getCharPositionInLine() + 1;
+        switch (token.getType()) {
+            case INT_CONSTANT:
+                consume();
+                return new IntLiteral(LexerHelper.lexemeToInt(token), line, column);
+            case CHAR_CONSTANT:
+                consume();
+                return new CharLiteral(LexerHelper.lexemeToChar(token), line, column);
+            case REAL_CONSTANT:
+                consume();
+                return new DoubleLiteral(LexerHelper.lexemeToReal(token), line, column);
+            case BOOL_CONSTANT:
+                consume();
+                return new BoolLiteral(LexerHelper.lexemeToBoolean(token), line, column);
+            case ID:
+                consume();
+                if (current.getType() == T__2)
+                    return invocation(token);
+                return new Variable(token.getText(), LexerHelper.nameId(token), line, column);
+            case T__2:
+                consume();
+                Expression expression = expression();
+                matchAfterExpression(T__3);
+                return expression;
+            default:
+                throw error(EXPRESSION_START);
+        }
+    }
+
+    /**
+     * ID '(' (expression (',' expression)*)? ')', with the ID already consumed.
+     */
+    private FunctionInvocation invocation(Token id) {
+        int line = id.getLine(), column = id.getCharPositionInLine() + 1;
+        FunctionInvocation functionInvocation = new FunctionInvocation(new Variable(id.getText(), LexerHelper.nameId(id), line, column), line, column);
+        match(T__2);
+        if (current.getType() != T__3) {
+            functionInvocation.addParameter(expression());
+            while (current.getType() == T__7) {
+                consume();
+                functionInvocation.addParameter(expression());
+            }
+            matchAfterExpression(T__3, T__7);
+        } else
+            consume();
+        return functionInvocation;
+    }
+
+    // * Tokens
+
+    private Token consume() {
+        Token token = current;
+        consumed++;
+        current = next;
+        next = current.getType() == EOF ? current : source.nextToken();
+        return token;
+    }
+
+    private Token match(int type) {
+        if (current.getType() != type)
+            throw error(type);
+        return consume();
+    }
+
+    /**
+     * Matches the token that ends an expression; the operators that could have continued it are also
+     * expected in the error message.
+     */
+    private void matchAfterExpression(int... types) {
+        for (int type : types)
+            if (current.getType() == type) {
+                consume();
+                return;
+            }
+        int[] expected = Arrays.copyOf(types, types.length + OPERATORS.length);
+        System.arraycopy(OPERATORS, 0, expected, types.length, OPERATORS.length);
+        throw error(expected);
+    }
+
+    private SyntaxError error(int... expected) {
+        String text = current.getType() == EOF ? "<EOF>" : current.getText()
+                .replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t");
+        String expecting = Arrays.stream(expected).distinct().sorted()
+                .mapToObj(type -> type == EOF ? "<EOF>" : PmmParser.VOCABULARY.getDisplayName(type)).collect(Collectors.joining(", "));
+        new ErrorType(current.getLine(), current.getCharPositionInLine() + 1, "mismatched input '%s' expecting %s",
+                text, expected.length == 1 ? expecting : "{" + expecting + "}");
+        return new SyntaxError();
+    }
+
+    /**
+     * Skips the rest of a wrong statement or definition: up to a ';', which is consumed, or up to a '}',
+     * the start of a statement, the end of the input or any of the given tokens. At least one token is
+     * skipped, so the parser always moves on.
+     * @param start number of tokens consumed when the statement or definition began.
+     */
+    private void synchronize(int start, int... stops) {
+        if (consumed == start && current.getType() != EOF)
+            consume();
+        while (true) {
+            int type = current.getType();
+            if (type == T__8) {
+                consume();
+                return;
+            }
+            if (type == EOF || type == T__6 || type == T__0 || type == T__9 || type == T__10 || type == T__12
+                    || type == T__14 || type == T__15 || Arrays.stream(stops).anyMatch(stop -> stop == type))
+                return;
+            consume();
+        }
+    }
+}
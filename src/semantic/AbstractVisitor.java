@@ -17,25 +17,31 @@ import ast.expression.value.*;
 import ast.statement.*;
 import ast.type.*;
 
+import java.util.List;
+
 public abstract class AbstractVisitor<TP, TR> implements Visitor<TP, TR> {
 
+    /**
+     * Visits the children in order. They are lists of the AST, which are random access, so they are
+     * indexed instead of allocating an iterator for every node visited.
+     */
+    protected void visitAll(List<? extends AstNode> nodes, TP param) {
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).accept(this, param);
+        }
+    }
+
     @Override
     public TR visit(Program program, TP param) {
-        for (AstNode astNode : program.getProgram()) {
-            astNode.accept(this, param);
-        }
+        visitAll(program.getProgram(), param);
         return null;
     }
 
     @Override
     public TR visit(FunctionDefinition functionDefinition, TP param) {
         functionDefinition.getType().accept(this, param);
-        for (AstNode astNode : functionDefinition.getFunctionVariables()) {
-            astNode.accept(this, param);
-        }
-        for (AstNode astNode : functionDefinition.getFunctionStatements()) {
-            astNode.accept(this, param);
-        }
+        visitAll(functionDefinition.getFunctionVariables(), param);
+        visitAll(functionDefinition.getFunctionStatements(), param);
         return null;
     }
 
@@ -66,21 +72,15 @@ public abstract class AbstractVisitor<TP, TR> implements Visitor<TP, TR> {
     @Override
     public TR visit(While whileSt, TP param) {
         whileSt.getCondition().accept(this, param);
-        for (AstNode astNode : whileSt.getBody()) {
-            astNode.accept(this, param);
-        }
+        visitAll(whileSt.getBody(), param);
         return null;
     }
 
     @Override
     public TR visit(IfElse ifElse, TP param) {
         ifElse.getCondition().accept(this, param);
-        for (AstNode astNode : ifElse.getIfBody()) {
-            astNode.accept(this, param);
-        }
-        for (AstNode astNode : ifElse.getElseBody()) {
-            astNode.accept(this, param);
-        }
+        visitAll(ifElse.getIfBody(), param);
+        visitAll(ifElse.getElseBody(), param);
         return null;
     }
 
@@ -172,18 +172,14 @@ public abstract class AbstractVisitor<TP, TR> implements Visitor<TP, TR> {
     @Override
     public TR visit(FunctionInvocation functionInvocation, TP param) {
         //functionInvocation.getVariable().accept(this, param);
-        for (AstNode astNode : functionInvocation.getParameters()){
-            astNode.accept(this, param);
-        }
+        visitAll(functionInvocation.getParameters(), param);
         return null;
     }
 
     @Override
     public TR visit(FunctionType functionType, TP param) {
         functionType.getReturnType().accept(this, param);
-        for (AstNode astNode : functionType.getParameters()){
-            astNode.accept(this, param);
-        }
+        visitAll(functionType.getParameters(), param);
         return null;
     }
 
@@ -207,9 +203,7 @@ public abstract class AbstractVisitor<TP, TR> implements Visitor<TP, TR> {
 
     @Override
     public TR visit(RecordType recordType, TP param) {
-        for (AstNode astNode : recordType.getFields()){
-            astNode.accept(this, param);
-        }
+        visitAll(recordType.getFields(), param);
         return null;
     }
 
@@ -0,0 +1,106 @@
+package semantic;
+
+import ast.Program;
+import ast.definition.FunctionDefinition;
+import ast.definition.VarDefinition;
+import ast.expression.FunctionInvocation;
+import ast.expression.value.Variable;
+import ast.type.ErrorType;
+import ast.type.FunctionType;
+import ast.type.Type;
+import errorhandler.ErrorHandler;
+import symboltable.NameTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Identification, layout and type checking of a Program in a single traversal, instead of an
+ * IdentificationVisitor pass followed by a TypeCheckingVisitor one, which remain the reference.
+ *
+ * Pmm requires every name to be defined before it is used, so a node can be identified right before it is
+ * type checked: every definition is inserted and laid out when it is reached, and every Variable and
+ * invocation identified before its type is computed. The nodes end with the same definitions, slots,
+ * types and lvalues as with the two passes. The errors are those of the two passes in the same order:
+ * they are buffered while visiting the program, and then the ones of identification are added before
+ * the others. Only past the limit of errors of the ErrorHandler they may be others: the traversal stops
+ * at the error that reaches it, while the two passes would have found every identification error first.
+ */
+public class FusedSemanticVisitor extends TypeCheckingVisitor {
+
+    private final IdentificationVisitor identification;
+    private final Set<ErrorType> identificationErrors = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public FusedSemanticVisitor() {
+        this(new NameTable());
+    }
+
+    /**
+     * @param names table of the names of the program, so the ids of its nodes index the symbol table.
+     */
+    public FusedSemanticVisitor(NameTable names) {
+        this.identification = new IdentificationVisitor(names, identificationErrors);
+    }
+
+    /**
+     * Bytes taken by the global variables once the program has been visited.
+     */
+    public int getGlobalOffset() {
+        return identification.getGlobalOffset();
+    }
+
+    @Override
+    public Void visit(Program program, Type param) {
+        ErrorHandler errorHandler = ErrorHandler.getInstance();
+        errorHandler.startBuffer();
+        try {
+            super.visit(program, param);
+        } finally {
+            List<ErrorType> identified = new ArrayList<>(), typeErrors = new ArrayList<>();
+            for (ErrorType error : errorHandler.endBuffer())
+                (identificationErrors.contains(error) ? identified : typeErrors).add(error);
+            identificationErrors.clear();
+            errorHandler.addErrors(identified);
+            errorHandler.addErrors(typeErrors);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(VarDefinition varDefinition, Type param) {
+        varDefinition.accept(identification, null);
+        return super.visit(varDefinition, param);
+    }
+
+    @Override
+    public Void visit(FunctionDefinition functionDefinition, Type param) {
+        identification.enter(functionDefinition);
+        super.visit(functionDefinition, param);
+        identification.exit(functionDefinition);
+        return null;
+    }
+
+    /**
+     * The parameters are inserted and laid out before checking the type, which may change theirs.
+     */
+    @Override
+    public Void visit(FunctionType functionType, Type param) {
+        functionType.accept(identification, null);
+        return super.visit(functionType, param);
+    }
+
+    @Override
+    public Void visit(Variable variable, Type param) {
+        variable.accept(identification, null);
+        return super.visit(variable, param);
+    }
+
+    @Override
+    public Void visit(FunctionInvocation functionInvocation, Type param) {
+        identification.identify(functionInvocation);
+        return super.visit(functionInvocation, param);
+    }
+}
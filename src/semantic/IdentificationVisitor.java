@@ -2,22 +2,70 @@ package semantic;
 
 import ast.definition.Definition;
 import ast.definition.FunctionDefinition;
+import ast.definition.Slot;
 import ast.definition.VarDefinition;
 import ast.expression.FunctionInvocation;
 import ast.expression.value.Variable;
 import ast.type.ErrorType;
+import ast.type.FunctionType;
+import ast.type.Type;
+import symboltable.NameTable;
 import symboltable.SymbolTable;
+import symboltable.TypeTable;
 
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Identifies every Variable with its definition and lays out the variables as they are defined: globals
+ * one after the other from 0, the locals of a function below BP and its parameters above it, the last one
+ * first. A Variable then shares the Slot of its definition, so code generation reads where it is stored
+ * from the Variable itself. The types of the variables are replaced with their canonical instances in the
+ * TypeTable of the compilation, which lays out the fields of every record once.
+ */
 public class IdentificationVisitor extends AbstractVisitor<Void, Void>{
 
-    private SymbolTable symbolTable = new SymbolTable();
+    private SymbolTable symbolTable;
+    private final TypeTable types = new TypeTable();
+
+    private int globalOffset = 0;
+    private int localOffset = 0;
+    private boolean parameters;
+    // * Where the errors of identification are also kept, if anywhere
+    private final Collection<ErrorType> errors;
+
+    public IdentificationVisitor() {
+        this(new NameTable());
+    }
+
+    /**
+     * @param names table of the names of the program, so the ids of its nodes index the symbol table.
+     */
+    public IdentificationVisitor(NameTable names) {
+        this(names, null);
+    }
+
+    /**
+     * @param errors where the errors found are also added, so they can be told from those of other phases.
+     */
+    IdentificationVisitor(NameTable names, Collection<ErrorType> errors) {
+        this.symbolTable = new SymbolTable(names);
+        this.errors = errors;
+    }
+
+    /**
+     * Bytes taken by the global variables once the program has been visited.
+     */
+    public int getGlobalOffset() {
+        return globalOffset;
+    }
 
     @Override
     public Void visit(Variable variable, Void param) {
-        Definition varDefinition = symbolTable.find(variable.getName());
+        Definition varDefinition = symbolTable.find(variable.getName(), variable.getNameId());
         if(varDefinition == null){
             variable.setDefinition(new VarDefinition("ERROR",
-                    new ErrorType("Variable does not exist.", variable.getLine(), variable.getColumn()),
+                    error("Variable does not exist.", variable.getLine(), variable.getColumn()),
                     0, 0));
         } else {
             variable.setDefinition(varDefinition);
@@ -27,35 +75,103 @@ public class IdentificationVisitor extends AbstractVisitor<Void, Void>{
 
     @Override
     public Void visit(FunctionInvocation funcInvocation, Void param) {
-        Definition functionDefinition = symbolTable.find(funcInvocation.getVariable().getName());
+        identify(funcInvocation);
+        super.visit(funcInvocation, param);
+        return null;
+    }
+
+    /**
+     * Identifies the function invoked, but not the arguments.
+     */
+    void identify(FunctionInvocation funcInvocation) {
+        Definition functionDefinition = symbolTable.find(funcInvocation.getVariable().getName(), funcInvocation.getVariable().getNameId());
         if(functionDefinition == null){
             funcInvocation.getVariable().setDefinition(new VarDefinition("ERROR",
-                    new ErrorType("Function does not exist.", funcInvocation.getLine(), funcInvocation.getColumn()),
+                    error("Function does not exist.", funcInvocation.getLine(), funcInvocation.getColumn()),
                     0, 0));
         } else {
             funcInvocation.getVariable().setDefinition(functionDefinition);
         }
-        super.visit(funcInvocation, param);
-        return null;
     }
 
+    /**
+     * Inserts the variable and lays it out. Its type has no names to identify, so it is only interned.
+     */
     @Override
     public Void visit(VarDefinition varDefinition, Void param) {
         if(!symbolTable.insert(varDefinition)){
-            new ErrorType("Duplicated definition name.", varDefinition.getLine(), varDefinition.getColumn());
+            error("Duplicated definition name.", varDefinition.getLine(), varDefinition.getColumn());
+        }
+        Type type = varDefinition.getType();
+        // * The type is missing after some syntax errors, and then there is no code to lay out for
+        if (type == null)
+            return null;
+        type = types.intern(type);
+        varDefinition.setType(type);
+        int size = type.numberOfBytes();
+        if (varDefinition.getScope() == 0) {
+            varDefinition.getSlot().set(Slot.Kind.GLOBAL, globalOffset, size);
+            globalOffset += size;
+        } else if (parameters) {
+            // * Offset set once all the parameters are known
+            varDefinition.getSlot().set(Slot.Kind.PARAM, 0, size);
+        } else {
+            localOffset += size;
+            varDefinition.getSlot().set(Slot.Kind.LOCAL, -localOffset, size);
         }
         return null;
     }
 
     @Override
     public Void visit(FunctionDefinition functionDefinition, Void param) {
+        enter(functionDefinition);
+        super.visit(functionDefinition, param);
+        exit(functionDefinition);
+        return null;
+    }
+
+    /**
+     * Inserts the function and opens its scope, where its parameters and local variables are inserted.
+     */
+    void enter(FunctionDefinition functionDefinition) {
         if(!symbolTable.insert(functionDefinition)){
-            new ErrorType("Duplicated definition name.", functionDefinition.getLine(), functionDefinition.getColumn());
+            error("Duplicated definition name.", functionDefinition.getLine(), functionDefinition.getColumn());
         }
         symbolTable.set();
-        super.visit(functionDefinition, param);
+        localOffset = 0;
+    }
+
+    void exit(FunctionDefinition functionDefinition) {
+        functionDefinition.setBytesForLocals(localOffset);
         symbolTable.reset();
+    }
+
+    /**
+     * Inserts the parameters and lays them out. They are pushed in order, so the last one is right above
+     * the return address and BP.
+     */
+    @Override
+    public Void visit(FunctionType functionType, Void param) {
+        parameters = true;
+        super.visit(functionType, param);
+        parameters = false;
+
+        int paramOffset = 0;
+        List<VarDefinition> params = functionType.getParameters();
+        for (int i = params.size() - 1; i >= 0; i--) {
+            Slot slot = params.get(i).getSlot();
+            slot.setOffset(4 + paramOffset); // -4 por BP
+            paramOffset += slot.getSize();
+        }
+        functionType.setBytesForParams(paramOffset);
         return null;
     }
 
+    private ErrorType error(String message, int line, int column) {
+        ErrorType error = new ErrorType(message, line, column);
+        if (errors != null)
+            errors.add(error);
+        return error;
+    }
+
 }
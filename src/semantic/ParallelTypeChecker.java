@@ -0,0 +1,139 @@
+package semantic;
+
+import ast.Program;
+import ast.definition.Definition;
+import ast.definition.FunctionDefinition;
+import ast.type.ErrorType;
+import errorhandler.ErrorHandler;
+import errorhandler.ErrorLimitException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Type checks an identified Program with the bodies of its functions checked in parallel.
+ *
+ * The global variables and the types of the functions are checked first, in order, by the calling thread,
+ * since checking a FunctionType may change it and the bodies that invoke the function read it. Then the
+ * bodies are checked by tasks of a ForkJoinPool, each of a range of consecutive definitions, and a body
+ * only writes the nodes of its own function. The errors of every definition and of every body are
+ * buffered apart and added at the end in the order of the definitions, so they are the ones of the
+ * TypeCheckingVisitor in the same order. A definition with as many errors as the limit of the
+ * ErrorHandler stops the checking of those after it in its task, since their errors would go past the
+ * limit, and adding its errors throws the ErrorLimitException of the TypeCheckingVisitor.
+ */
+public class ParallelTypeChecker {
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int parallelism;
+
+    /**
+     * @param parallelism number of threads checking bodies, 1 to check the program sequentially.
+     */
+    public ParallelTypeChecker(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void check(Program program) {
+        TypeCheckingVisitor visitor = new TypeCheckingVisitor();
+        List<Definition> definitions = program.getProgram();
+        long functions = definitions.stream().filter(definition -> definition instanceof FunctionDefinition).count();
+        if (parallelism <= 1 || functions < 2) {
+            program.accept(visitor, null);
+            return;
+        }
+
+        ErrorHandler errorHandler = ErrorHandler.getInstance();
+        List<List<ErrorType>> headErrors = new ArrayList<>(definitions.size());
+        for (Definition definition : definitions) {
+            errorHandler.startBuffer();
+            try {
+                if (definition instanceof FunctionDefinition)
+                    definition.getType().accept(visitor, null);
+                else
+                    definition.accept(visitor, null);
+            } catch (ErrorLimitException e) {
+                // * Neither this body nor the definitions after it can have errors before the limit
+                break;
+            } finally {
+                headErrors.add(errorHandler.endBuffer());
+            }
+        }
+        definitions = definitions.subList(0, headErrors.size());
+
+        // * Several chunks of consecutive definitions per thread, so a few long bodies do not make it wait
+        int size = definitions.size(), chunks = Math.min(size, parallelism * CHUNKS_PER_THREAD);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<CompletableFuture<List<List<ErrorType>>>> bodies = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                List<Definition> range = definitions.subList(size * chunk / chunks, size * (chunk + 1) / chunks);
+                bodies.add(CompletableFuture.supplyAsync(() -> checkBodies(visitor, range, errorHandler), pool));
+            }
+
+            // * An exception is thrown once the errors before it are added, as when checking sequentially
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int start = size * chunk / chunks;
+                List<List<ErrorType>> bodyErrors = join(bodies.get(chunk));
+                for (int i = 0; i < bodyErrors.size(); i++) {
+                    errorHandler.addErrors(headErrors.get(start + i));
+                    errorHandler.addErrors(bodyErrors.get(i));
+                }
+            }
+        } finally {
+            // * After an exception, the chunks not started yet are not checked
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the result of the task, throwing what the task threw itself.
+     */
+    private static <T> T join(CompletableFuture<T> task) {
+        try {
+            return task.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the errors of the body of every definition, empty for the global variables.
+     */
+    private static List<List<ErrorType>> checkBodies(TypeCheckingVisitor visitor, List<Definition> definitions,
+                                                     ErrorHandler errorHandler) {
+        // * That of the thread checking the program, which may be the one of a CompilerSession
+        ErrorHandler previous = ErrorHandler.setCurrent(errorHandler);
+        List<List<ErrorType>> errors = new ArrayList<>(definitions.size());
+        try {
+            for (Definition definition : definitions) {
+                if (!(definition instanceof FunctionDefinition)) {
+                    errors.add(Collections.emptyList());
+                    continue;
+                }
+                errorHandler.startBuffer();
+                try {
+                    visitor.visitBody((FunctionDefinition) definition, null);
+                } catch (ErrorLimitException e) {
+                    // * With the errors of this body, added below
+                    return errors;
+                } finally {
+                    // * Even when it fails, as the thread runs other tasks later
+                    errors.add(errorHandler.endBuffer());
+                }
+            }
+            return errors;
+        } finally {
+            ErrorHandler.setCurrent(previous);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package semantic;
 
-import ast.AstNode;
 import ast.definition.FunctionDefinition;
 import ast.definition.VarDefinition;
 import ast.expression.ArrayAccess;
+import ast.expression.Expression;
 import ast.expression.FieldAccess;
 import ast.expression.FunctionInvocation;
 import ast.expression.binary.Arithmetic;
@@ -16,6 +16,7 @@ import ast.expression.value.*;
 import ast.statement.*;
 import ast.type.*;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class TypeCheckingVisitor extends AbstractVisitor<Type, Void> {
@@ -122,7 +123,11 @@ public class TypeCheckingVisitor extends AbstractVisitor<Type, Void> {
 
         fieldAccess.setLvalue(true);
 
-        fieldAccess.setType(fieldAccess.getExpression().getType().dot(fieldAccess.getFieldName(), fieldAccess));
+        Type recordType = fieldAccess.getExpression().getType();
+        // * Resolved once, so code generation reads the offset and type of the field from the access
+        if (recordType instanceof RecordType)
+            fieldAccess.setField(((RecordType) recordType).getField(fieldAccess.getFieldName()));
+        fieldAccess.setType(recordType.dot(fieldAccess.getFieldName(), fieldAccess));
         return null;
     }
 
@@ -142,22 +147,31 @@ public class TypeCheckingVisitor extends AbstractVisitor<Type, Void> {
     @Override
     public Void visit(FunctionDefinition functionDefinition, Type param) {
         functionDefinition.getType().accept(this,param);
-        for (AstNode astNode : functionDefinition.getFunctionVariables()) {
-            astNode.accept(this, param);
-        }
+        return visitBody(functionDefinition, param);
+    }
+
+    /**
+     * Checks the local variables and statements of a function whose type has already been checked. The
+     * body only reads the types of the other definitions, so the bodies can be checked in any order.
+     */
+    public Void visitBody(FunctionDefinition functionDefinition, Type param) {
+        visitAll(functionDefinition.getFunctionVariables(), param);
 
         Type returnType = ((FunctionType)functionDefinition.getType()).getReturnType();
         boolean hasReturn = false;
-        for (Statement statement : functionDefinition.getFunctionStatements()){
+        List<Statement> statements = functionDefinition.getFunctionStatements();
+        for (int i = 0; i < statements.size(); i++){
+            Statement statement = statements.get(i);
             statement.accept(this, returnType);
 
             if (statement instanceof Return)
                 hasReturn = true;
         }
 
-        if (!hasReturn && !(((FunctionType)functionDefinition.getType()).getReturnType() instanceof VoidType))
-            new ErrorType("Expected return statement of type " + ((FunctionType)functionDefinition.getType()).getReturnType(),
-                    functionDefinition.getLine(), functionDefinition.getColumn());
+        // * Unless the return type is wrong itself, which is already reported
+        if (!hasReturn && !(returnType instanceof VoidType) && !(returnType instanceof ErrorType))
+            new ErrorType(functionDefinition.getLine(), functionDefinition.getColumn(),
+                    "Expected return statement of type %s", returnType);
 
 
         return null;
@@ -166,13 +180,16 @@ public class TypeCheckingVisitor extends AbstractVisitor<Type, Void> {
     @Override
     public Void visit(FunctionType functionType, Type param) {
         if(!functionType.getReturnType().isBuiltIn())
-            functionType.setReturnType(new ErrorType("The return type must be built in.",
-                    functionType.getLine(), functionType.getColumn()));
+            functionType.setReturnType(new ErrorType(functionType.getLine(), functionType.getColumn(),
+                    "The return type must be built in."));
 
-        for (VarDefinition parameter : functionType.getParameters())
+        List<VarDefinition> parameters = functionType.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            VarDefinition parameter = parameters.get(i);
             if (!parameter.getType().isBuiltIn())
-                parameter.setType(new ErrorType("The parameter must be of a built in type.",
-                        parameter.getLine(), parameter.getColumn()));
+                parameter.setType(new ErrorType(parameter.getLine(), parameter.getColumn(),
+                        "The parameter must be of a built in type."));
+        }
 
         return null;
     }
@@ -196,8 +213,8 @@ public class TypeCheckingVisitor extends AbstractVisitor<Type, Void> {
         super.visit(assignment, param);
 
         if(!assignment.getLeftSideExpression().getLvalue()){
-            new ErrorType("Cannot write on a non l-value expression.",
-                    assignment.getLine(), assignment.getColumn());
+            new ErrorType(assignment.getLine(), assignment.getColumn(),
+                    "Cannot write on a non l-value expression.");
         }
 
         assignment.getRightSideExpression().getType().promotesTo(assignment.getLeftSideExpression().getType(), assignment);
@@ -210,13 +227,13 @@ public class TypeCheckingVisitor extends AbstractVisitor<Type, Void> {
         super.visit(returnStatement, param);
 
         if (param instanceof VoidType){
-            returnStatement.getExpression().setType(new ErrorType("This function cannot have a return statement.",
-                    returnStatement.getLine(), returnStatement.getColumn()));
+            returnStatement.getExpression().setType(new ErrorType(returnStatement.getLine(), returnStatement.getColumn(),
+                    "This function cannot have a return statement."));
         }
 
         if (returnStatement.getExpression().getType().promotesTo(param, returnStatement) == null)
-            returnStatement.getExpression().setType(new ErrorType("Expected return with type "+ param
-                    ,returnStatement.getLine(), returnStatement.getColumn()));
+            returnStatement.getExpression().setType(new ErrorType(returnStatement.getLine(), returnStatement.getColumn(),
+                    "Expected return with type %s", param));
 
         return null;
     }
@@ -225,9 +242,9 @@ public class TypeCheckingVisitor extends AbstractVisitor<Type, Void> {
     public Void visit(IfElse ifElse, Type param) {
         super.visit(ifElse, param);
 
-        if (!ifElse.getCondition().getType().isLogical())
-            ifElse.getCondition().setType(new ErrorType("Expected logical expression as a condition, got " + ifElse.getCondition().getType(),
-                    ifElse.getCondition().getLine(), ifElse.getCondition().getColumn()));
+        if (!isCondition(ifElse.getCondition()))
+            ifElse.getCondition().setType(new ErrorType(ifElse.getCondition().getLine(), ifElse.getCondition().getColumn(),
+                    "Expected logical expression as a condition, got %s", ifElse.getCondition().getType()));
 
         return null;
     }
@@ -236,9 +253,9 @@ public class TypeCheckingVisitor extends AbstractVisitor<Type, Void> {
     public Void visit(While whileStatement, Type param) {
         super.visit(whileStatement, param);
 
-        if (!whileStatement.getCondition().getType().isLogical())
-            whileStatement.getCondition().setType(new ErrorType("Expected logical expression as a condition, got " + whileStatement.getCondition().getType(),
-                    whileStatement.getCondition().getLine(), whileStatement.getCondition().getColumn()));
+        if (!isCondition(whileStatement.getCondition()))
+            whileStatement.getCondition().setType(new ErrorType(whileStatement.getCondition().getLine(), whileStatement.getCondition().getColumn(),
+                    "Expected logical expression as a condition, got %s", whileStatement.getCondition().getType()));
 
         return null;
     }
@@ -248,8 +265,15 @@ public class TypeCheckingVisitor extends AbstractVisitor<Type, Void> {
         super.visit(input, param);
 
             if (!input.getExpression().getLvalue())
-                new ErrorType("Cannot write on a non l-value expression.", input.getLine(),input.getColumn());
+                new ErrorType(input.getLine(), input.getColumn(), "Cannot write on a non l-value expression.");
 
         return null;
     }
+
+    /**
+     * @return whether the expression can be a condition, or its error is already reported.
+     */
+    private static boolean isCondition(Expression condition) {
+        return condition.getType().isLogical() || condition.getType() instanceof ErrorType;
+    }
 }
@@ -0,0 +1,113 @@
+package symboltable;
+
+import java.util.Arrays;
+
+/**
+ * Identifiers of a compilation. Every distinct one is interned once, as a String that all its occurrences
+ * share, and given a dense int id (0, 1, 2...) in the order it first appears, so the tables indexed by
+ * name can be arrays. Ids are only meaningful within the table that gave them.
+ */
+public class NameTable {
+
+	/** Id of a name that was not interned in any table */
+	public static final int NONE = -1;
+
+	private String[] names = new String[256];
+	private int[] hashes = new int[256];
+	// * Open addressing: id + 1 of the name in each slot, 0 if free. At most half of them are used
+	private int[] slots = new int[512];
+	private int size;
+
+	/**
+	 * @return the id of the name of the characters in [start, end), interning it if it is new.
+	 */
+	public int intern(char[] chars, int start, int end) {
+		int hash = 0;
+		for (int i = start; i < end; i++)
+			hash = 31 * hash + chars[i];
+		int mask = slots.length - 1;
+		for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+			int id = slots[slot] - 1;
+			if (id < 0)
+				return add(new String(chars, start, end - start), hash, slot);
+			if (hashes[id] == hash && matches(names[id], chars, start, end))
+				return id;
+		}
+	}
+
+	/**
+	 * @return the id of the name, interning it if it is new.
+	 */
+	public int intern(String name) {
+		int hash = name.hashCode(), mask = slots.length - 1;
+		for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+			int id = slots[slot] - 1;
+			if (id < 0)
+				return add(name, hash, slot);
+			if (hashes[id] == hash && names[id].equals(name))
+				return id;
+		}
+	}
+
+	/**
+	 * @return the id of the name, or NONE if it was never interned.
+	 */
+	public int find(String name) {
+		int hash = name.hashCode(), mask = slots.length - 1;
+		for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+			int id = slots[slot] - 1;
+			if (id < 0)
+				return NONE;
+			if (hashes[id] == hash && names[id].equals(name))
+				return id;
+		}
+	}
+
+	public String getName(int id) {
+		return names[id];
+	}
+
+	/**
+	 * @return the number of names, one more than the greatest id.
+	 */
+	public int size() {
+		return size;
+	}
+
+	private int add(String name, int hash, int slot) {
+		if (size == names.length) {
+			names = Arrays.copyOf(names, size * 2);
+			hashes = Arrays.copyOf(hashes, size * 2);
+		}
+		names[size] = name;
+		hashes[size] = hash;
+		slots[slot] = size + 1;
+		if (++size * 2 > slots.length)
+			rehash();
+		return size - 1;
+	}
+
+	private void rehash() {
+		slots = new int[slots.length * 2];
+		int mask = slots.length - 1;
+		for (int id = 0; id < size; id++) {
+			int slot = mix(hashes[id]) & mask;
+			while (slots[slot] != 0)
+				slot = (slot + 1) & mask;
+			slots[slot] = id + 1;
+		}
+	}
+
+	private static int mix(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean matches(String name, char[] chars, int start, int end) {
+		if (name.length() != end - start)
+			return false;
+		for (int i = 0; i < name.length(); i++)
+			if (name.charAt(i) != chars[start + i])
+				return false;
+		return true;
+	}
+}
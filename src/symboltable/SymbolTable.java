@@ -2,47 +2,115 @@ package symboltable;
 
 import ast.definition.Definition;
 
-import java.util.*;
+import java.util.Arrays;
 
+/**
+ * Scoped table of definitions, indexed by the ids of their names in the NameTable of the compilation.
+ *
+ * For every name it keeps the innermost definition and its scope. An insertion logs the definition it
+ * shadows, and reset replays the log of the scope backwards, so find, insert and findInCurrentScope take
+ * constant time however deep the scopes are, and no scope allocates a map of its own.
+ */
 public class SymbolTable {
-	
+
 	private int scope = 0 ;
-	private List<Map<String, Definition>> table;
+	private final NameTable names;
+
+	// * Innermost definition of every name and its scope, -1 if it has none
+	private Definition[] definitions = new Definition[256];
+	private int[] scopes = new int[256];
+
+	// * Undo log: the name of every insertion, with the definition and the scope it shadowed
+	private int[] logNames = new int[64];
+	private Definition[] logDefinitions = new Definition[64];
+	private int[] logScopes = new int[64];
+	private int logSize;
+	// * Size of the log when every open scope was set
+	private int[] scopeStarts = new int[16];
 
 	public SymbolTable()  {
-		table = new ArrayList<>();
-		table.add(new HashMap<>());
+		this(new NameTable());
+	}
+
+	/**
+	 * @param names table of the names of the definitions inserted, so their ids are used as they are.
+	 */
+	public SymbolTable(NameTable names) {
+		this.names = names;
+		Arrays.fill(scopes, -1);
 	}
 
 	public void set() {
-		table.add(new HashMap<>());
 		scope++;
+		if (scope == scopeStarts.length)
+			scopeStarts = Arrays.copyOf(scopeStarts, scope * 2);
+		scopeStarts[scope] = logSize;
 	}
-	
+
 	public void reset() {
-		table.remove(scope);
+		int start = scope > 0 ? scopeStarts[scope] : 0;
+		while (logSize > start) {
+			logSize--;
+			int name = logNames[logSize];
+			definitions[name] = logDefinitions[logSize];
+			scopes[name] = logScopes[logSize];
+			logDefinitions[logSize] = null;
+		}
 		scope--;
 	}
-	
+
 	public boolean insert(Definition definition) {
 		definition.setScope(scope);
-		if(table.get(scope).containsKey(definition.getName())) {
+		int name = id(definition.getName(), definition.getNameId(), true);
+		if (scopes[name] == scope) {
 			return false;
 		}
-		table.get(scope).put(definition.getName(), definition);
+		if (logSize == logNames.length) {
+			logNames = Arrays.copyOf(logNames, logSize * 2);
+			logDefinitions = Arrays.copyOf(logDefinitions, logSize * 2);
+			logScopes = Arrays.copyOf(logScopes, logSize * 2);
+		}
+		logNames[logSize] = name;
+		logDefinitions[logSize] = definitions[name];
+		logScopes[logSize] = scopes[name];
+		logSize++;
+		definitions[name] = definition;
+		scopes[name] = scope;
 		return true;
 	}
 
 	public Definition find(String id) {
-		for(int i = table.size()-1; i>=0; i--){
-			if(table.get(i).containsKey(id)) {
-				return table.get(i).get(id);
-			}
-		}
-		return null;
+		return find(id, NameTable.NONE);
+	}
+
+	/**
+	 * @param nameId id of the name in the NameTable of the compilation, or NameTable.NONE.
+	 */
+	public Definition find(String name, int nameId) {
+		int id = id(name, nameId, false);
+		return id == NameTable.NONE ? null : definitions[id];
 	}
 
 	public Definition findInCurrentScope(String id) {
-		return table.get(scope).get(id);
+		int name = id(id, NameTable.NONE, false);
+		return name != NameTable.NONE && scopes[name] == scope ? definitions[name] : null;
+	}
+
+	/**
+	 * The id of a node is only used as it is when it is the one of the name in this table, as the name is
+	 * then the very String interned. Otherwise the name is looked up, and interned if asked to.
+	 * @return the id of the name, or NameTable.NONE if it is not in the table and not interned.
+	 */
+	private int id(String name, int nameId, boolean intern) {
+		int id = nameId >= 0 && nameId < names.size() && names.getName(nameId) == name ? nameId
+				: intern ? names.intern(name) : names.find(name);
+		if (id >= definitions.length) {
+			int length = Math.max(definitions.length * 2, id + 1);
+			definitions = Arrays.copyOf(definitions, length);
+			int filled = scopes.length;
+			scopes = Arrays.copyOf(scopes, length);
+			Arrays.fill(scopes, filled, length, -1);
+		}
+		return id;
 	}
 }
@@ -0,0 +1,74 @@
+package symboltable;
+
+import ast.type.ArrayType;
+import ast.type.RecordField;
+import ast.type.RecordType;
+import ast.type.Type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Types of a compilation. Structurally equal arrays and records are interned as one canonical instance:
+ * the first one found, with the positions of its declaration. The fields of a canonical record are laid
+ * out when it is interned, and sizes are computed once, so the types of many variables declared alike
+ * take the memory and the work of one. The built-in types are singletons already.
+ *
+ * The types of the elements and fields of a canonical type are canonical as well, so structurally equal
+ * types are the same instance and can be compared by reference.
+ */
+public class TypeTable {
+
+	// * Shape of an array or record: its kind, then the size and element, or the names and types of its fields
+	private final Map<List<Object>, Type> types = new HashMap<>();
+
+	/**
+	 * @return the canonical instance of the type, which is the type itself if it is new.
+	 */
+	public Type intern(Type type) {
+		if (type instanceof ArrayType) {
+			ArrayType array = (ArrayType) type;
+			Type ofType = intern(array.getOfType());
+			List<Object> shape = Arrays.asList(ArrayType.class, array.getSize(), ofType);
+			Type canonical = types.get(shape);
+			if (canonical != null)
+				return canonical;
+			array.setOfType(ofType);
+			types.put(shape, array);
+			return array;
+		}
+		if (type instanceof RecordType) {
+			RecordType record = (RecordType) type;
+			List<RecordField> fields = record.getFields();
+			List<Object> shape = new ArrayList<>(1 + 2 * fields.size());
+			shape.add(RecordType.class);
+			for (RecordField field : fields) {
+				shape.add(field.getName());
+				shape.add(intern(field.getType()));
+			}
+			Type canonical = types.get(shape);
+			if (canonical != null)
+				return canonical;
+			int offset = 0;
+			for (int i = 0; i < fields.size(); i++) {
+				RecordField field = fields.get(i);
+				field.setType((Type) shape.get(2 + 2 * i));
+				field.setOffset(offset);
+				offset += field.getType().numberOfBytes();
+			}
+			types.put(shape, record);
+			return record;
+		}
+		return type;
+	}
+
+	/**
+	 * @return the number of canonical arrays and records.
+	 */
+	public int size() {
+		return types.size();
+	}
+}
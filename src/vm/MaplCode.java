@@ -0,0 +1,160 @@
+package vm;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * MAPL code decoded for the virtual machine: one entry per instruction, with the labels resolved
+ * to instruction indexes and the source line (#line) and function of each instruction.
+ */
+public class MaplCode {
+
+    static final String ENTRY = "<entry>";
+
+    // * Opcodes
+    static final int PUSHI = 0, PUSHF = 1, PUSHB = 2, PUSHA = 3, PUSH_BP = 4;
+    static final int LOADI = 5, LOADF = 6, LOADB = 7, STOREI = 8, STOREF = 9, STOREB = 10;
+    static final int POPI = 11, POPF = 12, POPB = 13, INI = 14, INF = 15, INB = 16, OUTI = 17, OUTF = 18, OUTB = 19;
+    static final int ADDI = 20, ADDF = 21, SUBI = 22, SUBF = 23, MULI = 24, MULF = 25, DIVI = 26, DIVF = 27, MODI = 28, MODF = 29;
+    static final int GTI = 30, GTF = 31, LTI = 32, LTF = 33, GEI = 34, GEF = 35, LEI = 36, LEF = 37, EQI = 38, EQF = 39, NEI = 40, NEF = 41;
+    static final int AND = 42, OR = 43, NOT = 44, I2F = 45, F2I = 46, I2B = 47, B2I = 48;
+    static final int JMP = 49, JZ = 50, JNZ = 51, CALL = 52, ENTER = 53, RET = 54, HALT = 55;
+
+    private static final Map<String, Integer> OPCODES = new HashMap<>();
+
+    static {
+        String[] names = {"pushi", "pushf", "pushb", "pusha", "push", "loadi", "loadf", "loadb", "storei", "storef", "storeb",
+                "popi", "popf", "popb", "ini", "inf", "inb", "outi", "outf", "outb",
+                "addi", "addf", "subi", "subf", "muli", "mulf", "divi", "divf", "modi", "modf",
+                "gti", "gtf", "lti", "ltf", "gei", "gef", "lei", "lef", "eqi", "eqf", "nei", "nef",
+                "and", "or", "not", "i2f", "f2i", "i2b", "b2i", "jmp", "jz", "jnz", "call", "enter", "ret", "halt"};
+        for (int i = 0; i < names.length; i++)
+            OPCODES.put(names[i], i);
+    }
+
+    final int[] opcodes;
+    final int[] operands;
+    final float[] reals;
+    final int[] bytesForLocals;
+    final int[] bytesForParams;
+    final int[] sourceLines;
+    final int[] maplLines;
+    final int[] functionOf;
+    final List<String> functions;
+
+    private MaplCode(int size) {
+        opcodes = new int[size];
+        operands = new int[size];
+        reals = new float[size];
+        bytesForLocals = new int[size];
+        bytesForParams = new int[size];
+        sourceLines = new int[size];
+        maplLines = new int[size];
+        functionOf = new int[size];
+        functions = new ArrayList<>();
+    }
+
+    public static MaplCode fromFile(String fileName) throws IOException {
+        return decode(Files.readAllLines(Paths.get(fileName), StandardCharsets.ISO_8859_1));
+    }
+
+    public static MaplCode decode(List<String> lines) {
+        List<String[]> instructions = new ArrayList<>();
+        List<int[]> positions = new ArrayList<>();
+        Map<String, Integer> labels = new HashMap<>();
+        int sourceLine = 0;
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("'"))
+                continue;
+            if (line.startsWith("#line")) {
+                sourceLine = Integer.parseInt(line.substring("#line".length()).trim());
+                continue;
+            }
+            if (line.startsWith("#"))
+                continue;
+            if (line.endsWith(":")) {
+                labels.put(line.substring(0, line.length() - 1), instructions.size());
+                continue;
+            }
+            instructions.add(line.split("[\\s,]+"));
+            positions.add(new int[]{i + 1, sourceLine});
+        }
+
+        MaplCode code = new MaplCode(instructions.size());
+        Map<Integer, String> functionStarts = new HashMap<>();
+        for (Map.Entry<String, Integer> label : labels.entrySet()) {
+            int pc = label.getValue();
+            if (pc < instructions.size() && instructions.get(pc)[0].equals("enter"))
+                functionStarts.put(pc, label.getKey());
+        }
+
+        code.functions.add(ENTRY);
+        for (int pc = 0; pc < instructions.size(); pc++) {
+            String[] words = instructions.get(pc);
+            if (functionStarts.containsKey(pc))
+                code.functions.add(functionStarts.get(pc));
+            code.functionOf[pc] = code.functions.size() - 1;
+            code.maplLines[pc] = positions.get(pc)[0];
+            code.sourceLines[pc] = positions.get(pc)[1];
+
+            Integer opcode = OPCODES.get(words[0]);
+            if (opcode == null || (opcode == PUSH_BP && (words.length != 2 || !words[1].equals("bp"))))
+                throw new VMException("Unknown instruction '" + String.join(" ", words) + "' at line " + code.maplLines[pc]);
+            code.opcodes[pc] = opcode;
+
+            switch (opcode) {
+                case PUSHI: case PUSHB: case PUSHA: case ENTER:
+                    code.operands[pc] = Integer.parseInt(words[1]);
+                    break;
+                case PUSHF:
+                    code.reals[pc] = Float.parseFloat(words[1]);
+                    break;
+                case JMP: case JZ: case JNZ: case CALL:
+                    Integer target = labels.get(words[1]);
+                    if (target == null)
+                        throw new VMException("Unknown label " + words[1] + " at line " + code.maplLines[pc]);
+                    code.operands[pc] = target;
+                    break;
+                case RET:
+                    code.operands[pc] = Integer.parseInt(words[1]);
+                    code.bytesForLocals[pc] = Integer.parseInt(words[2]);
+                    code.bytesForParams[pc] = Integer.parseInt(words[3]);
+                    break;
+            }
+        }
+        return code;
+    }
+
+    public int size() {
+        return opcodes.length;
+    }
+
+    public List<String> getFunctions() {
+        return functions;
+    }
+
+    public String functionName(int pc) {
+        return functions.get(functionOf[pc]);
+    }
+
+    public int getSourceLine(int pc) {
+        return sourceLines[pc];
+    }
+
+    public int getMaplLine(int pc) {
+        return maplLines[pc];
+    }
+
+    boolean isCall(int pc) {
+        return opcodes[pc] == CALL;
+    }
+
+    boolean isConditionalJump(int pc) {
+        return opcodes[pc] == JZ || opcodes[pc] == JNZ;
+    }
+}
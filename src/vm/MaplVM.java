@@ -0,0 +1,418 @@
+package vm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static vm.MaplCode.*;
+
+/**
+ * Interpreter of the MAPL code generated by the compiler.
+ *
+ * The memory layout is the one of the MAPL machine: global variables from address 0, and the stack
+ * growing down from the end of the memory, with the frames built by call, enter and ret. Integers
+ * take 2 bytes, reals 4 and characters 1. The return address and the bp saved in a frame take their 2
+ * bytes of the stack, as the code expects, but ret takes them from a control stack of their own, since
+ * the code of large programs has more instructions than 2 bytes can address. When a Profiler is
+ * given, every executed instruction is counted and the calls and returns are reported to it.
+ */
+public class MaplVM {
+
+    public static final int MEMORY_SIZE = 65536;
+
+    private final MaplCode code;
+    private final int bytesForGlobals;
+    private final InputStream in;
+    private final PrintStream out;
+    private final Profiler profiler;
+
+    private final byte[] memory = new byte[MEMORY_SIZE];
+    private int sp = MEMORY_SIZE;
+    private int bp = MEMORY_SIZE;
+    // * Return addresses and saved bps, as pushed by call and enter; every one takes 2 bytes of memory
+    private final int[] control = new int[MEMORY_SIZE / 2];
+    private int controlTop;
+
+    /**
+     * @param bytesForGlobals bytes of the global variables, which the stack cannot grow into.
+     */
+    public MaplVM(MaplCode code, int bytesForGlobals, InputStream in, PrintStream out, Profiler profiler) {
+        this.code = code;
+        this.bytesForGlobals = bytesForGlobals;
+        this.in = in;
+        this.out = out;
+        this.profiler = profiler;
+    }
+
+    /**
+     * Runs the program from its first instruction until halt.
+     * @return the number of instructions executed.
+     */
+    public long run() {
+        int[] opcodes = code.opcodes;
+        int[] operands = code.operands;
+        long[] counts = profiler == null ? null : profiler.counts;
+        long[] taken = profiler == null ? null : profiler.taken;
+        long steps = 0;
+        int pc = 0;
+
+        try {
+            while (true) {
+                if (pc >= opcodes.length)
+                    throw new VMException("Execution went past the end of the code");
+                steps++;
+                if (counts != null)
+                    counts[pc]++;
+
+                int a, b;
+                float x, y;
+                switch (opcodes[pc]) {
+                    case PUSHI: case PUSHA:
+                        pushInteger(operands[pc]);
+                        break;
+                    case PUSHF:
+                        pushReal(code.reals[pc]);
+                        break;
+                    case PUSHB:
+                        pushChar(operands[pc]);
+                        break;
+                    case PUSH_BP:
+                        pushInteger(bp);
+                        break;
+                    case LOADI:
+                        pushInteger(readInteger(address(popInteger())));
+                        break;
+                    case LOADF:
+                        pushReal(readReal(address(popInteger())));
+                        break;
+                    case LOADB:
+                        pushChar(readChar(address(popInteger())));
+                        break;
+                    case STOREI:
+                        a = popInteger();
+                        writeInteger(address(popInteger()), a);
+                        break;
+                    case STOREF:
+                        x = popReal();
+                        writeReal(address(popInteger()), x);
+                        break;
+                    case STOREB:
+                        a = popChar();
+                        writeChar(address(popInteger()), a);
+                        break;
+                    case POPI:
+                        popInteger();
+                        break;
+                    case POPF:
+                        popReal();
+                        break;
+                    case POPB:
+                        popChar();
+                        break;
+                    case INI:
+                        pushInteger(Integer.parseInt(readToken()));
+                        break;
+                    case INF:
+                        pushReal(Float.parseFloat(readToken()));
+                        break;
+                    case INB:
+                        pushChar(inputChar());
+                        break;
+                    case OUTI:
+                        out.print(popInteger());
+                        break;
+                    case OUTF:
+                        out.print(formatReal(popReal()));
+                        break;
+                    case OUTB:
+                        out.write(popChar());
+                        break;
+                    case ADDI: case SUBI: case MULI: case DIVI: case MODI:
+                        b = popInteger();
+                        a = popInteger();
+                        pushInteger(arithmetic(opcodes[pc], a, b));
+                        break;
+                    case ADDF: case SUBF: case MULF: case DIVF: case MODF:
+                        y = popReal();
+                        x = popReal();
+                        pushReal(arithmetic(opcodes[pc], x, y));
+                        break;
+                    case GTI: case LTI: case GEI: case LEI: case EQI: case NEI:
+                        b = popInteger();
+                        a = popInteger();
+                        pushInteger(compare(opcodes[pc], Integer.compare(a, b)) ? 1 : 0);
+                        break;
+                    case GTF: case LTF: case GEF: case LEF: case EQF: case NEF:
+                        y = popReal();
+                        x = popReal();
+                        pushInteger(compare(opcodes[pc] - 1, x > y ? 1 : x < y ? -1 : x == y ? 0 : 2) ? 1 : 0);
+                        break;
+                    case AND:
+                        b = popInteger();
+                        a = popInteger();
+                        pushInteger(a != 0 && b != 0 ? 1 : 0);
+                        break;
+                    case OR:
+                        b = popInteger();
+                        a = popInteger();
+                        pushInteger(a != 0 || b != 0 ? 1 : 0);
+                        break;
+                    case NOT:
+                        pushInteger(popInteger() == 0 ? 1 : 0);
+                        break;
+                    case I2F:
+                        pushReal(popInteger());
+                        break;
+                    case F2I:
+                        pushInteger((int) popReal());
+                        break;
+                    case I2B:
+                        pushChar(popInteger());
+                        break;
+                    case B2I:
+                        pushInteger(popChar());
+                        break;
+                    case JMP:
+                        pc = operands[pc];
+                        continue;
+                    case JZ: case JNZ:
+                        if ((popInteger() == 0) == (opcodes[pc] == JZ)) {
+                            if (taken != null)
+                                taken[pc]++;
+                            pc = operands[pc];
+                            continue;
+                        }
+                        break;
+                    case CALL:
+                        pushInteger(pc + 1);
+                        control[controlTop++] = pc + 1;
+                        if (profiler != null)
+                            profiler.call(pc, operands[pc], steps);
+                        pc = operands[pc];
+                        continue;
+                    case ENTER:
+                        pushInteger(bp);
+                        control[controlTop++] = bp;
+                        bp = sp;
+                        allocate(operands[pc]);
+                        break;
+                    case RET:
+                        pc = ret(operands[pc], code.bytesForParams[pc]);
+                        if (profiler != null)
+                            profiler.ret(steps);
+                        continue;
+                    case HALT:
+                        out.flush();
+                        if (profiler != null)
+                            profiler.halt(steps);
+                        return steps;
+                }
+                pc++;
+            }
+        } catch (ArithmeticException e) {
+            throw new VMException("Division by zero at line " + code.getSourceLine(pc));
+        } catch (NumberFormatException e) {
+            throw new VMException("Wrong input at line " + code.getSourceLine(pc) + ": " + e.getMessage());
+        }
+    }
+
+    private int ret(int returnSize, int bytesForParams) {
+        if (controlTop < 2)
+            throw new VMException("ret without call and enter");
+        check(sp, returnSize);
+        int value = sp;
+        // * The 2 bytes of the saved bp and those of the return address are left behind
+        sp = bp + 4;
+        bp = control[--controlTop];
+        int returnAddress = control[--controlTop];
+        sp += bytesForParams;
+        allocate(returnSize);
+        check(sp, returnSize);
+        // * Moved within the memory: arraycopy copies overlapping bytes as if through a temporary array
+        System.arraycopy(memory, value, memory, sp, returnSize);
+        return returnAddress;
+    }
+
+    // * Operations
+
+    private static int arithmetic(int opcode, int a, int b) {
+        switch (opcode) {
+            case ADDI: return (short) (a + b);
+            case SUBI: return (short) (a - b);
+            case MULI: return (short) (a * b);
+            case DIVI: return (short) (a / b);
+            default: return (short) (a % b);
+        }
+    }
+
+    private static float arithmetic(int opcode, float x, float y) {
+        switch (opcode) {
+            case ADDF: return x + y;
+            case SUBF: return x - y;
+            case MULF: return x * y;
+            case DIVF: return x / y;
+            default: return x % y;
+        }
+    }
+
+    /**
+     * @param comparison -1, 0 or 1, or 2 when the operands are unordered (NaN).
+     */
+    private static boolean compare(int opcode, int comparison) {
+        switch (opcode) {
+            case GTI: return comparison == 1;
+            case LTI: return comparison == -1;
+            case GEI: return comparison == 1 || comparison == 0;
+            case LEI: return comparison == -1 || comparison == 0;
+            case EQI: return comparison == 0;
+            default: return comparison != 0;
+        }
+    }
+
+    /**
+     * Writes the real as printf with %.7g, seven significant digits without trailing zeros, so the
+     * programs print the same on this machine and compiled to x86-64.
+     */
+    static String formatReal(float value) {
+        if (Float.isNaN(value))
+            return "nan";
+        if (Float.isInfinite(value))
+            return value > 0 ? "inf" : "-inf";
+        if (value == 0)
+            return 1 / value < 0 ? "-0" : "0";
+        BigDecimal rounded = new BigDecimal(value).round(new MathContext(7, RoundingMode.HALF_EVEN));
+        int exponent = rounded.precision() - rounded.scale() - 1;
+        if (exponent >= -4 && exponent < 7)
+            return withoutTrailingZeros(rounded.toPlainString());
+        return withoutTrailingZeros(rounded.movePointLeft(exponent).toPlainString())
+                + (exponent < 0 ? "e-" : "e+") + (Math.abs(exponent) < 10 ? "0" : "") + Math.abs(exponent);
+    }
+
+    private static String withoutTrailingZeros(String number) {
+        if (number.indexOf('.') < 0)
+            return number;
+        int end = number.length();
+        while (number.charAt(end - 1) == '0')
+            end--;
+        return number.substring(0, number.charAt(end - 1) == '.' ? end - 1 : end);
+    }
+
+    // * Memory and stack
+
+    private static int address(int value) {
+        return value & 0xFFFF;
+    }
+
+    private void allocate(int bytes) {
+        sp -= bytes;
+        if (sp < bytesForGlobals)
+            throw new VMException("Stack overflow");
+    }
+
+    /**
+     * Throws a VMException unless the bytes from the address are in the memory.
+     */
+    private static void check(int address, int bytes) {
+        if (address < 0 || address + bytes > MEMORY_SIZE)
+            throw new VMException("Access to " + bytes + " bytes at address " + address + ", out of the memory");
+    }
+
+    private int readChar(int address) {
+        check(address, 1);
+        return memory[address];
+    }
+
+    private void writeChar(int address, int value) {
+        check(address, 1);
+        memory[address] = (byte) value;
+    }
+
+    private int readInteger(int address) {
+        check(address, 2);
+        return (short) ((memory[address] << 8) | (memory[address + 1] & 0xFF));
+    }
+
+    private void writeInteger(int address, int value) {
+        check(address, 2);
+        memory[address] = (byte) (value >> 8);
+        memory[address + 1] = (byte) value;
+    }
+
+    private float readReal(int address) {
+        check(address, 4);
+        int bits = (memory[address] << 24) | ((memory[address + 1] & 0xFF) << 16)
+                | ((memory[address + 2] & 0xFF) << 8) | (memory[address + 3] & 0xFF);
+        return Float.intBitsToFloat(bits);
+    }
+
+    private void writeReal(int address, float value) {
+        check(address, 4);
+        int bits = Float.floatToRawIntBits(value);
+        memory[address] = (byte) (bits >> 24);
+        memory[address + 1] = (byte) (bits >> 16);
+        memory[address + 2] = (byte) (bits >> 8);
+        memory[address + 3] = (byte) bits;
+    }
+
+    private void pushInteger(int value) {
+        allocate(2);
+        writeInteger(sp, value);
+    }
+
+    private int popInteger() {
+        int value = readInteger(sp);
+        sp += 2;
+        return value;
+    }
+
+    private void pushReal(float value) {
+        allocate(4);
+        writeReal(sp, value);
+    }
+
+    private float popReal() {
+        float value = readReal(sp);
+        sp += 4;
+        return value;
+    }
+
+    private void pushChar(int value) {
+        allocate(1);
+        memory[sp] = (byte) value;
+    }
+
+    private int popChar() {
+        return readChar(sp++) & 0xFF;
+    }
+
+    // * Input
+
+    private int inputChar() {
+        try {
+            int c;
+            do {
+                c = in.read();
+            } while (c != -1 && Character.isWhitespace(c));
+            if (c == -1)
+                throw new VMException("End of input");
+            return c;
+        } catch (IOException e) {
+            throw new VMException("Error reading the input: " + e.getMessage());
+        }
+    }
+
+    private String readToken() {
+        StringBuilder token = new StringBuilder().append((char) inputChar());
+        try {
+            int c;
+            while ((c = in.read()) != -1 && !Character.isWhitespace(c))
+                token.append((char) c);
+        } catch (IOException e) {
+            throw new VMException("Error reading the input: " + e.getMessage());
+        }
+        return token.toString();
+    }
+}
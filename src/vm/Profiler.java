@@ -0,0 +1,232 @@
+package vm;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * Counts the execution of a MAPL program run by the MaplVM.
+ *
+ * The VM increments a counter per executed instruction (and per taken conditional jump), so the cost
+ * is one array increment per instruction. Calls and returns are reported to the profiler, which keeps
+ * the inclusive counts of the functions and a tree of call paths for the collapsed stacks. Everything
+ * is mapped back to the Pmm source with the #line directives of the code.
+ */
+public class Profiler {
+
+    private final MaplCode code;
+    final long[] counts;
+    final long[] taken;
+
+    private final int functions;
+    private final long[] inclusive;
+    // * Summed from the counts at halt
+    private final long[] exclusive;
+    private final long[] calls;
+    private final int[] active;
+    private int[] activationFunctions = new int[64];
+    private long[] activationSteps = new long[64];
+    private int depth;
+
+    private final Node root;
+    private Node current;
+    private long mark;
+    private long total;
+
+    /**
+     * Node of the tree of call paths, with the instructions executed with that exact path on the stack.
+     */
+    private static class Node {
+        final int function;
+        final Node parent;
+        final Map<Integer, Node> children = new LinkedHashMap<>();
+        long self;
+
+        Node(int function, Node parent) {
+            this.function = function;
+            this.parent = parent;
+        }
+    }
+
+    public Profiler(MaplCode code) {
+        this.code = code;
+        this.counts = new long[code.size()];
+        this.taken = new long[code.size()];
+        this.functions = code.functions.size();
+        this.inclusive = new long[functions];
+        this.exclusive = new long[functions];
+        this.calls = new long[functions];
+        this.active = new int[functions];
+        this.root = new Node(0, null);
+        this.current = root;
+        activationFunctions[0] = 0;
+        activationSteps[0] = 0;
+        active[0] = 1;
+        depth = 1;
+    }
+
+    void call(int pc, int target, long steps) {
+        int function = code.functionOf[target];
+        current.self += steps - mark;
+        mark = steps;
+        current = current.children.computeIfAbsent(function, f -> new Node(f, current));
+
+        if (depth == activationFunctions.length) {
+            activationFunctions = Arrays.copyOf(activationFunctions, depth * 2);
+            activationSteps = Arrays.copyOf(activationSteps, depth * 2);
+        }
+        activationFunctions[depth] = function;
+        activationSteps[depth++] = steps;
+        active[function]++;
+    }
+
+    void ret(long steps) {
+        current.self += steps - mark;
+        mark = steps;
+        current = current.parent;
+
+        int function = activationFunctions[--depth];
+        // * Recursive activations are counted once, by the outermost one
+        if (--active[function] == 0)
+            inclusive[function] += steps - activationSteps[depth];
+    }
+
+    void halt(long steps) {
+        current.self += steps - mark;
+        mark = steps;
+        total = steps;
+        while (depth > 0) {
+            int function = activationFunctions[--depth];
+            if (--active[function] == 0)
+                inclusive[function] += steps - activationSteps[depth];
+        }
+        // * One pass over the code: the first instruction of a function (enter) counts its calls
+        boolean[] entered = new boolean[functions];
+        for (int pc = 0; pc < counts.length; pc++) {
+            int function = code.functionOf[pc];
+            exclusive[function] += counts[pc];
+            if (!entered[function]) {
+                entered[function] = true;
+                calls[function] = counts[pc];
+            }
+        }
+        calls[0] = 1;
+    }
+
+    // * Results
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getCount(int pc) {
+        return counts[pc];
+    }
+
+    /**
+     * Instructions executed for each source line.
+     */
+    public SortedMap<Integer, Long> getLineCounts() {
+        SortedMap<Integer, Long> lines = new TreeMap<>();
+        for (int pc = 0; pc < counts.length; pc++)
+            if (counts[pc] > 0)
+                lines.merge(code.getSourceLine(pc), counts[pc], Long::sum);
+        return lines;
+    }
+
+    public long getExclusive(int function) {
+        return exclusive[function];
+    }
+
+    public long getInclusive(int function) {
+        return inclusive[function];
+    }
+
+    /**
+     * Times a function has been called, that is, the times its first instruction (enter) has been executed.
+     */
+    public long getCalls(int function) {
+        return calls[function];
+    }
+
+    public void printReport(PrintStream out, int hotLines) {
+        out.println("Profile: " + total + " instructions executed");
+        out.println();
+        out.println(String.format("%-20s %10s %14s %7s %14s %7s", "Function", "Calls", "Inclusive", "%", "Exclusive", "%"));
+        Integer[] order = new Integer[functions];
+        for (int f = 0; f < functions; f++)
+            order[f] = f;
+        Arrays.sort(order, (f1, f2) -> Long.compare(inclusive[f2], inclusive[f1]));
+        for (int f : order)
+            if (inclusive[f] > 0)
+                out.println(String.format("%-20s %10d %14d %6.1f%% %14d %6.1f%%", code.functions.get(f), calls[f],
+                        inclusive[f], percentage(inclusive[f]), exclusive[f], percentage(exclusive[f])));
+
+        out.println();
+        out.println("Hot lines:");
+        List<Map.Entry<Integer, Long>> lines = new ArrayList<>(getLineCounts().entrySet());
+        lines.sort((l1, l2) -> Long.compare(l2.getValue(), l1.getValue()));
+        for (Map.Entry<Integer, Long> line : lines.subList(0, Math.min(hotLines, lines.size())))
+            out.println(String.format("  line %-6d %14d %6.1f%%", line.getKey(), line.getValue(), percentage(line.getValue())));
+    }
+
+    /**
+     * Writes the call paths in the collapsed stack format of flame graphs: "main;f;g count".
+     */
+    public void writeCollapsedStacks(String fileName) throws IOException {
+        try (PrintWriter out = new PrintWriter(fileName)) {
+            writeCollapsed(out, root, code.functions.get(0));
+        }
+    }
+
+    private void writeCollapsed(PrintWriter out, Node node, String path) {
+        if (node.self > 0)
+            out.println(path + " " + node.self);
+        for (Node child : node.children.values())
+            writeCollapsed(out, child, path + ";" + code.functions.get(child.function));
+    }
+
+    /**
+     * Writes the counts by source position, to be read back by the compiler:
+     * <pre>
+     *     function name calls inclusive exclusive
+     *     line sourceLine instructions
+     *     call sourceLine ordinal caller callee count
+     *     branch sourceLine ordinal taken notTaken
+     *     instruction maplLine count
+     * </pre>
+     * Calls and branches (conditional jumps) are numbered by source line, in the order of the code.
+     */
+    public void writeProfile(String fileName) throws IOException {
+        try (PrintWriter out = new PrintWriter(fileName)) {
+            for (int f = 0; f < functions; f++)
+                out.println("function " + code.functions.get(f) + " " + calls[f] + " " + inclusive[f] + " " + exclusive[f]);
+            for (Map.Entry<Integer, Long> line : getLineCounts().entrySet())
+                out.println("line " + line.getKey() + " " + line.getValue());
+
+            Map<Integer, Integer> callOrdinals = new HashMap<>(), branchOrdinals = new HashMap<>();
+            for (int pc = 0; pc < counts.length; pc++) {
+                int line = code.getSourceLine(pc);
+                if (code.isCall(pc)) {
+                    int ordinal = callOrdinals.merge(line, 1, Integer::sum) - 1;
+                    if (counts[pc] > 0)
+                        out.println("call " + line + " " + ordinal + " " + code.functionName(pc) + " "
+                                + code.functionName(code.operands[pc]) + " " + counts[pc]);
+                }
+                if (code.isConditionalJump(pc)) {
+                    int ordinal = branchOrdinals.merge(line, 1, Integer::sum) - 1;
+                    if (counts[pc] > 0)
+                        out.println("branch " + line + " " + ordinal + " " + taken[pc] + " " + (counts[pc] - taken[pc]));
+                }
+            }
+            for (int pc = 0; pc < counts.length; pc++)
+                if (counts[pc] > 0)
+                    out.println("instruction " + code.getMaplLine(pc) + " " + counts[pc]);
+        }
+    }
+
+    private double percentage(long count) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+}
@@ -0,0 +1,13 @@
+package vm;
+
+/**
+ * Error in the execution of a MAPL program: bad code, stack overflow, division by zero...
+ */
+public class VMException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public VMException(String message) {
+        super(message);
+    }
+}
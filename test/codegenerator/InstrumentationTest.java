@@ -0,0 +1,70 @@
+package codegenerator;
+
+import ast.Program;
+import errorhandler.ErrorHandler;
+import parser.TestPrograms;
+import semantic.IdentificationVisitor;
+import semantic.TypeCheckingVisitor;
+import vm.MaplCode;
+import vm.MaplVM;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.EnumSet;
+import java.util.stream.Collectors;
+
+public class InstrumentationTest {
+
+	/**
+	 * @return the output of the program instrumented for its loops, run in the MAPL VM.
+	 */
+	private static String run(String source) {
+		ErrorHandler errorHandler = ErrorHandler.getInstance();
+		int mark = errorHandler.mark();
+		Program program = TestPrograms.parse(source);
+		IdentificationVisitor identification = new IdentificationVisitor();
+		program.accept(identification, null);
+		program.accept(new TypeCheckingVisitor(), null);
+		assert !errorHandler.anyError() : errorHandler.getErrors();
+		errorHandler.rollback(mark);
+
+		Instrumentation instrumentation = new Instrumentation(identification.getGlobalOffset(), EnumSet.of(Instrumentation.Site.LOOP));
+		StringWriter code = new StringWriter();
+		program.accept(new ExecuteCGVisitor(new CodeGenerator(new PrintWriter(code)), null, instrumentation), null);
+		MaplCode maplCode = MaplCode.decode(new BufferedReader(new StringReader(code.toString())).lines().collect(Collectors.toList()));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new MaplVM(maplCode, identification.getGlobalOffset() + instrumentation.getBytes(),
+				new ByteArrayInputStream(new byte[0]), new PrintStream(out), null).run();
+		return out.toString();
+	}
+
+	private static String loops(int outer, int inner) {
+		return "def main(): {\n  i: int;\n  j: int;\n  i = 0;\n  while i < " + outer + ": {\n    j = 0;\n"
+				+ "    while j < " + inner + ": {\n      j = j + 1;\n    }\n    i = i + 1;\n  }\n}\n";
+	}
+
+	public void testCarries() {
+		// * The inner counter is 1 in the second limb and 3 in the first, padded
+		assert run(loops(1, 10003)).equals("\n@0 10003\n@1 1") : run(loops(1, 10003));
+		assert run(loops(3, 2)).equals("\n@0 6\n@1 3");
+	}
+
+	public void testPastExactReals() {
+		// * 2^24 + 1 is the first count a real cannot hold
+		int inner = 8192, outer = 2049;
+		assert (long) inner * outer > (1 << 24) + 1;
+		String output = run(loops(outer, inner));
+		assert output.equals("\n@0 " + (long) inner * outer + "\n@1 " + outer) : output;
+	}
+
+	public static void main(String[] args) {
+		InstrumentationTest test = new InstrumentationTest();
+		test.testCarries();
+		test.testPastExactReals();
+	}
+}
@@ -0,0 +1,87 @@
+package codegenerator;
+
+import ast.Program;
+import errorhandler.ErrorHandler;
+import parser.TestPrograms;
+import semantic.IdentificationVisitor;
+import semantic.TypeCheckingVisitor;
+import vm.MaplCode;
+import vm.MaplVM;
+import vm.VMException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class MemoryAnalyzerTest {
+
+	/**
+	 * @return the stack bound of the program, checked to be exact: the program runs in the MAPL VM with a
+	 * stack of that many bytes, and overflows it with one byte less.
+	 */
+	private static int exactBound(String source) {
+		ErrorHandler errorHandler = ErrorHandler.getInstance();
+		int mark = errorHandler.mark();
+		Program program = TestPrograms.parse(source);
+		IdentificationVisitor identification = new IdentificationVisitor();
+		program.accept(identification, null);
+		program.accept(new TypeCheckingVisitor(), null);
+		assert !errorHandler.anyError() : errorHandler.getErrors();
+		errorHandler.rollback(mark);
+
+		StringWriter code = new StringWriter();
+		program.accept(new ExecuteCGVisitor(new CodeGenerator(new PrintWriter(code)), null, null, 1), null);
+		List<String> lines = new BufferedReader(new StringReader(code.toString())).lines().collect(Collectors.toList());
+		StackVerifier verifier = new StackVerifier(lines);
+		assert verifier.verify() : verifier.getErrors();
+		MemoryAnalyzer analyzer = new MemoryAnalyzer(identification.getGlobalOffset(), verifier.getMaxDepths());
+		analyzer.analyze(program);
+		assert !analyzer.isRecursive();
+
+		int bound = analyzer.getStackBound();
+		assert run(lines, MaplVM.MEMORY_SIZE - bound) : "Stack overflow with " + bound + " bytes.";
+		assert !run(lines, MaplVM.MEMORY_SIZE - bound + 1) : "No stack overflow with " + (bound - 1) + " bytes.";
+		return bound;
+	}
+
+	/**
+	 * @return false if the stack, from the end of the memory down to the globals, overflows.
+	 */
+	private static boolean run(List<String> lines, int bytesForGlobals) {
+		try {
+			new MaplVM(MaplCode.decode(lines), bytesForGlobals, new ByteArrayInputStream(new byte[0]),
+					new PrintStream(new ByteArrayOutputStream()), null).run();
+			return true;
+		} catch (VMException e) {
+			assert e.getMessage().equals("Stack overflow") : e.getMessage();
+			return false;
+		}
+	}
+
+	public void testArgumentsInTheCaller() {
+		// * main: 4 + 2 of i + 6 of &i, 1 and 2 when calling; f: 4 + 6 of &a and a + &b
+		int bound = exactBound("def f(a: int, b: int): int {\n  return a + b;\n}\n"
+				+ "def main(): {\n  i: int;\n  i = f(1, 2);\n}\n");
+		assert bound == 22 : bound;
+	}
+
+	public void testReturnValueInTheCaller() {
+		// * main: 4 + 4 of r + 8 of &r, 3 and 2.5; f: 4 + 8 of 1.0 and r; g: 4 + 8 of x and 2.0
+		int bound = exactBound("def g(x: double): double {\n  return x * 2.0;\n}\n"
+				+ "def f(a: int, r: double): double {\n  return 1.0 + g(r);\n}\n"
+				+ "def main(): {\n  r: double;\n  r = f(3, 2.5);\n}\n");
+		assert bound == 40 : bound;
+	}
+
+	public static void main(String[] args) {
+		MemoryAnalyzerTest test = new MemoryAnalyzerTest();
+		test.testArgumentsInTheCaller();
+		test.testReturnValueInTheCaller();
+	}
+}
@@ -0,0 +1,65 @@
+package codegenerator;
+
+import ast.Program;
+import errorhandler.ErrorHandler;
+import parser.TestPrograms;
+import semantic.IdentificationVisitor;
+import semantic.TypeCheckingVisitor;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Differential test of the parallel code generation: for every sample program without errors, and for
+ * valid random programs with many functions full of loops and conditionals, the code generated with
+ * several threads must be byte by byte the one generated with one.
+ * Usage: ParallelCodeGenerationTest [files]
+ */
+public class ParallelCodeGenerationTest {
+
+	public static void main(String... args) throws Exception {
+		int compared = 0, samples = 0;
+		for (String file : TestPrograms.files(args)) {
+			compared += compare(TestPrograms.read(file), file) ? 1 : 0;
+			samples++;
+		}
+		assert compared > 0 : "No sample program compared.";
+		// * The random programs have no errors, so every one of them is compared
+		Random random = new Random(0);
+		for (int i = 0; i < 10; i++) {
+			boolean valid = compare(TestPrograms.randomProgram(random, 20 + random.nextInt(200), false), "random program " + i);
+			assert valid : "Errors in random program " + i + ".";
+		}
+		System.out.println(compared + " of " + samples + " sample programs and 10 random programs compared.");
+	}
+
+	/**
+	 * @return whether the program has no errors, so it was compared.
+	 */
+	private static boolean compare(String source, String name) throws Exception {
+		ErrorHandler errorHandler = ErrorHandler.getInstance();
+		int mark = errorHandler.mark();
+		Program program = TestPrograms.parse(source);
+		if (program != null) {
+			program.accept(new IdentificationVisitor(), null);
+			program.accept(new TypeCheckingVisitor(), null);
+		}
+		boolean errors = program == null || errorHandler.anyError();
+		errorHandler.rollback(mark);
+		if (errors)
+			return false;
+
+		byte[][] code = new byte[2][];
+		int[] jobs = {1, 3};
+		for (int run = 0; run < jobs.length; run++) {
+			File output = File.createTempFile("functions", ".out");
+			program.accept(new ExecuteCGVisitor(new CodeGenerator(output.getPath(), name), null, null, jobs[run]), null);
+			code[run] = Files.readAllBytes(output.toPath());
+			output.delete();
+		}
+		assert Arrays.equals(code[0], code[1]) : "Different code for " + name + ".";
+		return true;
+	}
+}
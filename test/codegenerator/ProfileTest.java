@@ -0,0 +1,60 @@
+package codegenerator;
+
+import ast.Program;
+import ast.definition.FunctionDefinition;
+import ast.statement.While;
+import errorhandler.ErrorHandler;
+import parser.TestPrograms;
+import semantic.IdentificationVisitor;
+import semantic.TypeCheckingVisitor;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class ProfileTest {
+
+	// * Three nested loops, with the branches of the profile at lines 6, 8 and 10
+	private static final String NESTED = "def main(): {\n  i: int;\n  j: int;\n  k: int;\n  i = 0;\n"
+			+ "  while i < 100: {\n    j = 0;\n    while j < 100: {\n      k = 0;\n      while k < 100: {\n"
+			+ "        k = k + 1;\n      }\n      j = j + 1;\n    }\n    i = i + 1;\n  }\n}\n";
+
+	private static Profile profile(String... lines) throws Exception {
+		File file = File.createTempFile("nested", ".profile");
+		Files.write(file.toPath(), Arrays.asList(lines));
+		Profile profile = Profile.fromFile(file.getPath());
+		file.delete();
+		return profile;
+	}
+
+	public void testOnlyInnermostLoopsUnrolled() throws Exception {
+		Program program = TestPrograms.parse(NESTED);
+		ErrorHandler errorHandler = ErrorHandler.getInstance();
+		int mark = errorHandler.mark();
+		program.accept(new IdentificationVisitor(), null);
+		program.accept(new TypeCheckingVisitor(), null);
+		assert !errorHandler.anyError();
+		errorHandler.rollback(mark);
+
+		// * Every loop is hot, with a mean of 100 iterations
+		Profile profile = profile("branch 6 0 1 100000", "branch 8 0 100 1000000", "branch 10 0 10000 1000000");
+		profile.attach(program);
+		While outer = (While) ((FunctionDefinition) program.getProgram().get(0)).getFunctionStatements().get(1);
+		While middle = (While) outer.getBody().get(1);
+		While inner = (While) middle.getBody().get(1);
+		assert profile.unrollFactor(outer) == 1;
+		assert profile.unrollFactor(middle) == 1;
+		assert profile.unrollFactor(inner) == Profile.MAX_UNROLL;
+
+		StringWriter code = new StringWriter();
+		program.accept(new ExecuteCGVisitor(new CodeGenerator(new PrintWriter(code)), profile, null, 1), null);
+		int copies = code.toString().split("While, unrolled copy", -1).length - 1;
+		assert copies == Profile.MAX_UNROLL - 1 : copies + " unrolled copies";
+	}
+
+	public static void main(String[] args) throws Exception {
+		new ProfileTest().testOnlyInnermostLoopsUnrolled();
+	}
+}
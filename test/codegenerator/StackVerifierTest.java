@@ -0,0 +1,84 @@
+package codegenerator;
+
+import java.util.Arrays;
+
+public class StackVerifierTest {
+
+	private static StackVerifier verifier(String... lines) {
+		return new StackVerifier(Arrays.asList(lines));
+	}
+
+	public void testBalancedCode() {
+		StackVerifier verifier = verifier(
+				"call main", "halt",
+				"f:", "\tenter 0", "\tpush bp", "\tpushi 4", "\taddi", "\tloadf", "\tpushf 1.0", "\taddf", "\tret 4, 0, 4",
+				"main:", "\tenter 4", "\tpush bp", "\tpushi -4", "\taddi", "\tpushi 3", "\ti2f", "\tcall f", "\tstoref",
+				"\tret 0, 4, 0");
+		assert verifier.verify() : verifier.getErrors();
+		assert verifier.getMaxDepths().get("f") == 8;
+		assert verifier.getMaxDepths().get("main") == 6;
+	}
+
+	public void testInconsistentMerge() {
+		StackVerifier verifier = verifier(
+				"main:", "\tenter 0", "\tpushi 1", "\tjz LABEL_0", "\tpushi 2", "LABEL_0:", "\tret 0, 0, 0");
+		assert !verifier.verify();
+		assert verifier.getErrors().get(0).contains("inconsistent stack");
+	}
+
+	public void testTypeMismatch() {
+		StackVerifier verifier = verifier(
+				"main:", "\tenter 0", "\tpushf 1.0", "\tpushi 2", "\taddi", "\tpopi", "\tret 0, 0, 0");
+		assert !verifier.verify();
+		assert verifier.getErrors().get(0).contains("expected i on the stack, found f");
+	}
+
+	public void testUnbalancedReturn() {
+		StackVerifier verifier = verifier(
+				"main:", "\tenter 0", "\tpushi 1", "\tpushi 2", "\tret 2, 0, 0");
+		assert !verifier.verify();
+		assert verifier.getErrors().get(0).contains("left on the stack");
+	}
+
+	public void testArgumentTypes() {
+		String[] callee = {"f:", "\t' * Parameters", "\t' * Integer a (offset 5)", "\t' * Char b (offset 4)",
+				"\t' * Local variables", "\tenter 0", "\tret 0, 0, 3"};
+		StackVerifier verifier = verifier(concat(callee, "main:", "\tenter 0", "\tpushi 1", "\tpushb 97", "\tcall f", "\tret 0, 0, 0"));
+		assert verifier.verify() : verifier.getErrors();
+		// * Same bytes, in the wrong order
+		verifier = verifier(concat(callee, "main:", "\tenter 0", "\tpushb 97", "\tpushi 1", "\tcall f", "\tret 0, 0, 0"));
+		assert !verifier.verify();
+		assert verifier.getErrors().get(0).contains("argument i of f for a parameter b");
+		// * Without the declarations, only the bytes are checked
+		verifier = verifier("f:", "\tenter 0", "\tret 0, 0, 3",
+				"main:", "\tenter 0", "\tpushb 97", "\tpushi 1", "\tcall f", "\tret 0, 0, 0");
+		assert verifier.verify() : verifier.getErrors();
+	}
+
+	private static String[] concat(String[] first, String... second) {
+		String[] lines = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, lines, first.length, second.length);
+		return lines;
+	}
+
+	public void testLoops() {
+		StackVerifier verifier = verifier(
+				"main:", "\tenter 2",
+				"LABEL_1:", "\tpush bp", "\tpushi -2", "\taddi", "\tloadi", "\tpushi 10", "\tlti", "\tjz LABEL_0",
+				"\tpush bp", "\tpushi -2", "\taddi", "\tpush bp", "\tpushi -2", "\taddi", "\tloadi", "\tpushi 1", "\taddi",
+				"\tstorei", "\tjmp LABEL_1",
+				"LABEL_0:", "\tret 0, 2, 0");
+		assert verifier.verify() : verifier.getErrors();
+		assert verifier.getMaxDepths().get("main") == 6;
+	}
+
+	public static void main(String[] args) {
+		StackVerifierTest test = new StackVerifierTest();
+		test.testBalancedCode();
+		test.testInconsistentMerge();
+		test.testTypeMismatch();
+		test.testUnbalancedReturn();
+		test.testLoops();
+		test.testArgumentTypes();
+	}
+}
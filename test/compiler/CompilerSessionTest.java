@@ -0,0 +1,142 @@
+package compiler;
+
+import errorhandler.ErrorHandler;
+import parser.TestPrograms;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test of the CompilerSession: the sample programs, some with errors, and valid random ones are compiled
+ * one after the other by the same session, and then at the same time by a session per thread. Every
+ * compilation must give the same code and errors, so nothing is left from the previous ones or taken from
+ * the others, and the errors of the process are not touched. Every random program must compile, and the
+ * result of the sample programs must also be what Main writes.
+ * Usage: CompilerSessionTest [files]
+ */
+public class CompilerSessionTest {
+
+	private static final int THREADS = 4, ROUNDS = 3;
+
+	public static void main(String... args) throws Exception {
+		List<String> files = new ArrayList<>();
+		for (String file : TestPrograms.files(args))
+			if (!file.contains("big"))
+				files.add(file);
+		List<String> sources = new ArrayList<>(), names = new ArrayList<>();
+		for (String file : files) {
+			sources.add(TestPrograms.read(file));
+			names.add(file);
+		}
+		Random random = new Random(0);
+		for (int i = 0; i < 40; i++) {
+			sources.add(TestPrograms.randomProgram(random, 1 + random.nextInt(10), false));
+			names.add("random program " + i);
+		}
+
+		ErrorHandler process = ErrorHandler.getInstance();
+		int mark = process.mark();
+
+		// * One after the other, by the same session
+		CompilerSession session = new CompilerSession();
+		List<CompilationResult> expected = new ArrayList<>();
+		int compiled = 0;
+		for (int i = 0; i < sources.size(); i++) {
+			CompilationResult result = session.compile(sources.get(i), names.get(i));
+			expected.add(result);
+			compiled += result.isCompiled() ? 1 : 0;
+			assert result.isCompiled() == result.getErrors().isEmpty() : "Code and errors for " + names.get(i) + ".";
+		}
+		for (int i = files.size(); i < sources.size(); i++)
+			assert expected.get(i).isCompiled() : names.get(i) + " not compiled:\n" + expected.get(i).getErrors();
+		assert compiled < sources.size() : "No program with errors.";
+		for (int i = 0; i < sources.size(); i++)
+			assertSame(expected.get(i), session.compile(sources.get(i), names.get(i)), names.get(i) + " compiled again");
+
+		// * At the same time, by a session per thread
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<List<CompilationResult>>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				int first = t;
+				futures.add(pool.submit(() -> {
+					CompilerSession own = new CompilerSession();
+					List<CompilationResult> results = new ArrayList<>();
+					for (int round = 0; round < ROUNDS; round++)
+						for (int i = 0; i < sources.size(); i++) {
+							int program = (first + i) % sources.size();
+							results.add(own.compile(sources.get(program), names.get(program)));
+						}
+					return results;
+				}));
+			}
+			for (int t = 0; t < THREADS; t++) {
+				List<CompilationResult> results = futures.get(t).get();
+				for (int r = 0; r < results.size(); r++) {
+					int program = (t + r) % sources.size();
+					assertSame(expected.get(program), results.get(r), names.get(program) + " compiled by thread " + t);
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+		assert process.mark() == mark && !process.anyError() : "Errors left in the ErrorHandler of the process.";
+
+		for (int i = 0; i < files.size(); i++)
+			compareWithMain(files.get(i), expected.get(i));
+		testSyntaxErrorsAnalyzed();
+		System.out.println(compiled + " of " + sources.size() + " programs compiled.");
+	}
+
+	/**
+	 * A program with a syntax error is still analyzed, without the statement the parser recovered from,
+	 * so the semantic errors of the rest are reported too. It gets no code.
+	 */
+	private static void testSyntaxErrorsAnalyzed() {
+		CompilationResult result = new CompilerSession().compile("def main(): {\n  i: int;\n  i = 1 +;\n  f();\n}\n", "syntax");
+		assert !result.isCompiled();
+		assert result.getErrors().size() == 2 && result.getErrors().get(0).startsWith("line 3:9 ")
+				&& result.getErrors().get(1).equals("Function does not exist. line: 4, column: 3") : result.getErrors();
+	}
+
+	private static void assertSame(CompilationResult expected, CompilationResult obtained, String name) {
+		assert expected.getErrors().equals(obtained.getErrors()) : "Different errors in " + name + ":\n"
+				+ expected.getErrors() + "\nobtained:\n" + obtained.getErrors();
+		assert expected.isCompiled() ? expected.getCode().equals(obtained.getCode()) : !obtained.isCompiled()
+				: "Different code for " + name + ".";
+	}
+
+	private static void compareWithMain(String file, CompilationResult expected) throws Exception {
+		File code = File.createTempFile("session", ".out");
+		code.delete();
+		ByteArrayOutputStream errors = new ByteArrayOutputStream();
+		PrintStream err = System.err;
+		System.setErr(new PrintStream(errors, true));
+		try {
+			// * Main is in the default package, which cannot be imported
+			Class.forName("Main").getMethod("main", String[].class).invoke(null, (Object) new String[]{file, code.getPath()});
+		} finally {
+			System.setErr(err);
+		}
+		List<String> obtainedErrors = new ArrayList<>(Arrays.asList(errors.toString().split("\\R")));
+		obtainedErrors.remove("");
+		assert expected.getErrors().equals(obtainedErrors) : "Different errors from Main in " + file + ":\n"
+				+ expected.getErrors() + "\nobtained:\n" + obtainedErrors;
+		if (expected.isCompiled())
+			assert expected.getCode().equals(new String(Files.readAllBytes(code.toPath()), StandardCharsets.ISO_8859_1))
+					: "Different code from Main for " + file + ".";
+		else
+			assert !code.exists() : "Code written by Main for " + file + ", which has errors.";
+		code.delete();
+	}
+}
@@ -0,0 +1,81 @@
+package compiler;
+
+import ast.Program;
+import codegenerator.CodeGenerator;
+import codegenerator.ExecuteCGVisitor;
+import errorhandler.ErrorHandler;
+import org.antlr.v4.runtime.*;
+import parser.PmmLexer;
+import parser.PmmParser;
+import parser.TestPrograms;
+import semantic.IdentificationVisitor;
+import semantic.TypeCheckingVisitor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Differential test of the StreamingCompiler: for every sample program without syntax errors, the code
+ * it writes must be byte by byte the one of the batch compiler, and the errors it reports, in the same
+ * order, those of the batch compiler.
+ * Usage: StreamingCompilerTest [files]
+ */
+public class StreamingCompilerTest {
+
+	public static void main(String... args) throws Exception {
+		for (String file : TestPrograms.files(args))
+			for (String parser : new String[]{"antlr", "rd"})
+				compare(file, parser);
+	}
+
+	private static void compare(String file, String parserOption) throws Exception {
+		ErrorHandler errorHandler = ErrorHandler.getInstance();
+		int mark = errorHandler.mark();
+
+		// * The batch compiler
+		PmmParser parser = new PmmParser(new CommonTokenStream(new PmmLexer(CharStreams.fromFileName(file))));
+		parser.removeErrorListeners();
+		Program ast = parser.program().ast;
+		if (parser.getNumberOfSyntaxErrors() > 0) {
+			errorHandler.rollback(mark);
+			return;
+		}
+		File expected = File.createTempFile("batch", ".out"), obtained = File.createTempFile("stream", ".out");
+		ast.accept(new IdentificationVisitor(), null);
+		ast.accept(new TypeCheckingVisitor(), null);
+		boolean errors = errorHandler.anyError();
+		if (!errors) {
+			ast.accept(new ExecuteCGVisitor(new CodeGenerator(expected.getPath(), file)), null);
+		}
+		String expectedErrors = errors();
+		errorHandler.rollback(mark);
+
+		// * The streaming one
+		obtained.delete();
+		boolean compiled = new StreamingCompiler(file, obtained.getPath(), "antlr", parserOption).compile();
+		String obtainedErrors = errors();
+		errorHandler.rollback(mark);
+
+		assert compiled == !errors : file + " compiled by only one of them.";
+		assert expectedErrors.equals(obtainedErrors) : "Different errors in " + file + ":\n" + expectedErrors + "obtained:\n" + obtainedErrors;
+		if (compiled)
+			assert Arrays.equals(Files.readAllBytes(expected.toPath()), Files.readAllBytes(obtained.toPath()))
+					: "Different code for " + file + " with the " + parserOption + " parser.";
+		else
+			assert !obtained.exists() : "Code written for " + file + ", which has errors.";
+		expected.delete();
+		obtained.delete();
+		assert !Files.list(Paths.get(obtained.getParent())).anyMatch(path -> path.getFileName().toString().startsWith(obtained.getName() + "."))
+				: "Temporary file left for " + file + ".";
+	}
+
+	private static String errors() {
+		ByteArrayOutputStream errors = new ByteArrayOutputStream();
+		ErrorHandler.getInstance().showErrors(new PrintStream(errors));
+		return errors.toString();
+	}
+}
@@ -0,0 +1,113 @@
+package errorhandler;
+
+import ast.type.ErrorType;
+import ast.type.IntegerType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+public class ErrorHandlerTest {
+
+	private final ErrorHandler errorHandler = ErrorHandler.getInstance();
+
+	private String shown() {
+		ByteArrayOutputStream errors = new ByteArrayOutputStream();
+		errorHandler.showErrors(new PrintStream(errors));
+		return errors.toString().replace(System.lineSeparator(), "\n");
+	}
+
+	public void testDuplicates() {
+		int mark = errorHandler.mark();
+		new ErrorType("Variable does not exist.", 1, 2);
+		new ErrorType("Variable does not exist.", 1, 2);
+		new ErrorType("Variable does not exist.", 1, 3);
+		new ErrorType("Function does not exist.", 1, 2);
+		// * Of the same kind, only its message is different
+		new ErrorType(1, 2, "The field %s does not exist.", "a");
+		new ErrorType(1, 2, "The field %s does not exist.", "b");
+		assert errorHandler.mark() == mark + 4;
+		assert shown().endsWith("The field a does not exist. line: 1, column: 2\n");
+
+		// * Once rolled back, the error can be added again
+		errorHandler.rollback(mark + 1);
+		new ErrorType("Variable does not exist.", 1, 3);
+		assert errorHandler.mark() == mark + 2;
+		errorHandler.rollback(mark);
+	}
+
+	public void testLazyMessages() {
+		int mark = errorHandler.mark();
+		ErrorType error = new ErrorType(4, 5, "Cannot compare types %s and %s", IntegerType.getInstance(), "100%");
+		assert error.getKind().equals("Cannot compare types %s and %s");
+		assert error.toString().equals("Cannot compare types Integer and 100% line: 4, column: 5");
+		assert new ErrorType("mismatched input '%' expecting ID", 4, 6).getMessage().equals("mismatched input '%' expecting ID");
+		errorHandler.rollback(mark);
+	}
+
+	public void testLimit() {
+		int mark = errorHandler.mark();
+		errorHandler.setLimit(mark + 3);
+		try {
+			new ErrorType("First.", 1, 1);
+			new ErrorType("Second.", 2, 1);
+			new ErrorType("Second.", 2, 1);
+			try {
+				new ErrorType("Third.", 3, 1);
+				assert false : "The third error reaches the limit.";
+			} catch (ErrorLimitException e) {
+				assert e.getMessage().equals("Too many errors, only the first " + (mark + 3) + " are shown.");
+			}
+			try {
+				new ErrorType("Fourth.", 4, 1);
+				assert false : "Past the limit.";
+			} catch (ErrorLimitException e) {
+				// * Not added
+			}
+			assert errorHandler.mark() == mark + 3;
+		} finally {
+			errorHandler.rollback(mark);
+			errorHandler.setLimit(ErrorHandler.DEFAULT_LIMIT);
+		}
+	}
+
+	public void testBuffers() {
+		int mark = errorHandler.mark();
+		errorHandler.setLimit(mark + 3);
+		try {
+			new ErrorType("Before.", 1, 1);
+			errorHandler.startBuffer();
+			new ErrorType("Buffered.", 2, 1);
+			new ErrorType("Buffered.", 2, 1);
+			assert errorHandler.mark() == mark + 1;
+			try {
+				// * With the one added before, there are as many as the limit
+				new ErrorType("Buffered.", 3, 1);
+				assert false : "The buffer reaches the limit.";
+			} catch (ErrorLimitException e) {
+				// * Kept in the buffer
+			}
+			List<ErrorType> buffered = errorHandler.endBuffer();
+			assert buffered.size() == 2;
+			try {
+				errorHandler.addErrors(buffered);
+				assert false : "Adding the buffer reaches the limit.";
+			} catch (ErrorLimitException e) {
+				assert shown().endsWith("Before. line: 1, column: 1\nBuffered. line: 2, column: 1\nBuffered. line: 3, column: 1\n");
+			}
+			assert errorHandler.mark() == mark + 3;
+		} finally {
+			errorHandler.rollback(mark);
+			errorHandler.setLimit(ErrorHandler.DEFAULT_LIMIT);
+		}
+	}
+
+	public static void main(String[] args) {
+		ErrorHandlerTest test = new ErrorHandlerTest();
+		test.testDuplicates();
+		test.testLazyMessages();
+		test.testLimit();
+		test.testBuffers();
+	}
+
+}
@@ -0,0 +1,231 @@
+package parser;
+
+import ast.AstNode;
+import ast.Program;
+import ast.definition.Definition;
+import ast.definition.FunctionDefinition;
+import ast.definition.VarDefinition;
+import ast.expression.FunctionInvocation;
+import ast.expression.value.Variable;
+import errorhandler.ErrorHandler;
+import org.antlr.v4.runtime.*;
+import semantic.AbstractVisitor;
+import symboltable.NameTable;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random edits of every sample program, each parsed by the IncrementalParser: the Program it builds
+ * must be the one of parsing the edited source from scratch, whenever it has no syntax errors, but for
+ * the ids of the names, which must be those of the NameTable of the IncrementalParser. Half of the edits
+ * are undone right after, so most sources stay valid. Besides, a statement and a blank line are inserted
+ * in the body of every function, and then removed, which must be parsed incrementally.
+ * Usage: IncrementalParserTest [files]
+ */
+public class IncrementalParserTest {
+
+	private static final String[] SNIPPETS = {"x", "1", ";", "}", "\n", " ", "#", "\"\"\"", "def f(): {}\n", "print 1;\n"};
+
+	public static void main(String... args) throws Exception {
+		Random random = new Random(0);
+		int updates = 0, incremental = 0, targeted = 0;
+		for (String file : TestPrograms.files(args)) {
+			ErrorHandler errorHandler = ErrorHandler.getInstance();
+			int mark = errorHandler.mark();
+			String source = TestPrograms.read(file);
+			Program program = reference(source, file);
+			if (program == null)
+				continue;
+
+			IncrementalParser parser = new IncrementalParser(source, file);
+			parser.removeErrorListeners();
+			parser.parse();
+			targeted += editBodies(parser, program, file);
+			for (int i = 0; i < 40; i++) {
+				String before = parser.getSource();
+				IncrementalParser.Edit edit = randomEdit(random, before);
+				incremental += check(parser, edit, file) ? 1 : 0;
+				updates++;
+				if (random.nextBoolean()) {
+					String removed = before.substring(edit.getOffset(), edit.getOffset() + edit.getLength());
+					incremental += check(parser, new IncrementalParser.Edit(edit.getOffset(), edit.getText().length(), removed), file) ? 1 : 0;
+					updates++;
+					assert parser.getSource().equals(before);
+				}
+			}
+			errorHandler.rollback(mark);
+		}
+		assert incremental > 0 && targeted > 0 : "No edit was parsed incrementally.";
+		System.out.println(incremental + " of " + updates + " random edits and " + targeted + " edits of bodies parsed incrementally.");
+	}
+
+	/**
+	 * Inserts a statement and a blank line at the start of the line that closes the body of every function
+	 * of more than one line, removing each right after. The edits are inside the region of the function,
+	 * so they must be parsed incrementally.
+	 * @return the number of edits.
+	 */
+	private static int editBodies(IncrementalParser parser, Program program, String file) throws IllegalAccessException {
+		List<Definition> definitions = program.getProgram();
+		int edits = 0;
+		for (int i = 0; i < definitions.size(); i++) {
+			if (!(definitions.get(i) instanceof FunctionDefinition))
+				continue;
+			String source = parser.getSource();
+			int end = i + 1 < definitions.size() ? lineStart(source, definitions.get(i + 1).getLine()) : source.length();
+			int offset = closingLine(source, end);
+			if (offset <= lineStart(source, definitions.get(i).getLine()))
+				continue;
+			for (String text : new String[]{"print 1;\n", "\n"}) {
+				String name = file + " with " + (text.equals("\n") ? "a blank line" : text.trim()) + " inserted at " + offset;
+				boolean inserted = check(parser, new IncrementalParser.Edit(offset, 0, text), file);
+				assert inserted : name + " parsed from scratch.";
+				boolean removed = check(parser, new IncrementalParser.Edit(offset, text.length(), ""), file);
+				assert removed : name + " removed parsed from scratch.";
+				edits += 2;
+			}
+		}
+		return edits;
+	}
+
+	/**
+	 * @return the start of the last line before end with a } that is not in a # comment.
+	 */
+	private static int closingLine(String source, int end) {
+		for (int line = end; line > 0; ) {
+			int previous = source.lastIndexOf('\n', line - 2) + 1;
+			if (source.substring(previous, line).replaceAll("#.*", "").contains("}"))
+				return previous;
+			line = previous;
+		}
+		return 0;
+	}
+
+	private static int lineStart(String source, int line) {
+		int offset = 0;
+		for (int i = 1; i < line; i++)
+			offset = source.indexOf('\n', offset) + 1;
+		return offset;
+	}
+
+	/**
+	 * @return whether the edit was parsed incrementally.
+	 */
+	private static boolean check(IncrementalParser parser, IncrementalParser.Edit edit, String file) throws IllegalAccessException {
+		IncrementalParser.Update update;
+		try {
+			update = parser.apply(edit);
+		} catch (RuntimeException e) {
+			// * Some syntax errors make the actions of the grammar fail, as when compiling
+			assert reference(parser.getSource(), file) == null : "Failed to parse " + file + " edited at " + edit.getOffset() + ": " + e;
+			return false;
+		}
+		Program expected = reference(parser.getSource(), file);
+		assert !update.isIncremental() || expected != null : "Syntax errors of " + file + " missed after an edit at " + edit.getOffset() + ".";
+		if (expected != null) {
+			RecursiveDescentParserTest.assertSameTree(expected, update.getProgram(), file + " edited at " + edit.getOffset() + ": program", false);
+			update.getProgram().accept(new NameIdChecker(parser.getNameTable()), null);
+		}
+		List<Definition> definitions = update.getProgram().getProgram();
+		for (Definition changed : update.getChangedDefinitions())
+			assert definitions.stream().anyMatch(definition -> definition == changed) : "Changed definition not in the program.";
+		return update.isIncremental();
+	}
+
+	/**
+	 * Checks that the id of every name is the one of the name in the table.
+	 */
+	private static class NameIdChecker extends AbstractVisitor<Void, Void> {
+
+		private final NameTable names;
+
+		NameIdChecker(NameTable names) {
+			this.names = names;
+		}
+
+		private void check(String name, int id, AstNode node) {
+			assert id != NameTable.NONE && names.getName(id) == name : "Wrong id of " + name + " at line " + node.getLine() + ".";
+		}
+
+		@Override
+		public Void visit(FunctionDefinition functionDefinition, Void param) {
+			// * main is a keyword, not an ID
+			if (functionDefinition.getNameId() != NameTable.NONE || !functionDefinition.getName().equals("main"))
+				check(functionDefinition.getName(), functionDefinition.getNameId(), functionDefinition);
+			return super.visit(functionDefinition, param);
+		}
+
+		@Override
+		public Void visit(VarDefinition varDefinition, Void param) {
+			check(varDefinition.getName(), varDefinition.getNameId(), varDefinition);
+			return super.visit(varDefinition, param);
+		}
+
+		@Override
+		public Void visit(Variable variable, Void param) {
+			check(variable.getName(), variable.getNameId(), variable);
+			return null;
+		}
+
+		@Override
+		public Void visit(FunctionInvocation functionInvocation, Void param) {
+			visit(functionInvocation.getVariable(), param);
+			return super.visit(functionInvocation, param);
+		}
+	}
+
+	private static IncrementalParser.Edit randomEdit(Random random, String source) {
+		int offset = random.nextInt(source.length() + 1);
+		switch (random.nextInt(4)) {
+			case 0:
+				// * Another digit, never a leading 0
+				int digit = source.indexOf(Character.forDigit(random.nextInt(10), 10), offset);
+				return digit >= 0 ? new IncrementalParser.Edit(digit, 1, String.valueOf(1 + random.nextInt(9)))
+						: blankLine(source, offset);
+			case 1:
+				return blankLine(source, offset);
+			case 2:
+				return deletion(source, offset);
+			default:
+				return new IncrementalParser.Edit(offset, 0, SNIPPETS[random.nextInt(SNIPPETS.length)]);
+		}
+	}
+
+	/**
+	 * @return a blank line after the offset, or the deletion of its character if there is no line after it.
+	 */
+	private static IncrementalParser.Edit blankLine(String source, int offset) {
+		int line = source.indexOf('\n', offset);
+		return line >= 0 ? new IncrementalParser.Edit(line + 1, 0, "\n") : deletion(source, offset);
+	}
+
+	private static IncrementalParser.Edit deletion(String source, int offset) {
+		return new IncrementalParser.Edit(Math.min(offset, source.length() - 1), 1, "");
+	}
+
+	/**
+	 * @return the Program of parsing the source from scratch, or null if it has syntax errors.
+	 */
+	private static Program reference(String source, String file) {
+		int[] errors = {0};
+		BaseErrorListener counter = new BaseErrorListener() {
+			@Override
+			public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int column, String message, RecognitionException e) {
+				errors[0]++;
+			}
+		};
+		PmmScanner scanner = new PmmScanner(source.toCharArray(), file);
+		scanner.removeErrorListeners();
+		scanner.addErrorListener(counter);
+		PmmParser parser = new PmmParser(new CommonTokenStream(scanner));
+		parser.removeErrorListeners();
+		parser.addErrorListener(counter);
+		try {
+			Program program = parser.program().ast;
+			return errors[0] == 0 ? program : null;
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+}
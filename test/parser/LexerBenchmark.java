@@ -0,0 +1,64 @@
+package parser;
+
+import org.antlr.v4.runtime.*;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compares the time and the memory allocated by the generated PmmLexer and the hand-written PmmScanner
+ * to tokenize a file and decode the values of its literals.
+ * Usage: LexerBenchmark file [runs]
+ */
+public class LexerBenchmark {
+
+	// * Sum of the values of the literals, so their decoding is not optimized away
+	private static double checksum;
+
+	private interface LexerFactory {
+		TokenSource create(String fileName) throws Exception;
+	}
+
+	public static void main(String... args) throws Exception {
+		String fileName = args.length > 0 ? args[0] : "big.input.txt";
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		// * Warm up both of them before measuring
+		for (int i = 0; i < runs; i++) {
+			tokenize(new PmmLexer(CharStreams.fromFileName(fileName)));
+			tokenize(PmmScanner.fromFileName(fileName));
+		}
+		measure("PmmLexer", fileName, runs, name -> new PmmLexer(CharStreams.fromFileName(name)));
+		measure("PmmScanner", fileName, runs, PmmScanner::fromFileName);
+	}
+
+	private static void measure(String name, String fileName, int runs, LexerFactory factory) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long tokens = 0, bytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId()), time = System.nanoTime();
+		for (int i = 0; i < runs; i++)
+			tokens += tokenize(factory.create(fileName));
+		time = System.nanoTime() - time;
+		bytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - bytes;
+		System.out.println(String.format("%-12s %8.2f ms/run %8d tokens/run %8.1f bytes/token",
+				name, time / 1e6 / runs, tokens / runs, (double) bytes / tokens));
+	}
+
+	private static int tokenize(TokenSource lexer) {
+		int tokens = 0;
+		Token token;
+		while ((token = lexer.nextToken()).getType() != Token.EOF) {
+			tokens++;
+			switch (token.getType()) {
+				case PmmLexer.INT_CONSTANT:
+					checksum += LexerHelper.lexemeToInt(token);
+					break;
+				case PmmLexer.CHAR_CONSTANT:
+					checksum += LexerHelper.lexemeToChar(token);
+					break;
+				case PmmLexer.REAL_CONSTANT:
+					checksum += LexerHelper.lexemeToReal(token);
+					break;
+			}
+		}
+		return tokens;
+	}
+}
@@ -5,14 +5,17 @@ import org.antlr.v4.runtime.*;
 public class LexerTest {
 
 	public static void main(String... args) throws Exception {
+		String fileName = args.length > 0 ? args[0] : "inputs/lexer.input.txt";
 
-		// creates a lexer that feeds off of input CharStream
-		CharStream input = CharStreams.fromFileName("input.txt");
-
-		// creates a buffer of tokens pulled from the lexer
-		PmmLexer lexer = new PmmLexer(input);
+		// tests the generated lexer and the hand-written one for the given input file
+		test(new PmmLexer(CharStreams.fromFileName(fileName)));
+		test(PmmScanner.fromFileName(fileName));
+		// and the generated lexer over the bytes of the file, read and memory-mapped
+		test(new PmmLexer(ByteCharStream.fromFileName(fileName)));
+		test(new PmmLexer(ByteCharStream.fromFileName(fileName, 0)));
+	}
 
-		// tests the lexer for the given input file
+	private static void test(TokenSource lexer) {
 		Token token;
 		int i = 0;
 		while ((token = lexer.nextToken()).getType() != PmmLexer.EOF) {
@@ -20,13 +23,13 @@ public class LexerTest {
 			Object semanticValue = null;
 			switch (token.getType()) {
 				case PmmLexer.INT_CONSTANT:
-					semanticValue = LexerHelper.lexemeToInt(token.getText());
+					semanticValue = LexerHelper.lexemeToInt(token);
 					break;
 				case PmmLexer.CHAR_CONSTANT:
-					semanticValue = LexerHelper.lexemeToChar(token.getText());
+					semanticValue = LexerHelper.lexemeToChar(token);
 					break;
 				case PmmLexer.REAL_CONSTANT:
-					semanticValue = LexerHelper.lexemeToReal(token.getText());
+					semanticValue = LexerHelper.lexemeToReal(token);
 					break;
 			default:
 				semanticValue = token.getText();
@@ -35,6 +38,7 @@ public class LexerTest {
 			expectedTokens[i].assertEquals(token.getLine(), token.getCharPositionInLine() + 1, token.getText(), token.getType(), semanticValue);
 			i++;
 		}
+		assert i == expectedTokens.length : "Expected " + expectedTokens.length + " tokens, obtained " + i + ".";
 	}
 
 	private static LexicalInfo[] expectedTokens = new LexicalInfo[] {
@@ -0,0 +1,58 @@
+package parser;
+
+import ast.Program;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compares the time and the memory allocated by the PmmParser, with SLL and LL prediction, and the
+ * RecursiveDescentParser to build the AST of a file, without parse tree. All of them take the tokens of
+ * the PmmScanner.
+ * Usage: ParserBenchmark file [runs]
+ */
+public class ParserBenchmark {
+
+	private interface Front {
+		Program parse(String fileName) throws Exception;
+	}
+
+	public static void main(String... args) throws Exception {
+		String fileName = args.length > 0 ? args[0] : "big.input.txt";
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		Front sll = name -> antlr(name, PredictionMode.SLL);
+		Front ll = name -> antlr(name, PredictionMode.LL);
+		Front rd = name -> new RecursiveDescentParser(PmmScanner.fromFileName(name)).program();
+
+		// * Warm up all of them before measuring
+		for (int i = 0; i < runs; i++) {
+			sll.parse(fileName);
+			ll.parse(fileName);
+			rd.parse(fileName);
+		}
+		measure("PmmParser LL", fileName, runs, ll);
+		measure("PmmParser SLL", fileName, runs, sll);
+		measure("Recursive descent", fileName, runs, rd);
+	}
+
+	private static Program antlr(String fileName, PredictionMode mode) throws Exception {
+		PmmParser parser = new PmmParser(new CommonTokenStream(PmmScanner.fromFileName(fileName)));
+		parser.getInterpreter().setPredictionMode(mode);
+		// * As the compiler does, so the memory is the one of the tokens and the AST
+		parser.setBuildParseTree(false);
+		return parser.program().ast;
+	}
+
+	private static void measure(String name, String fileName, int runs, Front front) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long bytes = threads.getThreadAllocatedBytes(thread), time = System.nanoTime();
+		for (int i = 0; i < runs; i++)
+			front.parse(fileName);
+		time = System.nanoTime() - time;
+		bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+		System.out.println(String.format("%-18s %8.2f ms/run %10.2f MB/run", name, time / 1e6 / runs, bytes / 1e6 / runs));
+	}
+}
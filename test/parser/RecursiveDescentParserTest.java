@@ -0,0 +1,94 @@
+package parser;
+
+import ast.Program;
+import errorhandler.ErrorHandler;
+import org.antlr.v4.runtime.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Differential test of the RecursiveDescentParser: for every sample program, the AST it builds and the
+ * errors it reports must be the ones of the PmmParser. Programs with syntax errors must have syntax
+ * errors for both of them.
+ * Usage: RecursiveDescentParserTest [files]
+ */
+public class RecursiveDescentParserTest {
+
+	public static void main(String... args) throws Exception {
+		for (String file : TestPrograms.files(args))
+			compare(file);
+	}
+
+	private static void compare(String file) throws Exception {
+		ErrorHandler errorHandler = ErrorHandler.getInstance();
+		int mark = errorHandler.mark();
+
+		// * The ANTLR parser
+		PmmParser parser = new PmmParser(new CommonTokenStream(new PmmLexer(CharStreams.fromFileName(file))));
+		parser.removeErrorListeners();
+		Program expected = parser.program().ast;
+		boolean syntaxErrors = parser.getNumberOfSyntaxErrors() > 0;
+		String expectedErrors = errors();
+		errorHandler.rollback(mark);
+
+		// * The recursive descent one
+		Program obtained = new RecursiveDescentParser(PmmScanner.fromFileName(file)).program();
+		String obtainedErrors = errors();
+		errorHandler.rollback(mark);
+
+		if (syntaxErrors) {
+			assert obtainedErrors.contains("mismatched input") : "Expected syntax errors in " + file + ".";
+			return;
+		}
+		assert expectedErrors.equals(obtainedErrors) : "Different errors in " + file + ":\n" + expectedErrors + "obtained:\n" + obtainedErrors;
+		assertSameTree(expected, obtained, file + ": program");
+	}
+
+	private static String errors() {
+		ByteArrayOutputStream errors = new ByteArrayOutputStream();
+		ErrorHandler.getInstance().showErrors(new PrintStream(errors));
+		return errors.toString();
+	}
+
+	/**
+	 * Compares two trees field by field, including those of the superclasses.
+	 */
+	static void assertSameTree(Object expected, Object obtained, String path) throws IllegalAccessException {
+		assertSameTree(expected, obtained, path, true);
+	}
+
+	/**
+	 * @param nameIds whether to compare the ids of the names too, which are only the same when both
+	 * trees were built with NameTables that got the names in the same order.
+	 */
+	static void assertSameTree(Object expected, Object obtained, String path, boolean nameIds) throws IllegalAccessException {
+		if (expected == obtained)
+			return;
+		assert expected != null && obtained != null : "Null at " + path + ".";
+		assert expected.getClass() == obtained.getClass() : "Expected " + expected.getClass().getSimpleName() + " at " + path
+				+ ", obtained " + obtained.getClass().getSimpleName() + ".";
+		if (expected instanceof List) {
+			List<?> expectedList = (List<?>) expected, obtainedList = (List<?>) obtained;
+			assert expectedList.size() == obtainedList.size() : "Expected " + expectedList.size() + " elements at " + path
+					+ ", obtained " + obtainedList.size() + ".";
+			for (int i = 0; i < expectedList.size(); i++)
+				assertSameTree(expectedList.get(i), obtainedList.get(i), path + "[" + i + "]", nameIds);
+			return;
+		}
+		if (expected instanceof String || expected instanceof Number || expected instanceof Boolean || expected instanceof Character) {
+			assert expected.equals(obtained) : "Expected " + expected + " at " + path + ", obtained " + obtained + ".";
+			return;
+		}
+		for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass())
+			for (Field field : type.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || !nameIds && field.getName().endsWith("ameId"))
+					continue;
+				field.setAccessible(true);
+				assertSameTree(field.get(expected), field.get(obtained), path + "." + field.getName(), nameIds);
+			}
+	}
+}
@@ -0,0 +1,110 @@
+package parser;
+
+import ast.Program;
+import org.antlr.v4.runtime.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Programs for the tests: the sample programs of the project and random programs, valid or with errors
+ * of identification and of types, but never of syntax.
+ */
+public class TestPrograms {
+
+	private static final String[] VALID = {
+			"i = i + 1;", "r = r * 2.0;", "c = b;", "print i, r, c;", "v[i % 4] = i;", "p.f = c;", "p.r = r;",
+			"input i;", "i = (int) r;", "r = i;", "c = (char) (i + 65);", "i = i * 3 % 7 - -i;",
+			"while i > 0: { i = i - 1; }", "if i > 2: { print p.f; } else { r = 1.5; }",
+			"if i < 3 && r > 1.0: { r = r - 1.0; }", "while i < 10: { if i == 5: { print r; } i = i + 2; }",
+			"if !(i == 1): { print v[i % 4] + 1, '\\n'; }",
+	};
+
+	private static final String[] INVALID = {
+			"i = r;", "c = i;", "i = c + 1;", "while i: { i = i - 1; }", "i = undefined;", "p.g = c;", "input 3;",
+			"i = h(c);", "3 = i;", "v.f = c;", "p[1] = i;", "return r;", "i = f0(c);", "i = a(1);", "g = p;",
+	};
+
+	/**
+	 * @return the files, or the sample programs when there are none: the .txt files of the working
+	 * directory and of inputs but the expected outputs and the input of the LexerTest.
+	 */
+	public static List<String> files(String... files) {
+		if (files.length > 0)
+			return Arrays.asList(files);
+		List<String> samples = new ArrayList<>();
+		for (String directory : new String[]{".", "inputs"})
+			for (File file : new File(directory).listFiles())
+				if (file.getName().endsWith(".txt") && !file.getName().matches(".*([Oo]ut|lexer).*"))
+					samples.add(file.getPath());
+		return samples;
+	}
+
+	/**
+	 * @return the characters of the file decoded as UTF-8, as Main decodes the sources that are not ASCII.
+	 */
+	public static String read(String file) throws IOException {
+		return new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return the Program of the PmmParser, or null if the source has lexical or syntax errors.
+	 */
+	public static Program parse(String source) {
+		int[] errors = {0};
+		BaseErrorListener counter = new BaseErrorListener() {
+			@Override
+			public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int column, String message, RecognitionException e) {
+				errors[0]++;
+			}
+		};
+		PmmLexer lexer = new PmmLexer(CharStreams.fromString(source));
+		lexer.removeErrorListeners();
+		lexer.addErrorListener(counter);
+		PmmParser parser = new PmmParser(new CommonTokenStream(lexer));
+		parser.removeErrorListeners();
+		parser.addErrorListener(counter);
+		try {
+			Program program = parser.program().ast;
+			return errors[0] == 0 ? program : null;
+		} catch (RuntimeException e) {
+			// * Some syntax errors make the actions of the grammar fail
+			return null;
+		}
+	}
+
+	/**
+	 * Functions with loops, conditionals and accesses to arrays and records, each invoking one of the
+	 * previous ones. With errors, a third of the statements have some, and there are duplicated
+	 * variables, parameters and functions, invocations of functions defined later and missing returns.
+	 */
+	public static String randomProgram(Random random, int functions, boolean errors) {
+		StringBuilder program = new StringBuilder("g: int;\np: struct { f: char; r: double; };\nv: [4] int;\n");
+		for (int f = 0; f < functions; f++) {
+			String name = errors && random.nextInt(10) == 0 ? "g" : "f" + f;
+			program.append("def ").append(name).append("(a: int, ").append(errors && random.nextInt(8) == 0 ? "a" : "b")
+					.append(": char): ").append(errors && random.nextBoolean() ? "double" : "int")
+					.append(" {\n  i: int;\n  r: double;\n  c: char;\n");
+			if (errors && random.nextInt(4) == 0)
+				program.append("  i: char;\n");
+			program.append("  i = a;\n  r = 2.5;\n  c = 'x';\n");
+			for (int s = random.nextInt(8); s > 0; s--) {
+				String[] statements = errors && random.nextInt(3) == 0 ? INVALID : VALID;
+				program.append("  ").append(statements[random.nextInt(statements.length)]).append('\n');
+			}
+			if (f > 0 || errors)
+				program.append("  i = f").append(random.nextInt(errors ? functions : f)).append("(i, c);\n");
+			if (!errors || random.nextInt(4) > 0)
+				program.append("  return i;\n");
+			program.append("}\n");
+		}
+		return program.append("def main(): {\n  i: int;\n  g = f").append(functions - 1).append("(1, 'a');\n  print g, '\\n';\n}\n").toString();
+	}
+}
@@ -0,0 +1,63 @@
+package semantic;
+
+import ast.Program;
+import codegenerator.CodeGenerator;
+import codegenerator.ExecuteCGVisitor;
+import org.antlr.v4.runtime.*;
+import parser.PmmParser;
+import parser.PmmScanner;
+import symboltable.NameTable;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the time and the memory allocated by every pass over the AST of a file: identification, type
+ * checking and code generation, which writes to nowhere so only the garbage of the traversal itself and
+ * of the instructions is counted. The AST is parsed once and every pass runs on it again and again.
+ * Usage: AnalysisBenchmark file [runs]
+ */
+public class AnalysisBenchmark {
+
+	private interface Pass {
+		void run(Program program);
+	}
+
+	public static void main(String... args) throws Exception {
+		String fileName = args.length > 0 ? args[0] : "big.input.txt";
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		NameTable names = new NameTable();
+		PmmScanner scanner = PmmScanner.fromFileName(fileName);
+		scanner.setNameTable(names);
+		PmmParser parser = new PmmParser(new CommonTokenStream(scanner));
+		parser.setBuildParseTree(false);
+		Program program = parser.program().ast;
+
+		Pass identification = ast -> ast.accept(new IdentificationVisitor(names), null);
+		Pass typeChecking = ast -> ast.accept(new TypeCheckingVisitor(), null);
+		Pass codeGeneration = ast -> ast.accept(new ExecuteCGVisitor(new CodeGenerator(new PrintWriter(Writer.nullWriter()))), null);
+
+		// * Warm up all of them before measuring
+		for (int i = 0; i < runs; i++) {
+			identification.run(program);
+			typeChecking.run(program);
+			codeGeneration.run(program);
+		}
+		measure("Identification", program, runs, identification);
+		measure("Type checking", program, runs, typeChecking);
+		measure("Code generation", program, runs, codeGeneration);
+	}
+
+	private static void measure(String name, Program program, int runs, Pass pass) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long bytes = threads.getThreadAllocatedBytes(thread), time = System.nanoTime();
+		for (int i = 0; i < runs; i++)
+			pass.run(program);
+		time = System.nanoTime() - time;
+		bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+		System.out.println(String.format("%-16s %8.2f ms/run %10.2f MB/run", name, time / 1e6 / runs, bytes / 1e6 / runs));
+	}
+}
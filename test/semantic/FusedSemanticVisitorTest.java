@@ -0,0 +1,123 @@
+package semantic;
+
+import ast.Program;
+import errorhandler.ErrorHandler;
+import parser.TestPrograms;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Differential test of the FusedSemanticVisitor: for every sample program without syntax errors, and for
+ * random programs with errors of identification and of types, it must report the errors of the
+ * IdentificationVisitor and the TypeCheckingVisitor in the same order, and leave every node of the
+ * program with the same fields: definitions, slots, types, lvalues...
+ * Usage: FusedSemanticVisitorTest [files]
+ */
+public class FusedSemanticVisitorTest {
+
+	public static void main(String... args) throws Exception {
+		List<String> sources = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		for (String file : TestPrograms.files(args)) {
+			sources.add(TestPrograms.read(file));
+			names.add(file);
+		}
+		Random random = new Random(0);
+		for (int i = 0; i < 40; i++) {
+			sources.add(TestPrograms.randomProgram(random, 1 + random.nextInt(30), true));
+			names.add("random program " + i);
+		}
+
+		int compared = 0;
+		for (int i = 0; i < sources.size(); i++)
+			compared += compare(sources.get(i), names.get(i)) ? 1 : 0;
+		assert compared > 40 : "Only " + compared + " programs compared.";
+		System.out.println(compared + " of " + sources.size() + " programs compared.");
+	}
+
+	/**
+	 * @return whether the program has no syntax errors, so it was compared.
+	 */
+	private static boolean compare(String source, String name) throws IllegalAccessException {
+		ErrorHandler errorHandler = ErrorHandler.getInstance();
+		int mark = errorHandler.mark();
+		Program expected = TestPrograms.parse(source), obtained = TestPrograms.parse(source);
+		if (expected == null) {
+			errorHandler.rollback(mark);
+			return false;
+		}
+		int parsed = errorHandler.mark();
+
+		expected.accept(new IdentificationVisitor(), null);
+		expected.accept(new TypeCheckingVisitor(), null);
+		String expectedErrors = errors();
+		errorHandler.rollback(parsed);
+		obtained.accept(new FusedSemanticVisitor(), null);
+		String obtainedErrors = errors();
+		errorHandler.rollback(mark);
+
+		assert expectedErrors.equals(obtainedErrors) : "Different errors in " + name + ":\n" + expectedErrors + "obtained:\n" + obtainedErrors;
+		assertSameGraph(expected, obtained, name, new IdentityHashMap<>());
+		return true;
+	}
+
+	/**
+	 * Compares two graphs of objects field by field, including those of the superclasses. The
+	 * definitions of the Variables make cycles, so every object is only compared once. Lists and maps are
+	 * compared element by element.
+	 */
+	private static void assertSameGraph(Object expected, Object obtained, String path, Map<Object, Object> compared) throws IllegalAccessException {
+		if (expected == obtained)
+			return;
+		assert expected != null && obtained != null : "Null at " + path + ".";
+		assert expected.getClass() == obtained.getClass() : "Expected " + expected.getClass().getSimpleName() + " at " + path
+				+ ", obtained " + obtained.getClass().getSimpleName() + ".";
+		if (expected instanceof String || expected instanceof Number || expected instanceof Boolean
+				|| expected instanceof Character || expected instanceof Enum) {
+			assert expected.equals(obtained) : "Expected " + expected + " at " + path + ", obtained " + obtained + ".";
+			return;
+		}
+		Object previous = compared.put(expected, obtained);
+		if (previous != null) {
+			assert previous == obtained : "Node at " + path + " is another one than before.";
+			return;
+		}
+		if (expected instanceof List) {
+			List<?> expectedList = (List<?>) expected, obtainedList = (List<?>) obtained;
+			assert expectedList.size() == obtainedList.size() : "Expected " + expectedList.size() + " elements at " + path
+					+ ", obtained " + obtainedList.size() + ".";
+			for (int i = 0; i < expectedList.size(); i++)
+				assertSameGraph(expectedList.get(i), obtainedList.get(i), path + "[" + i + "]", compared);
+			return;
+		}
+		if (expected instanceof Map) {
+			Map<?, ?> expectedMap = (Map<?, ?>) expected, obtainedMap = (Map<?, ?>) obtained;
+			assert expectedMap.keySet().equals(obtainedMap.keySet()) : "Expected keys " + expectedMap.keySet() + " at " + path
+					+ ", obtained " + obtainedMap.keySet() + ".";
+			for (Object key : expectedMap.keySet())
+				assertSameGraph(expectedMap.get(key), obtainedMap.get(key), path + "[" + key + "]", compared);
+			return;
+		}
+		for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass())
+			for (Field field : type.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()))
+					continue;
+				field.setAccessible(true);
+				assertSameGraph(field.get(expected), field.get(obtained), path + "." + field.getName(), compared);
+			}
+	}
+
+	private static String errors() {
+		ByteArrayOutputStream errors = new ByteArrayOutputStream();
+		ErrorHandler.getInstance().showErrors(new PrintStream(errors));
+		return errors.toString();
+	}
+}
@@ -0,0 +1,98 @@
+package semantic;
+
+import ast.Program;
+import codegenerator.CodeGenerator;
+import codegenerator.ExecuteCGVisitor;
+import errorhandler.ErrorHandler;
+import errorhandler.ErrorLimitException;
+import parser.TestPrograms;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Differential test of the ParallelTypeChecker: for every sample program without syntax errors, and for
+ * random programs with many functions, the errors it reports must be those of the TypeCheckingVisitor in
+ * the same order, and the code of the programs without errors byte by byte the same. With a limit of
+ * errors, both must stop at the same error.
+ * Usage: ParallelTypeCheckerTest [files]
+ */
+public class ParallelTypeCheckerTest {
+
+	// * Type errors allowed when comparing with a limit
+	private static final int LIMITED_ERRORS = 25;
+
+	public static void main(String... args) throws Exception {
+		List<String> sources = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		for (String file : TestPrograms.files(args)) {
+			sources.add(TestPrograms.read(file));
+			names.add(file);
+		}
+		Random random = new Random(0);
+		for (int i = 0; i < 20; i++) {
+			sources.add(TestPrograms.randomProgram(random, 50 + random.nextInt(150), true));
+			names.add("random program " + i);
+		}
+
+		int compared = 0;
+		for (int i = 0; i < sources.size(); i++)
+			compared += compare(sources.get(i), names.get(i)) ? 1 : 0;
+		// * The random programs have no syntax errors
+		assert compared > 20 : "Only " + compared + " programs compared.";
+		System.out.println(compared + " of " + sources.size() + " programs compared.");
+	}
+
+	/**
+	 * @return whether the program has no syntax errors, so it was compared.
+	 */
+	private static boolean compare(String source, String name) throws Exception {
+		ErrorHandler errorHandler = ErrorHandler.getInstance();
+		int mark = errorHandler.mark();
+		try {
+			for (boolean limited : new boolean[]{false, true}) {
+				String[] errors = new String[2];
+				byte[][] code = new byte[2][];
+				for (int jobs : new int[]{1, 4}) {
+					int run = jobs == 1 ? 0 : 1;
+					Program program = TestPrograms.parse(source);
+					if (program == null)
+						return false;
+					errorHandler.setLimit(Integer.MAX_VALUE);
+					program.accept(new IdentificationVisitor(), null);
+					// * The type checking of the random programs goes past it
+					if (limited)
+						errorHandler.setLimit(errorHandler.mark() + LIMITED_ERRORS);
+					String aborted = "";
+					try {
+						new ParallelTypeChecker(jobs).check(program);
+					} catch (ErrorLimitException e) {
+						aborted = e.getMessage();
+					}
+					ByteArrayOutputStream shown = new ByteArrayOutputStream();
+					errorHandler.showErrors(new PrintStream(shown));
+					errors[run] = shown + aborted;
+					if (!errorHandler.anyError()) {
+						File output = File.createTempFile("types", ".out");
+						program.accept(new ExecuteCGVisitor(new CodeGenerator(output.getPath(), name)), null);
+						code[run] = Files.readAllBytes(output.toPath());
+						output.delete();
+					}
+					errorHandler.rollback(mark);
+				}
+				assert errors[0].equals(errors[1]) : "Different errors in " + name + ":\n" + errors[0] + "obtained:\n" + errors[1];
+				assert Arrays.equals(code[0], code[1]) : "Different code for " + name + ".";
+			}
+			return true;
+		} finally {
+			errorHandler.rollback(mark);
+			errorHandler.setLimit(ErrorHandler.DEFAULT_LIMIT);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package symboltable;
+
+public class NameTableTest {
+
+	public void testIntern() {
+		NameTable names = new NameTable();
+		char[] chars = "a ab a b".toCharArray();
+		int a = names.intern(chars, 0, 1);
+		assert a == 0;
+		assert names.intern(chars, 2, 4) == 1;
+		assert names.intern(chars, 5, 6) == a;
+		assert names.intern("a") == a;
+		assert names.intern("b") == 2;
+		assert names.intern(chars, 7, 8) == 2;
+		assert names.getName(a).equals("a");
+		assert names.getName(names.intern(new String("ab"))) == names.getName(1);
+		assert names.size() == 3;
+	}
+
+	public void testFind() {
+		NameTable names = new NameTable();
+		assert names.find("a") == NameTable.NONE;
+		int a = names.intern("a");
+		assert names.find("a") == a;
+		assert names.find("b") == NameTable.NONE;
+		assert names.size() == 1;
+	}
+
+	public void testGrow() {
+		NameTable names = new NameTable();
+		for (int i = 0; i < 10000; i++)
+			assert names.intern("name" + i) == i;
+		for (int i = 0; i < 10000; i++) {
+			char[] chars = ("name" + i).toCharArray();
+			assert names.intern(chars, 0, chars.length) == i;
+			assert names.getName(i).equals("name" + i);
+		}
+		assert names.size() == 10000;
+	}
+
+	public static void main(String[] args) {
+		NameTableTest test = new NameTableTest();
+		test.testIntern();
+		test.testFind();
+		test.testGrow();
+	}
+
+}
@@ -0,0 +1,77 @@
+package symboltable;
+
+import ast.definition.VarDefinition;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Time and memory allocated by the SymbolTable to find names through deep scopes: every scope defines
+ * some names, shadowing those of the outer ones, and then looks names up, by their Strings and by their
+ * ids, as the IdentificationVisitor does.
+ * Usage: SymbolTableBenchmark [depth] [runs]
+ */
+public class SymbolTableBenchmark {
+
+	private static final int NAMES = 1000, DEFINITIONS_PER_SCOPE = 16, LOOKUPS_PER_SCOPE = 20000;
+
+	private interface Lookup {
+		Object find(SymbolTable table, int name);
+	}
+
+	// * Number of names found, so the lookups are not optimized away
+	private static long found;
+
+	public static void main(String... args) {
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		NameTable names = new NameTable();
+		String[] strings = new String[NAMES];
+		int[] ids = new int[NAMES];
+		for (int i = 0; i < NAMES; i++) {
+			strings[i] = "name" + i;
+			ids[i] = names.intern(strings[i]);
+		}
+		Lookup byName = (table, name) -> table.find(strings[name]);
+		Lookup byId = (table, name) -> table.find(strings[name], ids[name]);
+
+		// * Warm up both of them before measuring
+		for (int i = 0; i < runs; i++) {
+			run(names, strings, ids, depth, byName);
+			run(names, strings, ids, depth, byId);
+		}
+		measure("find(name)", names, strings, ids, depth, runs, byName);
+		measure("find(name, id)", names, strings, ids, depth, runs, byId);
+		System.out.println(found > 0 ? "" : "Nothing found");
+	}
+
+	private static void run(NameTable names, String[] strings, int[] ids, int depth, Lookup lookup) {
+		SymbolTable table = new SymbolTable(names);
+		for (int scope = 0; scope < depth; scope++) {
+			if (scope > 0)
+				table.set();
+			for (int i = 0; i < DEFINITIONS_PER_SCOPE; i++) {
+				int name = (scope * 7 + i * 13) % NAMES;
+				table.insert(new VarDefinition(strings[name], ids[name], null, 0, 0));
+			}
+			for (int i = 0; i < LOOKUPS_PER_SCOPE; i++)
+				if (lookup.find(table, (i * 31 + scope) % NAMES) != null)
+					found++;
+		}
+		for (int scope = depth - 1; scope > 0; scope--)
+			table.reset();
+	}
+
+	private static void measure(String name, NameTable names, String[] strings, int[] ids, int depth, int runs, Lookup lookup) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long bytes = threads.getThreadAllocatedBytes(thread), time = System.nanoTime();
+		for (int i = 0; i < runs; i++)
+			run(names, strings, ids, depth, lookup);
+		time = System.nanoTime() - time;
+		bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+		long lookups = (long) depth * LOOKUPS_PER_SCOPE;
+		System.out.println(String.format("%-16s %8.2f ms/run %8.2f ns/lookup %10.2f MB/run", name, time / 1e6 / runs,
+				(double) time / runs / lookups, bytes / 1e6 / runs));
+	}
+}
@@ -54,11 +54,50 @@ public class SymbolTableTest {
 		assert st.findInCurrentScope("b")==null;		
 	}
 	
+	public void testShadowing() {
+		SymbolTable st = new SymbolTable();
+		VarDefinition[] definitions = new VarDefinition[100];
+		for (int i = 0; i < definitions.length; i++) {
+			if (i > 0)
+				st.set();
+			definitions[i] = new VarDefinition(0, 0, "a", null);
+			assert st.insert(definitions[i]);
+			assert st.insert(new VarDefinition(0, 0, "b" + i, null));
+			assert st.find("a") == definitions[i];
+			assert st.find("b0") != null;
+		}
+		for (int i = definitions.length - 1; i > 0; i--) {
+			st.reset();
+			assert st.find("a") == definitions[i - 1];
+			assert st.findInCurrentScope("a") == definitions[i - 1];
+			assert st.find("b" + i) == null;
+		}
+	}
+
+	public void testNameIds() {
+		NameTable names = new NameTable();
+		int a = names.intern("a");
+		SymbolTable st = new SymbolTable(names);
+		VarDefinition definition = new VarDefinition("a", a, null, 0, 0);
+		assert st.insert(definition);
+		assert st.find("a", a) == definition;
+		assert st.find("a") == definition;
+		// * A name without id, or with the id of another table, is looked up
+		assert st.find("a", NameTable.NONE) == definition;
+		assert st.find(new String("a"), a) == definition;
+		assert st.find("b", a) == null;
+		VarDefinition other = new VarDefinition(0, 0, "b", null);
+		assert st.insert(other);
+		assert st.find("b", names.find("b")) == other;
+	}
+
 	public static void main(String[] args) {
 		SymbolTableTest test = new SymbolTableTest();
 		test.testInsert();
 		test.testFind();
 		test.testFindInCurrentScope();
+		test.testShadowing();
+		test.testNameIds();
 	}
 	
 }
@@ -0,0 +1,76 @@
+package symboltable;
+
+import ast.type.*;
+
+public class TypeTableTest {
+
+	private static RecordType record(String... fields) {
+		RecordType record = new RecordType(0, 0);
+		for (String field : fields)
+			record.addField(new RecordField(field.endsWith("d") ? DoubleType.getInstance() : IntegerType.getInstance(), field, 0, 0));
+		return record;
+	}
+
+	public void testBuiltIn() {
+		TypeTable types = new TypeTable();
+		assert types.intern(IntegerType.getInstance()) == IntegerType.getInstance();
+		assert types.intern(null) == null;
+		assert types.size() == 0;
+	}
+
+	public void testArrays() {
+		TypeTable types = new TypeTable();
+		ArrayType array = new ArrayType(10, IntegerType.getInstance(), 1, 1);
+		assert types.intern(array) == array;
+		assert types.intern(new ArrayType(10, IntegerType.getInstance(), 2, 1)) == array;
+		assert types.intern(new ArrayType(5, IntegerType.getInstance(), 3, 1)) != array;
+		assert types.intern(new ArrayType(10, CharType.getInstance(), 4, 1)) != array;
+
+		ArrayType matrix = new ArrayType(3, new ArrayType(10, IntegerType.getInstance(), 5, 1), 5, 1);
+		assert types.intern(matrix) == matrix;
+		assert matrix.getOfType() == array;
+		assert types.intern(new ArrayType(3, new ArrayType(10, IntegerType.getInstance(), 6, 1), 6, 1)) == matrix;
+		assert matrix.numberOfBytes() == 60;
+		assert types.size() == 4;
+	}
+
+	public void testRecords() {
+		TypeTable types = new TypeTable();
+		RecordType record = record("a", "bd", "c");
+		assert types.intern(record) == record;
+		assert types.intern(record("a", "bd", "c")) == record;
+		assert types.intern(record("a", "c", "bd")) != record;
+		assert types.intern(record("a", "bd")) != record;
+		assert types.intern(record()) == types.intern(record());
+
+		// * Laid out when interned
+		assert record.getFields().get(0).getOffset() == 0;
+		assert record.getFields().get(1).getOffset() == 2;
+		assert record.getFields().get(2).getOffset() == 6;
+		assert record.numberOfBytes() == 8;
+	}
+
+	public void testNested() {
+		TypeTable types = new TypeTable();
+		RecordType outer = new RecordType(0, 0);
+		outer.addField(new RecordField(IntegerType.getInstance(), "i", 0, 0));
+		outer.addField(new RecordField(new ArrayType(4, record("x", "yd"), 0, 0), "v", 0, 0));
+		assert types.intern(outer) == outer;
+
+		RecordType inner = record("x", "yd");
+		assert types.intern(inner) == ((ArrayType) outer.getFields().get(1).getType()).getOfType();
+		assert types.intern(new ArrayType(4, record("x", "yd"), 0, 0)) == outer.getFields().get(1).getType();
+		assert outer.getFields().get(1).getOffset() == 2;
+		assert outer.numberOfBytes() == 2 + 4 * 6;
+		assert types.size() == 3;
+	}
+
+	public static void main(String[] args) {
+		TypeTableTest test = new TypeTableTest();
+		test.testBuiltIn();
+		test.testArrays();
+		test.testRecords();
+		test.testNested();
+	}
+
+}
@@ -0,0 +1,78 @@
+package vm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MaplVMTest {
+
+	private static String run(int bytesForGlobals, List<String> lines) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assert execute(bytesForGlobals, lines, out) == null;
+		return out.toString();
+	}
+
+	private static String runtimeError(int bytesForGlobals, String... lines) {
+		String error = execute(bytesForGlobals, Arrays.asList(lines), new ByteArrayOutputStream());
+		assert error != null : "No runtime error";
+		return error;
+	}
+
+	/**
+	 * @return the message of the runtime error, or null.
+	 */
+	private static String execute(int bytesForGlobals, List<String> lines, ByteArrayOutputStream out) {
+		try {
+			new MaplVM(MaplCode.decode(lines), bytesForGlobals, new ByteArrayInputStream(new byte[0]), new PrintStream(out), null).run();
+			return null;
+		} catch (VMException e) {
+			return e.getMessage();
+		}
+	}
+
+	public void testFarReturn() {
+		// * The call is past the instructions that 2 bytes can address
+		List<String> lines = new ArrayList<>(Arrays.asList(
+				"call main", "halt",
+				"f:", "\tenter 0", "\tpushi 7", "\tret 2, 0, 0",
+				"main:", "\tenter 0"));
+		for (int i = 0; i < 35000; i++)
+			lines.addAll(Arrays.asList("\tpushi 0", "\tpopi"));
+		lines.addAll(Arrays.asList("\tcall f", "\touti", "\tpushb 46", "\toutb", "\tret 0, 0, 0"));
+		assert run(0, lines).equals("7.");
+	}
+
+	public void testOutOfMemory() {
+		assert runtimeError(0, "pushi -1", "loadi", "halt").contains("out of the memory");
+		assert runtimeError(0, "pusha 65534", "pushf 1.0", "storef", "halt").contains("out of the memory");
+		assert runtimeError(0, "popi", "halt").contains("out of the memory");
+	}
+
+	public void testStackOverflow() {
+		// * Every frame prints the global at 64990, which the stack must not reach
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		String error = execute(65000, Arrays.asList("pusha 64990", "pushi 42", "storei", "call main", "halt",
+				"main:", "\tenter 20", "\tpusha 64990", "\tloadi", "\touti", "\tpushb 32", "\toutb", "\tcall main", "\tret 0, 20, 0"), out);
+		assert "Stack overflow".equals(error) : error;
+		assert out.toString().matches("(42 )+") : out;
+	}
+
+	public void testRealFormat() {
+		assert MaplVM.formatReal(4.992676f).equals("4.992676");
+		assert MaplVM.formatReal(2f).equals("2");
+		assert MaplVM.formatReal(-0.5f).equals("-0.5");
+		assert MaplVM.formatReal(12345678f).equals("1.234568e+07");
+		assert MaplVM.formatReal(0.00001f).equals("1e-05");
+	}
+
+	public static void main(String[] args) {
+		MaplVMTest test = new MaplVMTest();
+		test.testFarReturn();
+		test.testOutOfMemory();
+		test.testStackOverflow();
+		test.testRealFormat();
+	}
+}